@@ -0,0 +1,239 @@
+package com.javaphysicsengine.api;
+
+import com.javaphysicsengine.api.body.PBody;
+import com.javaphysicsengine.api.body.PConstraints;
+
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Groups the awake bodies into islands (bodies that are touching each other or are linked by a constraint),
+ * and puts an island to sleep once all of its bodies have been resting for long enough.
+ *
+ * The islands are rebuilt every step with a union-find over the body indices:
+ * <pre>
+ *     islandManager.reset(bodies);
+ *     islandManager.addContact(body1Index, body2Index); // for each contact
+ *     islandManager.addConstraint(constraint);          // for each constraint
+ *     islandManager.updateSleep(timeEllapsed);
+ * </pre>
+ * Static bodies are never part of an island, so bodies resting on the same ground are not linked together.
+ */
+public class PIslandManager {
+    public static final double DEFAULT_LINEAR_SLEEP_TOLERANCE = 1;  // In pixels per second
+    public static final double DEFAULT_ANGULAR_SLEEP_TOLERANCE = Math.toRadians(2);  // In radians per second
+    public static final double DEFAULT_TIME_TO_SLEEP = 0.5;  // In seconds
+
+    private double linearSleepTolerance = DEFAULT_LINEAR_SLEEP_TOLERANCE;
+    private double angularSleepTolerance = DEFAULT_ANGULAR_SLEEP_TOLERANCE;
+    private double timeToSleep = DEFAULT_TIME_TO_SLEEP;
+
+    private List<PBody> bodies;
+    private int numBodies = 0;
+
+    // The union-find of the bodies, where parent[i] == i for the root of each island
+    private int[] parent = new int[0];
+    private int[] rank = new int[0];
+    private double[] islandSleepTime = new double[0];
+
+    // Used to find the indices of the bodies attached to a constraint
+    private final Map<PBody, Integer> bodyIndices = new IdentityHashMap<>();
+    private PBody[] indexedBodies = new PBody[0];
+    private boolean isBodyIndicesChecked = false;
+
+    /**
+     * Returns the speed below which a body is considered to be resting
+     * @return the speed in pixels per second
+     */
+    public double getLinearSleepTolerance() {
+        return linearSleepTolerance;
+    }
+
+    /**
+     * Sets the speed below which a body is considered to be resting
+     * Pre-condition: "linearSleepTolerance" must be at least 0
+     * @param linearSleepTolerance the speed in pixels per second
+     */
+    public void setLinearSleepTolerance(double linearSleepTolerance) {
+        this.linearSleepTolerance = linearSleepTolerance;
+    }
+
+    /**
+     * Returns the angular speed below which a body is considered to be resting
+     * @return the angular speed in radians per second
+     */
+    public double getAngularSleepTolerance() {
+        return angularSleepTolerance;
+    }
+
+    /**
+     * Sets the angular speed below which a body is considered to be resting
+     * Pre-condition: "angularSleepTolerance" must be at least 0
+     * @param angularSleepTolerance the angular speed in radians per second
+     */
+    public void setAngularSleepTolerance(double angularSleepTolerance) {
+        this.angularSleepTolerance = angularSleepTolerance;
+    }
+
+    /**
+     * Returns how long all the bodies of an island need to be resting for before the island is put to sleep
+     * @return the time in seconds
+     */
+    public double getTimeToSleep() {
+        return timeToSleep;
+    }
+
+    /**
+     * Sets how long all the bodies of an island need to be resting for before the island is put to sleep
+     * Pre-condition: "timeToSleep" must be at least 0
+     * @param timeToSleep the time in seconds
+     */
+    public void setTimeToSleep(double timeToSleep) {
+        this.timeToSleep = timeToSleep;
+    }
+
+    /**
+     * Starts a new step, where every body is in its own island
+     * Pre-condition: "bodies" must not be null
+     * @param bodies the bodies in the world
+     */
+    public void reset(List<PBody> bodies) {
+        this.bodies = bodies;
+        numBodies = bodies.size();
+        isBodyIndicesChecked = false;
+
+        if (parent.length < numBodies) {
+            int capacity = Math.max(numBodies, parent.length * 2);
+            parent = new int[capacity];
+            rank = new int[capacity];
+            islandSleepTime = new double[capacity];
+        }
+        for (int i = 0; i < numBodies; i++) {
+            parent[i] = i;
+            rank[i] = 0;
+        }
+    }
+
+    /**
+     * Links two bodies that are in contact into the same island, if both of them are moving
+     * @param body1 the index of the first body
+     * @param body2 the index of the second body
+     */
+    public void addContact(int body1, int body2) {
+        if (bodies.get(body1).isMoving() && bodies.get(body2).isMoving()) {
+            union(body1, body2);
+        }
+    }
+
+    /**
+     * Links the two bodies attached to a constraint into the same island, if both of them are moving
+     * @param constraint the constraint
+     */
+    public void addConstraint(PConstraints constraint) {
+        PBody[] attachedBodies = constraint.getAttachedBodies();
+        Integer body1 = getBodyIndex(attachedBodies[0]);
+        Integer body2 = getBodyIndex(attachedBodies[1]);
+
+        if (body1 != null && body2 != null) {
+            addContact(body1, body2);
+        }
+    }
+
+    /**
+     * Updates how long each awake body has been resting for, and puts the islands where every body
+     * has been resting for long enough to sleep
+     * @param timeEllapsed the time that has ellapsed in seconds
+     */
+    public void updateSleep(double timeEllapsed) {
+        double linearToleranceSquared = linearSleepTolerance * linearSleepTolerance;
+
+        for (int i = 0; i < numBodies; i++) {
+            islandSleepTime[i] = Double.MAX_VALUE;
+        }
+
+        // Update the time each body has been resting for, and find the shortest time in each island
+        for (int i = 0; i < numBodies; i++) {
+            PBody body = bodies.get(i);
+            if (!body.isMoving() || !body.isAwake()) {
+                continue;
+            }
+
+            boolean isResting = body.getVelocity().norm1() <= linearToleranceSquared &&
+                    Math.abs(body.getAngularVelocity()) <= angularSleepTolerance;
+            body.setSleepTime(isResting ? body.getSleepTime() + timeEllapsed : 0);
+
+            int root = find(i);
+            islandSleepTime[root] = Math.min(islandSleepTime[root], body.getSleepTime());
+        }
+
+        for (int i = 0; i < numBodies; i++) {
+            PBody body = bodies.get(i);
+            if (body.isMoving() && body.isAwake() && islandSleepTime[find(i)] >= timeToSleep) {
+                body.setAwake(false);
+            }
+        }
+    }
+
+    /**
+     * Returns the index of the island that a body is in, which is the index of one of the bodies in that island
+     * Pre-condition: 0 <= "body" < the number of bodies passed to {@code PIslandManager#reset(List)}
+     * @param body the index of the body
+     * @return the index of the island
+     */
+    public int getIsland(int body) {
+        return find(body);
+    }
+
+    private int find(int body) {
+        while (parent[body] != body) {
+            parent[body] = parent[parent[body]];
+            body = parent[body];
+        }
+        return body;
+    }
+
+    private void union(int body1, int body2) {
+        int root1 = find(body1);
+        int root2 = find(body2);
+        if (root1 == root2) {
+            return;
+        }
+
+        if (rank[root1] < rank[root2]) {
+            parent[root1] = root2;
+
+        } else if (rank[root1] > rank[root2]) {
+            parent[root2] = root1;
+
+        } else {
+            parent[root2] = root1;
+            rank[root1]++;
+        }
+    }
+
+    private Integer getBodyIndex(PBody body) {
+        // The indices only need to be rebuilt when the list of bodies changed since the last step
+        if (!isBodyIndicesChecked && hasBodiesChanged()) {
+            bodyIndices.clear();
+            indexedBodies = bodies.toArray(new PBody[0]);
+            for (int i = 0; i < indexedBodies.length; i++) {
+                bodyIndices.put(indexedBodies[i], i);
+            }
+        }
+        isBodyIndicesChecked = true;
+        return bodyIndices.get(body);
+    }
+
+    private boolean hasBodiesChanged() {
+        if (indexedBodies.length != numBodies) {
+            return true;
+        }
+        for (int i = 0; i < numBodies; i++) {
+            if (indexedBodies[i] != bodies.get(i)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
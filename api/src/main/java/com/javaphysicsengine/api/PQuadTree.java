@@ -2,164 +2,247 @@ package com.javaphysicsengine.api;
 
 import com.javaphysicsengine.api.body.PBody;
 import com.javaphysicsengine.api.body.PBoundingBox;
+import com.javaphysicsengine.api.broadphase.PPairBuffer;
 import org.javatuples.Pair;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
 
 public class PQuadTree {
     private static final int MAX_DEPTH = 5;
+    private List<PBody> allBodies = Collections.emptyList();
     private PQuadTreeNode node;
 
+    // The nodes are kept across builds, so rebuilding the tree does not allocate once the pool is big enough
+    private final List<PQuadTreeNode> nodePool = new ArrayList<>();
+    private int numNodesUsed = 0;
+
+    // The indices of the bodies in every node, where the bodies of a node are at [start, start + numObjects).
+    // A body that overlaps several quadrants is in the range of each of them, so it is sized by what the tree holds
+    private int[] bodyIndices = new int[0];
+    private int numBodyIndices = 0;
+
     private class PQuadTreeNode {
         PQuadTreeNode topLeft;
         PQuadTreeNode topRight;
         PQuadTreeNode bottomLeft;
         PQuadTreeNode bottomRight;
 
-        List<PBody> bodies;
+        // The range of the indices of the bodies in this node
+        int start;
 
-        PBoundingBox box;
+        final PBoundingBox box = new PBoundingBox(0, 0, 0, 0);
         int numObjects;
         int depth;
+        boolean isLeaf;
 
-        public PQuadTreeNode(PQuadTreeNode topLeft,
-                             PQuadTreeNode topRight,
-                             PQuadTreeNode bottomLeft,
-                             PQuadTreeNode bottomRight,
-                             PBoundingBox box,
-                             int numObjects,
-                             int depth) {
-            this.topLeft = topLeft;
-            this.topRight = topRight;
-            this.bottomLeft = bottomLeft;
-            this.bottomRight = bottomRight;
-
-            this.bodies = null;
-
-            this.box = box;
-            this.numObjects = numObjects;
-            this.depth = depth;
-        }
-
-        public PQuadTreeNode(List<PBody> bodies, PBoundingBox box, int numObjects, int depth) {
+        void reset(int depth) {
             this.topLeft = null;
             this.topRight = null;
             this.bottomLeft = null;
             this.bottomRight = null;
-
-            this.bodies = bodies;
-
-            this.box = box;
-            this.numObjects = numObjects;
+            this.start = 0;
+            this.numObjects = 0;
             this.depth = depth;
+            this.isLeaf = true;
         }
 
         public boolean isLeaf() {
-            return this.bodies != null;
+            return isLeaf;
         }
     }
 
+    /**
+     * Creates an empty quad tree, which can be filled with {@code PQuadTree#rebuild(List)}
+     */
+    public PQuadTree() {
+        this.node = acquireNode(0);
+    }
+
+    /**
+     * Creates a quad tree with bodies
+     * @param bodies the bodies
+     */
     public PQuadTree(List<PBody> bodies) {
-        this.node = buildTree(bodies, 0);
+        rebuild(bodies);
     }
 
-    private PQuadTreeNode buildTree(List<PBody> bodies, int curDepth) {
-        if (bodies.size() == 0) {
-            return new PQuadTreeNode(bodies, null, 0, curDepth);
+    /**
+     * Rebuilds the tree with new bodies, re-using the nodes and index array of the previous build
+     * @param bodies the bodies
+     */
+    public void rebuild(List<PBody> bodies) {
+        this.allBodies = bodies;
+        this.numNodesUsed = 0;
+        this.numBodyIndices = 0;
+        this.node = acquireNode(0);
+
+        int numBodies = bodies.size();
+        node.start = reserveBodyIndices(numBodies);
+        for (int i = 0; i < numBodies; i++) {
+            bodyIndices[node.start + i] = i;
+        }
+        node.numObjects = numBodies;
+        buildTree(node);
+    }
 
-        } else if (curDepth >= MAX_DEPTH){
-            // Get the bounding box that wraps around all the objects
-            PBoundingBox box = bodies.get(0).getBoundingBox();
-            for (int i = 1; i < bodies.size(); i++) {
-                box = extendBox(box, bodies.get(i).getBoundingBox());
-            }
+    private PQuadTreeNode acquireNode(int depth) {
+        if (numNodesUsed == nodePool.size()) {
+            nodePool.add(new PQuadTreeNode());
+        }
+        PQuadTreeNode acquiredNode = nodePool.get(numNodesUsed++);
+        acquiredNode.reset(depth);
+        return acquiredNode;
+    }
 
-            return new PQuadTreeNode(bodies, box, bodies.size(), curDepth);
+    /**
+     * Reserves a range of body indices at the end of the index array
+     * @param count the number of indices
+     * @return the start of the range
+     */
+    private int reserveBodyIndices(int count) {
+        if (bodyIndices.length < numBodyIndices + count) {
+            bodyIndices = Arrays.copyOf(bodyIndices, Math.max(numBodyIndices + count, bodyIndices.length * 2));
+        }
+        int start = numBodyIndices;
+        numBodyIndices += count;
+        return start;
+    }
 
-        } else {
+    private void buildTree(PQuadTreeNode curNode) {
+        int numBodies = curNode.numObjects;
+        if (numBodies == 0) {
+            return;
+        }
 
-            // Get the bounding box that wraps around all the objects
-            PBoundingBox box = bodies.get(0).getBoundingBox();
-            for (int i = 1; i < bodies.size(); i++) {
-                box = extendBox(box, bodies.get(i).getBoundingBox());
-            }
+        // Get the bounding box that wraps around all the objects
+        computeBoundingBox(curNode);
+        if (curNode.depth >= MAX_DEPTH) {
+            return;
+        }
 
-            // Divide the objects into 1/2 by the dimension with the largest variance
-            List<PBody> topleftBodies = new ArrayList<>();
-            List<PBody> toprightBodies = new ArrayList<>();
-            List<PBody> bottomleftBodies = new ArrayList<>();
-            List<PBody> bottomrightBodies = new ArrayList<>();
+        // Divide the objects into 1/2 by the dimension with the largest variance
+        PQuadTreeNode topleftTree = acquireNode(curNode.depth + 1);
+        PQuadTreeNode toprightTree = acquireNode(curNode.depth + 1);
+        PQuadTreeNode bottomleftTree = acquireNode(curNode.depth + 1);
+        PQuadTreeNode bottomrightTree = acquireNode(curNode.depth + 1);
+
+        PBoundingBox box = curNode.box;
+        double midXRange = (box.getMaxX() + box.getMinX()) / 2;
+        double midYRange = (box.getMaxY() + box.getMinY()) / 2;
+
+        // Count the bodies in each quadrant first, so that each quadrant gets a range of exactly the right size
+        for (int i = 0; i < numBodies; i++) {
+            PBoundingBox bodyBox = allBodies.get(bodyIndices[curNode.start + i]).getBoundingBox();
+            bottomleftTree.numObjects += bodyBox.getMinX() < midXRange && bodyBox.getMinY() < midYRange ? 1 : 0;
+            topleftTree.numObjects += bodyBox.getMinX() < midXRange && bodyBox.getMaxY() >= midYRange ? 1 : 0;
+            bottomrightTree.numObjects += bodyBox.getMaxX() >= midXRange && bodyBox.getMinY() < midYRange ? 1 : 0;
+            toprightTree.numObjects += bodyBox.getMaxX() >= midXRange && bodyBox.getMaxY() >= midYRange ? 1 : 0;
+        }
 
-            double midXRange = (box.getMaxX() + box.getMinX()) / 2;
-            double midYRange = (box.getMaxY() + box.getMinY()) / 2;
-            for (PBody body : bodies) {
-                PBoundingBox bodyBox = body.getBoundingBox();
+        boolean shouldDivideBox = topleftTree.numObjects < numBodies ||
+                toprightTree.numObjects < numBodies ||
+                bottomleftTree.numObjects < numBodies ||
+                bottomrightTree.numObjects < numBodies;
 
-                if (bodyBox.getMinX() < midXRange && bodyBox.getMinY() < midYRange) {
-                    bottomleftBodies.add(body);
-                }
+        if (!shouldDivideBox) {
+            // The four children were the last nodes taken from the pool, so they can be handed back
+            numNodesUsed -= 4;
+            return;
+        }
 
-                if (bodyBox.getMinX() < midXRange && bodyBox.getMaxY() >= midYRange) {
-                    topleftBodies.add(body);
-                }
+        topleftTree.start = reserveBodyIndices(topleftTree.numObjects);
+        toprightTree.start = reserveBodyIndices(toprightTree.numObjects);
+        bottomleftTree.start = reserveBodyIndices(bottomleftTree.numObjects);
+        bottomrightTree.start = reserveBodyIndices(bottomrightTree.numObjects);
+        int numTopleftBodies = 0;
+        int numToprightBodies = 0;
+        int numBottomleftBodies = 0;
+        int numBottomrightBodies = 0;
+
+        for (int i = 0; i < numBodies; i++) {
+            int body = bodyIndices[curNode.start + i];
+            PBoundingBox bodyBox = allBodies.get(body).getBoundingBox();
+
+            if (bodyBox.getMinX() < midXRange && bodyBox.getMinY() < midYRange) {
+                bodyIndices[bottomleftTree.start + numBottomleftBodies++] = body;
+            }
 
-                if (bodyBox.getMaxX() >= midXRange && bodyBox.getMinY() < midYRange) {
-                    bottomrightBodies.add(body);
-                }
+            if (bodyBox.getMinX() < midXRange && bodyBox.getMaxY() >= midYRange) {
+                bodyIndices[topleftTree.start + numTopleftBodies++] = body;
+            }
 
-                if (bodyBox.getMaxX() >= midXRange && bodyBox.getMaxY() >= midYRange) {
-                    toprightBodies.add(body);
-                }
+            if (bodyBox.getMaxX() >= midXRange && bodyBox.getMinY() < midYRange) {
+                bodyIndices[bottomrightTree.start + numBottomrightBodies++] = body;
             }
 
-            boolean shouldDivideBox = topleftBodies.size() < bodies.size() ||
-                    toprightBodies.size() < bodies.size() ||
-                    bottomleftBodies.size() < bodies.size() ||
-                    bottomrightBodies.size() < bodies.size();
-
-            if (shouldDivideBox) {
-                PQuadTreeNode topleftTree = buildTree(topleftBodies, curDepth + 1);
-                PQuadTreeNode toprightTree = buildTree(toprightBodies, curDepth + 1);
-                PQuadTreeNode bottomleftTree = buildTree(bottomleftBodies, curDepth + 1);
-                PQuadTreeNode bottomrightTree = buildTree(bottomrightBodies, curDepth + 1);
-
-                return new PQuadTreeNode(
-                        topleftTree, toprightTree, bottomleftTree, bottomrightTree, box, bodies.size(), curDepth
-                );
-            } else {
-                return new PQuadTreeNode(bodies, box, bodies.size(), curDepth);
+            if (bodyBox.getMaxX() >= midXRange && bodyBox.getMaxY() >= midYRange) {
+                bodyIndices[toprightTree.start + numToprightBodies++] = body;
             }
         }
+
+        curNode.isLeaf = false;
+        curNode.topLeft = topleftTree;
+        curNode.topRight = toprightTree;
+        curNode.bottomLeft = bottomleftTree;
+        curNode.bottomRight = bottomrightTree;
+
+        buildTree(topleftTree);
+        buildTree(toprightTree);
+        buildTree(bottomleftTree);
+        buildTree(bottomrightTree);
     }
 
-    private PBoundingBox extendBox(PBoundingBox box1, PBoundingBox box2) {
-        return new PBoundingBox(
-                Math.min(box1.getMinX(), box2.getMinX()),
-                Math.max(box1.getMaxX(), box2.getMaxX()),
-                Math.min(box1.getMinY(), box2.getMinY()),
-                Math.max(box1.getMaxY(), box2.getMaxY())
-        );
+    private void computeBoundingBox(PQuadTreeNode curNode) {
+        PBoundingBox firstBox = allBodies.get(bodyIndices[curNode.start]).getBoundingBox();
+        double minX = firstBox.getMinX();
+        double maxX = firstBox.getMaxX();
+        double minY = firstBox.getMinY();
+        double maxY = firstBox.getMaxY();
+        for (int i = 1; i < curNode.numObjects; i++) {
+            PBoundingBox bodyBox = allBodies.get(bodyIndices[curNode.start + i]).getBoundingBox();
+            minX = Math.min(minX, bodyBox.getMinX());
+            maxX = Math.max(maxX, bodyBox.getMaxX());
+            minY = Math.min(minY, bodyBox.getMinY());
+            maxY = Math.max(maxY, bodyBox.getMaxY());
+        }
+
+        curNode.box.setMinX(minX);
+        curNode.box.setMaxX(maxX);
+        curNode.box.setMinY(minY);
+        curNode.box.setMaxY(maxY);
     }
 
     public Set<Pair<PBody, PBody>> getPotentialIntersectingBodies() {
-        Set<Pair<PBody, PBody>> lst = new HashSet<>();
-        getPotentialIntersectingBodies(this.node, lst);
+        PPairBuffer pairs = new PPairBuffer();
+        getPotentialIntersectingBodies(pairs);
 
+        Set<Pair<PBody, PBody>> lst = new HashSet<>();
+        for (int i = 0; i < pairs.size(); i++) {
+            lst.add(new Pair<>(allBodies.get(pairs.getFirstBody(i)), allBodies.get(pairs.getSecondBody(i))));
+        }
         return lst;
     }
 
-    private void getPotentialIntersectingBodies(PQuadTreeNode curNode, Set<Pair<PBody, PBody>> curPairs) {
-        if (curNode.isLeaf()) {
-            for (int i = 0; i < curNode.bodies.size(); i++) {
-                for (int j = i + 1; j < curNode.bodies.size(); j++) {
-                    Pair newPair = new Pair<>(curNode.bodies.get(i), curNode.bodies.get(j));
+    /**
+     * Finds the pairs of bodies that are in the same leaf, by their indices in the list of bodies
+     * @param pairs the buffer to store the pairs in (it is cleared first)
+     */
+    public void getPotentialIntersectingBodies(PPairBuffer pairs) {
+        pairs.clear();
+        getPotentialIntersectingBodies(this.node, pairs);
+    }
 
-                    if (!curPairs.contains(newPair)) {
-                        curPairs.add(newPair);
-                    }
+    private void getPotentialIntersectingBodies(PQuadTreeNode curNode, PPairBuffer curPairs) {
+        if (curNode.isLeaf()) {
+            for (int i = 0; i < curNode.numObjects; i++) {
+                for (int j = i + 1; j < curNode.numObjects; j++) {
+                    // Bodies that overlap several quadrants show up in several leaves, so the buffer skips duplicates
+                    curPairs.add(bodyIndices[curNode.start + i], bodyIndices[curNode.start + j]);
                 }
             }
 
@@ -171,4 +254,4 @@ public class PQuadTree {
         getPotentialIntersectingBodies(curNode.bottomLeft, curPairs);
         getPotentialIntersectingBodies(curNode.bottomRight, curPairs);
     }
-}
+}
\ No newline at end of file
@@ -0,0 +1,142 @@
+package com.javaphysicsengine.api;
+
+import com.javaphysicsengine.api.render.PRenderSnapshot;
+import com.javaphysicsengine.utils.TripleBuffer;
+
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Steps a world on its own thread, and publishes a snapshot of the world after each step for the paint code to draw.
+ *
+ * The world must only be changed by the simulation thread while it is running. Other threads (ex: the Swing event
+ * dispatch thread) read the snapshots instead, which never block the simulation:
+ * <pre>
+ *     PSimulationThread simulationThread = new PSimulationThread(world);
+ *     simulationThread.setStepListener(panel::repaint);
+ *     simulationThread.start();
+ *
+ *     // In paintComponent()
+ *     simulationThread.getSnapshot().draw(g, getHeight(), true, true);
+ * </pre>
+ */
+public class PSimulationThread {
+    private final PWorld world;
+    private final TripleBuffer<PRenderSnapshot> snapshots = new TripleBuffer<>(PRenderSnapshot::new);
+
+    private Runnable stepListener = null;
+    private Thread thread = null;
+    private volatile boolean isRunning = false;
+    private volatile long lastStepDuration = 0;
+
+    /**
+     * Creates a simulation thread for a world, which does not run until it is started
+     * Pre-condition: "world" must not be null
+     * @param world the world to simulate
+     */
+    public PSimulationThread(PWorld world) {
+        this.world = world;
+    }
+
+    /**
+     * Returns the world that is simulated
+     * @return the world
+     */
+    public PWorld getWorld() {
+        return world;
+    }
+
+    /**
+     * Sets the listener that is called on the simulation thread after each snapshot is published (ex: to repaint).
+     * It must be set before the thread is started
+     * @param stepListener the listener, or {@code null} for none
+     */
+    public void setStepListener(Runnable stepListener) {
+        this.stepListener = stepListener;
+    }
+
+    /**
+     * Starts stepping the world in real time on a new thread
+     */
+    public synchronized void start() {
+        if (isRunning) {
+            return;
+        }
+
+        // Publish the world as it is, so that there is something to draw before the first step
+        snapshots.getWriteBuffer().capture(world);
+        snapshots.publish();
+
+        isRunning = true;
+        thread = new Thread(this::run, "Physics Simulation");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Stops stepping the world, and waits for the step in progress to finish
+     */
+    public synchronized void stop() {
+        if (!isRunning) {
+            return;
+        }
+
+        isRunning = false;
+        LockSupport.unpark(thread);
+        try {
+            thread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        thread = null;
+    }
+
+    /**
+     * Determines if the world is being simulated
+     * @return {@code true} if the thread is running; else {@code false}
+     */
+    public boolean isRunning() {
+        return isRunning;
+    }
+
+    /**
+     * Returns the latest snapshot of the world. The snapshot does not change until the next call,
+     * and it must only be called by one thread (ex: the thread that paints)
+     * @return the latest snapshot
+     */
+    public PRenderSnapshot getSnapshot() {
+        return snapshots.read();
+    }
+
+    /**
+     * Returns how long the last call to {@code PWorld#step(double)} that ran a step took
+     * @return the duration in nanoseconds
+     */
+    public long getLastStepDuration() {
+        return lastStepDuration;
+    }
+
+    private void run() {
+        world.resetAccumulator();
+        long lastTime = System.nanoTime();
+
+        while (isRunning) {
+            long currentTime = System.nanoTime();
+            int numSteps = world.step((currentTime - lastTime) / 1e9);
+            lastTime = currentTime;
+
+            if (numSteps > 0) {
+                snapshots.getWriteBuffer().capture(world);
+                snapshots.publish();
+                lastStepDuration = System.nanoTime() - currentTime;
+
+                if (stepListener != null) {
+                    stepListener.run();
+                }
+            }
+
+            // Wait until the next step is due
+            double timeToNextStep = world.getFixedTimeStep() * (1 - world.getInterpolationAlpha());
+            LockSupport.parkNanos((long) (timeToNextStep * 1e9));
+        }
+    }
+}
@@ -1,29 +1,77 @@
 package com.javaphysicsengine.api;
 
 import com.javaphysicsengine.api.body.PBody;
-import com.javaphysicsengine.api.body.PCollidable;
 import com.javaphysicsengine.api.body.PConstraints;
+import com.javaphysicsengine.api.broadphase.PBroadphase;
+import com.javaphysicsengine.api.broadphase.PPairBuffer;
+import com.javaphysicsengine.api.broadphase.PQuadTreeBroadphase;
 import com.javaphysicsengine.api.collision.PCollisionResult;
+import com.javaphysicsengine.api.collision.PContactManifold;
+import com.javaphysicsengine.api.collision.PContactManifoldCache;
+import com.javaphysicsengine.api.collision.PNarrowphase;
+import com.javaphysicsengine.api.metrics.PStepMetrics;
+import com.javaphysicsengine.api.metrics.PStepRecorder;
+import com.javaphysicsengine.api.render.PContactBuffer;
+import com.javaphysicsengine.api.solver.PContactSolver;
 import com.javaphysicsengine.utils.Vector;
-import org.javatuples.Pair;
+import com.javaphysicsengine.utils.VectorPool;
 
 import java.awt.Color;
 import java.awt.Graphics;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Set;
-import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
 
 public class PWorld {
     // Physic properties about this world
-    private static final Vector GRAVITY = Vector.of(0, -9.81);
-    private static final double SCALE = 1;
+    private final Vector gravity = Vector.of(0, -9.81);
+    private double scale = 1;
 
     // List containing the physical bodies and joints
     private ArrayList<PBody> bodies = new ArrayList<>();
     private ArrayList<PConstraints> constraints = new ArrayList<>();
 
-    public ConcurrentLinkedQueue<Vector> pointsToDraw = new ConcurrentLinkedQueue<>();
+    // The algorithm used to find the pairs of bodies that could be colliding
+    private PBroadphase broadphase = new PQuadTreeBroadphase();
+    private final PPairBuffer potentialPairs = new PPairBuffer();
+
+    // Tests the pairs from the broadphase for collisions
+    private final PNarrowphase narrowphase = new PNarrowphase();
+
+    // Keeps the contact points of the bodies that are touching across steps
+    private final PContactManifoldCache manifoldCache = new PContactManifoldCache();
+
+    // Resolves the velocities of the bodies in contact
+    private final PContactSolver contactSolver = new PContactSolver();
+
+    // Puts the islands of bodies that are resting to sleep
+    private final PIslandManager islandManager = new PIslandManager();
+    private boolean isSleepingEnabled = true;
+
+    // Steps the world by a fixed amount of time, carrying the time left over to the next frame
+    private double fixedTimeStep = 1.0 / 60;
+    private int maxSubSteps = 5;
+    private double accumulator = 0;
+    private double interpolationAlpha = 0;
+
+    // The center point and angle of each body before the last fixed step, to interpolate from when rendering
+    private double[] previousXs = new double[0];
+    private double[] previousYs = new double[0];
+    private double[] previousAngles = new double[0];
+
+    // The number of steps simulated so far
+    private long stepCount = 0;
+
+    // Keeps the latest contacts to draw them for debugging (null if it is disabled)
+    private PContactBuffer contactBuffer = null;
+    private final PContactBuffer.Snapshot contactSnapshot = new PContactBuffer.Snapshot();
+
+    // Measures the time spent in each phase of the steps (null if it is disabled)
+    private PStepMetrics stepMetrics = null;
+
+    // Is told when each step and phase begins and ends, to pass them on to a profiler (null if it is disabled)
+    private PStepRecorder stepRecorder = null;
 
     /**
      * Returns the list of bodies added to the world
@@ -41,6 +89,356 @@ public class PWorld {
         return constraints;
     }
 
+    /**
+     * Returns the acceleration of gravity in this world
+     * @return the gravity (changing it changes the gravity of this world)
+     */
+    public Vector getGravity() {
+        return gravity;
+    }
+
+    /**
+     * Sets the acceleration of gravity in this world. Each world has its own gravity
+     * Pre-condition: "gravity" must not be null
+     * @param gravity the new gravity (it is copied)
+     */
+    public void setGravity(Vector gravity) {
+        this.gravity.setXY(gravity);
+    }
+
+    /**
+     * Returns the number of units that the bodies move by for each unit of distance in the simulation
+     * @return the scale
+     */
+    public double getScale() {
+        return scale;
+    }
+
+    /**
+     * Sets the number of units that the bodies move by for each unit of distance in the simulation
+     * Pre-condition: "scale" must be greater than 0
+     * @param scale the new scale
+     */
+    public void setScale(double scale) {
+        this.scale = scale;
+    }
+
+    /**
+     * Returns the broadphase used to find the pairs of bodies that could be colliding
+     * @return the broadphase used by this world
+     */
+    public PBroadphase getBroadphase() {
+        return broadphase;
+    }
+
+    /**
+     * Sets the broadphase used to find the pairs of bodies that could be colliding
+     * Pre-condition: "broadphase" must not be null
+     * @param broadphase the new broadphase
+     */
+    public void setBroadphase(PBroadphase broadphase) {
+        this.broadphase = broadphase;
+    }
+
+    /**
+     * Returns the pool used to test the pairs of bodies for collisions in parallel
+     * @return the pool, or {@code null} if the collisions are found on the calling thread
+     */
+    public ForkJoinPool getNarrowphasePool() {
+        return narrowphase.getPool();
+    }
+
+    /**
+     * Sets the pool used to test the pairs of bodies for collisions in parallel.
+     * The collisions are always resolved on the calling thread, in the same order, so the results do not
+     * depend on the pool
+     * @param pool the pool, or {@code null} to find the collisions on the calling thread
+     */
+    public void setNarrowphasePool(ForkJoinPool pool) {
+        narrowphase.setPool(pool);
+    }
+
+    /**
+     * Determines if the pairs of bodies with a polygon are tested with GJK / EPA instead of SAT
+     * @return {@code true} if GJK is used; else {@code false}
+     */
+    public boolean isGjkEnabled() {
+        return narrowphase.isGjkEnabled();
+    }
+
+    /**
+     * Sets whether the pairs of bodies with a polygon are tested with GJK / EPA instead of SAT.
+     * GJK is faster for polygons with many vertices (ex: polygons approximating round shapes)
+     * @param isGjkEnabled {@code true} to use GJK; else {@code false}
+     */
+    public void setGjkEnabled(boolean isGjkEnabled) {
+        narrowphase.setGjkEnabled(isGjkEnabled);
+    }
+
+    /**
+     * Returns the cache of the contact points of the bodies that are touching
+     * @return the contact manifold cache
+     */
+    public PContactManifoldCache getManifoldCache() {
+        return manifoldCache;
+    }
+
+    /**
+     * Returns the contact solver, which sets the iterations, restitution and friction of the collisions in this world
+     * @return the contact solver
+     */
+    public PContactSolver getContactSolver() {
+        return contactSolver;
+    }
+
+    /**
+     * Returns the island manager, which decides when bodies are put to sleep
+     * @return the island manager
+     */
+    public PIslandManager getIslandManager() {
+        return islandManager;
+    }
+
+    /**
+     * Determines if bodies that are resting are put to sleep
+     * @return {@code true} if bodies can sleep; else {@code false}
+     */
+    public boolean isSleepingEnabled() {
+        return isSleepingEnabled;
+    }
+
+    /**
+     * Sets whether bodies that are resting are put to sleep. Disabling it wakes up all the bodies
+     * @param isSleepingEnabled {@code true} if bodies can sleep; else {@code false}
+     */
+    public void setSleepingEnabled(boolean isSleepingEnabled) {
+        this.isSleepingEnabled = isSleepingEnabled;
+        if (!isSleepingEnabled) {
+            wakeUpAllBodies();
+        }
+    }
+
+    /**
+     * Determines if the contacts found by the simulation are recorded in a {@code PContactBuffer}
+     * @return {@code true} if the contacts are recorded; else {@code false}
+     */
+    public boolean isContactRecordingEnabled() {
+        return contactBuffer != null;
+    }
+
+    /**
+     * Sets whether the latest contacts found by the simulation are recorded in a {@code PContactBuffer}, to draw them
+     * for debugging. It is disabled by default, since only renderers need them.
+     * The buffer keeps the last {@code PContactBuffer#DEFAULT_CAPACITY} contacts; use
+     * {@code PWorld#setContactBuffer(PContactBuffer)} to keep a different number of them
+     * @param isEnabled {@code true} to record the contacts; else {@code false}
+     */
+    public void setContactRecordingEnabled(boolean isEnabled) {
+        if (isEnabled && contactBuffer == null) {
+            contactBuffer = new PContactBuffer(PContactBuffer.DEFAULT_CAPACITY);
+
+        } else if (!isEnabled) {
+            contactBuffer = null;
+        }
+    }
+
+    /**
+     * Returns the buffer that the latest contacts are recorded in
+     * @return the contact buffer, or {@code null} if contact recording is disabled
+     */
+    public PContactBuffer getContactBuffer() {
+        return contactBuffer;
+    }
+
+    /**
+     * Sets the buffer that the latest contacts are recorded in
+     * @param contactBuffer the contact buffer, or {@code null} to stop recording the contacts
+     */
+    public void setContactBuffer(PContactBuffer contactBuffer) {
+        this.contactBuffer = contactBuffer;
+    }
+
+    /**
+     * Returns the metrics that the time spent in each phase of the steps is added to
+     * @return the step metrics, or {@code null} if the steps are not measured
+     */
+    public PStepMetrics getStepMetrics() {
+        return stepMetrics;
+    }
+
+    /**
+     * Sets the metrics that the time spent in each phase of the steps is added to
+     * @param stepMetrics the step metrics, or {@code null} to stop measuring the steps
+     */
+    public void setStepMetrics(PStepMetrics stepMetrics) {
+        this.stepMetrics = stepMetrics;
+    }
+
+    /**
+     * Returns the recorder that is told when each step and phase begins and ends
+     * @return the step recorder, or {@code null} if the steps are not recorded
+     */
+    public PStepRecorder getStepRecorder() {
+        return stepRecorder;
+    }
+
+    /**
+     * Sets the recorder that is told when each step and phase begins and ends (ex: {@code PFlightRecorder#createStepRecorder()})
+     * @param stepRecorder the step recorder, or {@code null} to stop recording the steps
+     */
+    public void setStepRecorder(PStepRecorder stepRecorder) {
+        this.stepRecorder = stepRecorder;
+    }
+
+    /**
+     * Returns the number of steps simulated by this world
+     * @return the number of calls to {@code PWorld#simulate(double)}
+     */
+    public long getStepCount() {
+        return stepCount;
+    }
+
+    /**
+     * Returns the amount of time simulated by each step of {@code PWorld#step(double)}
+     * @return the fixed time step in seconds
+     */
+    public double getFixedTimeStep() {
+        return fixedTimeStep;
+    }
+
+    /**
+     * Sets the amount of time simulated by each step of {@code PWorld#step(double)}
+     * Pre-condition: "fixedTimeStep" must be greater than 0
+     * @param fixedTimeStep the fixed time step in seconds
+     */
+    public void setFixedTimeStep(double fixedTimeStep) {
+        this.fixedTimeStep = fixedTimeStep;
+    }
+
+    /**
+     * Returns the most steps that {@code PWorld#step(double)} runs in one call
+     * @return the max number of steps per call
+     */
+    public int getMaxSubSteps() {
+        return maxSubSteps;
+    }
+
+    /**
+     * Sets the most steps that {@code PWorld#step(double)} runs in one call. The time that does not fit in them is
+     * dropped, so that a slow frame does not make the next frame even slower
+     * Pre-condition: "maxSubSteps" must be at least 1
+     * @param maxSubSteps the max number of steps per call
+     */
+    public void setMaxSubSteps(int maxSubSteps) {
+        this.maxSubSteps = maxSubSteps;
+    }
+
+    /**
+     * Returns how far the time left over by the last call to {@code PWorld#step(double)} is into the next step,
+     * which is used to render the bodies between their last two states
+     * @return the interpolation alpha, from 0 (at the previous state) to 1 (at the current state)
+     */
+    public double getInterpolationAlpha() {
+        return interpolationAlpha;
+    }
+
+    /**
+     * Returns the center point of a body between its state before and after the last fixed step
+     * Pre-condition: 0 <= "bodyIndex" < the number of bodies, and "result" must not be null
+     * @param bodyIndex the index of the body
+     * @param result the vector to store the center point in
+     * @return "result"
+     */
+    public Vector getInterpolatedCenterPt(int bodyIndex, Vector result) {
+        Vector centerPt = bodies.get(bodyIndex).getCenterPt();
+        if (bodyIndex >= previousXs.length) {
+            return result.setXY(centerPt);
+        }
+
+        double alpha = interpolationAlpha;
+        return result.setXY(
+                previousXs[bodyIndex] + (centerPt.getX() - previousXs[bodyIndex]) * alpha,
+                previousYs[bodyIndex] + (centerPt.getY() - previousYs[bodyIndex]) * alpha);
+    }
+
+    /**
+     * Returns the angle of a body between its state before and after the last fixed step
+     * Pre-condition: 0 <= "bodyIndex" < the number of bodies
+     * @param bodyIndex the index of the body
+     * @return the angle in radians
+     */
+    public double getInterpolatedAngle(int bodyIndex) {
+        double angle = bodies.get(bodyIndex).getAngle();
+        if (bodyIndex >= previousAngles.length) {
+            return angle;
+        }
+        return previousAngles[bodyIndex] + (angle - previousAngles[bodyIndex]) * interpolationAlpha;
+    }
+
+    /**
+     * Advances the world by the time that passed since the last frame in fixed steps of {@code getFixedTimeStep()},
+     * so that the simulation does not depend on how often (or how punctually) it is called.
+     * The time that does not make up a full step is carried over to the next call.
+     * At most {@code getMaxSubSteps()} steps are run, so the cost of a call is bounded when the caller falls behind
+     * Pre-condition: "frameTime" must be at least 0
+     * @param frameTime the time that passed since the last call in seconds
+     * @return the number of steps that were run
+     */
+    public int step(double frameTime) {
+        accumulator += frameTime;
+
+        int numSteps = (int) Math.min(Math.floor(accumulator / fixedTimeStep), maxSubSteps);
+        for (int i = 0; i < numSteps; i++) {
+            savePreviousState();
+            simulate(fixedTimeStep);
+            accumulator -= fixedTimeStep;
+        }
+
+        // Drop the time that could not be simulated, rather than trying to catch up on it in later frames
+        if (accumulator >= fixedTimeStep) {
+            accumulator = 0;
+        }
+
+        interpolationAlpha = accumulator / fixedTimeStep;
+        return numSteps;
+    }
+
+    /**
+     * Removes the time carried over by {@code PWorld#step(double)} (ex: after the simulation was paused)
+     */
+    public void resetAccumulator() {
+        accumulator = 0;
+        interpolationAlpha = 0;
+    }
+
+    /**
+     * Stores the center point and angle of each body before a fixed step
+     */
+    private void savePreviousState() {
+        int numBodies = bodies.size();
+        if (previousXs.length != numBodies) {
+            previousXs = new double[numBodies];
+            previousYs = new double[numBodies];
+            previousAngles = new double[numBodies];
+        }
+
+        for (int i = 0; i < numBodies; i++) {
+            PBody body = bodies.get(i);
+            previousXs[i] = body.getCenterPt().getX();
+            previousYs[i] = body.getCenterPt().getY();
+            previousAngles[i] = body.getAngle();
+        }
+    }
+
+    /**
+     * Wakes up all the bodies in the world
+     */
+    public void wakeUpAllBodies() {
+        for (PBody body : bodies) {
+            body.setAwake(true);
+        }
+    }
+
     /**
      * Draws the bodies and constraints to the screen
      * @param g The Graphics Object
@@ -55,12 +453,15 @@ public class PWorld {
             constraint.drawConstraints(g, 600);
         }
 
-        // Draw all of the points
-        for (Vector pt : pointsToDraw) {
-            int topLeftX = (int) (pt.getX() - 2);
-            int topLeftY = 600 - (int) (pt.getY() + 2);
+        // Draw the latest contact points
+        if (contactBuffer != null) {
+            contactBuffer.snapshot(contactSnapshot);
             g.setColor(Color.GREEN);
-            g.fillOval(topLeftX, topLeftY, 2 * 2, 2 * 2);
+            for (int i = 0; i < contactSnapshot.size(); i++) {
+                int topLeftX = (int) (contactSnapshot.getX(i) - 2);
+                int topLeftY = 600 - (int) (contactSnapshot.getY(i) + 2);
+                g.fillOval(topLeftX, topLeftY, 2 * 2, 2 * 2);
+            }
         }
     }
 
@@ -69,71 +470,189 @@ public class PWorld {
      * @param timeEllapsed The time that has ellapsed in seconds
      */
     public void simulate(double timeEllapsed) {
+        stepCount++;
+        long stepStartTime = stepMetrics != null ? stepMetrics.beginStep(bodies.size()) : 0;
+        if (stepRecorder != null) {
+            stepRecorder.beginStep(stepCount, bodies.size());
+        }
+
         // Clear all the forces from all the bodies
         for (PBody body : bodies) {
             body.getNetForce().setX(0);
             body.getNetForce().setY(0);
         }
 
+        // Constraints keep the bodies attached to them awake together
+        wakeUpConstrainedBodies();
+
         // Add the nessessary forces to all the bodies
         addForces();
+        long phaseStartTime = endPhase(PStepMetrics.FORCES, stepStartTime);
 
         // Translate the bodies based on the forces
         translateBodies(timeEllapsed);
 
-        PQuadTree tree = new PQuadTree(bodies);
-        for (Pair<PBody, PBody> pair : tree.getPotentialIntersectingBodies()) {
-            PBody body1 = pair.getValue0();
-            PBody body2 = pair.getValue1();
+        islandManager.reset(bodies);
+        phaseStartTime = endPhase(PStepMetrics.INTEGRATE, phaseStartTime);
+
+        broadphase.findPotentialIntersectingBodies(bodies, potentialPairs);
+        phaseStartTime = endPhase(PStepMetrics.BROADPHASE, phaseStartTime);
+
+        // Find all the collisions first (possibly in parallel), so that they do not depend on the order they are resolved in
+        narrowphase.findCollisions(bodies, potentialPairs);
+        phaseStartTime = endPhase(PStepMetrics.NARROWPHASE, phaseStartTime);
 
-            boolean isCollidable = (body1 instanceof PCollidable && body2 instanceof PCollidable) &&
-                    (body1.isMoving() || body2.isMoving());
+        manifoldCache.beginStep();
+        contactSolver.beginStep();
+        int numContacts = 0;
+        for (int i = 0; i < potentialPairs.size(); i++) {
+            PCollisionResult result = narrowphase.getResult(i);
+            if (result == null) {
+                continue;
+            }
+            numContacts++;
+
+            PBody body1 = bodies.get(potentialPairs.getFirstBody(i));
+            PBody body2 = bodies.get(potentialPairs.getSecondBody(i));
+            if (contactBuffer != null) {
+                recordContact(result);
+            }
 
-            if (isCollidable) {
-                PCollidable collidable1 = (PCollidable) body1;
-                PCollidable collidable2 = (PCollidable) body2;
+            // A body that is hit wakes up, and is in the same island as the body that hit it
+            wakeUp(body1);
+            wakeUp(body2);
+            islandManager.addContact(potentialPairs.getFirstBody(i), potentialPairs.getSecondBody(i));
 
-                PCollisionResult result = collidable1.hasCollidedWith(collidable2);
+            if (body1.isMoving()) {
+                body1.translate(result.getBody1Mtv());
+            }
+            if (body2.isMoving()) {
+                body2.translate(result.getBody2Mtv());
+            }
+
+            positionalCorrection(body1, body2, result.getMtv());
+
+            // Keep the impulses of the points that were also touching in the last step
+            long pairKey = PPairBuffer.getPairKey(potentialPairs.getFirstBody(i), potentialPairs.getSecondBody(i));
+            PContactManifold manifold = manifoldCache.update(pairKey, narrowphase.getManifold(i));
+            contactSolver.addManifold(manifold);
+        }
+
+        // Solve the velocities of all the contacts together
+        contactSolver.solve();
+        manifoldCache.evictStale();
+        phaseStartTime = endPhase(PStepMetrics.SOLVE, phaseStartTime);
+
+        if (isSleepingEnabled) {
+            for (PConstraints constraint : constraints) {
+                islandManager.addConstraint(constraint);
+            }
+            islandManager.updateSleep(timeEllapsed);
+        }
+
+        endPhase(PStepMetrics.SLEEP, phaseStartTime);
+        if (stepRecorder != null) {
+            int numSolverIterations = contactSolver.getContactCount() > 0 ? contactSolver.getIterations() : 0;
+            stepRecorder.endStep(potentialPairs.size(), numContacts, contactSolver.getContactCount(), numSolverIterations);
+        }
+        if (stepMetrics != null) {
+            stepMetrics.addCounts(potentialPairs.size(), numContacts, countSimulatedBodies());
+            stepMetrics.endStep(stepStartTime);
+        }
+    }
+
+    /**
+     * Adds the time since "startTime" to a phase of the step metrics, and tells the step recorder that the phase ended,
+     * if the steps are measured / recorded
+     * @param phase the phase that ended
+     * @param startTime the time the phase started at
+     * @return the time the next phase starts at
+     */
+    private long endPhase(int phase, long startTime) {
+        if (stepRecorder != null) {
+            stepRecorder.endPhase(phase);
+        }
+        return stepMetrics != null ? stepMetrics.endPhase(phase, startTime) : 0;
+    }
 
-                if (result.isHasCollided()) {
-                    pointsToDraw.add(result.getContactPt());
+    /**
+     * Adds the contact point, normal and depth of a collision to the contact buffer
+     * @param result the collision
+     */
+    private void recordContact(PCollisionResult result) {
+        Vector mtv = result.getMtv();
+        double depth = mtv.norm2();
+        double normalX = depth == 0 ? 0 : mtv.getX() / depth;
+        double normalY = depth == 0 ? 0 : mtv.getY() / depth;
+        contactBuffer.record(result.getContactPt().getX(), result.getContactPt().getY(), normalX, normalY, depth, stepCount);
+    }
 
-                    if (body1.isMoving()) {
-                        body1.translate(result.getBody1Mtv());
-                    }
-                    if (body2.isMoving()) {
-                        body2.translate(result.getBody2Mtv());
-                    }
+    /**
+     * Determines if a body is moved by the simulation, which is when it is moving and awake
+     * @param body the body
+     * @return {@code true} if the body is simulated; else {@code false}
+     */
+    private static boolean isSimulated(PBody body) {
+        return body.isMoving() && body.isAwake();
+    }
 
-                    if (result.getMtv().dot(body2.getCenterPt().minus(body1.getCenterPt())) < 0) {
-                        throw new IllegalArgumentException("MTV's direction should be from body1 to body2!");
-                    }
+    /**
+     * Returns the number of bodies moved by the simulation (see {@code PWorld#isSimulated(PBody)})
+     * @return the number of bodies
+     */
+    private int countSimulatedBodies() {
+        int numSimulatedBodies = 0;
+        for (PBody body : bodies) {
+            if (isSimulated(body)) {
+                numSimulatedBodies++;
+            }
+        }
+        return numSimulatedBodies;
+    }
 
-                    positionalCorrection(body1, body2, result.getMtv());
-                    applyImpulse(body1, body2, result.getMtv(), result.getContactPt());
-                }
+    /**
+     * Wakes up both bodies attached to a constraint if one of them is awake
+     */
+    private void wakeUpConstrainedBodies() {
+        for (PConstraints constraint : constraints) {
+            PBody[] attachedBodies = constraint.getAttachedBodies();
+            if (isSimulated(attachedBodies[0]) || isSimulated(attachedBodies[1])) {
+                wakeUp(attachedBodies[0]);
+                wakeUp(attachedBodies[1]);
             }
         }
     }
 
+    /**
+     * Wakes up a body if it is moving and asleep.
+     * Bodies that are already awake are left alone so that the time they have been resting for is kept
+     * @param body the body
+     */
+    private static void wakeUp(PBody body) {
+        if (body.isMoving() && !body.isAwake()) {
+            body.setAwake(true);
+        }
+    }
+
     /**
      * Adds the forces to all the bodies
      */
     private void addForces() {
         for (PBody body : bodies) {
-            if (!body.isMoving()) {
+            if (!isSimulated(body)) {
                 continue;
             }
 
             // Adding gravitational force
-            Vector gravitationalForce = GRAVITY.scale(body.getMass());
-            Vector newNetForce = body.getNetForce().add(gravitationalForce);
-            body.setNetForce(newNetForce);
+            body.getNetForce().addScaledInPlace(gravity, body.getMass());
         }
 
         // Adding forces from constraints
         for (PConstraints constraint : constraints) {
-            constraint.addTensionForce();
+            PBody[] attachedBodies = constraint.getAttachedBodies();
+            if (isSimulated(attachedBodies[0]) || isSimulated(attachedBodies[1])) {
+                constraint.addTensionForce();
+            }
         }
     }
 
@@ -142,20 +661,21 @@ public class PWorld {
      * @param timeEllapsed The time that has ellapsed
      */
     private void translateBodies(double timeEllapsed) {
+        VectorPool pool = VectorPool.get();
+        int mark = pool.mark();
+        Vector translation = pool.obtain();
+
         for (PBody body : bodies) {
-            if (!body.isMoving()) {
+            if (!isSimulated(body)) {
                 continue;
             }
 
-            // Getting the acceleration from force ( Force = mass * acceleration )
-            Vector acceleration = body.getNetForce().scale(1 / body.getMass());
-
-            // Calculating the new velocity ( V' = V + at)
-            Vector velocity = body.getVelocity().add(acceleration.scale(timeEllapsed));
-            body.setVelocity(velocity);
+            // Calculating the new velocity ( V' = V + at, where Force = mass * acceleration )
+            Vector velocity = body.getVelocity();
+            velocity.addScaledInPlace(body.getNetForce(), timeEllapsed / body.getMass());
 
             // Getting the amount to translate by (Velocity = displacement / time)
-            Vector translation = velocity.scale(timeEllapsed).scale(SCALE);
+            Vector.scaleInto(velocity, timeEllapsed * scale, translation);
             body.translate(translation);
 
             // Calculating the new angular velocity (AngularVelocity' = AngularVelocity + torque * (1 / inertia) * time)
@@ -163,90 +683,11 @@ public class PWorld {
             body.setAngularVelocity(angularVelocity);
 
             // Rotate the body (angle += AngularVelocity' * time)
-            double newAngle = body.getAngle() + (body.getAngularVelocity() * timeEllapsed * SCALE);
+            double newAngle = body.getAngle() + (body.getAngularVelocity() * timeEllapsed * scale);
             body.rotate(newAngle);
         }
-    }
-
-    /**
-     * Calculates and applies the impulse to the two bodies
-     * @param body1 The first body involved in the collision
-     * @param body2 The second body involved in the collision
-     * @param mtv The MTV of the two bodies
-     * @param
-     */
-    private void applyImpulse(PBody body1, PBody body2, Vector mtv, Vector contactPt) {
 
-        double body1InversedMass = body1.isMoving() ? 1 / body1.getMass() : 0;
-        double body2InversedMass = body2.isMoving() ? 1 / body2.getMass() : 0;
-
-        double body1InverseInertia = body1.isMoving() ? body1.getInertia() : 0;
-        double body2InverseInertia = body2.isMoving() ? body2.getInertia() : 0;
-
-        Vector r1 = contactPt.minus(body1.getCenterPt());
-        Vector r2 = contactPt.minus(body2.getCenterPt());
-
-        Vector newV1 = body1.getVelocity().add(Vector.of(-1 * body1.getAngularVelocity() * r1.getY(), body1.getAngularVelocity() * r1.getX()));
-        Vector newV2 = body2.getVelocity().add(Vector.of(-1 * body2.getAngularVelocity() * r2.getY(), body2.getAngularVelocity() * r2.getX()));
-        Vector relativeVelocity = newV2.minus(newV1);
-
-        Vector normal = mtv.normalize();
-        double velAlongNormal = relativeVelocity.dot(normal);
-
-        if(velAlongNormal > 0) {
-            return;
-        }
-
-        double r1CrossN = r1.cross(normal);
-        double r2CrossN = r2.cross(normal);
-
-        // Getting the total impulse of the two bodies as a system
-        double coefficientOfResitution = 0.2;
-        double totalImpulse = -(1 + coefficientOfResitution) * velAlongNormal;
-        totalImpulse /= (body1InversedMass + body2InversedMass +
-                r1CrossN * r1CrossN * body1InverseInertia +
-                r2CrossN * r2CrossN * body2InverseInertia);
-
-        Vector impulse = normal.scale(totalImpulse);
-
-        // Add impulse of each object
-        if (body1.isMoving()) {
-            body1.setVelocity(body1.getVelocity().minus(impulse.scale(body1InversedMass)));
-            body1.setAngularVelocity(body1.getAngularVelocity() - r1CrossN * totalImpulse * body1InverseInertia);
-        }
-
-        if (body2.isMoving()) {
-            body2.setVelocity(body2.getVelocity().add(impulse.scale(body2InversedMass)));
-            body2.setAngularVelocity(body2.getAngularVelocity() + r2CrossN * totalImpulse * body2InverseInertia);
-        }
-
-        Vector tangent = relativeVelocity.minus(normal.scale(relativeVelocity.dot(normal)));
-        tangent = tangent.normalize().scale(-1);
-
-        double r1CrossT = r1.cross(tangent);
-        double r2CrossT = r2.cross(tangent);
-
-        double newFriction = 0.1;
-        double tangentImpulse = -(1 + coefficientOfResitution) * relativeVelocity.dot(tangent) * newFriction;
-        tangentImpulse /= (body1InversedMass + body2InversedMass +
-                r1CrossT * r1CrossT * body1InverseInertia +
-                r2CrossT * r2CrossT * body2InverseInertia);
-
-        if (tangentImpulse > totalImpulse) {
-            tangentImpulse = totalImpulse;
-        }
-
-        impulse = tangent.scale(tangentImpulse);
-
-        if (body1.isMoving()) {
-            body1.setVelocity(body1.getVelocity().minus(impulse.scale(body1InversedMass)));
-            body1.setAngularVelocity(body1.getAngularVelocity() - r1CrossT * tangentImpulse * body1InverseInertia);
-        }
-
-        if (body2.isMoving()) {
-            body2.setVelocity(body2.getVelocity().add(impulse.scale(body2InversedMass)));
-            body2.setAngularVelocity(body2.getAngularVelocity() + r2CrossT * tangentImpulse * body2InverseInertia);
-        }
+        pool.release(mark);
     }
 
     /**
@@ -263,18 +704,23 @@ public class PWorld {
         double body1InversedMass = body1.isMoving() ? 1 / body1.getMass() : 0;
         double body2InversedMass = body2.isMoving() ? 1 / body2.getMass() : 0;
 
+        VectorPool pool = VectorPool.get();
+        int mark = pool.mark();
+
         double penetrationDepth = mtv.norm2();
-        Vector normal = mtv.normalize();
+        Vector normal = Vector.normalizeInto(mtv, pool.obtain());
 
         double correctionDepth = Math.max(penetrationDepth - SLOP, 0) / (body1InversedMass + body2InversedMass) * PERCENT;
-        Vector correction = normal.scale(correctionDepth);
+        Vector correction = pool.obtain();
 
         if (body1.isMoving()) {
-            body1.translate(correction.scale(-1 * body1InversedMass));
+            body1.translate(Vector.scaleInto(normal, -1 * correctionDepth * body1InversedMass, correction));
         }
 
         if (body2.isMoving()) {
-            body2.translate(correction.scale(body2InversedMass));
+            body2.translate(Vector.scaleInto(normal, correctionDepth * body2InversedMass, correction));
         }
+
+        pool.release(mark);
     }
-}
\ No newline at end of file
+}
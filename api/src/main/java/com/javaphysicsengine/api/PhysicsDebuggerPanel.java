@@ -2,14 +2,15 @@ package com.javaphysicsengine.api;
 
 import com.javaphysicsengine.api.body.PCircle;
 import com.javaphysicsengine.api.body.PPolygon;
+import com.javaphysicsengine.api.metrics.PFlightRecorder;
+import com.javaphysicsengine.api.metrics.PStepMetrics;
+import com.javaphysicsengine.utils.RollingHistogram;
 import com.javaphysicsengine.utils.Vector;
 
 import javax.swing.*;
 import java.awt.*;
-import java.awt.event.ActionEvent;
-import java.awt.event.ActionListener;
 
-public class PhysicsDebuggerPanel extends JPanel implements ActionListener {
+public class PhysicsDebuggerPanel extends JPanel {
 
     // Fields controlling the animation and graphics of the JPanel
     private static final int WIDTH = 1000;
@@ -17,14 +18,13 @@ public class PhysicsDebuggerPanel extends JPanel implements ActionListener {
     private final double FPS = 64; //25;
     private final double TIME_MULTIPLIER = 1;
 
-    private int numIterations = 0;
-
-    // Field storing the efficiency of the physics engine (based on the amount of time it takes to simulate the objects)
-    private long simulationDuration = 0;
-    private long maxSimulationDuration = Long.MIN_VALUE;
+    // Fields storing the efficiency of the physics engine (measured by the simulation thread, drawn by the UI thread)
+    private final PStepMetrics stepMetrics = new PStepMetrics();
+    private volatile String[] stepMetricsLines = new String[0];
 
     // Fields representing the physic engine and its bodies
     private PWorld pEngine = new PWorld();
+    private PSimulationThread simulationThread = new PSimulationThread(pEngine);
     private PPolygon polygon;
 
     /**
@@ -257,9 +257,12 @@ public class PhysicsDebuggerPanel extends JPanel implements ActionListener {
             }
         }
 
-        // Create the game timer
-        Timer gameTimer = new Timer((int) (1000.0 / FPS / TIME_MULTIPLIER), this);
-        gameTimer.start();
+        // Simulate the bodies on their own thread, and redraw the screen after each step
+        pEngine.setFixedTimeStep(1 / FPS);
+        pEngine.setStepMetrics(stepMetrics);
+        pEngine.setStepRecorder(PFlightRecorder.createStepRecorder((long) (1e9 / FPS)));
+        simulationThread.setStepListener(this::onStep);
+        simulationThread.start();
     }
 
     /**
@@ -296,43 +299,51 @@ public class PhysicsDebuggerPanel extends JPanel implements ActionListener {
             graphics2D.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
         }
 
-        // Draw the efficiency of physics engine simulation
-        g.setColor(Color.black);
-        g.drawString("Max Simulation Time: " + maxSimulationDuration, 50, 20);
-        g.drawString("Time Ellapsed for Simulation: " + simulationDuration, 50, 40);
-
         // Get the efficiency of drawing the objects to the screen
-        long renderingDuration = System.currentTimeMillis();
-        pEngine.draw(g);
-        renderingDuration = System.currentTimeMillis() - renderingDuration;
+        long renderingDuration = System.nanoTime();
+        simulationThread.getSnapshot().draw(g, getHeight(), true, true);
+        renderingDuration = System.nanoTime() - renderingDuration;
 
-        // Drawing the rendering efficiency
+        // Draw the efficiency of physics engine simulation
         g.setColor(Color.black);
-        g.drawString("Time Ellapsed for Rendering: " + renderingDuration, 50, 60);
+        String[] lines = stepMetricsLines;
+        for (int i = 0; i < lines.length; i++) {
+            g.drawString(lines[i], 50, 20 + 20 * i);
+        }
 
-        // Drawing the time
-        g.drawString("Current Program Time: " + System.currentTimeMillis(), 50, 80);
-        g.drawString("Time Speed: " + TIME_MULTIPLIER + "x", 50, 100);
+        // Drawing the rendering efficiency and the time
+        int y = 20 + 20 * lines.length;
+        g.drawString(String.format("Rendering: %.0f us", renderingDuration / 1e3), 50, y);
+        g.drawString("Time Speed: " + TIME_MULTIPLIER + "x", 50, y + 20);
     }
 
     /**
-     * Simulates the bodies when a Timer triggers this event
-     * @param e the action event
+     * Formats the efficiency of the last steps to be drawn, and redraws the screen. It is called by the simulation
+     * thread, which is the only thread that can read the step metrics
      */
-    public void actionPerformed(ActionEvent e) {
-        // Keeping track of effiency
-        simulationDuration = System.currentTimeMillis();
-        pEngine.simulate((1000.0 / FPS) / 1000.0);
-        simulationDuration = System.currentTimeMillis() - simulationDuration;
-
-        numIterations += 1;
-
-        // Keeping track of the max simulation duration
-        if (simulationDuration > maxSimulationDuration) {
-            maxSimulationDuration = simulationDuration;
+    private void onStep() {
+        String[] lines = new String[PStepMetrics.PHASE_COUNT + 2];
+        lines[0] = formatHistogram("Step", stepMetrics.getStepHistogram());
+        for (int phase = 0; phase < PStepMetrics.PHASE_COUNT; phase++) {
+            lines[phase + 1] = formatHistogram(PStepMetrics.getPhaseName(phase), stepMetrics.getPhaseHistogram(phase));
         }
+        lines[lines.length - 1] = "Pairs: " + stepMetrics.getLastPairCount() +
+                "   Contacts: " + stepMetrics.getLastContactCount() +
+                "   Awake bodies: " + stepMetrics.getLastAwakeBodyCount();
+        stepMetricsLines = lines;
 
         // Redraw the entire screen
         repaint();
     }
-}
\ No newline at end of file
+
+    /**
+     * Returns the 50th and 99th percentiles and the max of a histogram of durations, in microseconds
+     * @param name the name of what was measured
+     * @param histogram the durations in nanoseconds
+     * @return the formatted durations
+     */
+    private static String formatHistogram(String name, RollingHistogram histogram) {
+        return String.format("%s: p50 %.0f us   p99 %.0f us   max %.0f us", name,
+                histogram.getPercentile(50) / 1e3, histogram.getPercentile(99) / 1e3, histogram.getMax() / 1e3);
+    }
+}
@@ -24,6 +24,10 @@ public abstract class PBody {
     private String name;
     private boolean isMoving = true;
 
+    // Sleeping bodies are not simulated until something wakes them up
+    private boolean isAwake = true;
+    private double sleepTime = 0; // In seconds
+
     // The graphic properties of the object
     private Color outlineColor = Color.BLACK;
     private Color fillColor = Color.BLUE;
@@ -59,8 +63,10 @@ public abstract class PBody {
         this.setVelocity(new Vector(existingBody.getVelocity().getX(), existingBody.getVelocity().getY()));
         this.setAngle(existingBody.getAngle());
         this.setMoveable(existingBody.isMoving());
-        this.setOutlineColor(new Color(existingBody.getOutlineColor().getRed(), existingBody.getOutlineColor().getGreen(), existingBody.getOutlineColor().getBlue(), existingBody.getOutlineColor().getAlpha()));
-        this.setFillColor(new Color(existingBody.getFillColor().getRed(), existingBody.getFillColor().getGreen(), existingBody.getFillColor().getBlue(), existingBody.getFillColor().getAlpha()));
+
+        // Colors cannot be changed, so they are shared rather than copied
+        this.setOutlineColor(existingBody.getOutlineColor());
+        this.setFillColor(existingBody.getFillColor());
     }
 
     /**
@@ -190,6 +196,47 @@ public abstract class PBody {
         this.isMoving = isMoving;
     }
 
+    /**
+     * Determines if the body is awake. Bodies that are asleep are not simulated until they are woken up
+     * @return {@code true} if the body is awake; else {@code false}
+     */
+    public boolean isAwake() {
+        return isAwake;
+    }
+
+    /**
+     * Wakes up the body, or puts it to sleep.
+     * Putting a body to sleep stops it, while waking it up resets the time it has been resting for
+     * @param isAwake {@code true} to wake up the body; {@code false} to put it to sleep
+     */
+    public void setAwake(boolean isAwake) {
+        this.isAwake = isAwake;
+        this.sleepTime = 0;
+
+        if (!isAwake) {
+            velocity.setXY(0, 0);
+            netForce.setXY(0, 0);
+            angularVelocity = 0;
+            torque = 0;
+        }
+    }
+
+    /**
+     * Returns how long the body has been resting for
+     * @return the time in seconds
+     */
+    public double getSleepTime() {
+        return sleepTime;
+    }
+
+    /**
+     * Sets how long the body has been resting for
+     * @param sleepTime the time in seconds
+     */
+    public void setSleepTime(double sleepTime) {
+        this.sleepTime = sleepTime;
+    }
+
     /**
      * Move the body to a new point such that the point is its new center point
      * @param newCenterPt The new center point
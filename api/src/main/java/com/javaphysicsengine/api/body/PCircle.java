@@ -1,17 +1,18 @@
 package com.javaphysicsengine.api.body;
 
-import com.javaphysicsengine.api.collision.PBoxBoxCollision;
-import com.javaphysicsengine.api.collision.PCircleCircleCollision;
-import com.javaphysicsengine.api.collision.PCirclePolyCollision;
+import com.javaphysicsengine.api.collision.PCollisionDispatcher;
 import com.javaphysicsengine.api.collision.PCollisionResult;
 import com.javaphysicsengine.utils.Vector;
 
 import java.awt.Graphics;
 
-public class PCircle extends PBody implements PCollidable {
+public class PCircle extends PBody implements PCollidable, PConvexShape {
 
     private double radius = 10;
 
+    // Re-used by getBoundingBox() so that the broadphase does not allocate a new box for every circle on every step
+    private final PBoundingBox boundingBox = new PBoundingBox(0, 0, 0, 0);
+
     /**
      * Creates a PCircle object with a certain name attached
      * @param name The name of the circle
@@ -76,14 +77,21 @@ public class PCircle extends PBody implements PCollidable {
         return (this.getMass()) * (this.radius * this.radius) / 12;
     }
 
+    @Override
+    public Vector getSupportPoint(double dirX, double dirY, Vector result) {
+        double length = Math.sqrt(dirX * dirX + dirY * dirY);
+        return result.setXY(
+                getCenterPt().getX() + dirX / length * radius,
+                getCenterPt().getY() + dirY / length * radius);
+    }
+
     @Override
     public PBoundingBox getBoundingBox() {
-        return new PBoundingBox(
-                this.getCenterPt().getX() - this.getRadius(),
-                this.getCenterPt().getX() + this.getRadius(),
-                this.getCenterPt().getY() - this.getRadius(),
-                this.getCenterPt().getY() + this.getRadius()
-        );
+        boundingBox.setMinX(this.getCenterPt().getX() - this.getRadius());
+        boundingBox.setMaxX(this.getCenterPt().getX() + this.getRadius());
+        boundingBox.setMinY(this.getCenterPt().getY() - this.getRadius());
+        boundingBox.setMaxY(this.getCenterPt().getY() + this.getRadius());
+        return boundingBox;
     }
 
     /**
@@ -139,21 +147,11 @@ public class PCircle extends PBody implements PCollidable {
 
     @Override
     public PCollisionResult hasCollidedWith(PCollidable body) {
-        PCollisionResult result = new PCollisionResult(false, null, null, null, null);
-
-        if (body instanceof PCircle) {
-            result = PCircleCircleCollision.doBodiesCollide(this, (PCircle) body);
-
-        } else if (body instanceof PPolygon) {
-            PPolygon polygon = (PPolygon) body;
-            if (PBoxBoxCollision.doBodiesCollide(polygon.getBoundingBox(), this.getBoundingBox())) {
-                result = PCirclePolyCollision.doBodiesCollide(this, polygon);
-            }
-
-        } else {
-            throw new IllegalArgumentException("Body cannot detect and handle collisions!");
-        }
+        return PCollisionDispatcher.getDefault().collide(this, body);
+    }
 
-        return result;
+    @Override
+    public int getShapeType() {
+        return PCollisionDispatcher.CIRCLE;
     }
 }
\ No newline at end of file
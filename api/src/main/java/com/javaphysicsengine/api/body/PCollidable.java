@@ -4,4 +4,11 @@ import com.javaphysicsengine.api.collision.PCollisionResult;
 
 public interface PCollidable {
     PCollisionResult hasCollidedWith(PCollidable body);
+
+    /**
+     * Returns the id of the shape of the body, used to find the collider for a pair of bodies
+     * (ex: {@code PCollisionDispatcher#CIRCLE})
+     * @return the shape type
+     */
+    int getShapeType();
 }
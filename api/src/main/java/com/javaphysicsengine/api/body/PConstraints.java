@@ -1,5 +1,6 @@
 package com.javaphysicsengine.api.body;
 
+import java.awt.Color;
 import java.awt.Graphics;
 
 public abstract class PConstraints {
@@ -59,6 +60,14 @@ public abstract class PConstraints {
      */
     public abstract void addTensionForce();
 
+    /**
+     * Post-condition: Returns the color of the line drawn between the two attached bodies
+     * @return Returns the color of the constraint
+     */
+    public Color getColor() {
+        return Color.BLACK;
+    }
+
     /**
      * Pre-condition: The "g" must not be null and the "windowHeight" must be greater than 0
      * Post-condition: Draws a line between the two attached bodies
@@ -0,0 +1,19 @@
+package com.javaphysicsengine.api.body;
+
+import com.javaphysicsengine.utils.Vector;
+
+/**
+ * A convex shape described by its support function, which is all that the GJK / EPA collision test needs
+ */
+public interface PConvexShape {
+
+    /**
+     * Finds the point of the shape that is the farthest in a direction
+     * Pre-condition: "dirX" and "dirY" must not both be 0, and "result" must not be null
+     * @param dirX the x value of the direction
+     * @param dirY the y value of the direction
+     * @param result the vector to store the point in
+     * @return "result"
+     */
+    Vector getSupportPoint(double dirX, double dirY, Vector result);
+}
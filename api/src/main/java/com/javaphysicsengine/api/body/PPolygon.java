@@ -1,19 +1,44 @@
 package com.javaphysicsengine.api.body;
 
-import com.javaphysicsengine.api.collision.PBoxBoxCollision;
-import com.javaphysicsengine.api.collision.PCirclePolyCollision;
+import com.javaphysicsengine.api.collision.PCollisionDispatcher;
 import com.javaphysicsengine.api.collision.PCollisionResult;
-import com.javaphysicsengine.api.collision.PPolyPolyCollision;
 import com.javaphysicsengine.utils.Vector;
 
 import java.awt.Graphics;
 import java.util.ArrayList;
 
-public class PPolygon extends PBody implements PCollidable {
+/**
+ * A convex polygon.
+ *
+ * The shape of the polygon is stored in local space (relative to its center of mass, at an angle of 0) in a
+ * {@code PPolygonShape}, which is created when {@code PPolygon#computeCenterOfMass()} is called and can be shared
+ * by many polygons with {@code PPolygon#setShape(PPolygonShape)}. Translating and rotating the polygon
+ * only changes its center point and angle; the world-space vertices and edge normals are computed from the local
+ * shape when they are read (ex: with {@code PPolygon#getVertexX(int)}), and the bounding box is recomputed the next
+ * time it is needed. This avoids the drift of rotating the vertices in place each step, and a polygon does not keep
+ * its own copy of the vertices and normals of its shape.
+ */
+public class PPolygon extends PBody implements PCollidable, PConvexShape {
+
+    // The world-space vertices, which are only created when they are asked for by getVertices().
+    // Before the center of mass is computed, they are the vertices that were added to the polygon directly
+    private ArrayList<Vector> vertices = null;
+    private double verticesX;
+    private double verticesY;
+    private double verticesAngle = Double.NaN;
 
-    private ArrayList<Vector> vertices = new ArrayList<>();
     private PBoundingBox boundingBox;
 
+    // The shape in local space, which may be shared with other polygons
+    private PPolygonShape shape = null;
+
+    // The transform that the bounding box was computed with
+    private double transformX;
+    private double transformY;
+    private double transformAngle;
+    private double cos = 1;
+    private double sin = 0;
+
     /**
      * Constructs the polygon with a given name
      * @param name the name of the polygon
@@ -29,51 +54,286 @@ public class PPolygon extends PBody implements PCollidable {
     public PPolygon(PPolygon existingPolygon) {
         super(existingPolygon);
 
+        // The shape cannot change, so it is shared with the copy
+        if (existingPolygon.isShapeUpToDate()) {
+            setShape(existingPolygon.shape);
+            return;
+        }
+
         // Make a copy of its vertices
-        for (Vector vertexCopy : existingPolygon.vertices) {
-            vertices.add(new Vector(vertexCopy.getX(), vertexCopy.getY()));
+        for (Vector vertexCopy : existingPolygon.getVertices()) {
+            getVertices().add(new Vector(vertexCopy.getX(), vertexCopy.getY()));
         }
 
         this.computeCenterOfMass();
     }
 
     /**
-     * Gets all the vertices of this polygon
+     * Returns the shape of this polygon in local space
+     * @return the shape, or {@code null} if the center of mass was not computed yet
+     */
+    public PPolygonShape getShape() {
+        return shape;
+    }
+
+    /**
+     * Sets the shape of this polygon, which is placed at the current center point and angle of the polygon.
+     * The shape can be shared with any number of other polygons
+     * Pre-condition: "shape" must not be null
+     * @param shape the shape in local space
+     */
+    public void setShape(PPolygonShape shape) {
+        this.shape = shape;
+        vertices = null;
+
+        if (boundingBox == null) {
+            boundingBox = new PBoundingBox(0, 0, 0, 0);
+        }
+
+        // Force the bounding box to be recomputed
+        transformAngle = Double.NaN;
+        updateTransform();
+    }
+
+    /**
+     * Determines if the shape of this polygon matches its vertices, which is not the case when vertices were
+     * added to {@code PPolygon#getVertices()} and {@code PPolygon#computeCenterOfMass()} was not called yet
+     * @return {@code true} if the shape matches the vertices; else {@code false}
+     */
+    public boolean isShapeUpToDate() {
+        return shape != null && (vertices == null || vertices.size() == shape.getVertexCount());
+    }
+
+    /**
+     * Gets all the vertices of this polygon in world space.
+     * The list is created the first time it is asked for, and is updated by later calls once the polygon has moved.
+     * New vertices can be added to the list, and then {@code PPolygon#computeCenterOfMass()} must be called
      * @return the vertices of this polygon
      */
     public ArrayList<Vector> getVertices() {
+        if (vertices == null) {
+            vertices = new ArrayList<>();
+            for (int i = 0; shape != null && i < shape.getVertexCount(); i++) {
+                vertices.add(new Vector(0, 0));
+            }
+            verticesAngle = Double.NaN;
+        }
+
+        if (isShapeUpToDate()) {
+            updateTransform();
+            if (verticesX != transformX || verticesY != transformY || verticesAngle != transformAngle) {
+                for (int i = 0; i < vertices.size(); i++) {
+                    vertices.get(i).setXY(getVertexX(i), getVertexY(i));
+                }
+                verticesX = transformX;
+                verticesY = transformY;
+                verticesAngle = transformAngle;
+            }
+        }
         return vertices;
     }
 
+    /**
+     * Returns the number of vertices (and edges) of this polygon
+     * @return the number of vertices
+     */
+    public int getVertexCount() {
+        return isShapeUpToDate() ? shape.getVertexCount() : getVertices().size();
+    }
+
+    /**
+     * Returns the x coordinate of a vertex in world space
+     * Pre-condition: 0 <= "index" < the number of vertices, and {@code PPolygon#updateTransform()} was called
+     * since the polygon last moved
+     * @param index the index of the vertex
+     * @return the x coordinate
+     */
+    public double getVertexX(int index) {
+        if (!isShapeUpToDate()) {
+            return vertices.get(index).getX();
+        }
+        return transformX + cos * shape.getVertexX(index) - sin * shape.getVertexY(index);
+    }
+
+    /**
+     * Returns the y coordinate of a vertex in world space
+     * Pre-condition: 0 <= "index" < the number of vertices, and {@code PPolygon#updateTransform()} was called
+     * since the polygon last moved
+     * @param index the index of the vertex
+     * @return the y coordinate
+     */
+    public double getVertexY(int index) {
+        if (!isShapeUpToDate()) {
+            return vertices.get(index).getY();
+        }
+        return transformY + sin * shape.getVertexX(index) + cos * shape.getVertexY(index);
+    }
+
+    /**
+     * Returns the x component of the unit normal of an edge in world space, where the normal of edge i
+     * (from vertex i to vertex i + 1) is ( y2 - y1, -(x2 - x1) ) normalized
+     * Pre-condition: 0 <= "index" < the number of vertices, and {@code PPolygon#updateTransform()} was called
+     * since the polygon last rotated
+     * @param index the index of the edge
+     * @return the x component of the normal
+     */
+    public double getNormalX(int index) {
+        if (!isShapeUpToDate()) {
+            return getEditedNormal(index).getX();
+        }
+        return cos * shape.getNormalX(index) - sin * shape.getNormalY(index);
+    }
+
+    /**
+     * Returns the y component of the unit normal of an edge in world space
+     * Pre-condition: 0 <= "index" < the number of vertices, and {@code PPolygon#updateTransform()} was called
+     * since the polygon last rotated
+     * @param index the index of the edge
+     * @return the y component of the normal
+     */
+    public double getNormalY(int index) {
+        if (!isShapeUpToDate()) {
+            return getEditedNormal(index).getY();
+        }
+        return sin * shape.getNormalX(index) + cos * shape.getNormalY(index);
+    }
+
+    /**
+     * Computes the normal of an edge from the vertices that were added to the polygon directly
+     */
+    private Vector getEditedNormal(int index) {
+        Vector sidePt1 = vertices.get(index);
+        Vector sidePt2 = index + 1 < vertices.size() ? vertices.get(index + 1) : vertices.get(0);
+        return Vector.of(sidePt2.getY() - sidePt1.getY(), -1 * (sidePt2.getX() - sidePt1.getX())).normalize();
+    }
+
+    /**
+     * Gets the unit normal of each edge, where the normal of edge i (from vertex i to vertex i + 1) is
+     * ( y2 - y1, -(x2 - x1) ) normalized.
+     * A new list is made on each call; the collision tests read the normals with {@code PPolygon#getNormalX(int)}
+     * and {@code PPolygon#getNormalY(int)} instead
+     * @return the normals of the edges
+     */
+    public ArrayList<Vector> getEdgeNormals() {
+        updateTransform();
+
+        int numVertices = getVertexCount();
+        ArrayList<Vector> edgeNormals = new ArrayList<>(numVertices);
+        for (int i = 0; i < numVertices; i++) {
+            edgeNormals.add(new Vector(getNormalX(i), getNormalY(i)));
+        }
+        return edgeNormals;
+    }
+
     /**
      * Gets the bounding box of this polygon
      * @return the bounding box
      */
     @Override
     public PBoundingBox getBoundingBox() {
+        updateTransform();
         return boundingBox;
     }
 
     /**
-     * Computes the center of mass
+     * Computes the center of mass, and stores the current vertices as the shape of the polygon
      */
     public void computeCenterOfMass() {
+        ArrayList<Vector> vertices = getVertices();
+
         boundingBox = new PBoundingBox(vertices);
         getCenterPt().setXY(
                 (boundingBox.getMinX() + boundingBox.getMaxX()) / 2,
                 (boundingBox.getMinY() + boundingBox.getMaxY()) / 2
         );
+
+        double angle = getAngle();
+        shape = PPolygonShape.fromWorldVertices(vertices, getCenterPt().getX(), getCenterPt().getY(), angle);
+
+        transformX = getCenterPt().getX();
+        transformY = getCenterPt().getY();
+        transformAngle = angle;
+        cos = Math.cos(angle);
+        sin = Math.sin(angle);
+
+        // The shape holds the vertices now, so the world-space list is only made again if it is asked for
+        this.vertices = null;
+    }
+
+    /**
+     * Recomputes the bounding box (and the rotation used for the world-space vertices and normals) if the polygon
+     * has moved or rotated since they were last computed.
+     * It is called by every method that reads them, but must be called on each polygon before the polygons
+     * are read by many threads at once (ex: by {@code PNarrowphase}) since it writes to the polygon
+     */
+    public void updateTransform() {
+        double x = getCenterPt().getX();
+        double y = getCenterPt().getY();
+        double angle = getAngle();
+        if (x == transformX && y == transformY && angle == transformAngle) {
+            return;
+        }
+
+        // The vertices were added to directly, and are the shape until the center of mass is computed
+        if (!isShapeUpToDate()) {
+            return;
+        }
+
+        if (angle != transformAngle) {
+            cos = Math.cos(angle);
+            sin = Math.sin(angle);
+        }
+        transformX = x;
+        transformY = y;
+        transformAngle = angle;
+
+        // The bounding box of an unrotated polygon is the bounding box of its shape
+        boolean isUnrotated = sin == 0 && cos == 1;
+        double minX = isUnrotated ? x + shape.getMinX() : Double.MAX_VALUE;
+        double minY = isUnrotated ? y + shape.getMinY() : Double.MAX_VALUE;
+        double maxX = isUnrotated ? x + shape.getMaxX() : -Double.MAX_VALUE;
+        double maxY = isUnrotated ? y + shape.getMaxY() : -Double.MAX_VALUE;
+
+        for (int i = 0; !isUnrotated && i < shape.getVertexCount(); i++) {
+            double vertexX = getVertexX(i);
+            double vertexY = getVertexY(i);
+            minX = Math.min(minX, vertexX);
+            minY = Math.min(minY, vertexY);
+            maxX = Math.max(maxX, vertexX);
+            maxY = Math.max(maxY, vertexY);
+        }
+
+        boundingBox.setMinX(minX);
+        boundingBox.setMinY(minY);
+        boundingBox.setMaxX(maxX);
+        boundingBox.setMaxY(maxY);
     }
 
     @Override
     public double getInertia() {
-        double inertia = 0;
-        for (Vector vertex : vertices) {
-            inertia = vertex.minus(this.getCenterPt()).norm1();
+        // The vertices were added to directly, and are the shape until the center of mass is computed
+        if (!isShapeUpToDate()) {
+            return PPolygonShape.fromWorldVertices(getVertices(), getCenterPt().getX(), getCenterPt().getY(), getAngle())
+                    .getInertia() * getMass();
         }
+        return shape.getInertia() * getMass();
+    }
 
-        inertia = (inertia / vertices.size()) * getMass();
-        return inertia;
+    @Override
+    public Vector getSupportPoint(double dirX, double dirY, Vector result) {
+        updateTransform();
+
+        int farthestVertex = 0;
+        double maxProj = -Double.MAX_VALUE;
+
+        for (int i = 0; i < getVertexCount(); i++) {
+            double proj = getVertexX(i) * dirX + getVertexY(i) * dirY;
+            if (proj > maxProj) {
+                maxProj = proj;
+                farthestVertex = i;
+            }
+        }
+        return result.setXY(getVertexX(farthestVertex), getVertexY(farthestVertex));
     }
 
     /**
@@ -81,21 +341,9 @@ public class PPolygon extends PBody implements PCollidable {
      * @param displacement The amount to move the body by
      */
     public void translate(Vector displacement) {
-        // Moving all the vertices
-        for (Vector vertex : vertices) {
-            vertex.setX(vertex.getX() + displacement.getX());
-            vertex.setY(vertex.getY() + displacement.getY());
-        }
-
-        // Move the centerPt
+        // The vertices and bounding box follow the centerPt the next time they are read
         getCenterPt().setX(getCenterPt().getX() + displacement.getX());
         getCenterPt().setY(getCenterPt().getY() + displacement.getY());
-
-        // Move the bounding box
-        boundingBox.setMinX(boundingBox.getMinX() + displacement.getX());
-        boundingBox.setMaxX(boundingBox.getMaxX() + displacement.getX());
-        boundingBox.setMinY(boundingBox.getMinY() + displacement.getY());
-        boundingBox.setMaxY(boundingBox.getMaxY() + displacement.getY());
     }
 
     /**
@@ -103,22 +351,7 @@ public class PPolygon extends PBody implements PCollidable {
      * @param newAngle The angle of the body in radians
      */
     public void rotate(double newAngle) {
-        double amountToRotate = newAngle - this.getAngle();
-
-        for (Vector vertex : vertices) {
-            Vector shiftedVertex = vertex.minus(this.getCenterPt());
-
-            double newX = Math.cos(amountToRotate) * shiftedVertex.getX() - Math.sin(amountToRotate) * shiftedVertex.getY();
-            double newY = Math.sin(amountToRotate) * shiftedVertex.getX() + Math.cos(amountToRotate) * shiftedVertex.getY();
-
-            Vector rotatedVertex = Vector.of(newX, newY).add(this.getCenterPt());
-            vertex.setXY(rotatedVertex);
-        }
-
-        if (boundingBox != null) {
-            boundingBox.recomputeBoundaries(vertices);
-        }
-
+        // The vertices, normals and bounding box follow the angle the next time they are read
         super.setAngle(newAngle);
     }
 
@@ -139,7 +372,7 @@ public class PPolygon extends PBody implements PCollidable {
      */
     @Override
     public void drawBoundingBox(Graphics g, int windowHeight) {
-        boundingBox.drawBoundingBox(g, windowHeight);
+        getBoundingBox().drawBoundingBox(g, windowHeight);
         super.drawBoundingBox(g, windowHeight);
     }
 
@@ -150,12 +383,14 @@ public class PPolygon extends PBody implements PCollidable {
      */
     @Override
     public void drawFill(Graphics g, int windowHeight) {
+        updateTransform();
+
         // Convert the vertices to x and y coordinates
-        int[] xCoords = new int[vertices.size()];
-        int[] yCoords = new int[vertices.size()];
-        for (int i = 0; i < vertices.size(); i++) {
-            xCoords[i] = (int) vertices.get(i).getX();
-            yCoords[i] = windowHeight - (int) vertices.get(i).getY();
+        int[] xCoords = new int[getVertexCount()];
+        int[] yCoords = new int[getVertexCount()];
+        for (int i = 0; i < xCoords.length; i++) {
+            xCoords[i] = (int) getVertexX(i);
+            yCoords[i] = windowHeight - (int) getVertexY(i);
         }
 
         // Draw the polygon onto the screen
@@ -173,12 +408,15 @@ public class PPolygon extends PBody implements PCollidable {
      */
     @Override
     public void drawOutline(Graphics g, int windowHeight) {
+        updateTransform();
+
         // Convert the vertices to x and y coordinates
-        int[] xCoords = new int[vertices.size()];
-        int[] yCoords = new int[vertices.size()];
-        for (int i = 0; i < vertices.size(); i++) {
-            xCoords[i] = (int) vertices.get(i).getX();
-            yCoords[i] = windowHeight - (int) vertices.get(i).getY();
+        int numVertices = getVertexCount();
+        int[] xCoords = new int[numVertices];
+        int[] yCoords = new int[numVertices];
+        for (int i = 0; i < numVertices; i++) {
+            xCoords[i] = (int) getVertexX(i);
+            yCoords[i] = windowHeight - (int) getVertexY(i);
         }
 
         // Draw the polygon onto the screen
@@ -189,19 +427,15 @@ public class PPolygon extends PBody implements PCollidable {
         super.drawOutline(g, windowHeight);
 
         // Draw the normals
-        for (int i = 0; i < vertices.size(); i++) {
-            Vector sidePt1 = vertices.get(i);
-            Vector sidePt2 = i + 1 < vertices.size() ? vertices.get(i + 1) : vertices.get(0);
-
-            Vector midPt = sidePt1.add(sidePt2).scale(0.5);
-
-            Vector normal = Vector.of(sidePt2.getY() - sidePt1.getY(), -1 * (sidePt2.getX() - sidePt1.getX())).normalize();
-            Vector endPt = normal.scale(10).add(midPt);
+        for (int i = 0; i < numVertices; i++) {
+            int nextVertex = i + 1 < numVertices ? i + 1 : 0;
+            double midX = (getVertexX(i) + getVertexX(nextVertex)) * 0.5;
+            double midY = (getVertexY(i) + getVertexY(nextVertex)) * 0.5;
 
-            int x1 = (int) midPt.getX();
-            int y1 = windowHeight - (int) midPt.getY();
-            int x2 = (int) endPt.getX();
-            int y2 = windowHeight - (int) endPt.getY();
+            int x1 = (int) midX;
+            int y1 = windowHeight - (int) midY;
+            int x2 = (int) (getNormalX(i) * 10 + midX);
+            int y2 = windowHeight - (int) (getNormalY(i) * 10 + midY);
 
             g.setColor(this.getNormalVectorColor());
             g.drawLine(x1, y1, x2, y2);
@@ -215,13 +449,15 @@ public class PPolygon extends PBody implements PCollidable {
      */
     @Override
     public String toString() {
+        updateTransform();
+
         StringBuilder propertiesLine = new StringBuilder(super.toString() + "Vertices:");
-        for (int i = 0; i < vertices.size(); i++) {
-            propertiesLine.append(vertices.get(i).getX())
+        for (int i = 0; i < getVertexCount(); i++) {
+            propertiesLine.append(getVertexX(i))
                     .append(" ")
-                    .append(vertices.get(i).getY());
+                    .append(getVertexY(i));
 
-            if (i < vertices.size() - 1)
+            if (i < getVertexCount() - 1)
                 propertiesLine.append(",");
         }
         return propertiesLine.toString();
@@ -229,32 +465,11 @@ public class PPolygon extends PBody implements PCollidable {
 
     @Override
     public PCollisionResult hasCollidedWith(PCollidable body) {
-        PCollisionResult result = new PCollisionResult(false, null, null, null, null);
-
-        if (body instanceof PCircle) {
-            PCircle circle = (PCircle) body;
-
-            if (PBoxBoxCollision.doBodiesCollide(circle.getBoundingBox(), this.getBoundingBox())) {
-                result = PCirclePolyCollision.doBodiesCollide(circle, this);
-
-                // Note: since we are not comparing this obj with the incoming obj, the directions are flipped
-                if (result.isHasCollided()) {
-                    result = new PCollisionResult(result.isHasCollided(), result.getBody2Mtv(),
-                            result.getBody1Mtv(), result.getMtv().scale(-1), result.getContactPt());
-                }
-            }
-
-        } else if (body instanceof PPolygon) {
-            PPolygon polygon = (PPolygon) body;
-
-            if (PBoxBoxCollision.doBodiesCollide(polygon.getBoundingBox(), this.getBoundingBox())) {
-                result = PPolyPolyCollision.doBodiesCollide(this, polygon);
-            }
-
-        } else {
-            throw new IllegalArgumentException("Body cannot detect and handle collisions!");
-        }
+        return PCollisionDispatcher.getDefault().collide(this, body);
+    }
 
-        return result;
+    @Override
+    public int getShapeType() {
+        return PCollisionDispatcher.POLYGON;
     }
 }
\ No newline at end of file
@@ -0,0 +1,222 @@
+package com.javaphysicsengine.api.body;
+
+import com.javaphysicsengine.utils.Vector;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * The shape of a polygon in local space (relative to the center of mass of the polygon, at an angle of 0).
+ *
+ * A shape cannot be changed once it is created, so any number of polygons can share one shape
+ * (ex: hundreds of identical boxes) and only store their own position, angle and world-space vertices:
+ * <pre>
+ *     PPolygonShape boxShape = PPolygonShape.createBox(30, 30);
+ *     box.setShape(boxShape);
+ *     box.move(Vector.of(125, 125));
+ * </pre>
+ * The data is stored in flat arrays so that it stays compact and close together in memory.
+ */
+public final class PPolygonShape {
+    private final double[] vertexXs;
+    private final double[] vertexYs;
+
+    // The unit normal of each edge (edge i goes from vertex i to vertex i + 1)
+    private final double[] normalXs;
+    private final double[] normalYs;
+
+    private final double area;
+    private final double inertia;
+
+    private final double minX;
+    private final double minY;
+    private final double maxX;
+    private final double maxY;
+
+    /**
+     * Creates a shape from its vertices in local space
+     * Pre-condition: "localVertices" must have at least 3 vertices of a convex polygon, in order
+     * @param localVertices the vertices, relative to the center of mass
+     */
+    public PPolygonShape(List<Vector> localVertices) {
+        int numVertices = localVertices.size();
+        vertexXs = new double[numVertices];
+        vertexYs = new double[numVertices];
+        normalXs = new double[numVertices];
+        normalYs = new double[numVertices];
+
+        double minX = Double.MAX_VALUE;
+        double minY = Double.MAX_VALUE;
+        double maxX = -Double.MAX_VALUE;
+        double maxY = -Double.MAX_VALUE;
+        for (int i = 0; i < numVertices; i++) {
+            vertexXs[i] = localVertices.get(i).getX();
+            vertexYs[i] = localVertices.get(i).getY();
+
+            minX = Math.min(minX, vertexXs[i]);
+            minY = Math.min(minY, vertexYs[i]);
+            maxX = Math.max(maxX, vertexXs[i]);
+            maxY = Math.max(maxY, vertexYs[i]);
+        }
+        this.minX = minX;
+        this.minY = minY;
+        this.maxX = maxX;
+        this.maxY = maxY;
+
+        // The area and polar moment of area come from the triangles between the origin and each edge
+        double doubleArea = 0;
+        double secondMoment = 0;
+        for (int i = 0; i < numVertices; i++) {
+            int j = i + 1 < numVertices ? i + 1 : 0;
+
+            double edgeX = vertexXs[j] - vertexXs[i];
+            double edgeY = vertexYs[j] - vertexYs[i];
+            double length = Math.sqrt(edgeX * edgeX + edgeY * edgeY);
+            normalXs[i] = length == 0 ? 0 : edgeY / length;
+            normalYs[i] = length == 0 ? 0 : -edgeX / length;
+
+            double cross = vertexXs[i] * vertexYs[j] - vertexXs[j] * vertexYs[i];
+            doubleArea += cross;
+            secondMoment += cross * (vertexXs[i] * vertexXs[i] + vertexXs[i] * vertexXs[j] + vertexXs[j] * vertexXs[j] +
+                    vertexYs[i] * vertexYs[i] + vertexYs[i] * vertexYs[j] + vertexYs[j] * vertexYs[j]);
+        }
+        area = Math.abs(doubleArea) / 2;
+        inertia = doubleArea == 0 ? 0 : secondMoment / (6 * doubleArea);
+    }
+
+    /**
+     * Creates a shape from vertices in world space, relative to a center point and rotated by an angle
+     * Pre-condition: "worldVertices" must have at least 3 vertices of a convex polygon, in order
+     * @param worldVertices the vertices in world space
+     * @param centerX the x coordinate of the center of mass in world space
+     * @param centerY the y coordinate of the center of mass in world space
+     * @param angle the angle the vertices are rotated by (in radians)
+     * @return the shape
+     */
+    public static PPolygonShape fromWorldVertices(List<Vector> worldVertices, double centerX, double centerY, double angle) {
+        // Un-rotate the vertices, so that the shape can be rotated to any angle from it
+        double cos = Math.cos(-angle);
+        double sin = Math.sin(-angle);
+
+        Vector[] localVertices = new Vector[worldVertices.size()];
+        for (int i = 0; i < localVertices.length; i++) {
+            double shiftedX = worldVertices.get(i).getX() - centerX;
+            double shiftedY = worldVertices.get(i).getY() - centerY;
+            localVertices[i] = new Vector(cos * shiftedX - sin * shiftedY, sin * shiftedX + cos * shiftedY);
+        }
+        return new PPolygonShape(Arrays.asList(localVertices));
+    }
+
+    /**
+     * Creates a box centered at the origin
+     * Pre-condition: "width" and "height" must be greater than 0
+     * @param width the width of the box
+     * @param height the height of the box
+     * @return the shape of the box
+     */
+    public static PPolygonShape createBox(double width, double height) {
+        return new PPolygonShape(Arrays.asList(
+                Vector.of(-width / 2, -height / 2),
+                Vector.of(width / 2, -height / 2),
+                Vector.of(width / 2, height / 2),
+                Vector.of(-width / 2, height / 2)
+        ));
+    }
+
+    /**
+     * Returns the number of vertices (and edges) of the shape
+     * @return the number of vertices
+     */
+    public int getVertexCount() {
+        return vertexXs.length;
+    }
+
+    /**
+     * Returns the x coordinate of a vertex in local space
+     * Pre-condition: 0 <= "index" < the number of vertices
+     * @param index the index of the vertex
+     * @return the x coordinate
+     */
+    public double getVertexX(int index) {
+        return vertexXs[index];
+    }
+
+    /**
+     * Returns the y coordinate of a vertex in local space
+     * Pre-condition: 0 <= "index" < the number of vertices
+     * @param index the index of the vertex
+     * @return the y coordinate
+     */
+    public double getVertexY(int index) {
+        return vertexYs[index];
+    }
+
+    /**
+     * Returns the x component of the unit normal of an edge in local space
+     * Pre-condition: 0 <= "index" < the number of vertices
+     * @param index the index of the edge (from vertex i to vertex i + 1)
+     * @return the x component of the normal
+     */
+    public double getNormalX(int index) {
+        return normalXs[index];
+    }
+
+    /**
+     * Returns the y component of the unit normal of an edge in local space
+     * Pre-condition: 0 <= "index" < the number of vertices
+     * @param index the index of the edge (from vertex i to vertex i + 1)
+     * @return the y component of the normal
+     */
+    public double getNormalY(int index) {
+        return normalYs[index];
+    }
+
+    /**
+     * Returns the area of the shape
+     * @return the area
+     */
+    public double getArea() {
+        return area;
+    }
+
+    /**
+     * Returns the moment of inertia of the shape about the local origin for a mass of 1
+     * (multiply it by the mass of a body to get the body's moment of inertia)
+     * @return the moment of inertia per unit of mass
+     */
+    public double getInertia() {
+        return inertia;
+    }
+
+    /**
+     * Returns the smallest x coordinate of the shape in local space
+     * @return the minimum x
+     */
+    public double getMinX() {
+        return minX;
+    }
+
+    /**
+     * Returns the smallest y coordinate of the shape in local space
+     * @return the minimum y
+     */
+    public double getMinY() {
+        return minY;
+    }
+
+    /**
+     * Returns the largest x coordinate of the shape in local space
+     * @return the maximum x
+     */
+    public double getMaxX() {
+        return maxX;
+    }
+
+    /**
+     * Returns the largest y coordinate of the shape in local space
+     * @return the maximum y
+     */
+    public double getMaxY() {
+        return maxY;
+    }
+}
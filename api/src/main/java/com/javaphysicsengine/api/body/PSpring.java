@@ -72,6 +72,15 @@ public class PSpring extends PConstraints {
         body.setNetForce((Vector.add(body.getNetForce(), tensionForce)));
     }
 
+    /**
+     * Post-condition: Returns the color of the line drawn between the two attached bodies
+     * @return Returns the color of the spring
+     */
+    @Override
+    public Color getColor() {
+        return Color.GREEN;
+    }
+
     /**
      * Draws a line between the two attached bodies
      * @param g The Graphics Object
@@ -79,7 +88,7 @@ public class PSpring extends PConstraints {
      */
     public void drawConstraints(Graphics g, int windowHeight) {
         // Draw a line in between the two objects
-        g.setColor(Color.GREEN);
+        g.setColor(getColor());
         PBody[] bodies = super.getAttachedBodies();
 
         int x1 = (int) bodies[0].getCenterPt().getX();
@@ -69,6 +69,15 @@ public class PString extends PConstraints {
         }
     }
 
+    /**
+     * Post-condition: Returns the color of the line drawn between the two attached bodies
+     * @return Returns the color of the string
+     */
+    @Override
+    public Color getColor() {
+        return Color.WHITE;
+    }
+
     /**
      * Pre-condition: The "g" must not be null and the "windowHeight" must be greater than 0
      * Post-condition: Draws a line between the two attached bodies
@@ -77,7 +86,7 @@ public class PString extends PConstraints {
      */
     public void drawConstraints(Graphics g, int windowHeight) {
         // Draw a line in between the two objects
-        g.setColor(Color.WHITE);
+        g.setColor(getColor());
         PBody[] bodies = super.getAttachedBodies();
         g.drawLine((int) bodies[0].getCenterPt().getX(), windowHeight - (int) bodies[0].getCenterPt().getY(),
                 (int) bodies[1].getCenterPt().getX(), windowHeight - (int) bodies[1].getCenterPt().getY());
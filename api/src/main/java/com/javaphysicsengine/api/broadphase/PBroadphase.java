@@ -0,0 +1,21 @@
+package com.javaphysicsengine.api.broadphase;
+
+import com.javaphysicsengine.api.body.PBody;
+
+import java.util.List;
+
+/**
+ * Finds the pairs of bodies that could be colliding with each other, so that only
+ * those pairs need to go through the (more expensive) collision detection algorithms
+ */
+public interface PBroadphase {
+
+    /**
+     * Finds the pairs of bodies whose bounding boxes could be overlapping.
+     * The pairs are stored by the bodies' indices in "bodies"; the buffer is cleared before the pairs are added
+     *
+     * @param bodies the bodies in the world
+     * @param pairs the buffer to store the pairs of bodies that could be intersecting
+     */
+    void findPotentialIntersectingBodies(List<PBody> bodies, PPairBuffer pairs);
+}
@@ -0,0 +1,23 @@
+package com.javaphysicsengine.api.broadphase;
+
+import com.javaphysicsengine.api.body.PBody;
+
+/**
+ * Gets notified when two bodies start or stop being a potentially intersecting pair in a broadphase
+ */
+public interface PBroadphaseListener {
+
+    /**
+     * Called when the bounding boxes of two bodies start to overlap
+     * @param body1 the first body of the pair
+     * @param body2 the second body of the pair
+     */
+    void onPairAdded(PBody body1, PBody body2);
+
+    /**
+     * Called when the bounding boxes of two bodies stop overlapping, or when one of them is removed
+     * @param body1 the first body of the pair
+     * @param body2 the second body of the pair
+     */
+    void onPairRemoved(PBody body1, PBody body2);
+}
@@ -0,0 +1,469 @@
+package com.javaphysicsengine.api.broadphase;
+
+import com.javaphysicsengine.api.body.PBody;
+import com.javaphysicsengine.api.body.PBoundingBox;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.List;
+
+/**
+ * A broadphase that keeps a bounding volume hierarchy of the bodies across steps.
+ *
+ * Each body is stored in a leaf with a "fat" bounding box (its bounding box extended by a margin),
+ * so a body only needs to be re-inserted into the tree when it moves out of its fat box.
+ * The tree is kept balanced with tree rotations as leaves are inserted and removed.
+ */
+public class PDynamicAabbTree implements PBroadphase {
+    public static final double DEFAULT_MARGIN = 5;
+
+    private static final int NULL_NODE = -1;
+    private static final int INITIAL_CAPACITY = 16;
+
+    private final double margin;
+
+    // The nodes of the tree, stored as parallel arrays indexed by the node id
+    private double[] minX;
+    private double[] minY;
+    private double[] maxX;
+    private double[] maxY;
+    private int[] parent;
+    private int[] child1;
+    private int[] child2;
+    private int[] height;
+
+    // The leaf data
+    private PBody[] leafBodies;
+    private int[] leafBodyIndex;
+    private int[] leafStamp;
+
+    private int root = NULL_NODE;
+    private int freeList = NULL_NODE;
+    private int nodeCapacity = 0;
+    private int leafCount = 0;
+    private int stamp = 0;
+
+    private final IdentityHashMap<PBody, Integer> bodyToLeaf = new IdentityHashMap<>();
+    private int[] bodyLeaves = new int[INITIAL_CAPACITY];
+    private int[] stack = new int[64];
+
+    /**
+     * Creates a dynamic AABB tree whose fat bounding boxes are extended by {@code DEFAULT_MARGIN}
+     */
+    public PDynamicAabbTree() {
+        this(DEFAULT_MARGIN);
+    }
+
+    /**
+     * Creates a dynamic AABB tree
+     * Pre-condition: "margin" must not be negative
+     * @param margin the amount to extend each side of a body's bounding box by when it is inserted in the tree
+     */
+    public PDynamicAabbTree(double margin) {
+        this.margin = margin;
+        growNodes(INITIAL_CAPACITY);
+    }
+
+    @Override
+    public void findPotentialIntersectingBodies(List<PBody> bodies, PPairBuffer pairs) {
+        updateLeaves(bodies);
+
+        pairs.clear();
+        for (int i = 0; i < bodies.size(); i++) {
+            queryPairs(i, pairs);
+        }
+    }
+
+    /**
+     * Returns the height of the tree (where a tree with a single leaf has a height of 0)
+     * @return the height of the tree, or -1 if the tree is empty
+     */
+    public int getHeight() {
+        return root == NULL_NODE ? -1 : height[root];
+    }
+
+    /**
+     * Returns the number of bodies stored in the tree
+     * @return the number of bodies stored in the tree
+     */
+    public int getLeafCount() {
+        return leafCount;
+    }
+
+    /**
+     * Inserts the new bodies, re-inserts the bodies that escaped their fat boxes and
+     * removes the bodies that are no longer in the list
+     * @param bodies the bodies in the world
+     */
+    private void updateLeaves(List<PBody> bodies) {
+        stamp++;
+        if (bodyLeaves.length < bodies.size()) {
+            bodyLeaves = new int[Math.max(bodies.size(), bodyLeaves.length * 2)];
+        }
+
+        for (int i = 0; i < bodies.size(); i++) {
+            PBody body = bodies.get(i);
+            PBoundingBox box = body.getBoundingBox();
+
+            Integer leaf = bodyToLeaf.get(body);
+            if (leaf == null) {
+                leaf = createLeaf(body, box);
+                bodyToLeaf.put(body, leaf);
+
+            } else if (!isContainedInNode(leaf, box)) {
+                removeLeaf(leaf);
+                setFatBox(leaf, box);
+                insertLeaf(leaf);
+            }
+
+            leafStamp[leaf] = stamp;
+            leafBodyIndex[leaf] = i;
+            bodyLeaves[i] = leaf;
+        }
+
+        // Remove the bodies that were taken out of the world
+        if (leafCount > bodies.size()) {
+            for (int node = 0; node < nodeCapacity; node++) {
+                if (height[node] == 0 && leafStamp[node] != stamp) {
+                    bodyToLeaf.remove(leafBodies[node]);
+                    removeLeaf(node);
+                    freeNode(node);
+                    leafCount--;
+                }
+            }
+        }
+    }
+
+    /**
+     * Finds all the bodies after body "bodyIndex" whose fat boxes overlap with its fat box
+     * @param bodyIndex the index of the body to query with
+     * @param pairs the buffer to add the pairs to
+     */
+    private void queryPairs(int bodyIndex, PPairBuffer pairs) {
+        int leaf = bodyLeaves[bodyIndex];
+        int stackSize = 0;
+        stack[stackSize++] = root;
+
+        while (stackSize > 0) {
+            int node = stack[--stackSize];
+            if (node == NULL_NODE || !doNodesOverlap(node, leaf)) {
+                continue;
+            }
+
+            if (height[node] == 0) {
+                int otherIndex = leafBodyIndex[node];
+                if (otherIndex > bodyIndex) {
+                    pairs.addDistinct(bodyIndex, otherIndex);
+                }
+
+            } else {
+                if (stackSize + 2 > stack.length) {
+                    stack = Arrays.copyOf(stack, stack.length * 2);
+                }
+                stack[stackSize++] = child1[node];
+                stack[stackSize++] = child2[node];
+            }
+        }
+    }
+
+    private int createLeaf(PBody body, PBoundingBox box) {
+        int leaf = allocateNode();
+        leafBodies[leaf] = body;
+        height[leaf] = 0;
+        setFatBox(leaf, box);
+        insertLeaf(leaf);
+        leafCount++;
+        return leaf;
+    }
+
+    private void setFatBox(int node, PBoundingBox box) {
+        minX[node] = box.getMinX() - margin;
+        minY[node] = box.getMinY() - margin;
+        maxX[node] = box.getMaxX() + margin;
+        maxY[node] = box.getMaxY() + margin;
+    }
+
+    /**
+     * Inserts a leaf into the tree, next to the sibling which increases the perimeters of the tree the least
+     * @param leaf the leaf to insert
+     */
+    private void insertLeaf(int leaf) {
+        if (root == NULL_NODE) {
+            root = leaf;
+            parent[root] = NULL_NODE;
+            return;
+        }
+
+        // Find the best sibling for the leaf
+        int index = root;
+        while (height[index] > 0) {
+            int c1 = child1[index];
+            int c2 = child2[index];
+
+            double perimeter = getPerimeter(index);
+            double combinedPerimeter = getCombinedPerimeter(index, leaf);
+
+            // The cost of creating a new parent for this node and the new leaf
+            double cost = 2 * combinedPerimeter;
+
+            // The minimum cost of pushing the leaf further down the tree
+            double inheritanceCost = 2 * (combinedPerimeter - perimeter);
+            double cost1 = getDescendCost(c1, leaf) + inheritanceCost;
+            double cost2 = getDescendCost(c2, leaf) + inheritanceCost;
+
+            if (cost < cost1 && cost < cost2) {
+                break;
+            }
+            index = cost1 < cost2 ? c1 : c2;
+        }
+
+        // Create a new parent for the sibling and the leaf
+        int sibling = index;
+        int oldParent = parent[sibling];
+        int newParent = allocateNode();
+        parent[newParent] = oldParent;
+        height[newParent] = height[sibling] + 1;
+        setToUnion(newParent, sibling, leaf);
+
+        if (oldParent != NULL_NODE) {
+            if (child1[oldParent] == sibling) {
+                child1[oldParent] = newParent;
+            } else {
+                child2[oldParent] = newParent;
+            }
+        } else {
+            root = newParent;
+        }
+
+        child1[newParent] = sibling;
+        child2[newParent] = leaf;
+        parent[sibling] = newParent;
+        parent[leaf] = newParent;
+
+        // Walk back up the tree fixing the heights and boxes
+        refitAncestors(parent[leaf]);
+    }
+
+    /**
+     * Removes a leaf from the tree (without freeing the leaf's node)
+     * @param leaf the leaf to remove
+     */
+    private void removeLeaf(int leaf) {
+        if (leaf == root) {
+            root = NULL_NODE;
+            return;
+        }
+
+        int leafParent = parent[leaf];
+        int grandParent = parent[leafParent];
+        int sibling = child1[leafParent] == leaf ? child2[leafParent] : child1[leafParent];
+
+        if (grandParent != NULL_NODE) {
+            // Destroy the parent and connect the sibling to the grand parent
+            if (child1[grandParent] == leafParent) {
+                child1[grandParent] = sibling;
+            } else {
+                child2[grandParent] = sibling;
+            }
+            parent[sibling] = grandParent;
+            freeNode(leafParent);
+
+            refitAncestors(grandParent);
+
+        } else {
+            root = sibling;
+            parent[sibling] = NULL_NODE;
+            freeNode(leafParent);
+        }
+    }
+
+    /**
+     * Balances and recomputes the boxes and heights of a node and all its ancestors
+     * @param node the node to start from
+     */
+    private void refitAncestors(int node) {
+        int index = node;
+        while (index != NULL_NODE) {
+            index = balance(index);
+
+            int c1 = child1[index];
+            int c2 = child2[index];
+            height[index] = 1 + Math.max(height[c1], height[c2]);
+            setToUnion(index, c1, c2);
+
+            index = parent[index];
+        }
+    }
+
+    /**
+     * Performs a left or right rotation if node A is imbalanced
+     * @param iA the node to balance
+     * @return the node that is now in A's place in the tree
+     */
+    private int balance(int iA) {
+        if (height[iA] < 2) {
+            return iA;
+        }
+
+        int iB = child1[iA];
+        int iC = child2[iA];
+        int balance = height[iC] - height[iB];
+
+        // Rotate C up
+        if (balance > 1) {
+            int iF = child1[iC];
+            int iG = child2[iC];
+
+            // Swap A and C
+            child1[iC] = iA;
+            parent[iC] = parent[iA];
+            parent[iA] = iC;
+            replaceChild(parent[iC], iA, iC);
+
+            // Rotate
+            if (height[iF] > height[iG]) {
+                child2[iC] = iF;
+                child2[iA] = iG;
+                parent[iG] = iA;
+                setToUnion(iA, iB, iG);
+                setToUnion(iC, iA, iF);
+                height[iA] = 1 + Math.max(height[iB], height[iG]);
+                height[iC] = 1 + Math.max(height[iA], height[iF]);
+
+            } else {
+                child2[iC] = iG;
+                child2[iA] = iF;
+                parent[iF] = iA;
+                setToUnion(iA, iB, iF);
+                setToUnion(iC, iA, iG);
+                height[iA] = 1 + Math.max(height[iB], height[iF]);
+                height[iC] = 1 + Math.max(height[iA], height[iG]);
+            }
+            return iC;
+        }
+
+        // Rotate B up
+        if (balance < -1) {
+            int iD = child1[iB];
+            int iE = child2[iB];
+
+            // Swap A and B
+            child1[iB] = iA;
+            parent[iB] = parent[iA];
+            parent[iA] = iB;
+            replaceChild(parent[iB], iA, iB);
+
+            // Rotate
+            if (height[iD] > height[iE]) {
+                child2[iB] = iD;
+                child1[iA] = iE;
+                parent[iE] = iA;
+                setToUnion(iA, iC, iE);
+                setToUnion(iB, iA, iD);
+                height[iA] = 1 + Math.max(height[iC], height[iE]);
+                height[iB] = 1 + Math.max(height[iA], height[iD]);
+
+            } else {
+                child2[iB] = iE;
+                child1[iA] = iD;
+                parent[iD] = iA;
+                setToUnion(iA, iC, iD);
+                setToUnion(iB, iA, iE);
+                height[iA] = 1 + Math.max(height[iC], height[iD]);
+                height[iB] = 1 + Math.max(height[iA], height[iE]);
+            }
+            return iB;
+        }
+
+        return iA;
+    }
+
+    private void replaceChild(int parentNode, int oldChild, int newChild) {
+        if (parentNode == NULL_NODE) {
+            root = newChild;
+        } else if (child1[parentNode] == oldChild) {
+            child1[parentNode] = newChild;
+        } else {
+            child2[parentNode] = newChild;
+        }
+    }
+
+    private double getDescendCost(int child, int leaf) {
+        if (height[child] == 0) {
+            return getCombinedPerimeter(child, leaf);
+        }
+        return getCombinedPerimeter(child, leaf) - getPerimeter(child);
+    }
+
+    private double getPerimeter(int node) {
+        return 2 * ((maxX[node] - minX[node]) + (maxY[node] - minY[node]));
+    }
+
+    private double getCombinedPerimeter(int node1, int node2) {
+        double width = Math.max(maxX[node1], maxX[node2]) - Math.min(minX[node1], minX[node2]);
+        double length = Math.max(maxY[node1], maxY[node2]) - Math.min(minY[node1], minY[node2]);
+        return 2 * (width + length);
+    }
+
+    private void setToUnion(int node, int node1, int node2) {
+        minX[node] = Math.min(minX[node1], minX[node2]);
+        minY[node] = Math.min(minY[node1], minY[node2]);
+        maxX[node] = Math.max(maxX[node1], maxX[node2]);
+        maxY[node] = Math.max(maxY[node1], maxY[node2]);
+    }
+
+    private boolean doNodesOverlap(int node1, int node2) {
+        return minX[node1] <= maxX[node2] && maxX[node1] >= minX[node2] &&
+                minY[node1] <= maxY[node2] && maxY[node1] >= minY[node2];
+    }
+
+    private boolean isContainedInNode(int node, PBoundingBox box) {
+        return minX[node] <= box.getMinX() && box.getMaxX() <= maxX[node] &&
+                minY[node] <= box.getMinY() && box.getMaxY() <= maxY[node];
+    }
+
+    private int allocateNode() {
+        if (freeList == NULL_NODE) {
+            int oldCapacity = nodeCapacity;
+            growNodes(nodeCapacity * 2);
+            for (int i = nodeCapacity - 1; i >= oldCapacity; i--) {
+                freeNode(i);
+            }
+        }
+
+        int node = freeList;
+        freeList = parent[node];
+        parent[node] = NULL_NODE;
+        child1[node] = NULL_NODE;
+        child2[node] = NULL_NODE;
+        height[node] = 1;
+        return node;
+    }
+
+    private void freeNode(int node) {
+        parent[node] = freeList;
+        height[node] = -1;
+        leafBodies[node] = null;
+        freeList = node;
+    }
+
+    private void growNodes(int newCapacity) {
+        minX = Arrays.copyOf(minX == null ? new double[0] : minX, newCapacity);
+        minY = Arrays.copyOf(minY == null ? new double[0] : minY, newCapacity);
+        maxX = Arrays.copyOf(maxX == null ? new double[0] : maxX, newCapacity);
+        maxY = Arrays.copyOf(maxY == null ? new double[0] : maxY, newCapacity);
+        parent = Arrays.copyOf(parent == null ? new int[0] : parent, newCapacity);
+        child1 = Arrays.copyOf(child1 == null ? new int[0] : child1, newCapacity);
+        child2 = Arrays.copyOf(child2 == null ? new int[0] : child2, newCapacity);
+        height = Arrays.copyOf(height == null ? new int[0] : height, newCapacity);
+        leafBodies = Arrays.copyOf(leafBodies == null ? new PBody[0] : leafBodies, newCapacity);
+        leafBodyIndex = Arrays.copyOf(leafBodyIndex == null ? new int[0] : leafBodyIndex, newCapacity);
+        leafStamp = Arrays.copyOf(leafStamp == null ? new int[0] : leafStamp, newCapacity);
+
+        if (nodeCapacity == 0) {
+            for (int i = newCapacity - 1; i >= 0; i--) {
+                freeNode(i);
+            }
+        }
+        nodeCapacity = newCapacity;
+    }
+}
@@ -0,0 +1,114 @@
+package com.javaphysicsengine.api.broadphase;
+
+import com.javaphysicsengine.utils.LongHashSet;
+
+import java.util.Arrays;
+
+/**
+ * A re-usable list of pairs of bodies, where each body is referred to by its index in the world's list of bodies.
+ * Each pair is stored with the smaller index first.
+ *
+ * The buffer only grows, so once it has reached its working size, filling it up every step does not allocate anything.
+ */
+public class PPairBuffer {
+    private int[] firstBodies;
+    private int[] secondBodies;
+    private int size = 0;
+
+    // The keys of the pairs added with add(), used to skip duplicate pairs
+    private final LongHashSet pairKeys;
+
+    /**
+     * Creates an empty pair buffer
+     */
+    public PPairBuffer() {
+        this(64);
+    }
+
+    /**
+     * Creates an empty pair buffer that can hold a certain number of pairs before it needs to grow
+     * @param initialCapacity the number of pairs
+     */
+    public PPairBuffer(int initialCapacity) {
+        firstBodies = new int[Math.max(initialCapacity, 1)];
+        secondBodies = new int[Math.max(initialCapacity, 1)];
+        pairKeys = new LongHashSet(initialCapacity);
+    }
+
+    /**
+     * Packs the indices of two bodies into a single key, which is the same regardless of the order of the two bodies
+     * @param body1 the index of the first body
+     * @param body2 the index of the second body
+     * @return the key of the pair
+     */
+    public static long getPairKey(int body1, int body2) {
+        return ((long) Math.min(body1, body2) << 32) | Math.max(body1, body2);
+    }
+
+    /**
+     * Removes all the pairs
+     */
+    public void clear() {
+        size = 0;
+        pairKeys.clear();
+    }
+
+    /**
+     * Adds a pair of bodies, unless the pair was already added
+     * @param body1 the index of the first body
+     * @param body2 the index of the second body
+     * @return {@code true} if the pair was added; else {@code false}
+     */
+    public boolean add(int body1, int body2) {
+        if (!pairKeys.add(getPairKey(body1, body2))) {
+            return false;
+        }
+        addDistinct(body1, body2);
+        return true;
+    }
+
+    /**
+     * Adds a pair of bodies without checking if it was already added.
+     * It should only be used by broadphases that never report the same pair twice, and
+     * should not be mixed with {@code add()} on the same buffer
+     *
+     * @param body1 the index of the first body
+     * @param body2 the index of the second body
+     */
+    public void addDistinct(int body1, int body2) {
+        if (size == firstBodies.length) {
+            firstBodies = Arrays.copyOf(firstBodies, size * 2);
+            secondBodies = Arrays.copyOf(secondBodies, size * 2);
+        }
+
+        firstBodies[size] = Math.min(body1, body2);
+        secondBodies[size] = Math.max(body1, body2);
+        size++;
+    }
+
+    /**
+     * Returns the number of pairs
+     * @return the number of pairs
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns the index of the first body of a pair (which is smaller than the index of the second body)
+     * @param pair the index of the pair
+     * @return the index of the first body
+     */
+    public int getFirstBody(int pair) {
+        return firstBodies[pair];
+    }
+
+    /**
+     * Returns the index of the second body of a pair
+     * @param pair the index of the pair
+     * @return the index of the second body
+     */
+    public int getSecondBody(int pair) {
+        return secondBodies[pair];
+    }
+}
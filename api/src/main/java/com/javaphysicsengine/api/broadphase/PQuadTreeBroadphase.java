@@ -0,0 +1,20 @@
+package com.javaphysicsengine.api.broadphase;
+
+import com.javaphysicsengine.api.PQuadTree;
+import com.javaphysicsengine.api.body.PBody;
+
+import java.util.List;
+
+/**
+ * A broadphase that rebuilds a {@code PQuadTree} from the bodies on every call.
+ * The tree keeps its nodes and index arrays between calls, so once it has grown to fit the world it does not allocate
+ */
+public class PQuadTreeBroadphase implements PBroadphase {
+    private final PQuadTree tree = new PQuadTree();
+
+    @Override
+    public void findPotentialIntersectingBodies(List<PBody> bodies, PPairBuffer pairs) {
+        tree.rebuild(bodies);
+        tree.getPotentialIntersectingBodies(pairs);
+    }
+}
@@ -0,0 +1,201 @@
+package com.javaphysicsengine.api.broadphase;
+
+import com.javaphysicsengine.api.body.PBody;
+import com.javaphysicsengine.api.body.PBoundingBox;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * A broadphase that divides the world into a uniform grid of square cells, and only pairs up bodies in the same cell.
+ * It works best when most bodies are about the same size, and the cell size is close to the size of the bodies.
+ *
+ * The cells are hashed into buckets, and the bodies are sorted into the buckets with a counting sort,
+ * so the grid is made of a few flat arrays that are re-used across steps.
+ * To avoid reporting the same pair more than once, a pair is only reported by the cell that
+ * contains the min corner of the overlap between the two bounding boxes.
+ */
+public class PSpatialHashGrid implements PBroadphase {
+    private final double cellSize;
+
+    // The bounding boxes of the bodies (in cell coordinates)
+    private int[] bodyMinCellX = new int[0];
+    private int[] bodyMinCellY = new int[0];
+    private int[] bodyMaxCellX = new int[0];
+    private int[] bodyMaxCellY = new int[0];
+    private double[] boxMinX = new double[0];
+    private double[] boxMinY = new double[0];
+    private double[] boxMaxX = new double[0];
+    private double[] boxMaxY = new double[0];
+
+    // The buckets, where the entries of bucket i are stored in [bucketStart[i], bucketStart[i + 1])
+    private int[] bucketStart = new int[1];
+    private int[] bucketFill = new int[0];
+    private int bucketMask = 0;
+
+    // The (body, cell) entries sorted by bucket
+    private int[] entryBody = new int[0];
+    private int[] entryCellX = new int[0];
+    private int[] entryCellY = new int[0];
+
+    /**
+     * Creates a spatial hash grid
+     * Pre-condition: "cellSize" must be greater than 0
+     * @param cellSize the width and height of each cell
+     */
+    public PSpatialHashGrid(double cellSize) {
+        this.cellSize = cellSize;
+    }
+
+    /**
+     * Returns the width and height of each cell
+     * @return the cell size
+     */
+    public double getCellSize() {
+        return cellSize;
+    }
+
+    @Override
+    public void findPotentialIntersectingBodies(List<PBody> bodies, PPairBuffer pairs) {
+        int numEntries = computeCells(bodies);
+        sortEntriesIntoBuckets(bodies.size(), numEntries);
+
+        pairs.clear();
+        int numBuckets = bucketMask + 1;
+        for (int bucket = 0; bucket < numBuckets; bucket++) {
+            int end = bucketStart[bucket + 1];
+
+            for (int i = bucketStart[bucket]; i < end; i++) {
+                for (int j = i + 1; j < end; j++) {
+                    if (isPairOwnedByEntries(i, j)) {
+                        pairs.addDistinct(entryBody[i], entryBody[j]);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Computes the range of cells that each body covers
+     * @param bodies the bodies in the world
+     * @return the total number of (body, cell) entries
+     */
+    private int computeCells(List<PBody> bodies) {
+        int numBodies = bodies.size();
+        if (bodyMinCellX.length < numBodies) {
+            int capacity = Math.max(numBodies, bodyMinCellX.length * 2);
+            bodyMinCellX = new int[capacity];
+            bodyMinCellY = new int[capacity];
+            bodyMaxCellX = new int[capacity];
+            bodyMaxCellY = new int[capacity];
+            boxMinX = new double[capacity];
+            boxMinY = new double[capacity];
+            boxMaxX = new double[capacity];
+            boxMaxY = new double[capacity];
+        }
+
+        int numEntries = 0;
+        for (int i = 0; i < numBodies; i++) {
+            PBoundingBox box = bodies.get(i).getBoundingBox();
+            boxMinX[i] = box.getMinX();
+            boxMinY[i] = box.getMinY();
+            boxMaxX[i] = box.getMaxX();
+            boxMaxY[i] = box.getMaxY();
+
+            bodyMinCellX[i] = toCell(box.getMinX());
+            bodyMinCellY[i] = toCell(box.getMinY());
+            bodyMaxCellX[i] = toCell(box.getMaxX());
+            bodyMaxCellY[i] = toCell(box.getMaxY());
+
+            numEntries += (bodyMaxCellX[i] - bodyMinCellX[i] + 1) * (bodyMaxCellY[i] - bodyMinCellY[i] + 1);
+        }
+        return numEntries;
+    }
+
+    /**
+     * Sorts the (body, cell) entries by their bucket with a counting sort
+     * @param numBodies the number of bodies
+     * @param numEntries the total number of (body, cell) entries
+     */
+    private void sortEntriesIntoBuckets(int numBodies, int numEntries) {
+        // Use at least twice as many buckets as entries to keep the number of hash collisions low
+        int numBuckets = Integer.highestOneBit(Math.max(numEntries, 1)) << 2;
+        if (bucketFill.length < numBuckets) {
+            bucketStart = new int[numBuckets + 1];
+            bucketFill = new int[numBuckets];
+        }
+        bucketMask = numBuckets - 1;
+        if (entryBody.length < numEntries) {
+            int capacity = Math.max(numEntries, entryBody.length * 2);
+            entryBody = new int[capacity];
+            entryCellX = new int[capacity];
+            entryCellY = new int[capacity];
+        }
+
+        // Count the number of entries in each bucket
+        Arrays.fill(bucketFill, 0, numBuckets, 0);
+        for (int i = 0; i < numBodies; i++) {
+            for (int cellX = bodyMinCellX[i]; cellX <= bodyMaxCellX[i]; cellX++) {
+                for (int cellY = bodyMinCellY[i]; cellY <= bodyMaxCellY[i]; cellY++) {
+                    bucketFill[getBucket(cellX, cellY)]++;
+                }
+            }
+        }
+
+        // Compute where each bucket starts
+        bucketStart[0] = 0;
+        for (int bucket = 0; bucket < numBuckets; bucket++) {
+            bucketStart[bucket + 1] = bucketStart[bucket] + bucketFill[bucket];
+            bucketFill[bucket] = bucketStart[bucket];
+        }
+
+        // Put the entries in their buckets
+        for (int i = 0; i < numBodies; i++) {
+            for (int cellX = bodyMinCellX[i]; cellX <= bodyMaxCellX[i]; cellX++) {
+                for (int cellY = bodyMinCellY[i]; cellY <= bodyMaxCellY[i]; cellY++) {
+                    int entry = bucketFill[getBucket(cellX, cellY)]++;
+                    entryBody[entry] = i;
+                    entryCellX[entry] = cellX;
+                    entryCellY[entry] = cellY;
+                }
+            }
+        }
+    }
+
+    /**
+     * Determines if two entries of the same bucket should report their bodies as a pair.
+     * It is only reported if both entries are from the same cell, the bounding boxes overlap,
+     * and the cell contains the min corner of the overlapping area
+     *
+     * @param entry1 the first entry
+     * @param entry2 the second entry
+     * @return {@code true} if the pair should be reported; else {@code false}
+     */
+    private boolean isPairOwnedByEntries(int entry1, int entry2) {
+        int cellX = entryCellX[entry1];
+        int cellY = entryCellY[entry1];
+        if (cellX != entryCellX[entry2] || cellY != entryCellY[entry2]) {
+            return false;
+        }
+
+        int body1 = entryBody[entry1];
+        int body2 = entryBody[entry2];
+        boolean isOverlapping = boxMinX[body1] <= boxMaxX[body2] && boxMinX[body2] <= boxMaxX[body1] &&
+                boxMinY[body1] <= boxMaxY[body2] && boxMinY[body2] <= boxMaxY[body1];
+        if (!isOverlapping) {
+            return false;
+        }
+
+        int ownerCellX = Math.max(bodyMinCellX[body1], bodyMinCellX[body2]);
+        int ownerCellY = Math.max(bodyMinCellY[body1], bodyMinCellY[body2]);
+        return cellX == ownerCellX && cellY == ownerCellY;
+    }
+
+    private int toCell(double value) {
+        return (int) Math.floor(value / cellSize);
+    }
+
+    private int getBucket(int cellX, int cellY) {
+        return ((cellX * 73856093) ^ (cellY * 19349663)) & bucketMask;
+    }
+}
@@ -0,0 +1,281 @@
+package com.javaphysicsengine.api.broadphase;
+
+import com.javaphysicsengine.api.body.PBody;
+import com.javaphysicsengine.api.body.PBoundingBox;
+import com.javaphysicsengine.utils.LongHashSet;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * A broadphase that keeps the min/max values of the bodies' bounding boxes sorted along the x and y axis.
+ *
+ * Since bodies barely move between steps, the endpoints are re-sorted every step with an insertion sort,
+ * which is close to O(n) when the endpoints are almost sorted. Every time a min endpoint passes a max endpoint
+ * of another body (or vice versa) a pair is added (or removed), so the set of overlapping pairs is
+ * updated incrementally instead of being rebuilt.
+ *
+ * Each endpoint is stored as (body index * 2), or (body index * 2 + 1) for a max endpoint.
+ */
+public class PSweepAndPrune implements PBroadphase {
+
+    // The bodies and their bounding boxes
+    private PBody[] proxyBodies = new PBody[0];
+    private int proxyCount = 0;
+    private double[] boxMinX = new double[0];
+    private double[] boxMinY = new double[0];
+    private double[] boxMaxX = new double[0];
+    private double[] boxMaxY = new double[0];
+
+    // The sorted endpoints of each axis
+    private int[] xEndpoints = new int[0];
+    private double[] xValues = new double[0];
+    private int[] yEndpoints = new int[0];
+    private double[] yValues = new double[0];
+
+    // The pairs of bodies whose bounding boxes overlap
+    private final LongHashSet pairKeys = new LongHashSet();
+
+    private PBroadphaseListener listener;
+
+    /**
+     * Sets the listener that is notified when pairs are added and removed
+     * @param listener the listener, or {@code null} to not notify anything
+     */
+    public void setListener(PBroadphaseListener listener) {
+        this.listener = listener;
+    }
+
+    @Override
+    public void findPotentialIntersectingBodies(List<PBody> bodies, PPairBuffer pairs) {
+        if (hasBodiesChanged(bodies)) {
+            rebuild(bodies);
+
+        } else {
+            updateBoxes();
+            updateEndpointValues(xEndpoints, xValues, boxMinX, boxMaxX);
+            updateEndpointValues(yEndpoints, yValues, boxMinY, boxMaxY);
+            insertionSort(xEndpoints, xValues);
+            insertionSort(yEndpoints, yValues);
+        }
+
+        pairs.clear();
+        for (int slot = 0; slot < pairKeys.getCapacity(); slot++) {
+            if (pairKeys.isSlotUsed(slot)) {
+                long key = pairKeys.getKeyAt(slot);
+                pairs.addDistinct((int) (key >>> 32), (int) key);
+            }
+        }
+    }
+
+    /**
+     * Determines if bodies were added, removed or reordered since the last call
+     * @param bodies the bodies in the world
+     * @return {@code true} if the list of bodies changed; else {@code false}
+     */
+    private boolean hasBodiesChanged(List<PBody> bodies) {
+        if (bodies.size() != proxyCount) {
+            return true;
+        }
+        for (int i = 0; i < proxyCount; i++) {
+            if (bodies.get(i) != proxyBodies[i]) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Sorts all the endpoints from scratch and recomputes all the overlapping pairs
+     * @param bodies the bodies in the world
+     */
+    private void rebuild(List<PBody> bodies) {
+        // The old pairs refer to the old body indices
+        if (listener != null) {
+            for (int slot = 0; slot < pairKeys.getCapacity(); slot++) {
+                if (pairKeys.isSlotUsed(slot)) {
+                    long key = pairKeys.getKeyAt(slot);
+                    listener.onPairRemoved(proxyBodies[(int) (key >>> 32)], proxyBodies[(int) key]);
+                }
+            }
+        }
+        pairKeys.clear();
+
+        proxyCount = bodies.size();
+        if (proxyBodies.length < proxyCount) {
+            int capacity = Math.max(proxyCount, proxyBodies.length * 2);
+            proxyBodies = new PBody[capacity];
+            boxMinX = new double[capacity];
+            boxMinY = new double[capacity];
+            boxMaxX = new double[capacity];
+            boxMaxY = new double[capacity];
+            xEndpoints = new int[capacity * 2];
+            xValues = new double[capacity * 2];
+            yEndpoints = new int[capacity * 2];
+            yValues = new double[capacity * 2];
+        }
+        Arrays.fill(proxyBodies, proxyCount, proxyBodies.length, null);
+        for (int i = 0; i < proxyCount; i++) {
+            proxyBodies[i] = bodies.get(i);
+        }
+        updateBoxes();
+
+        for (int i = 0; i < proxyCount * 2; i++) {
+            xEndpoints[i] = i;
+            yEndpoints[i] = i;
+        }
+        updateEndpointValues(xEndpoints, xValues, boxMinX, boxMaxX);
+        updateEndpointValues(yEndpoints, yValues, boxMinY, boxMaxY);
+        mergeSort(xEndpoints, xValues);
+        mergeSort(yEndpoints, yValues);
+
+        // Sweep along the x axis, keeping track of the boxes the sweep line is currently in
+        int[] activeProxies = new int[proxyCount];
+        int[] activePositions = new int[proxyCount];
+        int activeCount = 0;
+        for (int i = 0; i < proxyCount * 2; i++) {
+            int proxy = xEndpoints[i] >> 1;
+
+            if (isMaxEndpoint(xEndpoints[i])) {
+                int position = activePositions[proxy];
+                int lastProxy = activeProxies[--activeCount];
+                activeProxies[position] = lastProxy;
+                activePositions[lastProxy] = position;
+
+            } else {
+                for (int j = 0; j < activeCount; j++) {
+                    if (doBoxesOverlap(proxy, activeProxies[j])) {
+                        addPair(proxy, activeProxies[j]);
+                    }
+                }
+                activeProxies[activeCount] = proxy;
+                activePositions[proxy] = activeCount;
+                activeCount++;
+            }
+        }
+    }
+
+    private void updateBoxes() {
+        for (int i = 0; i < proxyCount; i++) {
+            PBoundingBox box = proxyBodies[i].getBoundingBox();
+            boxMinX[i] = box.getMinX();
+            boxMinY[i] = box.getMinY();
+            boxMaxX[i] = box.getMaxX();
+            boxMaxY[i] = box.getMaxY();
+        }
+    }
+
+    private void updateEndpointValues(int[] endpoints, double[] values, double[] boxMin, double[] boxMax) {
+        for (int i = 0; i < proxyCount * 2; i++) {
+            int proxy = endpoints[i] >> 1;
+            values[i] = isMaxEndpoint(endpoints[i]) ? boxMax[proxy] : boxMin[proxy];
+        }
+    }
+
+    /**
+     * Sorts the endpoints of an axis, adding and removing pairs whenever a min and a max endpoint swap
+     * @param endpoints the endpoints of the axis
+     * @param values the values of the endpoints
+     */
+    private void insertionSort(int[] endpoints, double[] values) {
+        for (int i = 1; i < proxyCount * 2; i++) {
+            int endpoint = endpoints[i];
+            double value = values[i];
+            boolean isMax = isMaxEndpoint(endpoint);
+
+            int j = i - 1;
+            while (j >= 0 && isGreater(values[j], endpoints[j], value, endpoint)) {
+                int otherEndpoint = endpoints[j];
+                boolean isOtherMax = isMaxEndpoint(otherEndpoint);
+
+                if (!isMax && isOtherMax) {
+                    // The body's min passed the other body's max, so they might have started overlapping
+                    if (doBoxesOverlap(endpoint >> 1, otherEndpoint >> 1)) {
+                        addPair(endpoint >> 1, otherEndpoint >> 1);
+                    }
+
+                } else if (isMax && !isOtherMax) {
+                    // The body's max passed the other body's min, so they stopped overlapping
+                    removePair(endpoint >> 1, otherEndpoint >> 1);
+                }
+
+                endpoints[j + 1] = otherEndpoint;
+                values[j + 1] = values[j];
+                j--;
+            }
+
+            endpoints[j + 1] = endpoint;
+            values[j + 1] = value;
+        }
+    }
+
+    /**
+     * Sorts the endpoints of an axis from scratch, without reporting any pairs
+     * @param endpoints the endpoints of the axis
+     * @param values the values of the endpoints
+     */
+    private void mergeSort(int[] endpoints, double[] values) {
+        int length = proxyCount * 2;
+        int[] endpointsBuffer = new int[length];
+        double[] valuesBuffer = new double[length];
+
+        for (int width = 1; width < length; width *= 2) {
+            for (int start = 0; start < length; start += 2 * width) {
+                int mid = Math.min(start + width, length);
+                int end = Math.min(start + 2 * width, length);
+
+                int left = start;
+                int right = mid;
+                for (int k = start; k < end; k++) {
+                    boolean takeLeft = left < mid &&
+                            (right >= end || !isGreater(values[left], endpoints[left], values[right], endpoints[right]));
+
+                    if (takeLeft) {
+                        endpointsBuffer[k] = endpoints[left];
+                        valuesBuffer[k] = values[left++];
+                    } else {
+                        endpointsBuffer[k] = endpoints[right];
+                        valuesBuffer[k] = values[right++];
+                    }
+                }
+            }
+            System.arraycopy(endpointsBuffer, 0, endpoints, 0, length);
+            System.arraycopy(valuesBuffer, 0, values, 0, length);
+        }
+    }
+
+    /**
+     * Determines if an endpoint should be sorted after another endpoint.
+     * Min endpoints are sorted before max endpoints of the same value so that touching boxes overlap
+     */
+    private static boolean isGreater(double value1, int endpoint1, double value2, int endpoint2) {
+        return value1 > value2 || (value1 == value2 && isMaxEndpoint(endpoint1) && !isMaxEndpoint(endpoint2));
+    }
+
+    private static boolean isMaxEndpoint(int endpoint) {
+        return (endpoint & 1) == 1;
+    }
+
+    private boolean doBoxesOverlap(int proxy1, int proxy2) {
+        return boxMinX[proxy1] <= boxMaxX[proxy2] && boxMinX[proxy2] <= boxMaxX[proxy1] &&
+                boxMinY[proxy1] <= boxMaxY[proxy2] && boxMinY[proxy2] <= boxMaxY[proxy1];
+    }
+
+    private void addPair(int proxy1, int proxy2) {
+        int first = Math.min(proxy1, proxy2);
+        int second = Math.max(proxy1, proxy2);
+
+        if (pairKeys.add(PPairBuffer.getPairKey(first, second)) && listener != null) {
+            listener.onPairAdded(proxyBodies[first], proxyBodies[second]);
+        }
+    }
+
+    private void removePair(int proxy1, int proxy2) {
+        int first = Math.min(proxy1, proxy2);
+        int second = Math.max(proxy1, proxy2);
+
+        if (pairKeys.remove(PPairBuffer.getPairKey(first, second)) && listener != null) {
+            listener.onPairRemoved(proxyBodies[first], proxyBodies[second]);
+        }
+    }
+}
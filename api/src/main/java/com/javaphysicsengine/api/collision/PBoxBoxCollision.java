@@ -7,6 +7,7 @@
 package com.javaphysicsengine.api.collision;
 
 import com.javaphysicsengine.api.body.PBoundingBox;
+import com.javaphysicsengine.api.body.PCircle;
 
 public class PBoxBoxCollision {
 
@@ -39,4 +40,20 @@ public class PBoxBoxCollision {
 
         return true;
     }
-}
\ No newline at end of file
+
+    /**
+     * Determines if the bounding box of a circle collides with another bounding box.
+     * Unlike {@code PCircle#getBoundingBox()}, it does not modify the circle, so it is safe to call from multiple threads
+     * @param circle The circle
+     * @param box The bounding box
+     * @return {@code true} when the two bounding boxes collide; else {@code false}
+     */
+    public static boolean doBodiesCollide(PCircle circle, PBoundingBox box) {
+        double centerX = circle.getCenterPt().getX();
+        double centerY = circle.getCenterPt().getY();
+        double radius = circle.getRadius();
+
+        return centerX + radius >= box.getMinX() && centerX - radius <= box.getMaxX() &&
+                centerY + radius >= box.getMinY() && centerY - radius <= box.getMaxY();
+    }
+}
@@ -8,6 +8,7 @@ package com.javaphysicsengine.api.collision;
 
 import com.javaphysicsengine.api.body.PCircle;
 import com.javaphysicsengine.utils.Vector;
+import com.javaphysicsengine.utils.VectorPool;
 
 public class PCircleCircleCollision {
 
@@ -18,6 +19,17 @@ public class PCircleCircleCollision {
      * @return A PCollisionResult
      */
     public static PCollisionResult doBodiesCollide(PCircle circle1, PCircle circle2) {
+        return doBodiesCollide(circle1, circle2, new PCollisionResult(false, null, null, null, null));
+    }
+
+    /**
+     * Determines if two circles collide, storing the results in an existing result
+     * @param circle1 the first circle
+     * @param circle2 the second circle
+     * @param result the result to store the collision in
+     * @return "result"
+     */
+    public static PCollisionResult doBodiesCollide(PCircle circle1, PCircle circle2, PCollisionResult result) {
 
 //        Vector vFrom1to2 = circle2.getCenterPt().minus(circle1.getCenterPt());
 //        double rSum = circle1.getRadius() + circle2.getRadius();
@@ -62,7 +74,9 @@ public class PCircleCircleCollision {
 //        return new PCollisionResult(true, circle1Trans, circle2Trans, mtv, contactPt);
 
         // The distance between the two circles' center pts squared
-        double centerPtDistSqed = Vector.minus(circle1.getCenterPt(), circle2.getCenterPt()).norm1();
+        double distX = circle1.getCenterPt().getX() - circle2.getCenterPt().getX();
+        double distY = circle1.getCenterPt().getY() - circle2.getCenterPt().getY();
+        double centerPtDistSqed = distX * distX + distY * distY;
 
         double radiusSum = circle1.getRadius() + circle2.getRadius();
 
@@ -72,27 +86,37 @@ public class PCircleCircleCollision {
             // Calculate the MTD:
             double mtd = radiusSum - Math.sqrt(centerPtDistSqed); //(circle1.getRadius() + circle2.getRadius()) - circle1.getCenterPt().minus(circle2.getCenterPt()).norm2();
 
-            // Calculate the MTV:
-            Vector mtv = circle1.getCenterPt().minus(circle2.getCenterPt()).normalize().scale(mtd);
+            VectorPool pool = VectorPool.get();
+            int mark = pool.mark();
+            try {
+                // Calculate the MTV:
+                Vector mtv = Vector.minusInto(circle1.getCenterPt(), circle2.getCenterPt(), pool.obtain());
+                mtv.normalizeInPlace().scaleInPlace(mtd);
 
-            // Compute how much MTV each object gets
-            double f1 = circle1.isMoving() ? circle1.getVelocity().norm2() / (circle1.getVelocity().norm2() + circle2.getVelocity().norm2()) : 0;
-            double f2 = circle2.isMoving() ? circle2.getVelocity().norm2() / (circle1.getVelocity().norm2() + circle2.getVelocity().norm2()) : 0;
+                // Compute how much MTV each object gets
+                double f1 = circle1.isMoving() ? circle1.getVelocity().norm2() / (circle1.getVelocity().norm2() + circle2.getVelocity().norm2()) : 0;
+                double f2 = circle2.isMoving() ? circle2.getVelocity().norm2() / (circle1.getVelocity().norm2() + circle2.getVelocity().norm2()) : 0;
 
-            // Get the translation vector
-            Vector circle1Trans = mtv.scale(f1);
-            Vector circle2Trans = mtv.scale(-1).scale(f2);
+                // Get the translation vector
+                Vector circle1Trans = Vector.scaleInto(mtv, f1, pool.obtain());
+                Vector circle2Trans = Vector.scaleInto(mtv, -1, pool.obtain()).scaleInPlace(f2);
 
-            // Calculate the contact point
-            Vector contactPt = mtv.normalize().scale(-1 * circle1.getRadius()).add(circle1.getCenterPt());
-            contactPt = contactPt.add(circle1Trans);
+                // Calculate the contact point
+                Vector contactPt = Vector.normalizeInto(mtv, pool.obtain()).scaleInPlace(-1 * circle1.getRadius());
+                contactPt.addInPlace(circle1.getCenterPt()).addInPlace(circle1Trans);
 
-            if (mtv.dot(circle2.getCenterPt().minus(circle1.getCenterPt())) < 0) {
-                mtv = mtv.scale(-1);
-            }
+                double toCircle2X = circle2.getCenterPt().getX() - circle1.getCenterPt().getX();
+                double toCircle2Y = circle2.getCenterPt().getY() - circle1.getCenterPt().getY();
+                if (mtv.getX() * toCircle2X + mtv.getY() * toCircle2Y < 0) {
+                    mtv.scaleInPlace(-1);
+                }
 
-            return new PCollisionResult(true, circle1Trans, circle2Trans, mtv, contactPt);
+                return result.set(true, circle1Trans, circle2Trans, mtv, contactPt);
+
+            } finally {
+                pool.release(mark);
+            }
         }
-        return new PCollisionResult(false, null, null, null, null);
+        return result.clear();
     }
 }
\ No newline at end of file
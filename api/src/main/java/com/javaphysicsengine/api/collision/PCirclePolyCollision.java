@@ -10,17 +10,17 @@ package com.javaphysicsengine.api.collision;
 import com.javaphysicsengine.api.body.PCircle;
 import com.javaphysicsengine.api.body.PPolygon;
 import com.javaphysicsengine.utils.Vector;
-
-import java.util.ArrayList;
+import com.javaphysicsengine.utils.VectorPool;
 
 public class PCirclePolyCollision extends PPolyPolyCollision {
     private static double isRayHitCircle(Vector rayOrigin, Vector rayDir, Vector origin, double radius) {
-        Vector shiftedOrigin = rayOrigin.minus(origin);
+        double shiftedOriginX = rayOrigin.getX() - origin.getX();
+        double shiftedOriginY = rayOrigin.getY() - origin.getY();
 
         // See where it hits the circle
         double a = rayDir.dot(rayDir);
-        double b = 2 * shiftedOrigin.dot(rayDir);
-        double c = shiftedOrigin.dot(shiftedOrigin) - (radius * radius);
+        double b = 2 * (shiftedOriginX * rayDir.getX() + shiftedOriginY * rayDir.getY());
+        double c = (shiftedOriginX * shiftedOriginX + shiftedOriginY * shiftedOriginY) - (radius * radius);
         double delta = b * b - 4 * a * c;
 
         // If there are no solutions
@@ -64,69 +64,99 @@ public class PCirclePolyCollision extends PPolyPolyCollision {
      * @return Returns the results of the collision
      */
     public static PCollisionResult doBodiesCollide(PCircle circle, PPolygon poly) {
+        return doBodiesCollide(circle, poly, new PCollisionResult(false, null, null, null, null));
+    }
+
+    /**
+     * Determines whether a circle and polygon is colliding, storing the results in an existing result
+     * @param circle The circle
+     * @param poly The polygon
+     * @param result the result to store the collision in
+     * @return "result"
+     */
+    public static PCollisionResult doBodiesCollide(PCircle circle, PPolygon poly, PCollisionResult result) {
         // Saving the properties of the bodies to the global variables
         Vector circleCenterPt = circle.getCenterPt();
         double circleRadius = circle.getRadius();
-        ArrayList<Vector> polyVertices = poly.getVertices();
-
-        double bestOverlapDistance = Double.MAX_VALUE;
-        Vector bestMtv = Vector.of(0, 0);
-
-        // Going through all the sides in the polygon
-        for (int i = 0; i < polyVertices.size(); i++) {
-
-            // The two points that make up an edge
-            Vector sidePt1 = polyVertices.get(i);
-            Vector sidePt2 = i + 1 < polyVertices.size() ? polyVertices.get(i + 1) : polyVertices.get(0);
-
-            // Compute the normal of the edge
-            Vector normal = Vector.of(sidePt2.getY() - sidePt1.getY(), -1 * (sidePt2.getX() - sidePt1.getX())).normalize();
-
-            // Compute the length of the edge
-            double edgeLength = sidePt2.minus(sidePt1).norm2();
-
-            // Compute the two edge directions
-            Vector edgeDir1 = sidePt2.minus(sidePt1).normalize();
-            Vector edgeDir2 = sidePt1.minus(sidePt2).normalize();
-
-            double edgeDir1_t = isRayHitCircle(sidePt1, edgeDir1, circle.getCenterPt(), circle.getRadius());
-            double edgeDir2_t = isRayHitCircle(sidePt2, edgeDir2, circle.getCenterPt(), circle.getRadius());
-            boolean isIntersect = (0 <= edgeDir1_t && edgeDir1_t <= edgeLength) ||
-                    (0 <= edgeDir2_t && edgeDir2_t <= edgeLength);
-
-            if (isIntersect) {
-
-                // Project the center of the circle to the edgeDir
-                double scalarProj = edgeDir1.dot(circleCenterPt.minus(sidePt1)) / edgeDir1.norm1();
-                Vector vectorProj = edgeDir1.scale(scalarProj).add(sidePt1);
-
-                // Compute the mtd
-                double mtd = circleRadius - vectorProj.minus(circleCenterPt).norm2();
-
-                if (0 < mtd && mtd < bestOverlapDistance) {
-                    bestOverlapDistance = mtd;
-                    bestMtv = normal.scale(mtd);
+        poly.updateTransform();
+
+        VectorPool pool = VectorPool.get();
+        int mark = pool.mark();
+        try {
+            double bestOverlapDistance = Double.MAX_VALUE;
+            Vector bestMtv = pool.obtain(0, 0);
+
+            Vector normal = pool.obtain();
+            Vector edgeDir1 = pool.obtain();
+            Vector edgeDir2 = pool.obtain();
+            Vector sidePt1 = pool.obtain();
+            Vector sidePt2 = pool.obtain();
+            Vector vectorProj = pool.obtain();
+
+            // Going through all the sides in the polygon
+            int numVertices = poly.getVertexCount();
+            for (int i = 0; i < numVertices; i++) {
+
+                // The two points that make up an edge
+                int nextVertex = i + 1 < numVertices ? i + 1 : 0;
+                sidePt1.setXY(poly.getVertexX(i), poly.getVertexY(i));
+                sidePt2.setXY(poly.getVertexX(nextVertex), poly.getVertexY(nextVertex));
+
+                // Compute the normal of the edge
+                normal.setXY(sidePt2.getY() - sidePt1.getY(), -1 * (sidePt2.getX() - sidePt1.getX())).normalizeInPlace();
+
+                // Compute the two edge directions, and the length of the edge
+                Vector.minusInto(sidePt2, sidePt1, edgeDir1);
+                double edgeLength = edgeDir1.norm2();
+                edgeDir1.normalizeInPlace();
+                Vector.minusInto(sidePt1, sidePt2, edgeDir2).normalizeInPlace();
+
+                double edgeDir1_t = isRayHitCircle(sidePt1, edgeDir1, circle.getCenterPt(), circle.getRadius());
+                double edgeDir2_t = isRayHitCircle(sidePt2, edgeDir2, circle.getCenterPt(), circle.getRadius());
+                boolean isIntersect = (0 <= edgeDir1_t && edgeDir1_t <= edgeLength) ||
+                        (0 <= edgeDir2_t && edgeDir2_t <= edgeLength);
+
+                if (isIntersect) {
+
+                    // Project the center of the circle to the edgeDir
+                    double toCenterX = circleCenterPt.getX() - sidePt1.getX();
+                    double toCenterY = circleCenterPt.getY() - sidePt1.getY();
+                    double scalarProj = (edgeDir1.getX() * toCenterX + edgeDir1.getY() * toCenterY) / edgeDir1.norm1();
+                    Vector.scaleInto(edgeDir1, scalarProj, vectorProj).addInPlace(sidePt1);
+
+                    // Compute the mtd
+                    double mtd = circleRadius - vectorProj.minusInPlace(circleCenterPt).norm2();
+
+                    if (0 < mtd && mtd < bestOverlapDistance) {
+                        bestOverlapDistance = mtd;
+                        Vector.scaleInto(normal, mtd, bestMtv);
+                    }
                 }
             }
-        }
 
-        if (bestMtv.norm1() > 0) {
-            double f1 = circle.isMoving() ? circle.getVelocity().norm1() / (circle.getVelocity().norm1() + poly.getVelocity().norm1()) : 0;
-            double f2 = poly.isMoving() ? poly.getVelocity().norm1() / (circle.getVelocity().norm1() + poly.getVelocity().norm1()) : 0;
+            if (bestMtv.norm1() > 0) {
+                double f1 = circle.isMoving() ? circle.getVelocity().norm1() / (circle.getVelocity().norm1() + poly.getVelocity().norm1()) : 0;
+                double f2 = poly.isMoving() ? poly.getVelocity().norm1() / (circle.getVelocity().norm1() + poly.getVelocity().norm1()) : 0;
 
-            Vector bestCircleMtv = circle.isMoving() ? bestMtv.scale(f1) : Vector.of(0, 0);
-            Vector bestPolyMtv = poly.isMoving() ? bestMtv.scale(-1 * f2) : Vector.of(0, 0);
+                Vector bestCircleMtv = circle.isMoving() ? Vector.scaleInto(bestMtv, f1, pool.obtain()) : pool.obtain(0, 0);
+                Vector bestPolyMtv = poly.isMoving() ? Vector.scaleInto(bestMtv, -1 * f2, pool.obtain()) : pool.obtain(0, 0);
 
-            Vector contactPt = bestMtv.normalize().scale(-1 * circle.getRadius()).add(circle.getCenterPt());
-            contactPt = contactPt.add(bestCircleMtv);
+                Vector contactPt = Vector.normalizeInto(bestMtv, pool.obtain()).scaleInPlace(-1 * circle.getRadius());
+                contactPt.addInPlace(circle.getCenterPt()).addInPlace(bestCircleMtv);
+
+                double toPolyX = poly.getCenterPt().getX() - circle.getCenterPt().getX();
+                double toPolyY = poly.getCenterPt().getY() - circle.getCenterPt().getY();
+                if (bestMtv.getX() * toPolyX + bestMtv.getY() * toPolyY < 0) {
+                    bestMtv.scaleInPlace(-1);
+                }
 
-            if (bestMtv.dot(poly.getCenterPt().minus(circle.getCenterPt())) < 0) {
-                bestMtv = bestMtv.scale(-1);
+                return result.set(true, bestCircleMtv, bestPolyMtv, bestMtv, contactPt);
             }
 
-            return new PCollisionResult(true, bestCircleMtv, bestPolyMtv, bestMtv, contactPt);
+        } finally {
+            pool.release(mark);
         }
 
-        return new PCollisionResult(false, null, null, null, null);
+        return result.clear();
     }
 }
\ No newline at end of file
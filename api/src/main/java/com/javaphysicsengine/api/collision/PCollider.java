@@ -0,0 +1,20 @@
+package com.javaphysicsengine.api.collision;
+
+import com.javaphysicsengine.api.body.PCollidable;
+
+/**
+ * Tests two bodies of specific shape types for a collision
+ */
+public interface PCollider {
+
+    /**
+     * Tests two bodies for a collision, storing the results in an existing result
+     * Pre-condition: "body1" and "body2" are of the shape types the collider was registered for, and "result" must not be null
+     * @param body1 the first body
+     * @param body2 the second body
+     * @param cachedAxis the separating axis of the pair from the last step, which colliders may use to exit early
+     *                   and update with the axis they found; or {@code null}
+     * @param result the result to store the collision in
+     */
+    void collide(PCollidable body1, PCollidable body2, PSeparatingAxis cachedAxis, PCollisionResult result);
+}
@@ -0,0 +1,160 @@
+package com.javaphysicsengine.api.collision;
+
+import com.javaphysicsengine.api.body.PCircle;
+import com.javaphysicsengine.api.body.PCollidable;
+import com.javaphysicsengine.api.body.PPolygon;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Finds the collider for a pair of bodies from their shape types, using a table indexed by [type1][type2]
+ * instead of a chain of {@code instanceof} checks.
+ *
+ * A collider only needs to be registered for one order of the two types; the other order calls the same collider
+ * with the bodies swapped and then swaps the result back. New shapes can be added without changing the bodies:
+ * <pre>
+ *     int triangleType = PCollisionDispatcher.newShapeType();
+ *     dispatcher.register(triangleType, PCollisionDispatcher.CIRCLE, triangleCircleCollider);
+ * </pre>
+ * Note that the colliders must not be changed while a world is simulating.
+ */
+public class PCollisionDispatcher {
+    public static final int CIRCLE = 0;
+    public static final int POLYGON = 1;
+
+    private static final AtomicInteger nextShapeType = new AtomicInteger(POLYGON + 1);
+    private static final PCollisionDispatcher defaultDispatcher = new PCollisionDispatcher();
+
+    // The collider of each pair of shape types, and whether it expects the two bodies in the opposite order
+    private PCollider[][] colliders = new PCollider[0][0];
+    private boolean[][] isSwapped = new boolean[0][0];
+
+    /**
+     * Creates a dispatcher with the colliders for circles and polygons
+     */
+    public PCollisionDispatcher() {
+        register(CIRCLE, CIRCLE, (body1, body2, cachedAxis, result) ->
+                PCircleCircleCollision.doBodiesCollide((PCircle) body1, (PCircle) body2, result));
+
+        register(CIRCLE, POLYGON, (body1, body2, cachedAxis, result) -> {
+            PCircle circle = (PCircle) body1;
+            PPolygon polygon = (PPolygon) body2;
+            if (PBoxBoxCollision.doBodiesCollide(circle, polygon.getBoundingBox())) {
+                PCirclePolyCollision.doBodiesCollide(circle, polygon, result);
+            } else {
+                result.clear();
+            }
+        });
+
+        register(POLYGON, POLYGON, (body1, body2, cachedAxis, result) -> {
+            PPolygon polygon1 = (PPolygon) body1;
+            PPolygon polygon2 = (PPolygon) body2;
+            if (PBoxBoxCollision.doBodiesCollide(polygon1.getBoundingBox(), polygon2.getBoundingBox())) {
+                PPolyPolyCollision.doBodiesCollide(polygon1, polygon2, cachedAxis, result);
+            } else {
+                result.clear();
+            }
+        });
+    }
+
+    /**
+     * Returns the dispatcher used by {@code PCollidable#hasCollidedWith(PCollidable)} and by default in the narrowphase
+     * @return the default dispatcher
+     */
+    public static PCollisionDispatcher getDefault() {
+        return defaultDispatcher;
+    }
+
+    /**
+     * Creates a new shape type id for a custom shape
+     * @return the new shape type
+     */
+    public static int newShapeType() {
+        return nextShapeType.getAndIncrement();
+    }
+
+    /**
+     * Sets the collider for a pair of shape types (in either order)
+     * Pre-condition: "type1" and "type2" must be at least 0, and "collider" must not be null
+     * @param type1 the shape type of the first body passed to the collider
+     * @param type2 the shape type of the second body passed to the collider
+     * @param collider the collider
+     */
+    public void register(int type1, int type2, PCollider collider) {
+        ensureCapacity(Math.max(type1, type2) + 1);
+
+        colliders[type1][type2] = collider;
+        isSwapped[type1][type2] = false;
+
+        if (type1 != type2) {
+            colliders[type2][type1] = collider;
+            isSwapped[type2][type1] = true;
+        }
+    }
+
+    /**
+     * Determines if there is a collider for a pair of shape types
+     * @param type1 the shape type of the first body
+     * @param type2 the shape type of the second body
+     * @return {@code true} if there is a collider; else {@code false}
+     */
+    public boolean hasCollider(int type1, int type2) {
+        return type1 >= 0 && type2 >= 0 && type1 < colliders.length && type2 < colliders.length &&
+                colliders[type1][type2] != null;
+    }
+
+    /**
+     * Tests two bodies for a collision, storing the results in an existing result
+     * Pre-condition: "body1", "body2" and "result" must not be null
+     * @param body1 the first body
+     * @param body2 the second body
+     * @param cachedAxis the separating axis of the pair from the last step, or {@code null}
+     * @param result the result to store the collision in
+     * @return {@code true} if the bodies collided; else {@code false}
+     * @throws IllegalArgumentException if there is no collider for the shape types of the bodies
+     */
+    public boolean collide(PCollidable body1, PCollidable body2, PSeparatingAxis cachedAxis, PCollisionResult result) {
+        int type1 = body1.getShapeType();
+        int type2 = body2.getShapeType();
+        if (!hasCollider(type1, type2)) {
+            throw new IllegalArgumentException("Body cannot detect and handle collisions!");
+        }
+
+        if (isSwapped[type1][type2]) {
+            colliders[type1][type2].collide(body2, body1, cachedAxis, result);
+            result.swapBodies();
+        } else {
+            colliders[type1][type2].collide(body1, body2, cachedAxis, result);
+        }
+        return result.isHasCollided();
+    }
+
+    /**
+     * Tests two bodies for a collision
+     * Pre-condition: "body1" and "body2" must not be null
+     * @param body1 the first body
+     * @param body2 the second body
+     * @return the result of the collision
+     * @throws IllegalArgumentException if there is no collider for the shape types of the bodies
+     */
+    public PCollisionResult collide(PCollidable body1, PCollidable body2) {
+        PCollisionResult result = new PCollisionResult(false, null, null, null, null);
+        collide(body1, body2, null, result);
+        return result;
+    }
+
+    private void ensureCapacity(int numTypes) {
+        if (colliders.length >= numTypes) {
+            return;
+        }
+
+        PCollider[][] newColliders = new PCollider[numTypes][numTypes];
+        boolean[][] newIsSwapped = new boolean[numTypes][numTypes];
+        for (int i = 0; i < colliders.length; i++) {
+            System.arraycopy(colliders[i], 0, newColliders[i], 0, colliders.length);
+            System.arraycopy(isSwapped[i], 0, newIsSwapped[i], 0, isSwapped.length);
+        }
+        colliders = newColliders;
+        isSwapped = newIsSwapped;
+    }
+}
@@ -5,6 +5,9 @@ import com.javaphysicsengine.utils.Vector;
 /**
  * Stores the result of a collision
  * Note that the mtv must go in the direction of body1Mtv
+ *
+ * The vectors given to the result are copied into vectors owned by the result, so colliders can build them
+ * from scratch vectors, and a result that is re-used across steps does not allocate
  */
 public class PCollisionResult {
     public void setHasCollided(boolean hasCollided) {
@@ -12,19 +15,23 @@ public class PCollisionResult {
     }
 
     public void setBody1Mtv(Vector body1Mtv) {
-        this.body1Mtv = body1Mtv;
+        ownBody1Mtv = copy(body1Mtv, ownBody1Mtv);
+        this.body1Mtv = body1Mtv == null ? null : ownBody1Mtv;
     }
 
     public void setBody2Mtv(Vector body2Mtv) {
-        this.body2Mtv = body2Mtv;
+        ownBody2Mtv = copy(body2Mtv, ownBody2Mtv);
+        this.body2Mtv = body2Mtv == null ? null : ownBody2Mtv;
     }
 
     public void setMtv(Vector mtv) {
-        this.mtv = mtv;
+        ownMtv = copy(mtv, ownMtv);
+        this.mtv = mtv == null ? null : ownMtv;
     }
 
     public void setContactPt(Vector contactPt) {
-        this.contactPt = contactPt;
+        ownContactPt = copy(contactPt, ownContactPt);
+        this.contactPt = contactPt == null ? null : ownContactPt;
     }
 
     private boolean hasCollided;
@@ -33,6 +40,12 @@ public class PCollisionResult {
     private Vector mtv;
     private Vector contactPt;
 
+    // The vectors the values are copied into, created on the first collision; each field above is either null or its own vector
+    private Vector ownBody1Mtv;
+    private Vector ownBody2Mtv;
+    private Vector ownMtv;
+    private Vector ownContactPt;
+
     /**
      * Constructs a PCollisionResult from the collision of body1 and body2
      *
@@ -44,11 +57,58 @@ public class PCollisionResult {
      * @param contactPt the point of contact body1 and body2 touched each other
      */
     public PCollisionResult(boolean hasCollided, Vector body1Mtv, Vector body2Mtv, Vector mtv, Vector contactPt) {
+        set(hasCollided, body1Mtv, body2Mtv, mtv, contactPt);
+    }
+
+    /**
+     * Replaces all the values of the result, copying the vectors
+     * @param hasCollided {@code True} if collided; else {@code False}
+     * @param body1Mtv the amount to translate body1 by so that it is not touching body2
+     * @param body2Mtv the amount to translate body2 by so that it is not touching body1
+     * @param mtv the amount and direction to move body2 away from body1
+     * @param contactPt the point of contact body1 and body2 touched each other
+     * @return this result
+     */
+    public PCollisionResult set(boolean hasCollided, Vector body1Mtv, Vector body2Mtv, Vector mtv, Vector contactPt) {
         this.hasCollided = hasCollided;
-        this.body1Mtv = body1Mtv;
-        this.body2Mtv = body2Mtv;
-        this.mtv = mtv;
-        this.contactPt = contactPt;
+        setBody1Mtv(body1Mtv);
+        setBody2Mtv(body2Mtv);
+        setMtv(mtv);
+        setContactPt(contactPt);
+        return this;
+    }
+
+    private static Vector copy(Vector value, Vector own) {
+        if (value == null) {
+            return own;
+        }
+        return own == null ? new Vector(value) : own.setXY(value);
+    }
+
+    /**
+     * Sets the result to no collision
+     * @return this result
+     */
+    public PCollisionResult clear() {
+        return set(false, null, null, null, null);
+    }
+
+    /**
+     * Swaps body1 and body2, so that a result computed for (body2, body1) becomes the result for (body1, body2)
+     */
+    public void swapBodies() {
+        Vector temp = body1Mtv;
+        body1Mtv = body2Mtv;
+        body2Mtv = temp;
+
+        temp = ownBody1Mtv;
+        ownBody1Mtv = ownBody2Mtv;
+        ownBody2Mtv = temp;
+
+        // The mtv is owned by the result, so it can be flipped in place
+        if (mtv != null) {
+            mtv.scaleInPlace(-1);
+        }
     }
 
     public boolean isHasCollided() {
@@ -0,0 +1,162 @@
+package com.javaphysicsengine.api.collision;
+
+import com.javaphysicsengine.api.body.PBody;
+import com.javaphysicsengine.utils.Vector;
+
+/**
+ * Stores the points where two bodies touch, along with the impulses applied to each point.
+ *
+ * Each point has a feature id, which identifies the edges / vertices that made the point,
+ * so that the same point can be matched from one step to the next even though it moved a little.
+ */
+public class PContactManifold {
+    public static final int MAX_POINTS = 2;
+
+    private PBody body1;
+    private PBody body2;
+
+    // The direction from body1 to body2, as a unit vector
+    private final Vector normal = new Vector(0, 0);
+
+    private int pointCount = 0;
+    private final Vector[] points = new Vector[MAX_POINTS];
+    private final int[] featureIds = new int[MAX_POINTS];
+    private final double[] normalImpulses = new double[MAX_POINTS];
+    private final double[] tangentImpulses = new double[MAX_POINTS];
+
+    // The step of the manifold cache in which this manifold was last updated
+    int lastUpdatedStep;
+
+    /**
+     * Creates an empty manifold
+     */
+    public PContactManifold() {
+        for (int i = 0; i < MAX_POINTS; i++) {
+            points[i] = new Vector(0, 0);
+        }
+    }
+
+    /**
+     * Sets the two bodies in contact
+     * @param body1 the first body
+     * @param body2 the second body
+     */
+    public void setBodies(PBody body1, PBody body2) {
+        this.body1 = body1;
+        this.body2 = body2;
+    }
+
+    public PBody getBody1() {
+        return body1;
+    }
+
+    public PBody getBody2() {
+        return body2;
+    }
+
+    /**
+     * Returns the direction from body1 to body2
+     * @return the normal, as a unit vector
+     */
+    public Vector getNormal() {
+        return normal;
+    }
+
+    /**
+     * Removes all the points from the manifold
+     */
+    public void clearPoints() {
+        pointCount = 0;
+    }
+
+    /**
+     * Adds a contact point with no impulses, if the manifold is not full
+     * @param x the x coordinate of the point
+     * @param y the y coordinate of the point
+     * @param featureId the id of the features that made the point
+     * @return {@code true} if the point was added; else {@code false}
+     */
+    public boolean addPoint(double x, double y, int featureId) {
+        if (pointCount == MAX_POINTS) {
+            return false;
+        }
+
+        points[pointCount].setXY(x, y);
+        featureIds[pointCount] = featureId;
+        normalImpulses[pointCount] = 0;
+        tangentImpulses[pointCount] = 0;
+        pointCount++;
+        return true;
+    }
+
+    public int getPointCount() {
+        return pointCount;
+    }
+
+    /**
+     * Returns a contact point
+     * Pre-condition: 0 <= "index" < {@code getPointCount()}
+     * @param index the index of the point
+     * @return the contact point
+     */
+    public Vector getPoint(int index) {
+        return points[index];
+    }
+
+    public int getFeatureId(int index) {
+        return featureIds[index];
+    }
+
+    public double getNormalImpulse(int index) {
+        return normalImpulses[index];
+    }
+
+    public void setNormalImpulse(int index, double normalImpulse) {
+        normalImpulses[index] = normalImpulse;
+    }
+
+    public double getTangentImpulse(int index) {
+        return tangentImpulses[index];
+    }
+
+    public void setTangentImpulse(int index, double tangentImpulse) {
+        tangentImpulses[index] = tangentImpulse;
+    }
+
+    /**
+     * Replaces the normal and points of this manifold with the ones in another manifold.
+     * The impulses of the points that have the same feature id as a point in this manifold are kept
+     * Pre-condition: "newManifold" must not be null
+     * @param newManifold the manifold with the new points
+     */
+    public void update(PContactManifold newManifold) {
+        double oldNormalImpulse0 = normalImpulses[0];
+        double oldNormalImpulse1 = normalImpulses[1];
+        double oldTangentImpulse0 = tangentImpulses[0];
+        double oldTangentImpulse1 = tangentImpulses[1];
+        int oldFeatureId0 = featureIds[0];
+        int oldFeatureId1 = featureIds[1];
+        int oldPointCount = pointCount;
+
+        normal.setXY(newManifold.normal);
+        pointCount = newManifold.pointCount;
+
+        for (int i = 0; i < pointCount; i++) {
+            points[i].setXY(newManifold.points[i]);
+            featureIds[i] = newManifold.featureIds[i];
+
+            if (oldPointCount > 0 && featureIds[i] == oldFeatureId0) {
+                normalImpulses[i] = oldNormalImpulse0;
+                tangentImpulses[i] = oldTangentImpulse0;
+
+            } else if (oldPointCount > 1 && featureIds[i] == oldFeatureId1) {
+                normalImpulses[i] = oldNormalImpulse1;
+                tangentImpulses[i] = oldTangentImpulse1;
+
+            } else {
+                normalImpulses[i] = 0;
+                tangentImpulses[i] = 0;
+            }
+        }
+    }
+}
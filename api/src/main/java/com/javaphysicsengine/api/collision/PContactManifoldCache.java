@@ -0,0 +1,103 @@
+package com.javaphysicsengine.api.collision;
+
+import com.javaphysicsengine.api.body.PBody;
+import com.javaphysicsengine.utils.LongHashMap;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+ * Keeps the contact manifold of each pair of bodies that are touching across steps, so that the impulses
+ * applied to a contact in one step can be re-applied in the next.
+ *
+ * Each step:
+ * <pre>
+ *     cache.beginStep();
+ *     PContactManifold manifold = cache.update(pairKey, newManifold); // for each pair that collided
+ *     cache.evictStale();
+ * </pre>
+ * The manifolds of the pairs that were not updated in a step (the bodies stopped touching) are evicted.
+ */
+public class PContactManifoldCache {
+    private final LongHashMap<PContactManifold> manifolds = new LongHashMap<>();
+    private final List<PContactManifold> manifoldPool = new ArrayList<>();
+    private int step = 0;
+
+    private final Predicate<PContactManifold> isStale = manifold -> manifold.lastUpdatedStep != step;
+    private final Consumer<PContactManifold> recycleManifold = manifold -> {
+        manifold.setBodies(null, null);
+        manifoldPool.add(manifold);
+    };
+
+    /**
+     * Starts a new step
+     */
+    public void beginStep() {
+        step++;
+    }
+
+    /**
+     * Returns the cached manifold of a pair of bodies
+     * @param pairKey the key of the pair of bodies
+     * @return the manifold, or {@code null} if the pair is not in the cache
+     */
+    public PContactManifold get(long pairKey) {
+        return manifolds.get(pairKey);
+    }
+
+    /**
+     * Updates the cached manifold of a pair with the points of a new manifold, keeping the impulses of the
+     * points that persisted from the last step
+     * Pre-condition: "newManifold" must not be null
+     * @param pairKey the key of the pair of bodies
+     * @param newManifold the manifold found in this step
+     * @return the cached manifold
+     */
+    public PContactManifold update(long pairKey, PContactManifold newManifold) {
+        PBody body1 = newManifold.getBody1();
+        PBody body2 = newManifold.getBody2();
+
+        PContactManifold manifold = manifolds.get(pairKey);
+
+        // The pair key is made of the bodies' indices, so it can refer to other bodies once bodies are added / removed
+        if (manifold != null && (manifold.getBody1() != body1 || manifold.getBody2() != body2)) {
+            manifold.clearPoints();
+        }
+
+        if (manifold == null) {
+            manifold = manifoldPool.isEmpty() ? new PContactManifold() : manifoldPool.remove(manifoldPool.size() - 1);
+            manifold.clearPoints();
+            manifolds.put(pairKey, manifold);
+        }
+
+        manifold.setBodies(body1, body2);
+        manifold.update(newManifold);
+        manifold.lastUpdatedStep = step;
+        return manifold;
+    }
+
+    /**
+     * Removes the manifolds that were not updated in this step
+     */
+    public void evictStale() {
+        manifolds.removeIf(isStale, recycleManifold);
+    }
+
+    /**
+     * Removes all the manifolds
+     */
+    public void clear() {
+        step++;
+        evictStale();
+    }
+
+    /**
+     * Returns the number of manifolds in the cache
+     * @return the number of manifolds
+     */
+    public int size() {
+        return manifolds.size();
+    }
+}
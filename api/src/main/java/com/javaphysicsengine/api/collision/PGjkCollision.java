@@ -0,0 +1,322 @@
+package com.javaphysicsengine.api.collision;
+
+import com.javaphysicsengine.api.body.PBody;
+import com.javaphysicsengine.api.body.PConvexShape;
+import com.javaphysicsengine.utils.Vector;
+import com.javaphysicsengine.utils.VectorPool;
+
+/**
+ * Detects whether two convex shapes collide with the GJK algorithm, and finds their MTV with the EPA algorithm.
+ *
+ * Both algorithms work on the Minkowski difference of the two shapes (every point of body1 minus every point of body2),
+ * which contains the origin if and only if the shapes overlap. They only need the support point of each shape,
+ * so a test costs about O(n + m) for polygons with n and m vertices, instead of O(n * m) for SAT.
+ *
+ * The algorithm:
+ *  GJK: Build a triangle of support points of the Minkowski difference that contains the origin,
+ *       moving towards the origin each time. If a support point does not pass the origin, the shapes do not overlap
+ *  EPA: Expand the triangle into a polygon by adding the support point of the edge closest to the origin,
+ *       until that edge is on the boundary of the Minkowski difference. That edge gives the MTV
+ */
+public class PGjkCollision {
+    private static final int MAX_GJK_ITERATIONS = 32;
+    private static final int MAX_EPA_ITERATIONS = 64;
+
+    // EPA stops once the closest edge is within this distance of the boundary (in pixels)
+    private static final double EPA_TOLERANCE = 1e-4;
+
+    // The points of the simplex / polytope, re-used by each thread
+    private static final ThreadLocal<Polytope> POLYTOPES = ThreadLocal.withInitial(Polytope::new);
+
+    /**
+     * A polygon of points in the Minkowski difference, stored as flat arrays
+     */
+    private static class Polytope {
+        private double[] xs = new double[16];
+        private double[] ys = new double[16];
+        private int size = 0;
+
+        void clear() {
+            size = 0;
+        }
+
+        void add(double x, double y) {
+            insert(size, x, y);
+        }
+
+        void insert(int index, double x, double y) {
+            if (size == xs.length) {
+                double[] newXs = new double[xs.length * 2];
+                double[] newYs = new double[ys.length * 2];
+                System.arraycopy(xs, 0, newXs, 0, size);
+                System.arraycopy(ys, 0, newYs, 0, size);
+                xs = newXs;
+                ys = newYs;
+            }
+            System.arraycopy(xs, index, xs, index + 1, size - index);
+            System.arraycopy(ys, index, ys, index + 1, size - index);
+            xs[index] = x;
+            ys[index] = y;
+            size++;
+        }
+
+        void remove(int index) {
+            System.arraycopy(xs, index + 1, xs, index, size - index - 1);
+            System.arraycopy(ys, index + 1, ys, index, size - index - 1);
+            size--;
+        }
+    }
+
+    /**
+     * Determines whether two convex bodies collide, and returns the displacements each body should move by
+     * as well as the minimum translation vector
+     * Pre-condition: "body1" and "body2" must not be null
+     * @param body1 the first body
+     * @param body2 the second body
+     * @return the results of the collision
+     */
+    public static PCollisionResult doBodiesCollide(PBody body1, PBody body2) {
+        return doBodiesCollide(body1, body2, new PCollisionResult(false, null, null, null, null));
+    }
+
+    /**
+     * Determines whether two convex bodies collide, storing the results in an existing result
+     * Pre-condition: "body1", "body2" and "result" must not be null
+     * @param body1 the first body
+     * @param body2 the second body
+     * @param result the result to store the collision in
+     * @return "result"
+     */
+    public static PCollisionResult doBodiesCollide(PBody body1, PBody body2, PCollisionResult result) {
+        if (!(body1 instanceof PConvexShape) || !(body2 instanceof PConvexShape)) {
+            throw new IllegalArgumentException("Body does not have a support function!");
+        }
+
+        VectorPool pool = VectorPool.get();
+        int mark = pool.mark();
+        try {
+            return doBodiesCollide(body1, body2, (PConvexShape) body1, (PConvexShape) body2, result, pool);
+        } finally {
+            pool.release(mark);
+        }
+    }
+
+    private static PCollisionResult doBodiesCollide(PBody body1, PBody body2, PConvexShape shape1, PConvexShape shape2,
+                                                    PCollisionResult result, VectorPool pool) {
+        Polytope polytope = POLYTOPES.get();
+        polytope.clear();
+
+        Vector support = pool.obtain();
+        Vector support1 = pool.obtain();
+        Vector support2 = pool.obtain();
+
+        if (!findSimplex(body1, body2, shape1, shape2, polytope, support, support1, support2, pool.obtain())) {
+            return result.clear();
+        }
+
+        Vector normal = pool.obtain();
+        double depth = findPenetration(shape1, shape2, polytope, normal, support, support1, support2);
+
+        if (!(depth > 0)) {
+            return result.clear();
+        }
+
+        Vector bestMtv = Vector.scaleInto(normal, depth, pool.obtain());
+
+        // Split the MTV between the bodies based on their speed
+        double f1;
+        double f2;
+        if (!body1.isMoving() || !body2.isMoving()) {
+            f1 = body1.isMoving() ? 1 : 0;
+            f2 = body2.isMoving() ? 1 : 0;
+
+        } else {
+            double speed1 = body1.getVelocity().norm2();
+            double speed2 = body2.getVelocity().norm2();
+            f1 = speed1 + speed2 > 0 ? speed1 / (speed1 + speed2) : 0.5;
+            f2 = 1 - f1;
+        }
+
+        Vector body1Mtv = Vector.scaleInto(bestMtv, -f1, pool.obtain());
+        Vector body2Mtv = Vector.scaleInto(bestMtv, f2, pool.obtain());
+
+        // The contact point is the point of body2 that went the deepest into body1
+        Vector contactPt = shape2.getSupportPoint(-normal.getX(), -normal.getY(), pool.obtain()).addInPlace(body2Mtv);
+
+        double toBody2X = body2.getCenterPt().getX() - body1.getCenterPt().getX();
+        double toBody2Y = body2.getCenterPt().getY() - body1.getCenterPt().getY();
+        if (bestMtv.getX() * toBody2X + bestMtv.getY() * toBody2Y < 0) {
+            bestMtv.scaleInPlace(-1);
+        }
+
+        return result.set(true, body1Mtv, body2Mtv, bestMtv, contactPt);
+    }
+
+    /**
+     * Finds a triangle in the Minkowski difference that contains the origin (GJK)
+     * @return {@code true} if the triangle was found (the bodies overlap); else {@code false}
+     */
+    private static boolean findSimplex(PBody body1, PBody body2, PConvexShape shape1, PConvexShape shape2,
+                                       Polytope simplex, Vector support, Vector support1, Vector support2, Vector dir) {
+
+        dir.setXY(body2.getCenterPt().getX() - body1.getCenterPt().getX(), body2.getCenterPt().getY() - body1.getCenterPt().getY());
+        if (dir.getX() == 0 && dir.getY() == 0) {
+            dir.setXY(1, 0);
+        }
+
+        getSupportPoint(shape1, shape2, dir.getX(), dir.getY(), support, support1, support2);
+        simplex.add(support.getX(), support.getY());
+        dir.setXY(-support.getX(), -support.getY());
+
+        for (int i = 0; i < MAX_GJK_ITERATIONS; i++) {
+            // The origin is on the simplex, so the bodies are only touching
+            if (dir.getX() == 0 && dir.getY() == 0) {
+                return false;
+            }
+
+            getSupportPoint(shape1, shape2, dir.getX(), dir.getY(), support, support1, support2);
+
+            // The farthest point towards the origin does not pass it, so the origin is outside the Minkowski difference
+            if (support.dot(dir) <= 0) {
+                return false;
+            }
+
+            simplex.add(support.getX(), support.getY());
+            if (updateSimplex(simplex, dir)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Removes the points of the simplex that are not towards the origin, and finds the next direction to search in
+     * @return {@code true} if the simplex is a triangle that contains the origin; else {@code false}
+     */
+    private static boolean updateSimplex(Polytope simplex, Vector dir) {
+        // "a" is the newest point
+        int a = simplex.size - 1;
+        double aoX = -simplex.xs[a];
+        double aoY = -simplex.ys[a];
+
+        if (simplex.size == 2) {
+            double abX = simplex.xs[0] - simplex.xs[a];
+            double abY = simplex.ys[0] - simplex.ys[a];
+
+            if (abX * aoX + abY * aoY > 0) {
+                // Search perpendicular to ab, towards the origin
+                tripleProduct(abX, abY, aoX, aoY, abX, abY, dir);
+                if (dir.getX() == 0 && dir.getY() == 0) {
+                    dir.setXY(-abY, abX);
+                }
+            } else {
+                simplex.remove(0);
+                dir.setXY(aoX, aoY);
+            }
+            return false;
+        }
+
+        double abX = simplex.xs[1] - simplex.xs[a];
+        double abY = simplex.ys[1] - simplex.ys[a];
+        double acX = simplex.xs[0] - simplex.xs[a];
+        double acY = simplex.ys[0] - simplex.ys[a];
+
+        // The normals of ab and ac, pointing away from the triangle
+        double abPerpX = abX * (abX * acX + abY * acY) - acX * (abX * abX + abY * abY);
+        double abPerpY = abY * (abX * acX + abY * acY) - acY * (abX * abX + abY * abY);
+        double acPerpX = acX * (acX * abX + acY * abY) - abX * (acX * acX + acY * acY);
+        double acPerpY = acY * (acX * abX + acY * abY) - abY * (acX * acX + acY * acY);
+
+        if (abPerpX * aoX + abPerpY * aoY > 0) {
+            simplex.remove(0);
+            dir.setXY(abPerpX, abPerpY);
+            return false;
+        }
+
+        if (acPerpX * aoX + acPerpY * aoY > 0) {
+            simplex.remove(1);
+            dir.setXY(acPerpX, acPerpY);
+            return false;
+        }
+
+        return true;
+    }
+
+    /**
+     * Expands the triangle from GJK until its closest edge to the origin is on the boundary of the Minkowski difference (EPA)
+     * @param normal the vector to store the direction of the MTV in
+     * @return the penetration depth
+     */
+    private static double findPenetration(PConvexShape shape1, PConvexShape shape2, Polytope polytope, Vector normal,
+                                          Vector support, Vector support1, Vector support2) {
+        // Make the polytope counter-clockwise, so that (edge.y, -edge.x) points outwards
+        double area = (polytope.xs[1] - polytope.xs[0]) * (polytope.ys[2] - polytope.ys[0]) -
+                (polytope.ys[1] - polytope.ys[0]) * (polytope.xs[2] - polytope.xs[0]);
+        if (area < 0) {
+            double tempX = polytope.xs[0];
+            double tempY = polytope.ys[0];
+            polytope.xs[0] = polytope.xs[1];
+            polytope.ys[0] = polytope.ys[1];
+            polytope.xs[1] = tempX;
+            polytope.ys[1] = tempY;
+        }
+
+        double minDistance = 0;
+        for (int iteration = 0; iteration < MAX_EPA_ITERATIONS; iteration++) {
+
+            // Find the edge closest to the origin
+            int closestEdge = -1;
+            minDistance = Double.MAX_VALUE;
+            for (int i = 0; i < polytope.size; i++) {
+                int j = (i + 1) % polytope.size;
+                double edgeX = polytope.xs[j] - polytope.xs[i];
+                double edgeY = polytope.ys[j] - polytope.ys[i];
+                double length = Math.sqrt(edgeX * edgeX + edgeY * edgeY);
+                if (length == 0) {
+                    continue;
+                }
+
+                double normalX = edgeY / length;
+                double normalY = -edgeX / length;
+                double distance = normalX * polytope.xs[i] + normalY * polytope.ys[i];
+                if (distance < minDistance) {
+                    minDistance = distance;
+                    closestEdge = i;
+                    normal.setXY(normalX, normalY);
+                }
+            }
+
+            if (closestEdge == -1) {
+                return 0;
+            }
+
+            // Stop once the edge cannot be pushed out any further
+            getSupportPoint(shape1, shape2, normal.getX(), normal.getY(), support, support1, support2);
+            if (support.dot(normal) - minDistance < EPA_TOLERANCE) {
+                break;
+            }
+            polytope.insert(closestEdge + 1, support.getX(), support.getY());
+        }
+
+        return minDistance;
+    }
+
+    /**
+     * Gets the support point of the Minkowski difference (shape1 - shape2) in a direction
+     */
+    private static void getSupportPoint(PConvexShape shape1, PConvexShape shape2, double dirX, double dirY,
+                                        Vector support, Vector support1, Vector support2) {
+        shape1.getSupportPoint(dirX, dirY, support1);
+        shape2.getSupportPoint(-dirX, -dirY, support2);
+        Vector.minusInto(support1, support2, support);
+    }
+
+    /**
+     * Computes (a x b) x c, which for a = c is the part of b that is perpendicular to a
+     */
+    private static void tripleProduct(double aX, double aY, double bX, double bY, double cX, double cY, Vector result) {
+        double ac = aX * cX + aY * cY;
+        double bc = bX * cX + bY * cY;
+        result.setXY(bX * ac - aX * bc, bY * ac - aY * bc);
+    }
+}
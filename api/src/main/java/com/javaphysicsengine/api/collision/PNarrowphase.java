@@ -0,0 +1,355 @@
+package com.javaphysicsengine.api.collision;
+
+import com.javaphysicsengine.api.body.PBody;
+import com.javaphysicsengine.api.body.PCircle;
+import com.javaphysicsengine.api.body.PCollidable;
+import com.javaphysicsengine.api.body.PConvexShape;
+import com.javaphysicsengine.api.body.PPolygon;
+import com.javaphysicsengine.api.broadphase.PPairBuffer;
+import com.javaphysicsengine.utils.LongHashMap;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+ * Tests the pairs of bodies found by the broadphase for collisions.
+ *
+ * It only reads the bodies, and stores the result of each pair at the same index as the pair,
+ * so the pairs can be tested in any order (or on any number of threads) and still give the same results.
+ * The world then resolves the collisions serially, in the order of the pairs.
+ *
+ * Along with the result, it finds the contact points of each collision (up to two for polygons) and stores them
+ * in a manifold at the same index as the pair.
+ *
+ * The edge that separated each pair of polygons is cached across calls, so that polygons that stay apart
+ * only need one projection to be ruled out.
+ *
+ * Pairs with a polygon can be tested with GJK / EPA instead of SAT, which scales better for polygons with many vertices.
+ * All other pairs are tested by the collider that the dispatcher has for their shape types.
+ */
+public class PNarrowphase {
+    // The number of pairs below which a task tests its pairs instead of splitting them up
+    private static final int SEQUENTIAL_THRESHOLD = 64;
+
+    private ForkJoinPool pool = null;
+    private boolean isGjkEnabled = false;
+    private PCollisionDispatcher dispatcher = PCollisionDispatcher.getDefault();
+
+    private List<PBody> bodies;
+    private PPairBuffer pairs;
+    private PCollisionResult[] results = new PCollisionResult[0];
+    private PContactManifold[] manifolds = new PContactManifold[0];
+
+    // The separating axis of each pair of polygons, which is looked up before the pairs are tested
+    // so that each task only touches the axes of its own pairs
+    private final LongHashMap<PSeparatingAxis> separatingAxes = new LongHashMap<>();
+    private final List<PSeparatingAxis> separatingAxisPool = new ArrayList<>();
+    private PSeparatingAxis[] pairAxes = new PSeparatingAxis[0];
+    private int step = 0;
+
+    private final Predicate<PSeparatingAxis> isStale = axis -> axis.lastUsedStep != step;
+    private final Consumer<PSeparatingAxis> recycleSeparatingAxis = axis -> {
+        axis.clear();
+        separatingAxisPool.add(axis);
+    };
+
+    /**
+     * Returns the pool used to test the pairs in parallel
+     * @return the pool, or {@code null} if the pairs are tested on the calling thread
+     */
+    public ForkJoinPool getPool() {
+        return pool;
+    }
+
+    /**
+     * Sets the pool used to test the pairs in parallel
+     * @param pool the pool, or {@code null} to test the pairs on the calling thread
+     */
+    public void setPool(ForkJoinPool pool) {
+        this.pool = pool;
+    }
+
+    /**
+     * Determines if the pairs with a polygon are tested with GJK / EPA instead of SAT
+     * @return {@code true} if GJK is used; else {@code false}
+     */
+    public boolean isGjkEnabled() {
+        return isGjkEnabled;
+    }
+
+    /**
+     * Sets whether the pairs with a polygon are tested with GJK / EPA instead of SAT.
+     * Pairs of circles are always tested directly
+     * @param isGjkEnabled {@code true} to use GJK; else {@code false}
+     */
+    public void setGjkEnabled(boolean isGjkEnabled) {
+        this.isGjkEnabled = isGjkEnabled;
+    }
+
+    /**
+     * Returns the dispatcher that finds the collider of each pair
+     * @return the dispatcher
+     */
+    public PCollisionDispatcher getDispatcher() {
+        return dispatcher;
+    }
+
+    /**
+     * Sets the dispatcher that finds the collider of each pair
+     * Pre-condition: "dispatcher" must not be null
+     * @param dispatcher the dispatcher
+     */
+    public void setDispatcher(PCollisionDispatcher dispatcher) {
+        this.dispatcher = dispatcher;
+    }
+
+    /**
+     * Tests all the pairs for collisions, replacing the previous results
+     * Pre-condition: "bodies" and "pairs" must not be null, and the bodies must not be modified while this runs
+     * @param bodies the bodies in the world
+     * @param pairs the pairs of indices of the bodies to test
+     */
+    public void findCollisions(List<PBody> bodies, PPairBuffer pairs) {
+        this.bodies = bodies;
+        this.pairs = pairs;
+
+        int numPairs = pairs.size();
+
+        // The results and manifolds are re-used across calls, and are created here so that the tasks only write into them
+        if (results.length < numPairs) {
+            PCollisionResult[] newResults = new PCollisionResult[Math.max(numPairs, results.length * 2)];
+            System.arraycopy(results, 0, newResults, 0, results.length);
+            for (int i = results.length; i < newResults.length; i++) {
+                newResults[i] = new PCollisionResult(false, null, null, null, null);
+            }
+            results = newResults;
+        }
+
+        if (manifolds.length < numPairs) {
+            PContactManifold[] newManifolds = new PContactManifold[Math.max(numPairs, manifolds.length * 2)];
+            System.arraycopy(manifolds, 0, newManifolds, 0, manifolds.length);
+            for (int i = manifolds.length; i < newManifolds.length; i++) {
+                newManifolds[i] = new PContactManifold();
+            }
+            manifolds = newManifolds;
+        }
+
+        // Polygons update their transform and bounding box lazily, so they are updated here rather than by many threads at once
+        for (PBody body : bodies) {
+            if (body instanceof PPolygon) {
+                ((PPolygon) body).updateTransform();
+            }
+        }
+
+        findSeparatingAxes();
+
+        if (pool == null || numPairs <= SEQUENTIAL_THRESHOLD) {
+            findCollisions(0, numPairs);
+        } else {
+            pool.invoke(new FindCollisionsTask(0, numPairs));
+        }
+
+        evictSeparatingAxes();
+
+        this.bodies = null;
+        this.pairs = null;
+    }
+
+    /**
+     * Returns the result of a pair tested by the last call to {@code PNarrowphase#findCollisions(List, PPairBuffer)}
+     * The result is re-used by the next call, so it should not be kept across calls
+     * Pre-condition: 0 <= "pairIndex" < the number of pairs
+     * @param pairIndex the index of the pair
+     * @return the result, or {@code null} if the bodies did not collide
+     */
+    public PCollisionResult getResult(int pairIndex) {
+        return results[pairIndex].isHasCollided() ? results[pairIndex] : null;
+    }
+
+    /**
+     * Returns the contact points of a pair tested by the last call to {@code PNarrowphase#findCollisions(List, PPairBuffer)}.
+     * The manifold is re-used by the next call, so it should be copied (ex: into a {@code PContactManifoldCache})
+     * Pre-condition: 0 <= "pairIndex" < the number of pairs, and {@code getResult(pairIndex)} is not null
+     * @param pairIndex the index of the pair
+     * @return the manifold of the pair
+     */
+    public PContactManifold getManifold(int pairIndex) {
+        return manifolds[pairIndex];
+    }
+
+    /**
+     * Returns the cached separating axis of a pair of polygons
+     * @param pairKey the key of the pair (see {@code PPairBuffer#getPairKey(int, int)})
+     * @return the separating axis, or {@code null} if the pair was not tested in the last call
+     */
+    public PSeparatingAxis getSeparatingAxis(long pairKey) {
+        return separatingAxes.get(pairKey);
+    }
+
+    private void findCollisions(int start, int end) {
+        for (int i = start; i < end; i++) {
+            PBody body1 = bodies.get(pairs.getFirstBody(i));
+            PBody body2 = bodies.get(pairs.getSecondBody(i));
+
+            if (findCollision(body1, body2, pairAxes[i], results[i])) {
+                findContactPoints(body1, body2, results[i], manifolds[i]);
+            }
+        }
+    }
+
+    /**
+     * Finds the contact points of two bodies that collided
+     * @param body1 the first body
+     * @param body2 the second body
+     * @param result the result of the collision
+     * @param manifold the manifold to store the points in
+     */
+    private static void findContactPoints(PBody body1, PBody body2, PCollisionResult result, PContactManifold manifold) {
+        manifold.setBodies(body1, body2);
+        manifold.getNormal().setXY(result.getMtv()).normalizeInPlace();
+
+        if (body1 instanceof PPolygon && body2 instanceof PPolygon) {
+            PPolyPolyCollision.getContactPoints((PPolygon) body1, (PPolygon) body2, manifold.getNormal(), manifold);
+        } else {
+            manifold.clearPoints();
+        }
+
+        // Bodies with a curved side only touch at one point
+        if (manifold.getPointCount() == 0) {
+            manifold.addPoint(result.getContactPt().getX(), result.getContactPt().getY(), 0);
+        }
+    }
+
+    /**
+     * Finds the cached separating axis of each pair of polygons, creating the ones that are missing
+     */
+    private void findSeparatingAxes() {
+        step++;
+
+        int numPairs = pairs.size();
+        if (pairAxes.length < numPairs) {
+            pairAxes = new PSeparatingAxis[Math.max(numPairs, pairAxes.length * 2)];
+        }
+
+        for (int i = 0; i < numPairs; i++) {
+            int body1 = pairs.getFirstBody(i);
+            int body2 = pairs.getSecondBody(i);
+
+            if (!(isPolygon(bodies.get(body1)) && isPolygon(bodies.get(body2)))) {
+                pairAxes[i] = null;
+                continue;
+            }
+
+            long pairKey = PPairBuffer.getPairKey(body1, body2);
+            PSeparatingAxis axis = separatingAxes.get(pairKey);
+            if (axis == null) {
+                axis = separatingAxisPool.isEmpty() ? new PSeparatingAxis() : separatingAxisPool.remove(separatingAxisPool.size() - 1);
+                separatingAxes.put(pairKey, axis);
+            }
+            axis.lastUsedStep = step;
+            pairAxes[i] = axis;
+        }
+    }
+
+    /**
+     * Removes the separating axes of the pairs that were not tested in this call
+     */
+    private void evictSeparatingAxes() {
+        separatingAxes.removeIf(isStale, recycleSeparatingAxis);
+    }
+
+    /**
+     * Tests two bodies for a collision
+     * @param body1 the first body
+     * @param body2 the second body
+     * @param cachedAxis the separating axis of the pair if both bodies are polygons; else {@code null}
+     * @param result the result to store the collision in
+     * @return {@code true} if the bodies collided; else {@code false}
+     */
+    private boolean findCollision(PBody body1, PBody body2, PSeparatingAxis cachedAxis, PCollisionResult result) {
+        result.clear();
+
+        // Two sleeping bodies (or a sleeping and a static body) are resting against each other
+        boolean isCollidable = (body1 instanceof PCollidable && body2 instanceof PCollidable) &&
+                (isSimulated(body1) || isSimulated(body2));
+
+        if (!isCollidable) {
+            return false;
+        }
+
+        if (isGjkEnabled && isGjkPair(body1, body2)) {
+            if (!doBoundingBoxesOverlap(body1, body2)) {
+                return false;
+            }
+            PGjkCollision.doBodiesCollide(body1, body2, result);
+
+        } else {
+            dispatcher.collide((PCollidable) body1, (PCollidable) body2, cachedAxis, result);
+        }
+        if (!result.isHasCollided()) {
+            return false;
+        }
+
+        double toBody2X = body2.getCenterPt().getX() - body1.getCenterPt().getX();
+        double toBody2Y = body2.getCenterPt().getY() - body1.getCenterPt().getY();
+        if (result.getMtv().getX() * toBody2X + result.getMtv().getY() * toBody2Y < 0) {
+            throw new IllegalArgumentException("MTV's direction should be from body1 to body2!");
+        }
+        return true;
+    }
+
+    private static boolean isGjkPair(PBody body1, PBody body2) {
+        return (body1 instanceof PPolygon || body2 instanceof PPolygon) &&
+                body1 instanceof PConvexShape && body2 instanceof PConvexShape;
+    }
+
+    /**
+     * Tests the bounding boxes of two bodies, without refreshing the cached bounding box of circles
+     * (which would write to bodies that other tasks are reading)
+     */
+    private static boolean doBoundingBoxesOverlap(PBody body1, PBody body2) {
+        if (body1 instanceof PCircle) {
+            return PBoxBoxCollision.doBodiesCollide((PCircle) body1, body2.getBoundingBox());
+        }
+        if (body2 instanceof PCircle) {
+            return PBoxBoxCollision.doBodiesCollide((PCircle) body2, body1.getBoundingBox());
+        }
+        return PBoxBoxCollision.doBodiesCollide(body1.getBoundingBox(), body2.getBoundingBox());
+    }
+
+    private static boolean isPolygon(PBody body) {
+        return body instanceof PCollidable && ((PCollidable) body).getShapeType() == PCollisionDispatcher.POLYGON;
+    }
+
+    private static boolean isSimulated(PBody body) {
+        return body.isMoving() && body.isAwake();
+    }
+
+    /**
+     * Tests the pairs in [start, end), splitting them in half until there are few enough pairs
+     */
+    private class FindCollisionsTask extends RecursiveAction {
+        private final int start;
+        private final int end;
+
+        FindCollisionsTask(int start, int end) {
+            this.start = start;
+            this.end = end;
+        }
+
+        @Override
+        protected void compute() {
+            if (end - start <= SEQUENTIAL_THRESHOLD) {
+                findCollisions(start, end);
+                return;
+            }
+
+            int mid = (start + end) >>> 1;
+            invokeAll(new FindCollisionsTask(start, mid), new FindCollisionsTask(mid, end));
+        }
+    }
+}
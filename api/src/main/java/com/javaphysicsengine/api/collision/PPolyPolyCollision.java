@@ -2,25 +2,26 @@ package com.javaphysicsengine.api.collision;
 
 import com.javaphysicsengine.api.body.PPolygon;
 import com.javaphysicsengine.utils.Vector;
-
-import java.util.ArrayList;
-import java.util.List;
+import com.javaphysicsengine.utils.VectorPool;
 
 public class PPolyPolyCollision {
 
+    // Used by clip() to tell which points of the segment were moved
+    private static final int CLIPPED_FIRST = 1;
+    private static final int CLIPPED_SECOND = 2;
+    private static final int CLIPPED_ALL = 4;
+
+    // The incident feature of a point that was clipped to a side of the reference edge (+0 or +1 for the side)
+    private static final int CLIPPED_FEATURE = 0x7FFE;
+
     /**
      * A class used to store the min/max scalar values when projecting
      * points onto a line
      */
     private static class Bounds {
 
-        private final double min;
-        private final double max;
-
-        public Bounds(double min, double max) {
-            this.min = min;
-            this.max = max;
-        }
+        private double min;
+        private double max;
 
         public double getMin() {
             return min;
@@ -31,18 +32,23 @@ public class PPolyPolyCollision {
         }
     }
 
+    // The bounds used while testing axes, a pair per thread since the narrowphase can test pairs in parallel
+    private static final ThreadLocal<Bounds[]> SCRATCH_BOUNDS = ThreadLocal.withInitial(() ->
+            new Bounds[] { new Bounds(), new Bounds() });
+
     /**
-     * Get the minimum and max. bounds when projecting the vertices onto a line
-     * @param vertices the vertices
-     * @param proj the line to project the vertices on
-     * @return the min/max distances away from the projected line
+     * Get the minimum and max. bounds when projecting the vertices of a polygon onto a line
+     * @param polygon the polygon
+     * @param projX the x value of the line to project the vertices on
+     * @param projY the y value of the line to project the vertices on
+     * @param bounds the object to store the min/max distances away from the projected line
      */
-    private static Bounds getProjectionBounds(List<Vector> vertices, Vector proj) {
+    private static void getProjectionBounds(PPolygon polygon, double projX, double projY, Bounds bounds) {
         double minScalar = 1000000000;
         double maxScalar = -1000000000;
 
-        for (Vector poly1Vertex : vertices) {
-            double scalarProj = proj.dot(poly1Vertex);
+        for (int i = 0; i < polygon.getVertexCount(); i++) {
+            double scalarProj = (projX * polygon.getVertexX(i)) + (projY * polygon.getVertexY(i));
 
             if (scalarProj < minScalar) {
                 minScalar = scalarProj;
@@ -53,60 +59,99 @@ public class PPolyPolyCollision {
             }
         }
 
-        return new Bounds(minScalar, maxScalar);
+        bounds.min = minScalar;
+        bounds.max = maxScalar;
+    }
+
+    /**
+     * Determines if the projections of two polygons onto an axis do not overlap
+     * @param poly1 polygon1
+     * @param poly2 polygon2
+     * @param normalX the x value of the axis
+     * @param normalY the y value of the axis
+     * @param bounds1 the object to store the bounds of polygon1 in
+     * @param bounds2 the object to store the bounds of polygon2 in
+     * @return {@code true} if the axis separates the polygons; else {@code false}
+     */
+    private static boolean isSeparatingAxis(PPolygon poly1, PPolygon poly2, double normalX, double normalY,
+                                            Bounds bounds1, Bounds bounds2) {
+        getProjectionBounds(poly1, normalX, normalY, bounds1);
+        getProjectionBounds(poly2, normalX, normalY, bounds2);
+
+        return !(bounds1.getMin() < bounds2.getMax() && bounds1.getMax() > bounds2.getMin());
     }
 
     /**
      * Computes the MTV for polygon2 using the separating axis theorem
      * It also computes the contact point on polygon2
      *
-     * @param poly1Vertices the vertices for polygon1
-     * @param poly2Vertices the vertices for polygon2
-     * @return the mtv
+     * @param poly1 polygon1, whose edge normals are tested
+     * @param poly2 polygon2
+     * @param cachedAxis the cached separating axis to store the separating edge in, or {@code null}
+     * @param bestMtv the vector to store the mtv in
+     * @return "bestMtv", or {@code null} if an edge of polygon1 separates the polygons
      */
-    private static Vector getSeparatingAxis(List<Vector> poly1Vertices, List<Vector> poly2Vertices) {
-
+    private static Vector getSeparatingAxis(PPolygon poly1, PPolygon poly2, PSeparatingAxis cachedAxis,
+                                            Vector bestMtv) {
         double bestMtd = 10000000;
-        Vector bestMtv = null;
-
-        // Going through each side in poly1 and see if poly2 intersects it
-        for (int i = 0; i < poly1Vertices.size(); i++) {
+        boolean hasMtv = false;
 
-            Vector sidePt1 = poly1Vertices.get(i);
-            Vector sidePt2 = i + 1 < poly1Vertices.size() ? poly1Vertices.get(i + 1) : poly1Vertices.get(0);
-            Vector edge = sidePt2.minus(sidePt1);
+        Bounds[] scratchBounds = SCRATCH_BOUNDS.get();
+        Bounds bounds1 = scratchBounds[0];
+        Bounds bounds2 = scratchBounds[1];
 
-            Vector normal = Vector.of(edge.getY(), -1 * edge.getX()).normalize();
+        // Going through each side in poly1 and see if poly2 intersects it
+        for (int i = 0; i < poly1.getVertexCount(); i++) {
+            double normalX = poly1.getNormalX(i);
+            double normalY = poly1.getNormalY(i);
 
-            // Project all poly1's vertices onto the normal and get its bounds
-            Bounds bounds1 = getProjectionBounds(poly1Vertices, normal);
+            if (isSeparatingAxis(poly1, poly2, normalX, normalY, bounds1, bounds2)) {
+                if (cachedAxis != null) {
+                    cachedAxis.set(poly1, i);
+                }
+                return null;
+            }
 
-            // Project all poly2's vertices onto the normal and get its bounds
-            Bounds bounds2 = getProjectionBounds(poly2Vertices, normal);
+            double mtd;
 
-            boolean isIntersecting = bounds1.getMin() < bounds2.getMax() && bounds1.getMax() > bounds2.getMin();
+            if (bounds1.getMin() < bounds2.getMax()) {
+                mtd = bounds1.getMax() - bounds2.getMin();
 
-            if (isIntersecting) {
-                double mtd;
+            } else {
+                mtd = bounds2.getMax() - bounds1.getMin();
+            }
 
-                if (bounds1.getMin() < bounds2.getMax()) {
-                    mtd = bounds1.getMax() - bounds2.getMin();
+            if (mtd < bestMtd) {
+                bestMtd = mtd;
+                bestMtv.setXY(normalX * mtd, normalY * mtd);
+                hasMtv = true;
+            }
+        }
 
-                } else {
-                    mtd = bounds2.getMax() - bounds1.getMin();
-                }
+        return hasMtv ? bestMtv : null;
+    }
 
-                if (mtd < bestMtd) {
-                    bestMtd = mtd;
-                    bestMtv = normal.scale(mtd);
-                }
+    /**
+     * Tests the edge that separated two polygons in the last step
+     * @param body1 the first polygon
+     * @param body2 the second polygon
+     * @param cachedAxis the cached separating axis
+     * @return {@code true} if the edge still separates the polygons; else {@code false}
+     */
+    private static boolean isStillSeparated(PPolygon body1, PPolygon body2, PSeparatingAxis cachedAxis) {
+        PPolygon polygon = cachedAxis.getPolygon();
+        if (polygon != body1 && polygon != body2) {
+            return false;
+        }
 
-            } else {
-                return null;
-            }
+        int edge = cachedAxis.getEdge();
+        if (edge >= polygon.getVertexCount()) {
+            return false;
         }
 
-        return bestMtv;
+        Bounds[] scratchBounds = SCRATCH_BOUNDS.get();
+        return isSeparatingAxis(body1, body2, polygon.getNormalX(edge), polygon.getNormalY(edge),
+                scratchBounds[0], scratchBounds[1]);
     }
 
     /**
@@ -120,82 +165,306 @@ public class PPolyPolyCollision {
      *
      * @param poly1 the vertices of a moving polygon
      * @param body1Mtv the mtv of that moving polygon
-     * @return the contact point
+     * @param contactPt the vector to store the contact point in
+     * @return "contactPt"
      */
-    private static Vector getContactPt(PPolygon poly1, Vector body1Mtv) {
+    private static Vector getContactPt(PPolygon poly1, Vector body1Mtv, Vector contactPt) {
         Vector origin = poly1.getCenterPt();
-        Vector rayDir = body1Mtv.normalize().scale(-1);
 
-        double maxProj = -1000000000;
-        Vector maxProjPt = null;
+        // The ray direction, reversed from the mtv
+        double rayDirX = 0;
+        double rayDirY = 0;
+        double mtvLength = body1Mtv.norm2();
+        if (mtvLength != 0) {
+            rayDirX = body1Mtv.getX() / mtvLength * -1;
+            rayDirY = body1Mtv.getY() / mtvLength * -1;
+        }
 
-        for (Vector vertex : poly1.getVertices()) {
+        double maxProj = -1000000000;
 
-            double scalarProj = rayDir.dot(vertex.minus(origin));
-            Vector projectedPt = origin.add(rayDir.normalize().scale(scalarProj));
+        for (int i = 0; i < poly1.getVertexCount(); i++) {
+            double scalarProj = rayDirX * (poly1.getVertexX(i) - origin.getX()) + rayDirY * (poly1.getVertexY(i) - origin.getY());
 
             if (scalarProj > maxProj) {
                 maxProj = scalarProj;
-                maxProjPt = projectedPt;
             }
         }
 
-        return maxProjPt.add(body1Mtv);
+        // The farthest vertex projected onto the ray
+        contactPt.setXY(rayDirX, rayDirY).normalizeInPlace().scaleInPlace(maxProj);
+        return contactPt.addInPlace(origin).addInPlace(body1Mtv);
+    }
+
+    /**
+     * Finds up to two contact points between two colliding polygons.
+     *
+     * The algorithm:
+     *  For each polygon, find the edge that faces the other polygon the most
+     *  The edge that is the most perpendicular to the normal is the reference edge, and the other is the incident edge
+     *  Clip the incident edge to the sides of the reference edge
+     *  Keep the clipped points that are past the reference edge
+     *
+     * The feature id of each point is made from the reference edge and the incident vertex (or the side of
+     * the reference edge it was clipped to), so it stays the same while the polygons rest on each other.
+     * Pre-condition: the polygons are colliding, and "normal" is a unit vector from body1 to body2
+     *
+     * @param body1 the first polygon
+     * @param body2 the second polygon
+     * @param normal the direction from body1 to body2
+     * @param manifold the manifold to store the points in (its existing points are cleared)
+     */
+    public static void getContactPoints(PPolygon body1, PPolygon body2, Vector normal, PContactManifold manifold) {
+        manifold.clearPoints();
+
+        body1.updateTransform();
+        body2.updateTransform();
+        double normalX = normal.getX();
+        double normalY = normal.getY();
+
+        int edge1 = getBestEdge(body1, normalX, normalY);
+        int edge2 = getBestEdge(body2, -normalX, -normalY);
+
+        // Prefer body1 as the reference unless body2's edge is clearly better, so that the ids do not flip between steps
+        boolean isFlipped = getEdgeAlignment(body2, edge2, normalX, normalY) + 1e-3 <
+                getEdgeAlignment(body1, edge1, normalX, normalY);
+
+        PPolygon refPolygon = isFlipped ? body2 : body1;
+        PPolygon incPolygon = isFlipped ? body1 : body2;
+        int refEdge = isFlipped ? edge2 : edge1;
+        int incEdge = isFlipped ? edge1 : edge2;
+
+        int refNextVertex = (refEdge + 1) % refPolygon.getVertexCount();
+        double refX1 = refPolygon.getVertexX(refEdge);
+        double refY1 = refPolygon.getVertexY(refEdge);
+        double refX2 = refPolygon.getVertexX(refNextVertex);
+        double refY2 = refPolygon.getVertexY(refNextVertex);
+        double refDirX = refX2 - refX1;
+        double refDirY = refY2 - refY1;
+        double refLength = Math.sqrt(refDirX * refDirX + refDirY * refDirY);
+        if (refLength == 0) {
+            return;
+        }
+        refDirX /= refLength;
+        refDirY /= refLength;
+
+        VectorPool pool = VectorPool.get();
+        int mark = pool.mark();
+        try {
+            int incNextVertex = (incEdge + 1) % incPolygon.getVertexCount();
+            Vector incPt1 = pool.obtain(incPolygon.getVertexX(incEdge), incPolygon.getVertexY(incEdge));
+            Vector incPt2 = pool.obtain(incPolygon.getVertexX(incNextVertex), incPolygon.getVertexY(incNextVertex));
+            int incFeature1 = incEdge;
+            int incFeature2 = incNextVertex;
+
+            // Clip to the side of the reference edge at refPt1
+            int clipped = clip(incPt1, incPt2, refDirX, refDirY, refDirX * refX1 + refDirY * refY1);
+            if (clipped == CLIPPED_ALL) {
+                return;
+            }
+            incFeature1 = (clipped & CLIPPED_FIRST) != 0 ? CLIPPED_FEATURE : incFeature1;
+            incFeature2 = (clipped & CLIPPED_SECOND) != 0 ? CLIPPED_FEATURE : incFeature2;
+
+            // Clip to the side of the reference edge at refPt2
+            clipped = clip(incPt1, incPt2, -refDirX, -refDirY, -(refDirX * refX2 + refDirY * refY2));
+            if (clipped == CLIPPED_ALL) {
+                return;
+            }
+            incFeature1 = (clipped & CLIPPED_FIRST) != 0 ? CLIPPED_FEATURE + 1 : incFeature1;
+            incFeature2 = (clipped & CLIPPED_SECOND) != 0 ? CLIPPED_FEATURE + 1 : incFeature2;
+
+            // The normal of the reference edge, pointing towards the incident polygon
+            double refNormalX = refDirY;
+            double refNormalY = -refDirX;
+            double towardsIncident = isFlipped ? -1 : 1;
+            if ((refNormalX * normalX + refNormalY * normalY) * towardsIncident < 0) {
+                refNormalX = -refNormalX;
+                refNormalY = -refNormalY;
+            }
+            double refFace = refNormalX * refX1 + refNormalY * refY1;
+
+            if (refFace - (refNormalX * incPt1.getX() + refNormalY * incPt1.getY()) >= 0) {
+                manifold.addPoint(incPt1.getX(), incPt1.getY(), getFeatureId(isFlipped, refEdge, incFeature1));
+            }
+            if (refFace - (refNormalX * incPt2.getX() + refNormalY * incPt2.getY()) >= 0) {
+                manifold.addPoint(incPt2.getX(), incPt2.getY(), getFeatureId(isFlipped, refEdge, incFeature2));
+            }
+
+        } finally {
+            pool.release(mark);
+        }
+    }
+
+    private static int getFeatureId(boolean isFlipped, int refEdge, int incFeature) {
+        return (isFlipped ? 1 << 30 : 0) | ((refEdge & 0x7FFF) << 15) | (incFeature & 0x7FFF);
+    }
+
+    /**
+     * Clips a segment so that only the part where dir . pt >= offset is left
+     * @param pt1 the first point of the segment (it is moved if it is clipped)
+     * @param pt2 the second point of the segment (it is moved if it is clipped)
+     * @param dirX the x value of the direction
+     * @param dirY the y value of the direction
+     * @param offset the offset of the clipping line
+     * @return which points were clipped ({@code CLIPPED_FIRST} and / or {@code CLIPPED_SECOND}),
+     *         or {@code CLIPPED_ALL} if the whole segment was clipped
+     */
+    private static int clip(Vector pt1, Vector pt2, double dirX, double dirY, double offset) {
+        double dist1 = dirX * pt1.getX() + dirY * pt1.getY() - offset;
+        double dist2 = dirX * pt2.getX() + dirY * pt2.getY() - offset;
+
+        if (dist1 < 0 && dist2 < 0) {
+            return CLIPPED_ALL;
+        }
+
+        if (dist1 < 0) {
+            double t = dist1 / (dist1 - dist2);
+            pt1.setXY(pt1.getX() + (pt2.getX() - pt1.getX()) * t, pt1.getY() + (pt2.getY() - pt1.getY()) * t);
+            return CLIPPED_FIRST;
+        }
+
+        if (dist2 < 0) {
+            double t = dist2 / (dist2 - dist1);
+            pt2.setXY(pt2.getX() + (pt1.getX() - pt2.getX()) * t, pt2.getY() + (pt1.getY() - pt2.getY()) * t);
+            return CLIPPED_SECOND;
+        }
+
+        return 0;
+    }
+
+    /**
+     * Finds the edge of a polygon that faces a direction the most, which is one of the two edges
+     * next to the farthest vertex in that direction
+     * @param polygon the polygon
+     * @param dirX the x value of the direction
+     * @param dirY the y value of the direction
+     * @return the index of the edge (edge i goes from vertex i to vertex i + 1)
+     */
+    private static int getBestEdge(PPolygon polygon, double dirX, double dirY) {
+        int numVertices = polygon.getVertexCount();
+
+        int farthestVertex = 0;
+        double maxProj = -Double.MAX_VALUE;
+        for (int i = 0; i < numVertices; i++) {
+            double proj = dirX * polygon.getVertexX(i) + dirY * polygon.getVertexY(i);
+            if (proj > maxProj) {
+                maxProj = proj;
+                farthestVertex = i;
+            }
+        }
+
+        int prevEdge = (farthestVertex - 1 + numVertices) % numVertices;
+        int nextEdge = farthestVertex;
+
+        return getEdgeAlignment(polygon, prevEdge, dirX, dirY) <= getEdgeAlignment(polygon, nextEdge, dirX, dirY)
+                ? prevEdge : nextEdge;
+    }
+
+    /**
+     * Returns how parallel an edge is to a direction, from 0 (perpendicular) to 1 (parallel)
+     */
+    private static double getEdgeAlignment(PPolygon polygon, int edge, double dirX, double dirY) {
+        int nextVertex = (edge + 1) % polygon.getVertexCount();
+        double edgeX = polygon.getVertexX(nextVertex) - polygon.getVertexX(edge);
+        double edgeY = polygon.getVertexY(nextVertex) - polygon.getVertexY(edge);
+        double length = Math.sqrt(edgeX * edgeX + edgeY * edgeY);
+
+        return length == 0 ? 1 : Math.abs(edgeX * dirX + edgeY * dirY) / length;
     }
 
     public static PCollisionResult doBodiesCollide(PPolygon body1, PPolygon body2) {
+        return doBodiesCollide(body1, body2, null);
+    }
 
-        ArrayList<Vector> poly1Vertices = body1.getVertices();
-        ArrayList<Vector> poly2Vertices = body2.getVertices();
+    /**
+     * Tests two polygons for a collision, testing the edge that separated them in the last step first
+     * @param body1 the first polygon
+     * @param body2 the second polygon
+     * @param cachedAxis the separating axis of the two polygons from the last step, which is updated
+     *                   with the separating edge found in this step; or {@code null} to test every edge
+     * @return the result of the collision
+     */
+    public static PCollisionResult doBodiesCollide(PPolygon body1, PPolygon body2, PSeparatingAxis cachedAxis) {
+        return doBodiesCollide(body1, body2, cachedAxis, new PCollisionResult(false, null, null, null, null));
+    }
+
+    /**
+     * Tests two polygons for a collision, storing the results in an existing result
+     * @param body1 the first polygon
+     * @param body2 the second polygon
+     * @param cachedAxis the separating axis of the two polygons from the last step, or {@code null} to test every edge
+     * @param result the result to store the collision in
+     * @return "result"
+     */
+    public static PCollisionResult doBodiesCollide(PPolygon body1, PPolygon body2, PSeparatingAxis cachedAxis,
+                                                   PCollisionResult result) {
+
+        body1.updateTransform();
+        body2.updateTransform();
+
+        // Polygons that were apart in the last step are most likely still apart along the same edge
+        if (cachedAxis != null && cachedAxis.getPolygon() != null) {
+            if (isStillSeparated(body1, body2, cachedAxis)) {
+                return result.clear();
+            }
+            cachedAxis.clear();
+        }
 
         // The weighted velocities
         double f1 = body1.isMoving() ? body1.getVelocity().norm2() / (body1.getVelocity().norm2() + body2.getVelocity().norm2()) : 0;
         double f2 = body2.isMoving() ? body2.getVelocity().norm2() / (body1.getVelocity().norm2() + body2.getVelocity().norm2()) : 0;
 
-        // Note: with SAT we can terminate early as soon as there is a separating axis
-        Vector mtv1 = getSeparatingAxis(poly1Vertices, poly2Vertices);
+        VectorPool pool = VectorPool.get();
+        int mark = pool.mark();
+        try {
+            // Note: with SAT we can terminate early as soon as there is a separating axis
+            Vector mtv1 = getSeparatingAxis(body1, body2, cachedAxis, pool.obtain());
 
-        if (mtv1 == null) {
-            return new PCollisionResult(false, null, null, null, null);
-        }
+            if (mtv1 == null) {
+                return result.clear();
+            }
 
-        Vector mtv2 = getSeparatingAxis(poly2Vertices, poly1Vertices);
+            Vector mtv2 = getSeparatingAxis(body2, body1, cachedAxis, pool.obtain());
 
-        if (mtv2 == null) {
-            return new PCollisionResult(false, null, null, null, null);
-        }
+            if (mtv2 == null) {
+                return result.clear();
+            }
 
-        Vector bestMtv;
-        Vector body1Mtv;
-        Vector body2Mtv;
+            Vector bestMtv;
+            Vector body1Mtv = pool.obtain();
+            Vector body2Mtv = pool.obtain();
 
-        if (mtv2.norm1() <= mtv1.norm1()) {
-            bestMtv = mtv2;
-            body1Mtv = mtv2.scale(f1);
-            body2Mtv = mtv2.scale(-1).scale(f2);
+            if (mtv2.norm1() <= mtv1.norm1()) {
+                bestMtv = mtv2;
+                Vector.scaleInto(mtv2, f1, body1Mtv);
+                Vector.scaleInto(mtv2, -1, body2Mtv).scaleInPlace(f2);
 
-        } else {
-            bestMtv = mtv1.scale(-1);
-            body1Mtv = mtv1.scale(-1).scale(f1);
-            body2Mtv = mtv1.scale(f2);
-        }
+            } else {
+                bestMtv = mtv1.scaleInPlace(-1);
+                Vector.scaleInto(mtv1, f1, body1Mtv);
+                Vector.scaleInto(mtv1, -1, body2Mtv).scaleInPlace(f2);
+            }
 
-        Vector contactPt;
-        if (body2Mtv.norm1() > 0) {
-            contactPt = getContactPt(body2, body2Mtv);
+            Vector contactPt;
+            if (body2Mtv.norm1() > 0) {
+                contactPt = getContactPt(body2, body2Mtv, pool.obtain());
 
-        } else if (body1Mtv.norm1() > 0) {
-            contactPt = getContactPt(body1, body1Mtv);
+            } else if (body1Mtv.norm1() > 0) {
+                contactPt = getContactPt(body1, body1Mtv, pool.obtain());
 
-        } else {
-            throw new IllegalArgumentException("HELP");
-        }
+            } else {
+                throw new IllegalArgumentException("HELP");
+            }
 
-        if (bestMtv.dot(body2.getCenterPt().minus(body1.getCenterPt())) < 0) {
-            bestMtv = bestMtv.scale(-1);
-        }
+            double toBody2X = body2.getCenterPt().getX() - body1.getCenterPt().getX();
+            double toBody2Y = body2.getCenterPt().getY() - body1.getCenterPt().getY();
+            if (bestMtv.getX() * toBody2X + bestMtv.getY() * toBody2Y < 0) {
+                bestMtv.scaleInPlace(-1);
+            }
 
+            return result.set(true, body1Mtv, body2Mtv, bestMtv, contactPt);
 
-        return new PCollisionResult(true, body1Mtv, body2Mtv, bestMtv, contactPt);
+        } finally {
+            pool.release(mark);
+        }
     }
 }
\ No newline at end of file
@@ -0,0 +1,51 @@
+package com.javaphysicsengine.api.collision;
+
+import com.javaphysicsengine.api.body.PPolygon;
+
+/**
+ * Remembers the edge that separated two polygons in the last step.
+ *
+ * Polygons that are apart usually stay apart along the same edge for many steps, so testing that edge first
+ * lets {@code PPolyPolyCollision} skip the rest of the separating axis test with a single projection.
+ */
+public class PSeparatingAxis {
+    private PPolygon polygon = null;
+    private int edge = 0;
+
+    // The step of the narrowphase in which this axis was last used
+    int lastUsedStep;
+
+    /**
+     * Returns the polygon that owns the separating edge
+     * @return the polygon, or {@code null} if there is no cached axis
+     */
+    public PPolygon getPolygon() {
+        return polygon;
+    }
+
+    /**
+     * Returns the index of the separating edge (edge i goes from vertex i to vertex i + 1)
+     * @return the index of the edge
+     */
+    public int getEdge() {
+        return edge;
+    }
+
+    /**
+     * Sets the edge that separated the polygons
+     * @param polygon the polygon that owns the edge
+     * @param edge the index of the edge
+     */
+    public void set(PPolygon polygon, int edge) {
+        this.polygon = polygon;
+        this.edge = edge;
+    }
+
+    /**
+     * Removes the cached axis
+     */
+    public void clear() {
+        polygon = null;
+        edge = 0;
+    }
+}
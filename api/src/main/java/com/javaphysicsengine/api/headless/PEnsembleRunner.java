@@ -0,0 +1,187 @@
+package com.javaphysicsengine.api.headless;
+
+import com.javaphysicsengine.api.PWorld;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.DoubleSummaryStatistics;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+import java.util.function.ObjIntConsumer;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Simulates many independent worlds at the same time (ex: to sweep over the mass, velocity or restitution of the
+ * bodies), on a work-stealing pool.
+ *
+ * Each world is created, simulated and measured by one task, and is dropped as soon as it is measured, so only about
+ * as many worlds as there are threads in the pool are in memory at once:
+ * <pre>
+ *     PEnsembleRunner ensemble = new PEnsembleRunner(new ForkJoinPool());
+ *     ensemble.setNumSteps(600);
+ *     DoubleSummaryStatistics heights = ensemble.runAndAggregate(10000, i -> {
+ *         PWorld world = PScenes.createBoxes(50);
+ *         world.getContactSolver().setRestitution(i / 10000.0);
+ *         return world;
+ *     }, world -> world.getBodies().get(3).getCenterPt().getY());
+ * </pre>
+ * The worlds do not share any state, so the results are the same as when the worlds are simulated one after the
+ * other, no matter how many threads there are.
+ */
+public class PEnsembleRunner {
+    private final ForkJoinPool pool;
+    private double timeStep = 1.0 / 60;
+    private long numSteps = 600;
+
+    /**
+     * Creates an ensemble runner that simulates the worlds on the common pool
+     */
+    public PEnsembleRunner() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Creates an ensemble runner that simulates the worlds on a pool
+     * Pre-condition: "pool" must not be null
+     * @param pool the pool
+     */
+    public PEnsembleRunner(ForkJoinPool pool) {
+        this.pool = pool;
+    }
+
+    /**
+     * Returns the pool that the worlds are simulated on
+     * @return the pool
+     */
+    public ForkJoinPool getPool() {
+        return pool;
+    }
+
+    /**
+     * Returns the time simulated by each step of each world
+     * @return the time step in seconds
+     */
+    public double getTimeStep() {
+        return timeStep;
+    }
+
+    /**
+     * Sets the time simulated by each step of each world
+     * Pre-condition: "timeStep" must be greater than 0
+     * @param timeStep the time step in seconds
+     */
+    public void setTimeStep(double timeStep) {
+        this.timeStep = timeStep;
+    }
+
+    /**
+     * Returns the number of steps that each world is simulated for
+     * @return the number of steps
+     */
+    public long getNumSteps() {
+        return numSteps;
+    }
+
+    /**
+     * Sets the number of steps that each world is simulated for
+     * Pre-condition: "numSteps" must be at least 0
+     * @param numSteps the number of steps
+     */
+    public void setNumSteps(long numSteps) {
+        this.numSteps = numSteps;
+    }
+
+    /**
+     * Simulates the worlds, and passes the result of each world to a listener as soon as the world is done.
+     * The listener is called by one thread at a time, in the order the worlds finish in
+     * Pre-condition: "worldFactory", "measurement" and "resultListener" must not be null
+     * @param numWorlds the number of worlds
+     * @param worldFactory creates world i (it is called on the pool, once per world)
+     * @param measurement measures a world after it was simulated (it is called on the pool, once per world)
+     * @param resultListener is given the result of each world and its index
+     * @param <R> the type of the results
+     */
+    public <R> void run(int numWorlds, IntFunction<PWorld> worldFactory, Function<PWorld, R> measurement,
+                        ObjIntConsumer<R> resultListener) {
+        pool.invoke(new WorldsTask<>(0, numWorlds, worldFactory, measurement, resultListener, new Object()));
+    }
+
+    /**
+     * Simulates the worlds, and returns the result of each world
+     * Pre-condition: "worldFactory" and "measurement" must not be null
+     * @param numWorlds the number of worlds
+     * @param worldFactory creates world i (it is called on the pool, once per world)
+     * @param measurement measures a world after it was simulated (it is called on the pool, once per world)
+     * @param <R> the type of the results
+     * @return the result of each world, in the order of the worlds
+     */
+    public <R> List<R> run(int numWorlds, IntFunction<PWorld> worldFactory, Function<PWorld, R> measurement) {
+        Object[] results = new Object[numWorlds];
+        run(numWorlds, worldFactory, measurement, (result, worldIndex) -> results[worldIndex] = result);
+
+        @SuppressWarnings("unchecked")
+        List<R> resultList = (List<R>) new ArrayList<>(Arrays.asList(results));
+        return resultList;
+    }
+
+    /**
+     * Simulates the worlds, and returns the count, min, max, sum and average of a measurement of the worlds
+     * Pre-condition: "worldFactory" and "measurement" must not be null
+     * @param numWorlds the number of worlds
+     * @param worldFactory creates world i (it is called on the pool, once per world)
+     * @param measurement measures a world after it was simulated (it is called on the pool, once per world)
+     * @return the statistics of the measurement
+     */
+    public DoubleSummaryStatistics runAndAggregate(int numWorlds, IntFunction<PWorld> worldFactory,
+                                                   ToDoubleFunction<PWorld> measurement) {
+        DoubleSummaryStatistics statistics = new DoubleSummaryStatistics();
+        run(numWorlds, worldFactory, measurement::applyAsDouble, (result, worldIndex) -> statistics.accept(result));
+        return statistics;
+    }
+
+    /**
+     * Simulates the worlds in [start, end), splitting the range in two until each task has one world,
+     * so that idle threads can steal half of the worlds that are left
+     */
+    private class WorldsTask<R> extends RecursiveAction {
+        private final int start;
+        private final int end;
+        private final IntFunction<PWorld> worldFactory;
+        private final Function<PWorld, R> measurement;
+        private final ObjIntConsumer<R> resultListener;
+        private final Object listenerLock;
+
+        WorldsTask(int start, int end, IntFunction<PWorld> worldFactory, Function<PWorld, R> measurement,
+                   ObjIntConsumer<R> resultListener, Object listenerLock) {
+            this.start = start;
+            this.end = end;
+            this.worldFactory = worldFactory;
+            this.measurement = measurement;
+            this.resultListener = resultListener;
+            this.listenerLock = listenerLock;
+        }
+
+        @Override
+        protected void compute() {
+            if (end - start > 1) {
+                int middle = (start + end) >>> 1;
+                invokeAll(new WorldsTask<>(start, middle, worldFactory, measurement, resultListener, listenerLock),
+                        new WorldsTask<>(middle, end, worldFactory, measurement, resultListener, listenerLock));
+
+            } else if (end - start == 1) {
+                PWorld world = worldFactory.apply(start);
+                for (long i = 0; i < numSteps; i++) {
+                    world.simulate(timeStep);
+                }
+
+                R result = measurement.apply(world);
+                synchronized (listenerLock) {
+                    resultListener.accept(result, start);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,417 @@
+package com.javaphysicsengine.api.headless;
+
+import com.javaphysicsengine.api.PWorld;
+import com.javaphysicsengine.api.body.PBody;
+import com.javaphysicsengine.api.broadphase.PDynamicAabbTree;
+import com.javaphysicsengine.api.broadphase.PQuadTreeBroadphase;
+import com.javaphysicsengine.api.broadphase.PSpatialHashGrid;
+import com.javaphysicsengine.api.broadphase.PSweepAndPrune;
+import com.javaphysicsengine.api.metrics.PFlightRecorder;
+import com.javaphysicsengine.api.metrics.PMetricsFileExporter;
+import com.javaphysicsengine.api.metrics.PStepMetrics;
+import com.javaphysicsengine.utils.RollingHistogram;
+
+import java.io.BufferedWriter;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.Writer;
+import java.nio.file.Paths;
+import java.util.List;
+
+/**
+ * Simulates a world without drawing it, as fast as possible, and reports how fast it was simulated.
+ *
+ * It can be run from the command line (see {@code PHeadlessRunner#USAGE}) with one of the {@code PScenes}:
+ * <pre>
+ *     java -cp api.jar com.javaphysicsengine.api.headless.PHeadlessRunner --scene boxes --bodies 500 --steps 2000
+ * </pre>
+ * or from code with any world:
+ * <pre>
+ *     PHeadlessRunner runner = new PHeadlessRunner(world);
+ *     runner.runFor(10);
+ *     runner.printReport(System.out);
+ * </pre>
+ * The state of the bodies can be written out as CSV, at the end and / or every few steps, and so can the step metrics.
+ */
+public class PHeadlessRunner {
+    public static final String USAGE = String.join(System.lineSeparator(),
+            "Options:",
+            "  --scene <boxes|circles|mixed>   the scene to simulate (default: boxes)",
+            "  --bodies <n>                    the number of bodies in the scene (default: 100)",
+            "  --steps <n>                     the number of steps to simulate (default: 1000)",
+            "  --time <seconds>                the simulated time to simulate (instead of --steps)",
+            "  --dt <seconds>                  the time simulated by each step (default: 1/60)",
+            "  --broadphase <quadtree|aabbtree|sap|grid>   the broadphase (default: quadtree)",
+            "  --state <file>                  writes the state of the bodies to a CSV file at the end",
+            "  --state-every <n>               also writes the state every n steps (requires --state)",
+            "  --metrics <file>                writes the step metrics to a CSV file every few steps",
+            "  --metrics-every <n>             the number of steps between each line of metrics (default: 60)",
+            "  --jfr-slow-step <ms>            emits the steps as JDK Flight Recorder events, with the steps longer",
+            "                                  than this as slow steps (needs a recording, ex: -XX:StartFlightRecording)");
+
+    private static final String STATE_HEADER = "step,time,body,name,x,y,angle,velocityX,velocityY,angularVelocity";
+
+    private final PWorld world;
+    private final PStepMetrics metrics = new PStepMetrics();
+    private double timeStep = 1.0 / 60;
+
+    // Where the state of the bodies is written to (null if it is not written)
+    private Writer stateWriter = null;
+    private long stateInterval = 0;
+    private boolean isStateHeaderWritten = false;
+
+    private long stepCount = 0;
+    private long wallNanos = 0;
+
+    /**
+     * Creates a runner that simulates a world
+     * Pre-condition: "world" must not be null
+     * @param world the world to simulate
+     */
+    public PHeadlessRunner(PWorld world) {
+        this.world = world;
+    }
+
+    /**
+     * Returns the world that is simulated
+     * @return the world
+     */
+    public PWorld getWorld() {
+        return world;
+    }
+
+    /**
+     * Returns the time simulated by each step
+     * @return the time step in seconds
+     */
+    public double getTimeStep() {
+        return timeStep;
+    }
+
+    /**
+     * Sets the time simulated by each step
+     * Pre-condition: "timeStep" must be greater than 0
+     * @param timeStep the time step in seconds
+     */
+    public void setTimeStep(double timeStep) {
+        this.timeStep = timeStep;
+    }
+
+    /**
+     * Sets where the state of the bodies is written to, as CSV. The state is written after the last step of each run,
+     * and every "interval" steps. The writer is not closed by the runner
+     * @param stateWriter the writer, or {@code null} to not write the state
+     * @param interval the number of steps between each state written, or 0 to only write it after the last step
+     */
+    public void setStateWriter(Writer stateWriter, long interval) {
+        this.stateWriter = stateWriter;
+        this.stateInterval = interval;
+    }
+
+    /**
+     * Returns the time spent in each phase of the steps simulated by this runner
+     * @return the step metrics
+     */
+    public PStepMetrics getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * Returns the number of steps simulated by this runner
+     * @return the number of steps
+     */
+    public long getStepCount() {
+        return stepCount;
+    }
+
+    /**
+     * Returns the real time spent simulating the steps (including writing the state)
+     * @return the time in nanoseconds
+     */
+    public long getWallNanos() {
+        return wallNanos;
+    }
+
+    /**
+     * Simulates the world for a number of steps
+     * Pre-condition: "numSteps" must be at least 0
+     * @param numSteps the number of steps
+     * @throws IOException if the state could not be written
+     */
+    public void run(long numSteps) throws IOException {
+        PStepMetrics previousMetrics = world.getStepMetrics();
+        world.setStepMetrics(metrics);
+
+        long startTime = System.nanoTime();
+        try {
+            for (long i = 0; i < numSteps; i++) {
+                world.simulate(timeStep);
+                stepCount++;
+
+                if (stateWriter != null && stateInterval > 0 && stepCount % stateInterval == 0 && i < numSteps - 1) {
+                    writeState(stateWriter);
+                }
+            }
+
+            if (stateWriter != null) {
+                writeState(stateWriter);
+                stateWriter.flush();
+            }
+
+        } finally {
+            wallNanos += System.nanoTime() - startTime;
+            world.setStepMetrics(previousMetrics);
+        }
+    }
+
+    /**
+     * Simulates the world for an amount of simulated time, rounded up to a whole number of steps
+     * Pre-condition: "simulatedTime" must be at least 0
+     * @param simulatedTime the time to simulate in seconds
+     * @throws IOException if the state could not be written
+     */
+    public void runFor(double simulatedTime) throws IOException {
+        run((long) Math.ceil(simulatedTime / timeStep - 1e-9));
+    }
+
+    /**
+     * Writes the state of each body as a line of CSV (after a header line the first time it is called)
+     * Pre-condition: "writer" must not be null
+     * @param writer the writer
+     * @throws IOException if the state could not be written
+     */
+    public void writeState(Writer writer) throws IOException {
+        if (!isStateHeaderWritten) {
+            writer.write(STATE_HEADER);
+            writer.write('\n');
+            isStateHeaderWritten = true;
+        }
+
+        double time = stepCount * timeStep;
+        List<PBody> bodies = world.getBodies();
+        StringBuilder line = new StringBuilder();
+        for (int i = 0; i < bodies.size(); i++) {
+            PBody body = bodies.get(i);
+            line.setLength(0);
+            line.append(stepCount).append(',')
+                    .append(time).append(',')
+                    .append(i).append(',')
+                    .append(toCsvValue(body.getName())).append(',')
+                    .append(body.getCenterPt().getX()).append(',')
+                    .append(body.getCenterPt().getY()).append(',')
+                    .append(body.getAngle()).append(',')
+                    .append(body.getVelocity().getX()).append(',')
+                    .append(body.getVelocity().getY()).append(',')
+                    .append(body.getAngularVelocity()).append('\n');
+            writer.write(line.toString());
+        }
+    }
+
+    /**
+     * Quotes a value if it has characters that separate CSV values
+     */
+    private static String toCsvValue(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+
+    /**
+     * Prints the throughput of the steps simulated by this runner, and the time spent in each phase of the steps
+     * Pre-condition: "out" must not be null
+     * @param out the stream to print to
+     */
+    public void printReport(PrintStream out) {
+        double wallSeconds = wallNanos / 1e9;
+        double stepSeconds = Math.max(metrics.getStepNanos(), 1) / 1e9;
+
+        out.printf("Bodies:              %d%n", world.getBodies().size());
+        out.printf("Steps:               %d (%.3f s simulated)%n", stepCount, stepCount * timeStep);
+        out.printf("Wall time:           %.3f s%n", wallSeconds);
+        out.printf("Steps / sec:         %.1f%n", stepCount / Math.max(wallSeconds, 1e-9));
+        out.printf("Body steps / sec:    %.1f%n", metrics.getBodySteps() / Math.max(wallSeconds, 1e-9));
+        out.printf("Pairs / step:        %.1f%n", metrics.getPairCount() / (double) Math.max(stepCount, 1));
+        out.printf("Contacts / step:     %.1f%n", metrics.getContactCount() / (double) Math.max(stepCount, 1));
+        out.printf("Time per step:       %.3f ms%n", metrics.getStepNanos() / 1e6 / Math.max(stepCount, 1));
+        RollingHistogram stepHistogram = metrics.getStepHistogram();
+        out.printf("Step p50/p99/max:    %.3f / %.3f / %.3f ms (last %d steps)%n",
+                stepHistogram.getPercentile(50) / 1e6, stepHistogram.getPercentile(99) / 1e6,
+                stepHistogram.getMax() / 1e6, stepHistogram.size());
+
+        out.println("Phase          total ms   ms / step   share");
+        for (int phase = 0; phase < PStepMetrics.PHASE_COUNT; phase++) {
+            long phaseNanos = metrics.getPhaseNanos(phase);
+            out.printf("%-12s %10.1f %11.4f %6.1f%%%n", PStepMetrics.getPhaseName(phase), phaseNanos / 1e6,
+                    phaseNanos / 1e6 / Math.max(stepCount, 1), 100 * phaseNanos / 1e9 / stepSeconds);
+        }
+    }
+
+    /**
+     * Runs a simulation from command line arguments (see {@code PHeadlessRunner#USAGE}), and prints its report
+     * Pre-condition: "args" and "out" must not be null
+     * @param args the command line arguments
+     * @param world the world to simulate, or {@code null} to create the scene from the "--scene" and "--bodies" arguments
+     * @param out the stream to print the report to
+     * @return the runner after the simulation
+     * @throws IllegalArgumentException if the arguments are not valid
+     * @throws IOException if the state or the metrics could not be written
+     */
+    public static PHeadlessRunner runFromArgs(String[] args, PWorld world, PrintStream out) throws IOException {
+        String sceneName = PScenes.BOXES;
+        int numBodies = 100;
+        long numSteps = 1000;
+        double simulatedTime = -1;
+        double timeStep = 1.0 / 60;
+        String broadphase = null;
+        String stateFile = null;
+        long stateInterval = 0;
+        String metricsFile = null;
+        long metricsInterval = 60;
+        double slowStepMillis = -1;
+
+        for (int i = 0; i < args.length; i++) {
+            String option = args[i];
+            if (i + 1 >= args.length) {
+                throw new IllegalArgumentException("Missing value for " + option);
+            }
+            String value = args[++i];
+
+            try {
+                switch (option) {
+                    case "--scene":
+                        sceneName = value;
+                        break;
+                    case "--bodies":
+                        numBodies = Integer.parseInt(value);
+                        break;
+                    case "--steps":
+                        numSteps = Long.parseLong(value);
+                        break;
+                    case "--time":
+                        simulatedTime = Double.parseDouble(value);
+                        break;
+                    case "--dt":
+                        timeStep = Double.parseDouble(value);
+                        break;
+                    case "--broadphase":
+                        broadphase = value;
+                        break;
+                    case "--state":
+                        stateFile = value;
+                        break;
+                    case "--state-every":
+                        stateInterval = Long.parseLong(value);
+                        break;
+                    case "--metrics":
+                        metricsFile = value;
+                        break;
+                    case "--metrics-every":
+                        metricsInterval = Long.parseLong(value);
+                        break;
+                    case "--jfr-slow-step":
+                        slowStepMillis = Double.parseDouble(value);
+                        break;
+                    default:
+                        throw new IllegalArgumentException("Unknown option: " + option);
+                }
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Invalid value for " + option + ": " + value);
+            }
+        }
+
+        if (numBodies < 0 || numSteps < 0 || timeStep <= 0 || stateInterval < 0 || metricsInterval <= 0) {
+            throw new IllegalArgumentException("--bodies, --steps and --state-every cannot be negative, and --dt and --metrics-every must be positive");
+        }
+        if (stateInterval > 0 && stateFile == null) {
+            throw new IllegalArgumentException("--state-every requires --state");
+        }
+
+        PHeadlessRunner runner = new PHeadlessRunner(world != null ? world : PScenes.create(sceneName, numBodies));
+        runner.setTimeStep(timeStep);
+        if (broadphase != null) {
+            setBroadphase(runner.getWorld(), broadphase);
+        }
+
+        if (slowStepMillis >= 0) {
+            if (PFlightRecorder.isAvailable()) {
+                runner.getWorld().setStepRecorder(PFlightRecorder.createStepRecorder((long) (slowStepMillis * 1e6)));
+            } else {
+                out.println("JDK Flight Recorder is not available on this JVM, so no events will be emitted");
+            }
+        }
+
+        PMetricsFileExporter metricsExporter = null;
+        if (metricsFile != null) {
+            metricsExporter = new PMetricsFileExporter(Paths.get(metricsFile));
+            runner.getMetrics().setExporter(metricsExporter, metricsInterval);
+        }
+
+        try {
+            if (stateFile == null) {
+                runSteps(runner, numSteps, simulatedTime);
+            } else {
+                try (Writer stateWriter = new BufferedWriter(new FileWriter(stateFile))) {
+                    runner.setStateWriter(stateWriter, stateInterval);
+                    runSteps(runner, numSteps, simulatedTime);
+                }
+            }
+        } finally {
+            if (metricsExporter != null) {
+                runner.getMetrics().setExporter(null, 0);
+                metricsExporter.close();
+            }
+        }
+        if (metricsExporter != null && metricsExporter.getError() != null) {
+            throw metricsExporter.getError();
+        }
+
+        runner.printReport(out);
+        return runner;
+    }
+
+    private static void runSteps(PHeadlessRunner runner, long numSteps, double simulatedTime) throws IOException {
+        if (simulatedTime >= 0) {
+            runner.runFor(simulatedTime);
+        } else {
+            runner.run(numSteps);
+        }
+    }
+
+    private static void setBroadphase(PWorld world, String broadphase) {
+        switch (broadphase) {
+            case "quadtree":
+                world.setBroadphase(new PQuadTreeBroadphase());
+                break;
+            case "aabbtree":
+                world.setBroadphase(new PDynamicAabbTree());
+                break;
+            case "sap":
+                world.setBroadphase(new PSweepAndPrune());
+                break;
+            case "grid":
+                world.setBroadphase(new PSpatialHashGrid(40));
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown broadphase: " + broadphase);
+        }
+    }
+
+    /**
+     * Runs a simulation of one of the {@code PScenes} from the command line
+     * @param args the command line arguments (see {@code PHeadlessRunner#USAGE})
+     */
+    public static void main(String[] args) throws IOException {
+        try {
+            runFromArgs(args, null, System.out);
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.err.println(USAGE);
+            System.exit(1);
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package com.javaphysicsengine.api.headless;
+
+import com.javaphysicsengine.api.PWorld;
+import com.javaphysicsengine.api.body.PCircle;
+import com.javaphysicsengine.api.body.PPolygon;
+import com.javaphysicsengine.api.body.PPolygonShape;
+import com.javaphysicsengine.utils.Vector;
+
+/**
+ * Creates worlds with any number of bodies, to simulate without having to build a scene by hand.
+ *
+ * Each scene is a container (a ground and two walls) with the bodies stacked in a grid above the ground, which
+ * then fall and pile up on each other. The scenes are always the same for the same arguments.
+ */
+public class PScenes {
+    public static final String BOXES = "boxes";
+    public static final String CIRCLES = "circles";
+    public static final String MIXED = "mixed";
+
+    private static final double BODY_SIZE = 30;
+    private static final double SPACING = 40;
+    private static final double WALL_THICKNESS = 50;
+
+    private PScenes() {
+    }
+
+    /**
+     * Creates a scene by its name
+     * Pre-condition: "numBodies" must be at least 0
+     * @param sceneName the name of the scene ({@code BOXES}, {@code CIRCLES} or {@code MIXED})
+     * @param numBodies the number of bodies that fall in the container
+     * @return a new world with the scene
+     * @throws IllegalArgumentException if there is no scene with that name
+     */
+    public static PWorld create(String sceneName, int numBodies) {
+        if (!BOXES.equals(sceneName) && !CIRCLES.equals(sceneName) && !MIXED.equals(sceneName)) {
+            throw new IllegalArgumentException("Unknown scene: " + sceneName);
+        }
+        return createScene(sceneName, numBodies);
+    }
+
+    /**
+     * Creates a container of falling boxes, which all share one shape
+     * @param numBodies the number of boxes
+     * @return a new world with the boxes
+     */
+    public static PWorld createBoxes(int numBodies) {
+        return createScene(BOXES, numBodies);
+    }
+
+    /**
+     * Creates a container of falling circles
+     * @param numBodies the number of circles
+     * @return a new world with the circles
+     */
+    public static PWorld createCircles(int numBodies) {
+        return createScene(CIRCLES, numBodies);
+    }
+
+    /**
+     * Creates a container of falling boxes and circles, alternating between the two
+     * @param numBodies the number of bodies
+     * @return a new world with the bodies
+     */
+    public static PWorld createMixed(int numBodies) {
+        return createScene(MIXED, numBodies);
+    }
+
+    /**
+     * Creates a container with the bodies in a grid above its ground
+     * @param sceneName the name of the scene, which decides which bodies are circles
+     * @param numBodies the number of bodies
+     * @return a new world with the scene
+     */
+    private static PWorld createScene(String sceneName, int numBodies) {
+        PWorld world = new PWorld();
+
+        int numColumns = Math.max(1, (int) Math.ceil(Math.sqrt(numBodies)));
+        int numRows = Math.max(1, (numBodies + numColumns - 1) / numColumns);
+        double innerWidth = numColumns * SPACING + SPACING;
+        double innerHeight = numRows * SPACING + SPACING;
+
+        world.getBodies().add(createWall("Ground", -WALL_THICKNESS, -WALL_THICKNESS, innerWidth + 2 * WALL_THICKNESS, WALL_THICKNESS));
+        world.getBodies().add(createWall("Left Wall", -WALL_THICKNESS, 0, WALL_THICKNESS, innerHeight));
+        world.getBodies().add(createWall("Right Wall", innerWidth, 0, WALL_THICKNESS, innerHeight));
+
+        PPolygonShape boxShape = PPolygonShape.createBox(BODY_SIZE, BODY_SIZE);
+        for (int i = 0; i < numBodies; i++) {
+            Vector centerPt = Vector.of(SPACING + (i % numColumns) * SPACING, SPACING + (i / numColumns) * SPACING);
+            boolean isCircle = CIRCLES.equals(sceneName) || (MIXED.equals(sceneName) && i % 2 == 1);
+
+            if (isCircle) {
+                PCircle circle = new PCircle("Circle " + i);
+                circle.setMass(10);
+                circle.setRadius(BODY_SIZE / 2);
+                circle.setCenterPt(centerPt);
+                world.getBodies().add(circle);
+
+            } else {
+                PPolygon box = new PPolygon("Box " + i);
+                box.setMass(10);
+                box.setShape(boxShape);
+                box.move(centerPt);
+                world.getBodies().add(box);
+            }
+        }
+        return world;
+    }
+
+    private static PPolygon createWall(String name, double x, double y, double width, double height) {
+        PPolygon wall = new PPolygon(name);
+        wall.setMoveable(false);
+        wall.setShape(PPolygonShape.createBox(width, height));
+        wall.move(Vector.of(x + width / 2, y + height / 2));
+        return wall;
+    }
+}
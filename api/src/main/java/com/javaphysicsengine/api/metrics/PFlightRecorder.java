@@ -0,0 +1,72 @@
+package com.javaphysicsengine.api.metrics;
+
+/**
+ * Creates recorders that emit the steps of a world as JDK Flight Recorder events, so that they can be seen next to
+ * the GC pauses and the other events of a recording in JDK Mission Control:
+ * <pre>
+ *     world.setStepRecorder(PFlightRecorder.createStepRecorder());
+ * </pre>
+ * The events are only recorded while a recording with them enabled is running
+ * (ex: {@code java -XX:StartFlightRecording=filename=run.jfr ...}).
+ *
+ * The event classes are only loaded when the JVM has the {@code jdk.jfr} API (Java 11+, and OpenJDK 8u262+), and are
+ * not compiled at all when building on a JDK without it. Otherwise, no recorder is created, and the world is simulated
+ * as if there was no recorder.
+ */
+public final class PFlightRecorder {
+    // Steps that take longer than this are also recorded as slow step events
+    public static final long DEFAULT_SLOW_STEP_NANOS = 1000000000L / 60;
+
+    private static final String RECORDER_CLASS_NAME = "com.javaphysicsengine.api.metrics.jfr.PJfrStepRecorder";
+
+    private static final boolean IS_AVAILABLE = findIsAvailable();
+
+    private PFlightRecorder() {
+    }
+
+    /**
+     * Determines if the steps can be recorded as JDK Flight Recorder events on this JVM
+     * @return {@code true} if the JVM has the Flight Recorder and the event classes were compiled; else {@code false}
+     */
+    public static boolean isAvailable() {
+        return IS_AVAILABLE;
+    }
+
+    /**
+     * Returns a recorder that emits the steps as events, with the steps longer than a frame at 60 fps as slow steps
+     * @return the recorder, or {@code null} if the Flight Recorder is not available
+     */
+    public static PStepRecorder createStepRecorder() {
+        return createStepRecorder(DEFAULT_SLOW_STEP_NANOS);
+    }
+
+    /**
+     * Returns a recorder that emits the steps as events
+     * @param slowStepNanos the duration in nanoseconds that a step must exceed to also be recorded as a slow step
+     * @return the recorder, or {@code null} if the Flight Recorder is not available
+     */
+    public static PStepRecorder createStepRecorder(long slowStepNanos) {
+        if (!IS_AVAILABLE) {
+            return null;
+        }
+
+        // The recorder is only loaded by name, so that the event classes are never loaded on JVMs without the API
+        try {
+            return (PStepRecorder) Class.forName(RECORDER_CLASS_NAME)
+                    .getConstructor(long.class)
+                    .newInstance(slowStepNanos);
+        } catch (ReflectiveOperationException | LinkageError e) {
+            return null;
+        }
+    }
+
+    private static boolean findIsAvailable() {
+        try {
+            Class<?> flightRecorderClass = Class.forName("jdk.jfr.FlightRecorder");
+            Class.forName(RECORDER_CLASS_NAME, false, PFlightRecorder.class.getClassLoader());
+            return (Boolean) flightRecorderClass.getMethod("isAvailable").invoke(null);
+        } catch (ReflectiveOperationException | LinkageError e) {
+            return false;
+        }
+    }
+}
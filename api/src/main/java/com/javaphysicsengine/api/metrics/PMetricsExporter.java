@@ -0,0 +1,13 @@
+package com.javaphysicsengine.api.metrics;
+
+/**
+ * Is given the metrics of a world every few steps (see {@code PStepMetrics#setExporter(PMetricsExporter, long)})
+ */
+public interface PMetricsExporter {
+
+    /**
+     * Exports the metrics. It is called by the thread that simulates the world, right after a step
+     * @param metrics the metrics
+     */
+    void export(PStepMetrics metrics);
+}
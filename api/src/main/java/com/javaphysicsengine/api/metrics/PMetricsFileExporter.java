@@ -0,0 +1,111 @@
+package com.javaphysicsengine.api.metrics;
+
+import com.javaphysicsengine.utils.RollingHistogram;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Writes a line of metrics in CSV every time it is given them, with the 50th and 99th percentiles and the max of the
+ * step and phase durations in nanoseconds, and the counts of the last step:
+ * <pre>
+ *     PMetricsFileExporter exporter = new PMetricsFileExporter(Paths.get("metrics.csv"));
+ *     metrics.setExporter(exporter, 60);
+ *     ...
+ *     exporter.close();
+ * </pre>
+ * Each line is flushed once it is written, so the file can be followed while the world is simulated.
+ * Since the lines are written by the thread that simulates the world, an error while writing does not stop the
+ * simulation: the first error is kept (see {@code PMetricsFileExporter#getError()}) and the next lines are skipped.
+ */
+public class PMetricsFileExporter implements PMetricsExporter, Closeable {
+    private final Writer writer;
+    private final StringBuilder line = new StringBuilder();
+    private IOException error = null;
+
+    /**
+     * Creates an exporter that replaces the contents of a file
+     * @param path the path of the file
+     * @throws IOException if the file could not be opened
+     */
+    public PMetricsFileExporter(Path path) throws IOException {
+        this(Files.newBufferedWriter(path, StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Creates an exporter that writes to a writer
+     * @param writer the writer, which is closed by {@code PMetricsFileExporter#close()}
+     */
+    public PMetricsFileExporter(Writer writer) {
+        this.writer = writer instanceof BufferedWriter ? writer : new BufferedWriter(writer);
+
+        line.append("step,stepP50,stepP99,stepMax");
+        for (int i = 0; i < PStepMetrics.PHASE_COUNT; i++) {
+            String name = PStepMetrics.getPhaseName(i);
+            line.append(',').append(name).append("P50");
+            line.append(',').append(name).append("P99");
+            line.append(',').append(name).append("Max");
+        }
+        line.append(",pairs,contacts,awakeBodies");
+        writeLine();
+    }
+
+    /**
+     * Writes a line with the metrics
+     * @param metrics the metrics
+     */
+    @Override
+    public void export(PStepMetrics metrics) {
+        if (error != null) {
+            return;
+        }
+
+        line.append(metrics.getStepCount());
+        appendPercentiles(metrics.getStepHistogram());
+        for (int i = 0; i < PStepMetrics.PHASE_COUNT; i++) {
+            appendPercentiles(metrics.getPhaseHistogram(i));
+        }
+        line.append(',').append(metrics.getLastPairCount());
+        line.append(',').append(metrics.getLastContactCount());
+        line.append(',').append(metrics.getLastAwakeBodyCount());
+        writeLine();
+    }
+
+    /**
+     * Returns the first error that happened while writing
+     * @return the error, or {@code null} if every line was written
+     */
+    public IOException getError() {
+        return error;
+    }
+
+    /**
+     * Closes the writer
+     * @throws IOException if the writer could not be closed
+     */
+    @Override
+    public void close() throws IOException {
+        writer.close();
+    }
+
+    private void appendPercentiles(RollingHistogram histogram) {
+        line.append(',').append(histogram.getPercentile(50));
+        line.append(',').append(histogram.getPercentile(99));
+        line.append(',').append(histogram.getMax());
+    }
+
+    private void writeLine() {
+        try {
+            writer.append(line).append('\n');
+            writer.flush();
+        } catch (IOException e) {
+            error = e;
+        }
+        line.setLength(0);
+    }
+}
@@ -0,0 +1,260 @@
+package com.javaphysicsengine.api.metrics;
+
+import com.javaphysicsengine.utils.RollingHistogram;
+
+/**
+ * Measures how long a world spends in each phase of its steps, and counts the pairs, contacts and awake bodies of
+ * each step.
+ *
+ * A world only measures its steps when it is given metrics (see {@code PWorld#setStepMetrics(PStepMetrics)}), so
+ * the steps cost nothing extra otherwise:
+ * <pre>
+ *     PStepMetrics metrics = new PStepMetrics();
+ *     world.setStepMetrics(metrics);
+ *     world.simulate(1 / 60.0);
+ *     long broadphaseNanos = metrics.getPhaseNanos(PStepMetrics.BROADPHASE);
+ *     long p99StepNanos = metrics.getStepHistogram().getPercentile(99);
+ * </pre>
+ * Besides the totals, the durations of the last steps are kept in rolling histograms, to find their percentiles.
+ * The metrics can also be passed to a {@code PMetricsExporter} every few steps (ex: to write them to a file).
+ *
+ * The metrics must only be used by the thread that simulates the world.
+ */
+public class PStepMetrics {
+    // The phases of a step, in the order they are run
+    public static final int FORCES = 0;
+    public static final int INTEGRATE = 1;
+    public static final int BROADPHASE = 2;
+    public static final int NARROWPHASE = 3;
+    public static final int SOLVE = 4;
+    public static final int SLEEP = 5;
+    public static final int PHASE_COUNT = 6;
+
+    public static final int DEFAULT_WINDOW_SIZE = 1024;
+
+    private static final String[] PHASE_NAMES = { "forces", "integrate", "broadphase", "narrowphase", "solve", "sleep" };
+
+    // The totals of all the steps measured
+    private final long[] phaseNanos = new long[PHASE_COUNT];
+    private long stepCount = 0;
+    private long stepNanos = 0;
+    private long bodySteps = 0;
+    private long pairCount = 0;
+    private long contactCount = 0;
+
+    // The durations of the last steps
+    private final RollingHistogram stepHistogram;
+    private final RollingHistogram[] phaseHistograms = new RollingHistogram[PHASE_COUNT];
+
+    // The counts of the last step
+    private int lastPairCount = 0;
+    private int lastContactCount = 0;
+    private int lastAwakeBodyCount = 0;
+
+    // Is given the metrics every "exportInterval" steps (null if they are not exported)
+    private PMetricsExporter exporter = null;
+    private long exportInterval = 0;
+
+    /**
+     * Creates metrics that keep the durations of the last {@code DEFAULT_WINDOW_SIZE} steps
+     */
+    public PStepMetrics() {
+        this(DEFAULT_WINDOW_SIZE);
+    }
+
+    /**
+     * Creates metrics that keep the durations of the last "windowSize" steps
+     * Pre-condition: "windowSize" must be greater than 0
+     * @param windowSize the number of steps in the histograms
+     */
+    public PStepMetrics(int windowSize) {
+        stepHistogram = new RollingHistogram(windowSize);
+        for (int i = 0; i < PHASE_COUNT; i++) {
+            phaseHistograms[i] = new RollingHistogram(windowSize);
+        }
+    }
+
+    /**
+     * Returns the name of a phase (ex: "broadphase")
+     * Pre-condition: 0 <= "phase" < {@code PHASE_COUNT}
+     * @param phase the phase
+     * @return the name of the phase
+     */
+    public static String getPhaseName(int phase) {
+        return PHASE_NAMES[phase];
+    }
+
+    /**
+     * Sets what the metrics are passed to every few steps
+     * @param exporter the exporter, or {@code null} to stop exporting the metrics
+     * @param interval the number of steps between each export
+     */
+    public void setExporter(PMetricsExporter exporter, long interval) {
+        this.exporter = exporter;
+        this.exportInterval = interval;
+    }
+
+    /**
+     * Starts measuring a step
+     * @param numBodies the number of bodies in the world
+     * @return the time the step started at, to pass to {@code PStepMetrics#endPhase(int, long)}
+     */
+    public long beginStep(int numBodies) {
+        stepCount++;
+        bodySteps += numBodies;
+        return System.nanoTime();
+    }
+
+    /**
+     * Adds the time since "startNanos" to a phase
+     * Pre-condition: 0 <= "phase" < {@code PHASE_COUNT}
+     * @param phase the phase that ended
+     * @param startNanos the time the phase started at
+     * @return the time the phase ended at, which is when the next phase starts
+     */
+    public long endPhase(int phase, long startNanos) {
+        long endNanos = System.nanoTime();
+        phaseNanos[phase] += endNanos - startNanos;
+        phaseHistograms[phase].record(endNanos - startNanos);
+        return endNanos;
+    }
+
+    /**
+     * Stores the counts of the step
+     * @param numPairs the number of pairs found by the broadphase
+     * @param numContacts the number of pairs that collided
+     * @param numAwakeBodies the number of bodies that are moving and awake after the step
+     */
+    public void addCounts(int numPairs, int numContacts, int numAwakeBodies) {
+        pairCount += numPairs;
+        contactCount += numContacts;
+        lastPairCount = numPairs;
+        lastContactCount = numContacts;
+        lastAwakeBodyCount = numAwakeBodies;
+    }
+
+    /**
+     * Adds the time since "startNanos" to the total time of the steps, and exports the metrics if it is time to
+     * @param startNanos the time the step started at
+     */
+    public void endStep(long startNanos) {
+        long durationNanos = System.nanoTime() - startNanos;
+        stepNanos += durationNanos;
+        stepHistogram.record(durationNanos);
+
+        if (exporter != null && exportInterval > 0 && stepCount % exportInterval == 0) {
+            exporter.export(this);
+        }
+    }
+
+    /**
+     * Returns the number of steps measured
+     * @return the number of steps
+     */
+    public long getStepCount() {
+        return stepCount;
+    }
+
+    /**
+     * Returns the total time of the steps measured
+     * @return the time in nanoseconds
+     */
+    public long getStepNanos() {
+        return stepNanos;
+    }
+
+    /**
+     * Returns the total time spent in a phase
+     * Pre-condition: 0 <= "phase" < {@code PHASE_COUNT}
+     * @param phase the phase
+     * @return the time in nanoseconds
+     */
+    public long getPhaseNanos(int phase) {
+        return phaseNanos[phase];
+    }
+
+    /**
+     * Returns the durations of the last steps
+     * @return the histogram of the step durations in nanoseconds
+     */
+    public RollingHistogram getStepHistogram() {
+        return stepHistogram;
+    }
+
+    /**
+     * Returns the durations of a phase in the last steps
+     * Pre-condition: 0 <= "phase" < {@code PHASE_COUNT}
+     * @param phase the phase
+     * @return the histogram of the phase durations in nanoseconds
+     */
+    public RollingHistogram getPhaseHistogram(int phase) {
+        return phaseHistograms[phase];
+    }
+
+    /**
+     * Returns the sum of the number of bodies in each step measured
+     * @return the number of body steps
+     */
+    public long getBodySteps() {
+        return bodySteps;
+    }
+
+    /**
+     * Returns the number of pairs found by the broadphase in the steps measured
+     * @return the number of candidate pairs
+     */
+    public long getPairCount() {
+        return pairCount;
+    }
+
+    /**
+     * Returns the number of collisions found in the steps measured
+     * @return the number of collisions
+     */
+    public long getContactCount() {
+        return contactCount;
+    }
+
+    /**
+     * Returns the number of pairs found by the broadphase in the last step
+     * @return the number of candidate pairs
+     */
+    public int getLastPairCount() {
+        return lastPairCount;
+    }
+
+    /**
+     * Returns the number of collisions found in the last step
+     * @return the number of collisions
+     */
+    public int getLastContactCount() {
+        return lastContactCount;
+    }
+
+    /**
+     * Returns the number of bodies that were moving and awake after the last step
+     * @return the number of awake bodies
+     */
+    public int getLastAwakeBodyCount() {
+        return lastAwakeBodyCount;
+    }
+
+    /**
+     * Removes everything that was measured
+     */
+    public void reset() {
+        for (int i = 0; i < PHASE_COUNT; i++) {
+            phaseNanos[i] = 0;
+            phaseHistograms[i].clear();
+        }
+        stepHistogram.clear();
+        stepCount = 0;
+        stepNanos = 0;
+        bodySteps = 0;
+        pairCount = 0;
+        contactCount = 0;
+        lastPairCount = 0;
+        lastContactCount = 0;
+        lastAwakeBodyCount = 0;
+    }
+}
@@ -0,0 +1,34 @@
+package com.javaphysicsengine.api.metrics;
+
+/**
+ * Is told when each step of a world begins and ends, and when each of its phases ends
+ * (see {@code PWorld#setStepRecorder(PStepRecorder)}).
+ *
+ * Unlike {@code PStepMetrics}, which adds up the durations itself, a recorder is meant to pass the steps on to a
+ * profiler (ex: as JDK Flight Recorder events, see {@code PFlightRecorder}). All its methods are called by the thread
+ * that simulates the world.
+ */
+public interface PStepRecorder {
+
+    /**
+     * Is called when a step begins, right before its first phase
+     * @param stepNumber the number of the step, starting at 1
+     * @param numBodies the number of bodies in the world
+     */
+    void beginStep(long stepNumber, int numBodies);
+
+    /**
+     * Is called when a phase of the step ends. The next phase begins right after it
+     * @param phase the phase that ended (ex: {@code PStepMetrics#BROADPHASE})
+     */
+    void endPhase(int phase);
+
+    /**
+     * Is called when a step ends, right after its last phase
+     * @param numPairs the number of pairs found by the broadphase
+     * @param numContacts the number of pairs that collided
+     * @param numSolverContacts the number of contact points solved by the contact solver
+     * @param numSolverIterations the number of times the contact solver went through the contact points
+     */
+    void endStep(int numPairs, int numContacts, int numSolverContacts, int numSolverIterations);
+}
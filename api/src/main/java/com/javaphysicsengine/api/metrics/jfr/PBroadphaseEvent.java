@@ -0,0 +1,24 @@
+package com.javaphysicsengine.api.metrics.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * The broadphase of a step, which finds the pairs of bodies that may be colliding
+ */
+@Name("com.javaphysicsengine.Broadphase")
+@Label("Physics Broadphase")
+@Category({ "Java Physics Engine", "Phases" })
+@Description("Finds the pairs of bodies that may be colliding")
+@StackTrace(false)
+class PBroadphaseEvent extends Event {
+    @Label("Step Number")
+    long stepNumber;
+
+    @Label("Candidate Pairs")
+    int pairs;
+}
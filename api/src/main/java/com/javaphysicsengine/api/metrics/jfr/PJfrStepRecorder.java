@@ -0,0 +1,99 @@
+package com.javaphysicsengine.api.metrics.jfr;
+
+import com.javaphysicsengine.api.metrics.PStepMetrics;
+import com.javaphysicsengine.api.metrics.PStepRecorder;
+
+/**
+ * Emits the steps of a world as JDK Flight Recorder events: a step event for each step, an event for its broadphase,
+ * narrowphase and solve phases, and a slow step event for each step that took longer than a threshold.
+ *
+ * It must only be created through {@code PFlightRecorder#createStepRecorder(long)}, which checks that the JVM has the
+ * Flight Recorder first. The same events are reused by each step, so that nothing is allocated while simulating.
+ */
+public class PJfrStepRecorder implements PStepRecorder {
+    private final long slowStepNanos;
+
+    private final PStepEvent stepEvent = new PStepEvent();
+    private final PBroadphaseEvent broadphaseEvent = new PBroadphaseEvent();
+    private final PNarrowphaseEvent narrowphaseEvent = new PNarrowphaseEvent();
+    private final PSolverEvent solverEvent = new PSolverEvent();
+    private final PSlowStepEvent slowStepEvent = new PSlowStepEvent();
+
+    private long stepNumber = 0;
+    private long stepStartNanos = 0;
+
+    /**
+     * Creates a recorder
+     * @param slowStepNanos the duration in nanoseconds that a step must exceed to also be recorded as a slow step
+     */
+    public PJfrStepRecorder(long slowStepNanos) {
+        this.slowStepNanos = slowStepNanos;
+    }
+
+    @Override
+    public void beginStep(long stepNumber, int numBodies) {
+        this.stepNumber = stepNumber;
+        stepStartNanos = System.nanoTime();
+
+        stepEvent.begin();
+        stepEvent.stepNumber = stepNumber;
+        stepEvent.bodies = numBodies;
+
+        slowStepEvent.begin();
+        slowStepEvent.stepNumber = stepNumber;
+        slowStepEvent.bodies = numBodies;
+        slowStepEvent.threshold = slowStepNanos;
+    }
+
+    @Override
+    public void endPhase(int phase) {
+        switch (phase) {
+            case PStepMetrics.INTEGRATE:
+                broadphaseEvent.begin();
+                break;
+            case PStepMetrics.BROADPHASE:
+                broadphaseEvent.end();
+                narrowphaseEvent.begin();
+                break;
+            case PStepMetrics.NARROWPHASE:
+                narrowphaseEvent.end();
+                solverEvent.begin();
+                break;
+            case PStepMetrics.SOLVE:
+                solverEvent.end();
+                break;
+            default:
+                break;
+        }
+    }
+
+    @Override
+    public void endStep(int numPairs, int numContacts, int numSolverContacts, int numSolverIterations) {
+        stepEvent.end();
+        slowStepEvent.end();
+
+        // The counts are only known at the end of the step, so the phases are committed with it
+        broadphaseEvent.stepNumber = stepNumber;
+        broadphaseEvent.pairs = numPairs;
+        broadphaseEvent.commit();
+
+        narrowphaseEvent.stepNumber = stepNumber;
+        narrowphaseEvent.pairs = numPairs;
+        narrowphaseEvent.contacts = numContacts;
+        narrowphaseEvent.commit();
+
+        solverEvent.stepNumber = stepNumber;
+        solverEvent.contactPoints = numSolverContacts;
+        solverEvent.iterations = numSolverIterations;
+        solverEvent.commit();
+
+        stepEvent.pairs = numPairs;
+        stepEvent.contacts = numContacts;
+        stepEvent.commit();
+
+        if (System.nanoTime() - stepStartNanos > slowStepNanos) {
+            slowStepEvent.contacts = numContacts;
+            slowStepEvent.commit();
+        }
+    }
+}
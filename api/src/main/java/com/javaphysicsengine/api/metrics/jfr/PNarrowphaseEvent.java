@@ -0,0 +1,27 @@
+package com.javaphysicsengine.api.metrics.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * The narrowphase of a step, which finds which of the candidate pairs are colliding
+ */
+@Name("com.javaphysicsengine.Narrowphase")
+@Label("Physics Narrowphase")
+@Category({ "Java Physics Engine", "Phases" })
+@Description("Finds which of the candidate pairs are colliding")
+@StackTrace(false)
+class PNarrowphaseEvent extends Event {
+    @Label("Step Number")
+    long stepNumber;
+
+    @Label("Candidate Pairs")
+    int pairs;
+
+    @Label("Contacts")
+    int contacts;
+}
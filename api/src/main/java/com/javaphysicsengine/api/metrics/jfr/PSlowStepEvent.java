@@ -0,0 +1,31 @@
+package com.javaphysicsengine.api.metrics.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Timespan;
+
+/**
+ * A step that took longer than the slow step threshold of its recorder. It has a stack trace, to see what the
+ * simulation thread was called from
+ */
+@Name("com.javaphysicsengine.SlowStep")
+@Label("Slow Physics Step")
+@Category("Java Physics Engine")
+@Description("A step that took longer than the slow step threshold")
+class PSlowStepEvent extends Event {
+    @Label("Step Number")
+    long stepNumber;
+
+    @Label("Bodies")
+    int bodies;
+
+    @Label("Contacts")
+    int contacts;
+
+    @Label("Threshold")
+    @Timespan(Timespan.NANOSECONDS)
+    long threshold;
+}
@@ -0,0 +1,27 @@
+package com.javaphysicsengine.api.metrics.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * The solve phase of a step, which separates the colliding bodies and solves the velocities of their contacts
+ */
+@Name("com.javaphysicsengine.Solver")
+@Label("Physics Solver")
+@Category({ "Java Physics Engine", "Phases" })
+@Description("Separates the colliding bodies and solves the velocities of their contacts")
+@StackTrace(false)
+class PSolverEvent extends Event {
+    @Label("Step Number")
+    long stepNumber;
+
+    @Label("Contact Points")
+    int contactPoints;
+
+    @Label("Iterations")
+    int iterations;
+}
@@ -0,0 +1,30 @@
+package com.javaphysicsengine.api.metrics.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * A step of a world, from the start of its first phase to the end of its last phase
+ */
+@Name("com.javaphysicsengine.Step")
+@Label("Physics Step")
+@Category("Java Physics Engine")
+@Description("A step of a world")
+@StackTrace(false)
+class PStepEvent extends Event {
+    @Label("Step Number")
+    long stepNumber;
+
+    @Label("Bodies")
+    int bodies;
+
+    @Label("Candidate Pairs")
+    int pairs;
+
+    @Label("Contacts")
+    int contacts;
+}
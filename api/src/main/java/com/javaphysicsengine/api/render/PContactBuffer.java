@@ -0,0 +1,221 @@
+package com.javaphysicsengine.api.render;
+
+/**
+ * Keeps the latest contacts found by a world, to draw them for debugging.
+ *
+ * The buffer has a fixed capacity: once it is full, each new contact replaces the oldest one, so it never grows no
+ * matter how long the world is simulated. The contacts are stored as primitives in flat arrays (no object is created
+ * per contact).
+ *
+ * The buffer is not thread safe: it must only be used by the thread that simulates the world. To draw the contacts
+ * on another thread, copy them into a {@code PRenderSnapshot} on the simulation thread and hand that over instead
+ * (see {@code PSimulationThread}).
+ */
+public class PContactBuffer {
+    // The capacity of the buffer created by {@code PWorld#setContactRecordingEnabled(boolean)}
+    public static final int DEFAULT_CAPACITY = 256;
+
+    private final double[] xs;
+    private final double[] ys;
+    private final double[] normalXs;
+    private final double[] normalYs;
+    private final double[] depths;
+    private final long[] steps;
+
+    // The number of contacts ever recorded; contact n is at index (n % capacity)
+    private long writeCount = 0;
+
+    /**
+     * Creates an empty buffer
+     * Pre-condition: "capacity" must be greater than 0
+     * @param capacity the max number of contacts kept
+     */
+    public PContactBuffer(int capacity) {
+        xs = new double[capacity];
+        ys = new double[capacity];
+        normalXs = new double[capacity];
+        normalYs = new double[capacity];
+        depths = new double[capacity];
+        steps = new long[capacity];
+    }
+
+    /**
+     * Adds a contact, replacing the oldest contact if the buffer is full
+     * @param x the x coordinate of the contact point
+     * @param y the y coordinate of the contact point
+     * @param normalX the x component of the unit collision normal
+     * @param normalY the y component of the unit collision normal
+     * @param depth the penetration depth
+     * @param step the number of the step the contact was found in
+     */
+    public void record(double x, double y, double normalX, double normalY, double depth, long step) {
+        int index = (int) (writeCount % xs.length);
+        xs[index] = x;
+        ys[index] = y;
+        normalXs[index] = normalX;
+        normalYs[index] = normalY;
+        depths[index] = depth;
+        steps[index] = step;
+        writeCount++;
+    }
+
+    /**
+     * Removes all the contacts
+     */
+    public void clear() {
+        writeCount = 0;
+    }
+
+    /**
+     * Returns the max number of contacts kept
+     * @return the capacity
+     */
+    public int getCapacity() {
+        return xs.length;
+    }
+
+    /**
+     * Returns the number of contacts in the buffer
+     * @return the number of contacts, up to the capacity
+     */
+    public int size() {
+        return (int) Math.min(writeCount, xs.length);
+    }
+
+    /**
+     * Returns the number of contacts recorded since the buffer was created (or cleared), including the replaced ones
+     * @return the number of contacts recorded
+     */
+    public long getWriteCount() {
+        return writeCount;
+    }
+
+    /**
+     * Copies the contacts in the buffer, from oldest to newest, into a snapshot, replacing what it had
+     * Pre-condition: "snapshot" must not be null
+     * @param snapshot the snapshot to copy the contacts into
+     * @return "snapshot"
+     */
+    public Snapshot snapshot(Snapshot snapshot) {
+        int capacity = xs.length;
+        long end = writeCount;
+        long start = Math.max(0, end - capacity);
+        int count = (int) (end - start);
+        snapshot.ensureCapacity(count);
+        snapshot.count = count;
+
+        for (int i = 0; i < count; i++) {
+            int index = (int) ((start + i) % capacity);
+            snapshot.xs[i] = xs[index];
+            snapshot.ys[i] = ys[index];
+            snapshot.normalXs[i] = normalXs[index];
+            snapshot.normalYs[i] = normalYs[index];
+            snapshot.depths[i] = depths[index];
+            snapshot.steps[i] = steps[index];
+        }
+        return snapshot;
+    }
+
+    /**
+     * A copy of the contacts in a {@code PContactBuffer}, from oldest to newest. Its arrays are re-used by the next
+     * copy into it
+     */
+    public static class Snapshot {
+        private int count = 0;
+        private double[] xs = new double[0];
+        private double[] ys = new double[0];
+        private double[] normalXs = new double[0];
+        private double[] normalYs = new double[0];
+        private double[] depths = new double[0];
+        private long[] steps = new long[0];
+
+        /**
+         * Returns the number of contacts in the snapshot
+         * @return the number of contacts
+         */
+        public int size() {
+            return count;
+        }
+
+        /**
+         * Returns the x coordinate of a contact point
+         * Pre-condition: 0 <= "index" < {@code size()}
+         * @param index the index of the contact
+         * @return the x coordinate
+         */
+        public double getX(int index) {
+            return xs[index];
+        }
+
+        /**
+         * Returns the y coordinate of a contact point
+         * Pre-condition: 0 <= "index" < {@code size()}
+         * @param index the index of the contact
+         * @return the y coordinate
+         */
+        public double getY(int index) {
+            return ys[index];
+        }
+
+        /**
+         * Returns the x component of the unit normal of a contact
+         * Pre-condition: 0 <= "index" < {@code size()}
+         * @param index the index of the contact
+         * @return the x component of the normal
+         */
+        public double getNormalX(int index) {
+            return normalXs[index];
+        }
+
+        /**
+         * Returns the y component of the unit normal of a contact
+         * Pre-condition: 0 <= "index" < {@code size()}
+         * @param index the index of the contact
+         * @return the y component of the normal
+         */
+        public double getNormalY(int index) {
+            return normalYs[index];
+        }
+
+        /**
+         * Returns the penetration depth of a contact
+         * Pre-condition: 0 <= "index" < {@code size()}
+         * @param index the index of the contact
+         * @return the penetration depth
+         */
+        public double getDepth(int index) {
+            return depths[index];
+        }
+
+        /**
+         * Returns the number of the step a contact was found in
+         * Pre-condition: 0 <= "index" < {@code size()}
+         * @param index the index of the contact
+         * @return the step number
+         */
+        public long getStep(int index) {
+            return steps[index];
+        }
+
+        /**
+         * Removes all the contacts from the snapshot
+         */
+        public void clear() {
+            count = 0;
+        }
+
+        private void ensureCapacity(int capacity) {
+            count = 0;
+            if (xs.length >= capacity) {
+                return;
+            }
+
+            xs = new double[capacity];
+            ys = new double[capacity];
+            normalXs = new double[capacity];
+            normalYs = new double[capacity];
+            depths = new double[capacity];
+            steps = new long[capacity];
+        }
+    }
+}
@@ -0,0 +1,406 @@
+package com.javaphysicsengine.api.render;
+
+import com.javaphysicsengine.api.PWorld;
+import com.javaphysicsengine.api.body.PBody;
+import com.javaphysicsengine.api.body.PCircle;
+import com.javaphysicsengine.api.body.PCollidable;
+import com.javaphysicsengine.api.body.PConstraints;
+import com.javaphysicsengine.api.body.PPolygon;
+import com.javaphysicsengine.api.body.PPolygonShape;
+import com.javaphysicsengine.api.collision.PCollisionDispatcher;
+import com.javaphysicsengine.utils.Vector;
+
+import java.awt.Color;
+import java.awt.Graphics;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A copy of everything needed to draw a world at one point in time, stored in flat arrays.
+ *
+ * The simulation thread captures the world into a snapshot after each step, and the paint code draws the snapshot
+ * instead of the bodies, so it never reads bodies that are being simulated. A snapshot is not changed while it is
+ * being read (see {@code TripleBuffer}), and its arrays are re-used by the next capture into it.
+ *
+ * The bodies are captured between their last two steps (see {@code PWorld#getInterpolationAlpha()}), so that they
+ * move smoothly even when the screen is refreshed at a different rate than the world is stepped.
+ */
+public class PRenderSnapshot {
+    // The shape type of bodies that are only drawn as their center point
+    public static final int POINT = -1;
+
+    private int bodyCount = 0;
+    private int[] shapeTypes = new int[16];
+    private double[] centerXs = new double[16];
+    private double[] centerYs = new double[16];
+    private double[] angles = new double[16];
+    private double[] radii = new double[16];
+    private String[] names = new String[16];
+    private Color[] fillColors = new Color[16];
+    private Color[] outlineColors = new Color[16];
+    private Color[] normalColors = new Color[16];
+
+    // The vertices of polygon i are at [vertexStarts[i], vertexStarts[i] + vertexCounts[i])
+    private int[] vertexStarts = new int[16];
+    private int[] vertexCounts = new int[16];
+    private int vertexCount = 0;
+    private double[] vertexXs = new double[64];
+    private double[] vertexYs = new double[64];
+
+    // Each constraint is a line from (x1, y1) to (x2, y2), stored as 4 values
+    private int constraintCount = 0;
+    private double[] constraintLines = new double[16];
+    private Color[] constraintColors = new Color[4];
+
+    // The index of each body captured, to find the ends of the constraints (the boxed indices are re-used too)
+    private final Map<PBody, Integer> bodyIndices = new IdentityHashMap<>();
+    private Integer[] boxedIndices = new Integer[16];
+
+    // The latest contacts of the world, if it records them
+    private final PContactBuffer.Snapshot contacts = new PContactBuffer.Snapshot();
+
+    private int[] xCoords = new int[16];
+    private int[] yCoords = new int[16];
+
+    /**
+     * Copies the bodies and constraints of a world into this snapshot, replacing what it had.
+     * It must be called by the thread that simulates the world
+     * Pre-condition: "world" must not be null
+     * @param world the world
+     */
+    public void capture(PWorld world) {
+        List<PBody> bodies = world.getBodies();
+        ensureBodyCapacity(bodies.size());
+
+        Vector centerPt = new Vector(0, 0);
+        bodyCount = 0;
+        vertexCount = 0;
+        bodyIndices.clear();
+        for (int i = 0; i < bodies.size(); i++) {
+            PBody body = bodies.get(i);
+            if (boxedIndices[i] == null) {
+                boxedIndices[i] = i;
+            }
+            bodyIndices.putIfAbsent(body, boxedIndices[i]);
+            world.getInterpolatedCenterPt(i, centerPt);
+            double angle = world.getInterpolatedAngle(i);
+
+            shapeTypes[i] = body instanceof PCollidable ? ((PCollidable) body).getShapeType() : POINT;
+            centerXs[i] = centerPt.getX();
+            centerYs[i] = centerPt.getY();
+            angles[i] = angle;
+            radii[i] = body instanceof PCircle ? ((PCircle) body).getRadius() : 0;
+            names[i] = body.getName();
+            fillColors[i] = body.getFillColor();
+            outlineColors[i] = body.getOutlineColor();
+            normalColors[i] = body.getNormalVectorColor();
+            vertexStarts[i] = vertexCount;
+            vertexCounts[i] = 0;
+
+            if (body instanceof PPolygon) {
+                captureVertices(i, (PPolygon) body, centerPt.getX(), centerPt.getY(), angle);
+            }
+            bodyCount++;
+        }
+
+        List<PConstraints> constraints = world.getConstraints();
+        if (constraintColors.length < constraints.size()) {
+            constraintColors = new Color[Math.max(constraints.size(), constraintColors.length * 2)];
+            constraintLines = new double[constraintColors.length * 4];
+        }
+
+        constraintCount = 0;
+        for (PConstraints constraint : constraints) {
+            PBody[] attachedBodies = constraint.getAttachedBodies();
+            int lineIndex = constraintCount * 4;
+            storeCenterPt(attachedBodies[0], lineIndex);
+            storeCenterPt(attachedBodies[1], lineIndex + 2);
+            constraintColors[constraintCount] = constraint.getColor();
+            constraintCount++;
+        }
+
+        if (world.getContactBuffer() != null) {
+            world.getContactBuffer().snapshot(contacts);
+        } else {
+            contacts.clear();
+        }
+    }
+
+    /**
+     * Stores the world-space vertices of a polygon placed at a center point and angle
+     */
+    private void captureVertices(int bodyIndex, PPolygon polygon, double centerX, double centerY, double angle) {
+        PPolygonShape shape = polygon.getShape();
+        int numVertices = polygon.getVertexCount();
+        ensureVertexCapacity(vertexCount + numVertices);
+
+        if (polygon.isShapeUpToDate()) {
+            double cos = Math.cos(angle);
+            double sin = Math.sin(angle);
+            for (int i = 0; i < shape.getVertexCount(); i++) {
+                vertexXs[vertexCount] = centerX + cos * shape.getVertexX(i) - sin * shape.getVertexY(i);
+                vertexYs[vertexCount] = centerY + sin * shape.getVertexX(i) + cos * shape.getVertexY(i);
+                vertexCount++;
+            }
+        } else {
+            for (int i = 0; i < numVertices; i++) {
+                vertexXs[vertexCount] = polygon.getVertexX(i);
+                vertexYs[vertexCount] = polygon.getVertexY(i);
+                vertexCount++;
+            }
+        }
+        vertexCounts[bodyIndex] = numVertices;
+    }
+
+    private void storeCenterPt(PBody body, int index) {
+        Integer bodyIndex = bodyIndices.get(body);
+        if (bodyIndex != null) {
+            constraintLines[index] = centerXs[bodyIndex];
+            constraintLines[index + 1] = centerYs[bodyIndex];
+        } else {
+            constraintLines[index] = body.getCenterPt().getX();
+            constraintLines[index + 1] = body.getCenterPt().getY();
+        }
+    }
+
+    /**
+     * Draws the bodies, constraints and contact points of the snapshot. It must be called by the thread that reads the snapshot
+     * Pre-condition: "g" must not be null, and "windowHeight" must be greater than 0
+     * @param g the Graphics object
+     * @param windowHeight the height of the window that the bodies are drawn in
+     * @param isFillVisible whether the fill of the bodies is drawn
+     * @param isOutlineVisible whether the outline of the bodies is drawn
+     */
+    public void draw(Graphics g, int windowHeight, boolean isFillVisible, boolean isOutlineVisible) {
+        for (int i = 0; i < bodyCount; i++) {
+            if (isFillVisible) {
+                drawFill(g, windowHeight, i);
+            }
+            if (isOutlineVisible) {
+                drawOutline(g, windowHeight, i);
+            }
+        }
+
+        for (int i = 0; i < constraintCount; i++) {
+            g.setColor(constraintColors[i]);
+            g.drawLine((int) constraintLines[i * 4], windowHeight - (int) constraintLines[i * 4 + 1],
+                    (int) constraintLines[i * 4 + 2], windowHeight - (int) constraintLines[i * 4 + 3]);
+        }
+
+        g.setColor(Color.GREEN);
+        for (int i = 0; i < contacts.size(); i++) {
+            g.fillOval((int) (contacts.getX(i) - 1), windowHeight - (int) (contacts.getY(i) + 1), 2, 2);
+        }
+    }
+
+    private void drawFill(Graphics g, int windowHeight, int i) {
+        g.setColor(fillColors[i]);
+        if (shapeTypes[i] == PCollisionDispatcher.CIRCLE) {
+            int topLeftX = (int) (centerXs[i] - radii[i]);
+            int topLeftY = windowHeight - (int) (centerYs[i] + radii[i]);
+            g.fillOval(topLeftX, topLeftY, (int) (radii[i] * 2), (int) (radii[i] * 2));
+
+        } else if (vertexCounts[i] > 0) {
+            int numVertices = toScreenCoords(i, windowHeight);
+            g.fillPolygon(xCoords, yCoords, numVertices);
+        }
+
+        // Draw the center of mass
+        g.fillOval((int) centerXs[i] - 2, windowHeight - (int) centerYs[i] - 2, 4, 4);
+    }
+
+    private void drawOutline(Graphics g, int windowHeight, int i) {
+        g.setColor(outlineColors[i]);
+        if (shapeTypes[i] == PCollisionDispatcher.CIRCLE) {
+            int topLeftX = (int) (centerXs[i] - radii[i]);
+            int topLeftY = windowHeight - (int) (centerYs[i] + radii[i]);
+            g.drawOval(topLeftX, topLeftY, (int) (radii[i] * 2), (int) (radii[i] * 2));
+
+        } else if (vertexCounts[i] > 0) {
+            int numVertices = toScreenCoords(i, windowHeight);
+            g.drawPolygon(xCoords, yCoords, numVertices);
+        }
+
+        // Draw the center of mass and the name
+        g.drawOval((int) centerXs[i] - 2, windowHeight - (int) centerYs[i] - 2, 4, 4);
+        g.drawString(names[i], (int) centerXs[i], windowHeight - (int) centerYs[i]);
+
+        if (shapeTypes[i] == PCollisionDispatcher.CIRCLE) {
+            // Draw its orientation
+            double x = radii[i] * Math.cos(angles[i]) + centerXs[i];
+            double y = radii[i] * Math.sin(angles[i]) + centerYs[i];
+            g.drawLine((int) centerXs[i], windowHeight - (int) centerYs[i], (int) x, windowHeight - (int) y);
+
+        } else {
+            drawNormals(g, windowHeight, i);
+        }
+    }
+
+    private void drawNormals(Graphics g, int windowHeight, int i) {
+        g.setColor(normalColors[i]);
+        int start = vertexStarts[i];
+        for (int j = 0; j < vertexCounts[i]; j++) {
+            int k = j + 1 < vertexCounts[i] ? j + 1 : 0;
+            double x1 = vertexXs[start + j];
+            double y1 = vertexYs[start + j];
+            double x2 = vertexXs[start + k];
+            double y2 = vertexYs[start + k];
+
+            double length = Math.sqrt((x2 - x1) * (x2 - x1) + (y2 - y1) * (y2 - y1));
+            if (length == 0) {
+                continue;
+            }
+            double midX = (x1 + x2) / 2;
+            double midY = (y1 + y2) / 2;
+            double endX = midX + 10 * (y2 - y1) / length;
+            double endY = midY - 10 * (x2 - x1) / length;
+            g.drawLine((int) midX, windowHeight - (int) midY, (int) endX, windowHeight - (int) endY);
+        }
+    }
+
+    /**
+     * Converts the vertices of a polygon to screen coordinates
+     * @return the number of vertices
+     */
+    private int toScreenCoords(int bodyIndex, int windowHeight) {
+        int numVertices = vertexCounts[bodyIndex];
+        if (xCoords.length < numVertices) {
+            xCoords = new int[numVertices];
+            yCoords = new int[numVertices];
+        }
+
+        int start = vertexStarts[bodyIndex];
+        for (int j = 0; j < numVertices; j++) {
+            xCoords[j] = (int) vertexXs[start + j];
+            yCoords[j] = windowHeight - (int) vertexYs[start + j];
+        }
+        return numVertices;
+    }
+
+    /**
+     * Returns the number of bodies in the snapshot
+     * @return the number of bodies
+     */
+    public int getBodyCount() {
+        return bodyCount;
+    }
+
+    /**
+     * Returns the shape type of a body (ex: {@code PCollisionDispatcher#CIRCLE}), or {@code POINT} if it has none
+     * @param bodyIndex the index of the body
+     * @return the shape type
+     */
+    public int getShapeType(int bodyIndex) {
+        return shapeTypes[bodyIndex];
+    }
+
+    /**
+     * Returns the x coordinate of the center point of a body
+     * @param bodyIndex the index of the body
+     * @return the x coordinate
+     */
+    public double getCenterX(int bodyIndex) {
+        return centerXs[bodyIndex];
+    }
+
+    /**
+     * Returns the y coordinate of the center point of a body
+     * @param bodyIndex the index of the body
+     * @return the y coordinate
+     */
+    public double getCenterY(int bodyIndex) {
+        return centerYs[bodyIndex];
+    }
+
+    /**
+     * Returns the angle of a body
+     * @param bodyIndex the index of the body
+     * @return the angle in radians
+     */
+    public double getAngle(int bodyIndex) {
+        return angles[bodyIndex];
+    }
+
+    /**
+     * Returns the number of vertices of a body (0 if it is not a polygon)
+     * @param bodyIndex the index of the body
+     * @return the number of vertices
+     */
+    public int getVertexCount(int bodyIndex) {
+        return vertexCounts[bodyIndex];
+    }
+
+    /**
+     * Returns the x coordinate of a vertex of a polygon
+     * Pre-condition: 0 <= "vertexIndex" < {@code getVertexCount(bodyIndex)}
+     * @param bodyIndex the index of the body
+     * @param vertexIndex the index of the vertex
+     * @return the x coordinate
+     */
+    public double getVertexX(int bodyIndex, int vertexIndex) {
+        return vertexXs[vertexStarts[bodyIndex] + vertexIndex];
+    }
+
+    /**
+     * Returns the y coordinate of a vertex of a polygon
+     * Pre-condition: 0 <= "vertexIndex" < {@code getVertexCount(bodyIndex)}
+     * @param bodyIndex the index of the body
+     * @param vertexIndex the index of the vertex
+     * @return the y coordinate
+     */
+    public double getVertexY(int bodyIndex, int vertexIndex) {
+        return vertexYs[vertexStarts[bodyIndex] + vertexIndex];
+    }
+
+    /**
+     * Returns the number of constraints in the snapshot
+     * @return the number of constraints
+     */
+    public int getConstraintCount() {
+        return constraintCount;
+    }
+
+    /**
+     * Returns the latest contacts of the world (empty if the world does not record them)
+     * @return the contacts
+     */
+    public PContactBuffer.Snapshot getContacts() {
+        return contacts;
+    }
+
+    private void ensureBodyCapacity(int numBodies) {
+        if (shapeTypes.length >= numBodies) {
+            return;
+        }
+
+        int capacity = Math.max(numBodies, shapeTypes.length * 2);
+        shapeTypes = new int[capacity];
+        centerXs = new double[capacity];
+        centerYs = new double[capacity];
+        angles = new double[capacity];
+        radii = new double[capacity];
+        names = new String[capacity];
+        fillColors = new Color[capacity];
+        outlineColors = new Color[capacity];
+        normalColors = new Color[capacity];
+        vertexStarts = new int[capacity];
+        vertexCounts = new int[capacity];
+        boxedIndices = Arrays.copyOf(boxedIndices, capacity);
+    }
+
+    private void ensureVertexCapacity(int numVertices) {
+        if (vertexXs.length >= numVertices) {
+            return;
+        }
+
+        int capacity = Math.max(numVertices, vertexXs.length * 2);
+        double[] newVertexXs = new double[capacity];
+        double[] newVertexYs = new double[capacity];
+        System.arraycopy(vertexXs, 0, newVertexXs, 0, vertexCount);
+        System.arraycopy(vertexYs, 0, newVertexYs, 0, vertexCount);
+        vertexXs = newVertexXs;
+        vertexYs = newVertexYs;
+    }
+}
@@ -0,0 +1,360 @@
+package com.javaphysicsengine.api.solver;
+
+import com.javaphysicsengine.api.body.PBody;
+import com.javaphysicsengine.api.collision.PContactManifold;
+import com.javaphysicsengine.utils.Vector;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Resolves the velocities of the bodies in contact with a sequential impulse solver.
+ *
+ * Instead of applying one impulse per contact, it goes over all the contacts a number of times, each time applying
+ * the change in impulse needed for the contact. The total (accumulated) impulse of each contact is clamped so that
+ * contacts only push bodies apart, and the friction impulse is clamped to the friction coefficient times
+ * the normal impulse. Since the contacts of a resting stack barely change between steps, the total impulses of
+ * the last step are applied at the start of the next step (warm starting), so the solver starts close to the answer.
+ *
+ * The total impulses are read from and written back to the contact manifolds, so the manifolds need to be kept
+ * across steps (ex: with a {@code PContactManifoldCache}) for warm starting to work.
+ *
+ * Each step:
+ * <pre>
+ *     solver.beginStep();
+ *     solver.addManifold(manifold); // for each pair of bodies in contact
+ *     solver.solve();
+ * </pre>
+ */
+public class PContactSolver {
+    public static final int DEFAULT_ITERATIONS = 8;
+    public static final double DEFAULT_RESTITUTION = 0.2;
+    public static final double DEFAULT_FRICTION = 0.1;
+
+    // Contacts that approach each other slower than this (in pixels per second) do not bounce
+    private static final double RESTITUTION_VELOCITY_THRESHOLD = 1;
+
+    private int iterations = DEFAULT_ITERATIONS;
+    private double restitution = DEFAULT_RESTITUTION;
+    private double friction = DEFAULT_FRICTION;
+    private boolean isWarmStartingEnabled = true;
+
+    // The contacts of this step, re-used across steps
+    private final List<PContact> contactPool = new ArrayList<>();
+    private PContact[] contacts = new PContact[0];
+    private int numContacts = 0;
+
+    /**
+     * A point where two bodies touch, along with the impulses applied to it
+     */
+    private static class PContact {
+        PContactManifold manifold;
+        int pointIndex;
+
+        PBody body1;
+        PBody body2;
+
+        // The normal (from body1 to body2) and its tangent
+        double normalX, normalY;
+        double tangentX, tangentY;
+
+        // The contact point relative to the center of each body
+        double r1X, r1Y;
+        double r2X, r2Y;
+
+        double invMass1, invInertia1;
+        double invMass2, invInertia2;
+
+        double normalMass;
+        double tangentMass;
+        double velocityBias;
+
+        // The total impulses applied to the contact
+        double normalImpulse;
+        double tangentImpulse;
+    }
+
+    /**
+     * Returns the number of times the solver goes over all the contacts each step
+     * @return the number of iterations
+     */
+    public int getIterations() {
+        return iterations;
+    }
+
+    /**
+     * Sets the number of times the solver goes over all the contacts each step.
+     * More iterations make stacks more stable, at the cost of more time per step
+     * Pre-condition: "iterations" must be at least 1
+     * @param iterations the number of iterations
+     */
+    public void setIterations(int iterations) {
+        this.iterations = iterations;
+    }
+
+    /**
+     * Returns how bouncy the collisions are
+     * @return the coefficient of restitution
+     */
+    public double getRestitution() {
+        return restitution;
+    }
+
+    /**
+     * Sets how bouncy the collisions are
+     * Pre-condition: 0 <= "restitution" <= 1
+     * @param restitution the coefficient of restitution
+     */
+    public void setRestitution(double restitution) {
+        this.restitution = restitution;
+    }
+
+    /**
+     * Returns the coefficient of friction between bodies
+     * @return the coefficient of friction
+     */
+    public double getFriction() {
+        return friction;
+    }
+
+    /**
+     * Sets the coefficient of friction between bodies
+     * Pre-condition: "friction" must be at least 0
+     * @param friction the coefficient of friction
+     */
+    public void setFriction(double friction) {
+        this.friction = friction;
+    }
+
+    /**
+     * Determines if the impulses of the last step are re-applied to the same contacts in the next step
+     * @return {@code true} if warm starting is enabled; else {@code false}
+     */
+    public boolean isWarmStartingEnabled() {
+        return isWarmStartingEnabled;
+    }
+
+    /**
+     * Sets whether the impulses of the last step are re-applied to the same contacts in the next step
+     * @param isWarmStartingEnabled {@code true} to enable warm starting; else {@code false}
+     */
+    public void setWarmStartingEnabled(boolean isWarmStartingEnabled) {
+        this.isWarmStartingEnabled = isWarmStartingEnabled;
+    }
+
+    /**
+     * Starts a new step, removing the contacts of the last step
+     */
+    public void beginStep() {
+        for (int i = 0; i < numContacts; i++) {
+            contacts[i].manifold = null;
+            contacts[i].body1 = null;
+            contacts[i].body2 = null;
+            contactPool.add(contacts[i]);
+            contacts[i] = null;
+        }
+        numContacts = 0;
+    }
+
+    /**
+     * Adds the points of a manifold as contacts to be solved, starting from the impulses stored in the manifold
+     * Pre-condition: "manifold" must not be null, and must not be modified until {@code PContactSolver#solve()} returns
+     * @param manifold the manifold of two bodies in contact
+     */
+    public void addManifold(PContactManifold manifold) {
+        PBody body1 = manifold.getBody1();
+        PBody body2 = manifold.getBody2();
+        Vector normal = manifold.getNormal();
+
+        for (int i = 0; i < manifold.getPointCount(); i++) {
+            PContact contact = obtainContact();
+            contact.manifold = manifold;
+            contact.pointIndex = i;
+            contact.body1 = body1;
+            contact.body2 = body2;
+
+            contact.normalX = normal.getX();
+            contact.normalY = normal.getY();
+            contact.tangentX = -contact.normalY;
+            contact.tangentY = contact.normalX;
+
+            Vector contactPt = manifold.getPoint(i);
+            contact.r1X = contactPt.getX() - body1.getCenterPt().getX();
+            contact.r1Y = contactPt.getY() - body1.getCenterPt().getY();
+            contact.r2X = contactPt.getX() - body2.getCenterPt().getX();
+            contact.r2Y = contactPt.getY() - body2.getCenterPt().getY();
+
+            contact.normalImpulse = manifold.getNormalImpulse(i);
+            contact.tangentImpulse = manifold.getTangentImpulse(i);
+        }
+    }
+
+    /**
+     * Solves the velocities of all the contacts added since {@code PContactSolver#beginStep()},
+     * and stores the total impulse of each contact back into its manifold
+     */
+    public void solve() {
+        for (int i = 0; i < numContacts; i++) {
+            prepareContact(contacts[i]);
+        }
+
+        for (int iteration = 0; iteration < iterations; iteration++) {
+            for (int i = 0; i < numContacts; i++) {
+                solveContact(contacts[i]);
+            }
+        }
+
+        for (int i = 0; i < numContacts; i++) {
+            PContact contact = contacts[i];
+            contact.manifold.setNormalImpulse(contact.pointIndex, contact.normalImpulse);
+            contact.manifold.setTangentImpulse(contact.pointIndex, contact.tangentImpulse);
+        }
+    }
+
+    /**
+     * Returns the number of contacts added in this step
+     * @return the number of contacts
+     */
+    public int getContactCount() {
+        return numContacts;
+    }
+
+    /**
+     * Returns the total impulse applied along the normal of a contact
+     * Pre-condition: 0 <= "contact" < {@code getContactCount()}
+     * @param contact the index of the contact, in the order the points were added
+     * @return the total normal impulse
+     */
+    public double getNormalImpulse(int contact) {
+        return contacts[contact].normalImpulse;
+    }
+
+    /**
+     * Returns the total friction impulse applied to a contact
+     * Pre-condition: 0 <= "contact" < {@code getContactCount()}
+     * @param contact the index of the contact, in the order the points were added
+     * @return the total friction impulse
+     */
+    public double getTangentImpulse(int contact) {
+        return contacts[contact].tangentImpulse;
+    }
+
+    private PContact obtainContact() {
+        if (numContacts == contacts.length) {
+            PContact[] newContacts = new PContact[Math.max(16, contacts.length * 2)];
+            System.arraycopy(contacts, 0, newContacts, 0, numContacts);
+            contacts = newContacts;
+        }
+
+        PContact contact = contactPool.isEmpty() ? new PContact() : contactPool.remove(contactPool.size() - 1);
+        contacts[numContacts++] = contact;
+        return contact;
+    }
+
+    /**
+     * Computes the masses and the restitution of a contact, and applies the impulses from the last step
+     * @param contact the contact
+     */
+    private void prepareContact(PContact contact) {
+        PBody body1 = contact.body1;
+        PBody body2 = contact.body2;
+
+        contact.invMass1 = body1.isMoving() ? 1 / body1.getMass() : 0;
+        contact.invMass2 = body2.isMoving() ? 1 / body2.getMass() : 0;
+        contact.invInertia1 = body1.isMoving() ? 1 / body1.getInertia() : 0;
+        contact.invInertia2 = body2.isMoving() ? 1 / body2.getInertia() : 0;
+
+        // The effective mass along the normal and tangent ( 1 / (1/m1 + 1/m2 + (r1 x n)^2 / I1 + (r2 x n)^2 / I2) )
+        double r1CrossN = cross(contact.r1X, contact.r1Y, contact.normalX, contact.normalY);
+        double r2CrossN = cross(contact.r2X, contact.r2Y, contact.normalX, contact.normalY);
+        double kNormal = contact.invMass1 + contact.invMass2 +
+                r1CrossN * r1CrossN * contact.invInertia1 + r2CrossN * r2CrossN * contact.invInertia2;
+        contact.normalMass = kNormal > 0 ? 1 / kNormal : 0;
+
+        double r1CrossT = cross(contact.r1X, contact.r1Y, contact.tangentX, contact.tangentY);
+        double r2CrossT = cross(contact.r2X, contact.r2Y, contact.tangentX, contact.tangentY);
+        double kTangent = contact.invMass1 + contact.invMass2 +
+                r1CrossT * r1CrossT * contact.invInertia1 + r2CrossT * r2CrossT * contact.invInertia2;
+        contact.tangentMass = kTangent > 0 ? 1 / kTangent : 0;
+
+        // Bodies that hit each other fast enough bounce back with a fraction of the speed they approached with
+        double velAlongNormal = getRelativeVelocityX(contact) * contact.normalX + getRelativeVelocityY(contact) * contact.normalY;
+        contact.velocityBias = velAlongNormal < -RESTITUTION_VELOCITY_THRESHOLD ? -restitution * velAlongNormal : 0;
+
+        if (isWarmStartingEnabled) {
+            applyImpulse(contact,
+                    contact.normalImpulse * contact.normalX + contact.tangentImpulse * contact.tangentX,
+                    contact.normalImpulse * contact.normalY + contact.tangentImpulse * contact.tangentY);
+        } else {
+            contact.normalImpulse = 0;
+            contact.tangentImpulse = 0;
+        }
+    }
+
+    /**
+     * Applies the change in impulse a contact needs, keeping the total impulses within their limits
+     * @param contact the contact
+     */
+    private void solveContact(PContact contact) {
+        // Normal impulse: the bodies can only be pushed apart
+        double velAlongNormal = getRelativeVelocityX(contact) * contact.normalX + getRelativeVelocityY(contact) * contact.normalY;
+        double normalImpulse = contact.normalMass * (-velAlongNormal + contact.velocityBias);
+
+        double oldNormalImpulse = contact.normalImpulse;
+        contact.normalImpulse = Math.max(oldNormalImpulse + normalImpulse, 0);
+        normalImpulse = contact.normalImpulse - oldNormalImpulse;
+        applyImpulse(contact, normalImpulse * contact.normalX, normalImpulse * contact.normalY);
+
+        // Friction impulse: limited by the normal impulse (Coulomb's law)
+        double velAlongTangent = getRelativeVelocityX(contact) * contact.tangentX + getRelativeVelocityY(contact) * contact.tangentY;
+        double tangentImpulse = -contact.tangentMass * velAlongTangent;
+
+        double maxTangentImpulse = friction * contact.normalImpulse;
+        double oldTangentImpulse = contact.tangentImpulse;
+        contact.tangentImpulse = Math.max(-maxTangentImpulse, Math.min(oldTangentImpulse + tangentImpulse, maxTangentImpulse));
+        tangentImpulse = contact.tangentImpulse - oldTangentImpulse;
+        applyImpulse(contact, tangentImpulse * contact.tangentX, tangentImpulse * contact.tangentY);
+    }
+
+    /**
+     * Pushes body2 by an impulse and body1 by the opposite impulse, at the contact point
+     */
+    private static void applyImpulse(PContact contact, double impulseX, double impulseY) {
+        PBody body1 = contact.body1;
+        PBody body2 = contact.body2;
+
+        if (body1.isMoving()) {
+            body1.getVelocity().setXY(
+                    body1.getVelocity().getX() - impulseX * contact.invMass1,
+                    body1.getVelocity().getY() - impulseY * contact.invMass1);
+            body1.setAngularVelocity(body1.getAngularVelocity() -
+                    contact.invInertia1 * cross(contact.r1X, contact.r1Y, impulseX, impulseY));
+        }
+
+        if (body2.isMoving()) {
+            body2.getVelocity().setXY(
+                    body2.getVelocity().getX() + impulseX * contact.invMass2,
+                    body2.getVelocity().getY() + impulseY * contact.invMass2);
+            body2.setAngularVelocity(body2.getAngularVelocity() +
+                    contact.invInertia2 * cross(contact.r2X, contact.r2Y, impulseX, impulseY));
+        }
+    }
+
+    /**
+     * Returns the x value of the velocity of the contact point on body2 relative to the one on body1
+     * ( V2 + W2 x r2 - V1 - W1 x r1 )
+     */
+    private static double getRelativeVelocityX(PContact contact) {
+        return contact.body2.getVelocity().getX() - contact.body2.getAngularVelocity() * contact.r2Y -
+                contact.body1.getVelocity().getX() + contact.body1.getAngularVelocity() * contact.r1Y;
+    }
+
+    private static double getRelativeVelocityY(PContact contact) {
+        return contact.body2.getVelocity().getY() + contact.body2.getAngularVelocity() * contact.r2X -
+                contact.body1.getVelocity().getY() - contact.body1.getAngularVelocity() * contact.r1X;
+    }
+
+    private static double cross(double x1, double y1, double x2, double y2) {
+        return x1 * y2 - y1 * x2;
+    }
+}
@@ -0,0 +1,142 @@
+package com.javaphysicsengine.api;
+
+import com.javaphysicsengine.api.body.PBody;
+import com.javaphysicsengine.api.body.PCircle;
+import com.javaphysicsengine.api.body.PPolygon;
+import com.javaphysicsengine.api.body.PPolygonShape;
+import com.javaphysicsengine.utils.Vector;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Creates the worlds used by the benchmarks, from a scene type, a mix of shapes and a number of bodies.
+ * The same arguments always create the same world.
+ */
+public class PBenchmarkScenes {
+    // The scene types
+    public static final String RAIN = "rain";       // Bodies falling apart from each other onto the ground
+    public static final String PILE = "pile";       // Bodies packed together on the ground, all touching their neighbours
+    public static final String SPARSE = "sparse";   // Bodies drifting far apart from each other, without gravity
+
+    // The shape mixes
+    public static final String CIRCLES = "circles";
+    public static final String BOXES = "boxes";
+    public static final String MIXED = "mixed";
+    public static final String ROUND = "round";     // Polygons with many vertices
+
+    private static final double BODY_SIZE = 30;
+    private static final int ROUND_NUM_VERTICES = 16;
+
+    /**
+     * Creates a world with a scene
+     * @param scene the scene type ({@code RAIN}, {@code PILE} or {@code SPARSE})
+     * @param shapes the mix of shapes ({@code CIRCLES}, {@code BOXES}, {@code MIXED} or {@code ROUND})
+     * @param numBodies the number of bodies, not counting the ground
+     * @return the world
+     */
+    public static PWorld create(String scene, String shapes, int numBodies) {
+        PWorld world = new PWorld();
+        world.getBodies().addAll(createBodies(scene, shapes, numBodies));
+        if (SPARSE.equals(scene)) {
+            world.setGravity(Vector.of(0, 0));
+        }
+        return world;
+    }
+
+    /**
+     * Creates the bodies of a scene (see {@code PBenchmarkScenes#create(String, String, int)}), with the ground first
+     * @return the bodies
+     */
+    public static List<PBody> createBodies(String scene, String shapes, int numBodies) {
+        double spacing;
+        switch (scene) {
+            case RAIN:
+                spacing = BODY_SIZE * 1.5;
+                break;
+            case PILE:
+                spacing = BODY_SIZE - 1;
+                break;
+            case SPARSE:
+                spacing = BODY_SIZE * 8;
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown scene: " + scene);
+        }
+
+        int numColumns = Math.max(1, (int) Math.ceil(Math.sqrt(numBodies)));
+        double width = numColumns * spacing;
+        Random random = new Random(numBodies);
+        PPolygonShape boxShape = PPolygonShape.createBox(BODY_SIZE, BODY_SIZE);
+        PPolygonShape roundShape = createRoundShape(BODY_SIZE / 2);
+
+        List<PBody> bodies = new ArrayList<>(numBodies + 1);
+        if (!SPARSE.equals(scene)) {
+            PPolygon ground = new PPolygon("Ground");
+            ground.setMoveable(false);
+            ground.setShape(PPolygonShape.createBox(width + 2 * BODY_SIZE, BODY_SIZE));
+            ground.move(Vector.of(width / 2, -BODY_SIZE / 2 + 1));
+            bodies.add(ground);
+        }
+
+        for (int i = 0; i < numBodies; i++) {
+            Vector centerPt = Vector.of((i % numColumns + 0.5) * spacing, (i / numColumns + 0.5) * spacing);
+            PBody body = createBody(shapes, i, boxShape, roundShape);
+            body.setMass(10);
+            body.move(centerPt);
+
+            if (RAIN.equals(scene)) {
+                body.setVelocity(Vector.of(0, -200));
+            } else if (PILE.equals(scene)) {
+                // Settling under gravity (the polygon SAT cannot split the overlap of two bodies with no velocity)
+                body.setVelocity(Vector.of(0, -1));
+            } else if (SPARSE.equals(scene)) {
+                body.setVelocity(Vector.of(random.nextDouble() * 20 - 10, random.nextDouble() * 20 - 10));
+            }
+            bodies.add(body);
+        }
+        return bodies;
+    }
+
+    private static PBody createBody(String shapes, int index, PPolygonShape boxShape, PPolygonShape roundShape) {
+        boolean isCircle;
+        PPolygonShape polygonShape = boxShape;
+        switch (shapes) {
+            case CIRCLES:
+                isCircle = true;
+                break;
+            case BOXES:
+                isCircle = false;
+                break;
+            case MIXED:
+                isCircle = index % 2 == 1;
+                break;
+            case ROUND:
+                isCircle = false;
+                polygonShape = roundShape;
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown shapes: " + shapes);
+        }
+
+        if (isCircle) {
+            PCircle circle = new PCircle("Circle " + index);
+            circle.setRadius(BODY_SIZE / 2);
+            return circle;
+        }
+
+        PPolygon polygon = new PPolygon("Polygon " + index);
+        polygon.setShape(polygonShape);
+        return polygon;
+    }
+
+    private static PPolygonShape createRoundShape(double radius) {
+        List<Vector> vertices = new ArrayList<>();
+        for (int i = 0; i < ROUND_NUM_VERTICES; i++) {
+            double angle = 2 * Math.PI * i / ROUND_NUM_VERTICES;
+            vertices.add(Vector.of(radius * Math.cos(angle), radius * Math.sin(angle)));
+        }
+        return new PPolygonShape(vertices);
+    }
+}
@@ -0,0 +1,38 @@
+package com.javaphysicsengine.api;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs all the benchmarks (every class named "*PerfTest") with the GC profiler, which reports the allocation rate
+ * of each benchmark next to its time.
+ *
+ * The usual JMH options can be passed to run part of the suite, or with other parameters:
+ * <pre>
+ *     java -jar api/target/api-2.0-benchmarks.jar                                   // Everything
+ *     java -cp api/target/api-2.0-benchmarks.jar com.javaphysicsengine.api.PPerfSuite PNarrowphase -p numBodies=1000
+ * </pre>
+ */
+public class PPerfSuite {
+
+    public static void main(String[] args) throws RunnerException, CommandLineOptionException {
+        CommandLineOptions commandLineOptions = new CommandLineOptions(args);
+
+        OptionsBuilder optionsBuilder = new OptionsBuilder();
+        optionsBuilder.parent(commandLineOptions);
+        if (commandLineOptions.getIncludes().isEmpty()) {
+            optionsBuilder.include(".*PerfTest.*");
+        }
+
+        Options opt = optionsBuilder
+                .addProfiler(GCProfiler.class)
+                .build();
+
+        new Runner(opt).run();
+    }
+}
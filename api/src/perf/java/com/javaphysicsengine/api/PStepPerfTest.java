@@ -0,0 +1,60 @@
+package com.javaphysicsengine.api;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures one whole step of a world, for each number of bodies, mix of shapes and scene type,
+ * to see how the step scales with the number of bodies
+ */
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class PStepPerfTest {
+
+    @State(Scope.Benchmark)
+    public static class PSceneState {
+
+        @Param({"100", "1000", "10000", "100000"})
+        public int numBodies;
+
+        @Param({PBenchmarkScenes.CIRCLES, PBenchmarkScenes.BOXES, PBenchmarkScenes.MIXED, PBenchmarkScenes.ROUND})
+        public String shapes;
+
+        @Param({PBenchmarkScenes.RAIN, PBenchmarkScenes.PILE, PBenchmarkScenes.SPARSE})
+        public String scene;
+
+        public PWorld pWorld;
+
+        // The scene is re-created for each iteration, so that every iteration measures the same part of the scene
+        @Setup(Level.Iteration)
+        public void setup() {
+            pWorld = PBenchmarkScenes.create(scene, shapes, numBodies);
+        }
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public void measureSimulate_oneStep(PSceneState state, Blackhole blackhole) {
+        state.pWorld.simulate(1 / 60.0);
+        blackhole.consume(state.pWorld);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+
+        Options opt = new OptionsBuilder()
+                .include(PStepPerfTest.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build();
+
+        new Runner(opt).run();
+    }
+}
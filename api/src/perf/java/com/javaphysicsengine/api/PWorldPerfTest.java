@@ -1,9 +1,15 @@
 package com.javaphysicsengine.api;
 
 import com.javaphysicsengine.api.body.PPolygon;
+import com.javaphysicsengine.api.body.PPolygonShape;
+import com.javaphysicsengine.api.broadphase.PDynamicAabbTree;
+import com.javaphysicsengine.api.broadphase.PQuadTreeBroadphase;
+import com.javaphysicsengine.api.broadphase.PSpatialHashGrid;
+import com.javaphysicsengine.api.broadphase.PSweepAndPrune;
 import com.javaphysicsengine.utils.Vector;
 import org.openjdk.jmh.annotations.*;
 import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.profile.GCProfiler;
 import org.openjdk.jmh.runner.Runner;
 import org.openjdk.jmh.runner.RunnerException;
 import org.openjdk.jmh.runner.options.Options;
@@ -18,6 +24,9 @@ public class PWorldPerfTest {
 
         public final static double FPS = 64;
 
+        @Param({"QuadTree", "DynamicAabbTree", "SweepAndPrune", "SpatialHashGrid"})
+        public String broadphase;
+
         public PWorld pWorld;
         public double timeEllapsed;
 
@@ -26,6 +35,21 @@ public class PWorldPerfTest {
             timeEllapsed = (1000.0 / FPS) / 1000.0;
             pWorld = new PWorld();
 
+            switch (broadphase) {
+                case "QuadTree":
+                    pWorld.setBroadphase(new PQuadTreeBroadphase());
+                    break;
+                case "DynamicAabbTree":
+                    pWorld.setBroadphase(new PDynamicAabbTree());
+                    break;
+                case "SweepAndPrune":
+                    pWorld.setBroadphase(new PSweepAndPrune());
+                    break;
+                case "SpatialHashGrid":
+                    pWorld.setBroadphase(new PSpatialHashGrid(40));
+                    break;
+            }
+
             // The walls
             PPolygon ground = new PPolygon("Ground");
             ground.setMoveable(false);
@@ -54,17 +78,14 @@ public class PWorldPerfTest {
             rightWall.computeCenterOfMass();
             pWorld.getBodies().add(rightWall);
 
+            // All the boxes share one shape
+            PPolygonShape boxShape = PPolygonShape.createBox(30, 30);
             for (int i = 0; i < 10; i++) {
                 for (int j = 0; j < 10; j++) {
                     PPolygon box = new PPolygon("Box");
                     box.setMass(10);
-
-                    box.getVertices().add(Vector.of(110 + 40 * i, 110 + 40 * j + 30));
-                    box.getVertices().add(Vector.of(110 + 40 * i + 30, 110 + 40 * j + 30));
-                    box.getVertices().add(Vector.of(110 + 40 * i + 30, 110 + 40 * j + 60));
-                    box.getVertices().add(Vector.of(110 + 40 * i, 110 + 40 * j + 60));
-
-                    box.computeCenterOfMass();
+                    box.setShape(boxShape);
+                    box.move(Vector.of(110 + 40 * i + 15, 110 + 40 * j + 45));
                     pWorld.getBodies().add(box);
                 }
             }
@@ -86,6 +107,7 @@ public class PWorldPerfTest {
 
         Options opt = new OptionsBuilder()
                 .include(PWorldPerfTest.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
                 .forks(1)
                 .build();
 
@@ -0,0 +1,106 @@
+package com.javaphysicsengine.api.broadphase;
+
+import com.javaphysicsengine.api.PBenchmarkScenes;
+import com.javaphysicsengine.api.PQuadTree;
+import com.javaphysicsengine.api.body.PBody;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures building the quad tree, generating the pairs from it, and finding the pairs with each broadphase
+ */
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class PBroadphasePerfTest {
+
+    @State(Scope.Benchmark)
+    public static class PBodiesState {
+
+        @Param({"100", "1000", "10000", "100000"})
+        public int numBodies;
+
+        @Param({PBenchmarkScenes.RAIN, PBenchmarkScenes.PILE, PBenchmarkScenes.SPARSE})
+        public String scene;
+
+        public List<PBody> bodies;
+        public PQuadTree quadTree;
+        public PPairBuffer pairs;
+
+        @Setup(Level.Trial)
+        public void setup() {
+            bodies = PBenchmarkScenes.createBodies(scene, PBenchmarkScenes.MIXED, numBodies);
+            quadTree = new PQuadTree(bodies);
+            pairs = new PPairBuffer();
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class PBroadphaseState {
+
+        @Param({"QuadTree", "DynamicAabbTree", "SweepAndPrune", "SpatialHashGrid"})
+        public String broadphaseName;
+
+        public PBroadphase broadphase;
+
+        @Setup(Level.Trial)
+        public void setup() {
+            switch (broadphaseName) {
+                case "QuadTree":
+                    broadphase = new PQuadTreeBroadphase();
+                    break;
+                case "DynamicAabbTree":
+                    broadphase = new PDynamicAabbTree();
+                    break;
+                case "SweepAndPrune":
+                    broadphase = new PSweepAndPrune();
+                    break;
+                case "SpatialHashGrid":
+                    broadphase = new PSpatialHashGrid(40);
+                    break;
+            }
+        }
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public void measureQuadTree_construction(PBodiesState state, Blackhole blackhole) {
+        blackhole.consume(new PQuadTree(state.bodies));
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public void measureQuadTree_pairGeneration(PBodiesState state, Blackhole blackhole) {
+        state.quadTree.getPotentialIntersectingBodies(state.pairs);
+        blackhole.consume(state.pairs.size());
+    }
+
+    // The bodies do not move, so the incremental broadphases are measured when they have nothing to update
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public void measureFindPotentialIntersectingBodies(PBodiesState state, PBroadphaseState broadphaseState, Blackhole blackhole) {
+        broadphaseState.broadphase.findPotentialIntersectingBodies(state.bodies, state.pairs);
+        blackhole.consume(state.pairs.size());
+    }
+
+    public static void main(String[] args) throws RunnerException {
+
+        Options opt = new OptionsBuilder()
+                .include(PBroadphasePerfTest.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build();
+
+        new Runner(opt).run();
+    }
+}
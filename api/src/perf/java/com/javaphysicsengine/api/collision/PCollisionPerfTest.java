@@ -0,0 +1,139 @@
+package com.javaphysicsengine.api.collision;
+
+import com.javaphysicsengine.api.body.PCircle;
+import com.javaphysicsengine.api.body.PPolygon;
+import com.javaphysicsengine.utils.Vector;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+public class PCollisionPerfTest {
+
+    @State(Scope.Benchmark)
+    public static class PRoundPolygonsState {
+
+        @Param({"6", "16", "64"})
+        public int numVertices;
+
+        public PPolygon overlappingPolygon1;
+        public PPolygon overlappingPolygon2;
+        public PPolygon separatedPolygon;
+        public PCircle circle;
+        public PCircle overlappingCircle;
+
+        @Setup(Level.Trial)
+        public void setup() {
+            overlappingPolygon1 = createRegularPolygon(0, 0, 50);
+            overlappingPolygon2 = createRegularPolygon(85, 20, 50);
+            separatedPolygon = createRegularPolygon(110, 20, 50);
+
+            circle = new PCircle("Circle");
+            circle.setRadius(30);
+            circle.setCenterPt(Vector.of(70, 10));
+            circle.setVelocity(Vector.of(0, -1));
+
+            overlappingCircle = new PCircle("Overlapping Circle");
+            overlappingCircle.setRadius(30);
+            overlappingCircle.setCenterPt(Vector.of(110, 30));
+            overlappingCircle.setVelocity(Vector.of(-1, 0));
+        }
+
+        private PPolygon createRegularPolygon(double centerX, double centerY, double radius) {
+            PPolygon polygon = new PPolygon("Polygon");
+            for (int i = 0; i < numVertices; i++) {
+                double angle = 2 * Math.PI * i / numVertices;
+                polygon.getVertices().add(Vector.of(centerX + radius * Math.cos(angle), centerY + radius * Math.sin(angle)));
+            }
+            polygon.computeCenterOfMass();
+            polygon.setVelocity(Vector.of(1, 0));
+            return polygon;
+        }
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public void measureSat_onOverlappingPolygons(PRoundPolygonsState state, Blackhole blackhole) {
+        blackhole.consume(PPolyPolyCollision.doBodiesCollide(state.overlappingPolygon1, state.overlappingPolygon2));
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public void measureGjk_onOverlappingPolygons(PRoundPolygonsState state, Blackhole blackhole) {
+        blackhole.consume(PGjkCollision.doBodiesCollide(state.overlappingPolygon1, state.overlappingPolygon2));
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public void measureSat_onSeparatedPolygons(PRoundPolygonsState state, Blackhole blackhole) {
+        blackhole.consume(PPolyPolyCollision.doBodiesCollide(state.overlappingPolygon1, state.separatedPolygon));
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public void measureGjk_onSeparatedPolygons(PRoundPolygonsState state, Blackhole blackhole) {
+        blackhole.consume(PGjkCollision.doBodiesCollide(state.overlappingPolygon1, state.separatedPolygon));
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public void measureSat_onCircleAndPolygon(PRoundPolygonsState state, Blackhole blackhole) {
+        blackhole.consume(PCirclePolyCollision.doBodiesCollide(state.circle, state.overlappingPolygon1));
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public void measureGjk_onCircleAndPolygon(PRoundPolygonsState state, Blackhole blackhole) {
+        blackhole.consume(PGjkCollision.doBodiesCollide(state.circle, state.overlappingPolygon1));
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public void measureCircleCircle_onOverlappingCircles(PRoundPolygonsState state, Blackhole blackhole) {
+        blackhole.consume(PCircleCircleCollision.doBodiesCollide(state.circle, state.overlappingCircle));
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public void measureBoxBox_onPolygonBoundingBoxes(PRoundPolygonsState state, Blackhole blackhole) {
+        blackhole.consume(PBoxBoxCollision.doBodiesCollide(state.overlappingPolygon1.getBoundingBox(), state.overlappingPolygon2.getBoundingBox()));
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public void measureBoxBox_onCircleAndPolygonBoundingBox(PRoundPolygonsState state, Blackhole blackhole) {
+        blackhole.consume(PBoxBoxCollision.doBodiesCollide(state.circle, state.overlappingPolygon1.getBoundingBox()));
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public void measureDispatcher_onOverlappingPolygons(PRoundPolygonsState state, Blackhole blackhole) {
+        blackhole.consume(PCollisionDispatcher.getDefault().collide(state.overlappingPolygon1, state.overlappingPolygon2));
+    }
+
+    public static void main(String[] args) throws RunnerException {
+
+        Options opt = new OptionsBuilder()
+                .include(PCollisionPerfTest.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .forks(1)
+                .build();
+
+        new Runner(opt).run();
+    }
+}
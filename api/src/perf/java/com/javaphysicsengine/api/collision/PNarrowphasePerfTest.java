@@ -0,0 +1,71 @@
+package com.javaphysicsengine.api.collision;
+
+import com.javaphysicsengine.api.PBenchmarkScenes;
+import com.javaphysicsengine.api.body.PBody;
+import com.javaphysicsengine.api.broadphase.PPairBuffer;
+import com.javaphysicsengine.api.broadphase.PSweepAndPrune;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures testing all the pairs from the broadphase for collisions, with SAT and with GJK
+ */
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class PNarrowphasePerfTest {
+
+    @State(Scope.Benchmark)
+    public static class PPairsState {
+
+        @Param({"100", "1000", "10000", "100000"})
+        public int numBodies;
+
+        @Param({PBenchmarkScenes.CIRCLES, PBenchmarkScenes.BOXES, PBenchmarkScenes.MIXED, PBenchmarkScenes.ROUND})
+        public String shapes;
+
+        @Param({"false", "true"})
+        public boolean isGjkEnabled;
+
+        public List<PBody> bodies;
+        public PPairBuffer pairs;
+        public PNarrowphase narrowphase;
+
+        // A resting pile, where nearly every pair from the broadphase is colliding
+        @Setup(Level.Trial)
+        public void setup() {
+            bodies = PBenchmarkScenes.createBodies(PBenchmarkScenes.PILE, shapes, numBodies);
+            pairs = new PPairBuffer();
+            new PSweepAndPrune().findPotentialIntersectingBodies(bodies, pairs);
+
+            narrowphase = new PNarrowphase();
+            narrowphase.setGjkEnabled(isGjkEnabled);
+        }
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public void measureFindCollisions(PPairsState state, Blackhole blackhole) {
+        state.narrowphase.findCollisions(state.bodies, state.pairs);
+        blackhole.consume(state.narrowphase);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+
+        Options opt = new OptionsBuilder()
+                .include(PNarrowphasePerfTest.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build();
+
+        new Runner(opt).run();
+    }
+}
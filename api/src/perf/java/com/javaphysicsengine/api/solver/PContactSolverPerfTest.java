@@ -0,0 +1,86 @@
+package com.javaphysicsengine.api.solver;
+
+import com.javaphysicsengine.api.PBenchmarkScenes;
+import com.javaphysicsengine.api.body.PBody;
+import com.javaphysicsengine.api.broadphase.PPairBuffer;
+import com.javaphysicsengine.api.broadphase.PSweepAndPrune;
+import com.javaphysicsengine.api.collision.PContactManifold;
+import com.javaphysicsengine.api.collision.PNarrowphase;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures solving the contacts of a resting pile, which is mostly spent applying the impulses of each contact
+ * to its bodies over the solver's iterations
+ */
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class PContactSolverPerfTest {
+
+    @State(Scope.Benchmark)
+    public static class PContactsState {
+
+        @Param({"100", "1000", "10000", "100000"})
+        public int numBodies;
+
+        @Param({PBenchmarkScenes.CIRCLES, PBenchmarkScenes.BOXES, PBenchmarkScenes.MIXED})
+        public String shapes;
+
+        public List<PContactManifold> manifolds;
+        public PContactSolver contactSolver;
+
+        // The velocities of the bodies change every time the contacts are solved, so they are reset for each iteration
+        @Setup(Level.Iteration)
+        public void setup() {
+            List<PBody> bodies = PBenchmarkScenes.createBodies(PBenchmarkScenes.PILE, shapes, numBodies);
+            PPairBuffer pairs = new PPairBuffer();
+            new PSweepAndPrune().findPotentialIntersectingBodies(bodies, pairs);
+
+            PNarrowphase narrowphase = new PNarrowphase();
+            narrowphase.findCollisions(bodies, pairs);
+
+            manifolds = new ArrayList<>();
+            for (int i = 0; i < pairs.size(); i++) {
+                if (narrowphase.getResult(i) != null) {
+                    manifolds.add(narrowphase.getManifold(i));
+                }
+            }
+
+            contactSolver = new PContactSolver();
+        }
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public void measureSolve_onRestingPile(PContactsState state, Blackhole blackhole) {
+        PContactSolver contactSolver = state.contactSolver;
+        contactSolver.beginStep();
+        for (PContactManifold manifold : state.manifolds) {
+            contactSolver.addManifold(manifold);
+        }
+        contactSolver.solve();
+
+        blackhole.consume(contactSolver);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+
+        Options opt = new OptionsBuilder()
+                .include(PContactSolverPerfTest.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build();
+
+        new Runner(opt).run();
+    }
+}
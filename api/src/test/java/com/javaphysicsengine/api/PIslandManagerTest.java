@@ -0,0 +1,88 @@
+package com.javaphysicsengine.api;
+
+import com.javaphysicsengine.api.body.PBody;
+import com.javaphysicsengine.api.body.PCircle;
+import com.javaphysicsengine.api.body.PSpring;
+import com.javaphysicsengine.utils.Vector;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+public class PIslandManagerTest {
+
+    private PIslandManager islandManager;
+    private List<PBody> bodies;
+
+    @Before
+    public void setup() {
+        islandManager = new PIslandManager();
+        islandManager.setTimeToSleep(0.5);
+
+        bodies = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            PCircle circle = new PCircle("Circle " + i);
+            circle.setCenterPt(Vector.of(i * 10, 0));
+            bodies.add(circle);
+        }
+        islandManager.reset(bodies);
+    }
+
+    @Test
+    public void addContact_should_put_bodies_in_same_island() {
+        islandManager.addContact(0, 1);
+        islandManager.addContact(1, 2);
+
+        assertEquals(islandManager.getIsland(0), islandManager.getIsland(2));
+        assertNotEquals(islandManager.getIsland(0), islandManager.getIsland(3));
+    }
+
+    @Test
+    public void addContact_should_not_link_bodies_through_static_bodies() {
+        bodies.get(1).setMoveable(false);
+        islandManager.addContact(0, 1);
+        islandManager.addContact(1, 2);
+
+        assertNotEquals(islandManager.getIsland(0), islandManager.getIsland(2));
+    }
+
+    @Test
+    public void addConstraint_should_put_attached_bodies_in_same_island() {
+        islandManager.addConstraint(new PSpring(bodies.get(0), bodies.get(3)));
+
+        assertEquals(islandManager.getIsland(0), islandManager.getIsland(3));
+    }
+
+    @Test
+    public void updateSleep_should_put_resting_bodies_to_sleep_after_time_to_sleep() {
+        islandManager.updateSleep(0.3);
+        assertTrue(bodies.get(0).isAwake());
+
+        islandManager.updateSleep(0.3);
+        for (PBody body : bodies) {
+            assertFalse(body.isAwake());
+        }
+    }
+
+    @Test
+    public void updateSleep_should_keep_island_awake_while_one_of_its_bodies_is_moving() {
+        bodies.get(2).setVelocity(Vector.of(100, 0));
+
+        for (int i = 0; i < 10; i++) {
+            islandManager.reset(bodies);
+            islandManager.addContact(1, 2);
+            islandManager.updateSleep(0.1);
+        }
+
+        assertTrue(bodies.get(1).isAwake());
+        assertTrue(bodies.get(2).isAwake());
+        assertFalse(bodies.get(0).isAwake());
+        assertFalse(bodies.get(3).isAwake());
+    }
+}
@@ -5,18 +5,28 @@ import com.javaphysicsengine.api.body.PCircle;
 import com.javaphysicsengine.api.body.PConstraints;
 import com.javaphysicsengine.api.body.PPolygon;
 import com.javaphysicsengine.api.body.PSpring;
+import com.javaphysicsengine.api.metrics.PStepMetrics;
+import com.javaphysicsengine.api.metrics.PStepRecorder;
+import com.javaphysicsengine.api.render.PContactBuffer;
 import com.javaphysicsengine.utils.Vector;
 import org.junit.Before;
 import org.junit.Test;
+import org.mockito.InOrder;
 
 import java.awt.Graphics;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
 import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyInt;
 import static org.mockito.Matchers.eq;
 import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.spy;
 import static org.mockito.Mockito.times;
@@ -67,6 +77,203 @@ public class PWorldTest {
         }
     }
 
+    @Test
+    public void simulate_should_put_resting_bodies_to_sleep() {
+        PWorld world = new PWorld();
+        PPolygon box = createBoxOnGround(world);
+
+        for (int i = 0; i < 120; i++) {
+            world.simulate(1 / 60.0);
+        }
+
+        assertFalse(box.isAwake());
+        assertEquals(Vector.of(0, 0), box.getVelocity());
+    }
+
+    @Test
+    public void simulate_should_not_move_sleeping_bodies() {
+        PWorld world = new PWorld();
+        PPolygon box = createBoxOnGround(world);
+        box.setAwake(false);
+        Vector centerPt = new Vector(box.getCenterPt());
+
+        world.simulate(1 / 60.0);
+
+        assertFalse(box.isAwake());
+        assertEquals(centerPt, box.getCenterPt());
+    }
+
+    @Test
+    public void simulate_should_wake_up_sleeping_bodies_that_are_hit() {
+        PWorld world = new PWorld();
+        PPolygon box = createBoxOnGround(world);
+        box.setAwake(false);
+
+        PPolygon fallingBox = new PPolygon("Falling box");
+        fallingBox.getVertices().addAll(Arrays.asList(Vector.of(200, 44), Vector.of(200, 64), Vector.of(220, 64), Vector.of(220, 44)));
+        fallingBox.computeCenterOfMass();
+        fallingBox.setVelocity(Vector.of(0, -100));
+        world.getBodies().add(fallingBox);
+
+        for (int i = 0; i < 10 && !box.isAwake(); i++) {
+            world.simulate(1 / 60.0);
+        }
+
+        assertTrue(box.isAwake());
+    }
+
+    @Test
+    public void simulate_should_keep_bodies_awake_when_sleeping_is_disabled() {
+        PWorld world = new PWorld();
+        world.setSleepingEnabled(false);
+        PPolygon box = createBoxOnGround(world);
+
+        for (int i = 0; i < 120; i++) {
+            world.simulate(1 / 60.0);
+        }
+
+        assertTrue(box.isAwake());
+    }
+
+    @Test
+    public void step_should_run_fixed_steps_and_carry_left_over_time() {
+        PWorld world = new PWorld();
+        world.setFixedTimeStep(0.01);
+
+        assertEquals(2, world.step(0.025));
+        assertEquals(0.5, world.getInterpolationAlpha(), 1e-9);
+
+        // The left over half step makes up a full step with this one
+        assertEquals(1, world.step(0.005));
+        assertEquals(0, world.getInterpolationAlpha(), 1e-9);
+    }
+
+    @Test
+    public void step_should_not_run_more_than_max_sub_steps() {
+        PWorld world = new PWorld();
+        world.setFixedTimeStep(0.01);
+        world.setMaxSubSteps(3);
+
+        assertEquals(3, world.step(1));
+
+        // The time that did not fit was dropped
+        assertEquals(0, world.step(0.001));
+    }
+
+    @Test
+    public void getInterpolatedCenterPt_should_be_between_last_two_steps() {
+        PWorld world = new PWorld();
+        world.setFixedTimeStep(0.01);
+        PCircle circle = new PCircle("");
+        circle.setRadius(1);
+        circle.setVelocity(Vector.of(100, 0));
+        world.getBodies().add(circle);
+
+        world.step(0.0125);
+        double currentX = circle.getCenterPt().getX();
+        double previousX = currentX - 100 * 0.01;
+
+        Vector interpolatedCenterPt = world.getInterpolatedCenterPt(0, new Vector(0, 0));
+        assertEquals(previousX + (currentX - previousX) * 0.25, interpolatedCenterPt.getX(), 1e-6);
+    }
+
+    @Test
+    public void simulate_should_not_record_contacts_by_default() {
+        PWorld world = new PWorld();
+        createBoxOnGround(world);
+        world.simulate(1 / 60.0);
+
+        assertFalse(world.isContactRecordingEnabled());
+        assertNull(world.getContactBuffer());
+    }
+
+    @Test
+    public void simulate_should_record_contacts_in_bounded_buffer_when_enabled() {
+        PWorld world = new PWorld();
+        world.setContactRecordingEnabled(true);
+        world.setSleepingEnabled(false);
+        createBoxOnGround(world);
+
+        for (int i = 0; i < 1000; i++) {
+            world.simulate(1 / 60.0);
+        }
+
+        PContactBuffer buffer = world.getContactBuffer();
+        assertTrue(buffer.getWriteCount() > buffer.getCapacity());
+        assertEquals(buffer.getCapacity(), buffer.size());
+
+        PContactBuffer.Snapshot contacts = buffer.snapshot(new PContactBuffer.Snapshot());
+        assertEquals(world.getStepCount(), contacts.getStep(contacts.size() - 1));
+        assertTrue(contacts.getDepth(contacts.size() - 1) >= 0);
+    }
+
+    @Test
+    public void simulate_should_record_contacts_in_buffer_of_chosen_capacity() {
+        PWorld world = new PWorld();
+        world.setContactBuffer(new PContactBuffer(8));
+        world.setSleepingEnabled(false);
+        createBoxOnGround(world);
+
+        for (int i = 0; i < 100; i++) {
+            world.simulate(1 / 60.0);
+        }
+
+        assertTrue(world.isContactRecordingEnabled());
+        assertEquals(8, world.getContactBuffer().getCapacity());
+        assertEquals(8, world.getContactBuffer().size());
+    }
+
+    @Test
+    public void simulate_should_use_gravity_of_world() {
+        PWorld moonWorld = new PWorld();
+        moonWorld.setGravity(Vector.of(0, -1.62));
+        PCircle moonCircle = new PCircle("");
+        moonCircle.setRadius(1);
+        moonWorld.getBodies().add(moonCircle);
+
+        PWorld earthWorld = new PWorld();
+        PCircle earthCircle = new PCircle("");
+        earthCircle.setRadius(1);
+        earthWorld.getBodies().add(earthCircle);
+
+        moonWorld.simulate(1);
+        earthWorld.simulate(1);
+
+        assertEquals(-1.62, moonCircle.getVelocity().getY(), 1e-9);
+        assertEquals(-9.81, earthCircle.getVelocity().getY(), 1e-9);
+    }
+
+    @Test
+    public void simulate_should_tell_step_recorder_about_each_phase_in_order() {
+        PWorld world = new PWorld();
+        createBoxOnGround(world);
+        PStepRecorder recorder = mock(PStepRecorder.class);
+        world.setStepRecorder(recorder);
+        world.simulate(0.01);
+
+        InOrder inOrder = inOrder(recorder);
+        inOrder.verify(recorder).beginStep(1, 2);
+        for (int phase = 0; phase < PStepMetrics.PHASE_COUNT; phase++) {
+            inOrder.verify(recorder).endPhase(phase);
+        }
+        inOrder.verify(recorder).endStep(anyInt(), anyInt(), anyInt(), anyInt());
+    }
+
+    private static PPolygon createBoxOnGround(PWorld world) {
+        PPolygon ground = new PPolygon("Ground");
+        ground.getVertices().addAll(Arrays.asList(Vector.of(0, 0), Vector.of(0, 20), Vector.of(500, 20), Vector.of(500, 0)));
+        ground.computeCenterOfMass();
+        ground.setMoveable(false);
+
+        PPolygon box = new PPolygon("Box");
+        box.getVertices().addAll(Arrays.asList(Vector.of(200, 20), Vector.of(200, 40), Vector.of(220, 40), Vector.of(220, 20)));
+        box.computeCenterOfMass();
+
+        world.getBodies().add(ground);
+        world.getBodies().add(box);
+        return box;
+    }
+
     private static PPolygon createPPolygon(List<Vector> vertices) {
         PPolygon polygon = spy(new PPolygon(""));
         polygon.getVertices().addAll(vertices);
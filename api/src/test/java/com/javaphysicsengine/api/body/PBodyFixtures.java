@@ -0,0 +1,44 @@
+package com.javaphysicsengine.api.body;
+
+import com.javaphysicsengine.utils.Vector;
+
+/**
+ * Creates the bodies used by the tests, standing still unless the tests give them a velocity
+ */
+public final class PBodyFixtures {
+
+    private PBodyFixtures() {
+    }
+
+    /**
+     * Creates an axis-aligned box
+     * @param minX the left side of the box
+     * @param minY the bottom side of the box
+     * @param maxX the right side of the box
+     * @param maxY the top side of the box
+     * @return the box
+     */
+    public static PPolygon createBox(double minX, double minY, double maxX, double maxY) {
+        PPolygon polygon = new PPolygon("");
+        polygon.getVertices().add(Vector.of(minX, minY));
+        polygon.getVertices().add(Vector.of(maxX, minY));
+        polygon.getVertices().add(Vector.of(maxX, maxY));
+        polygon.getVertices().add(Vector.of(minX, maxY));
+        polygon.computeCenterOfMass();
+        return polygon;
+    }
+
+    /**
+     * Creates a circle
+     * @param centerX the x coordinate of the center of the circle
+     * @param centerY the y coordinate of the center of the circle
+     * @param radius the radius of the circle
+     * @return the circle
+     */
+    public static PCircle createCircle(double centerX, double centerY, double radius) {
+        PCircle circle = new PCircle("");
+        circle.setCenterPt(Vector.of(centerX, centerY));
+        circle.setRadius(radius);
+        return circle;
+    }
+}
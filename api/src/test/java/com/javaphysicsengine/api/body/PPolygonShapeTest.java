@@ -0,0 +1,77 @@
+package com.javaphysicsengine.api.body;
+
+import com.javaphysicsengine.utils.Vector;
+import org.junit.Test;
+
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+public class PPolygonShapeTest {
+
+    @Test
+    public void createBox_should_compute_area_inertia_and_bounds() {
+        PPolygonShape shape = PPolygonShape.createBox(30, 20);
+
+        assertEquals(4, shape.getVertexCount());
+        assertEquals(600, shape.getArea(), 1e-9);
+        assertEquals((30 * 30 + 20 * 20) / 12.0, shape.getInertia(), 1e-9);
+        assertEquals(-15, shape.getMinX(), 0);
+        assertEquals(-10, shape.getMinY(), 0);
+        assertEquals(15, shape.getMaxX(), 0);
+        assertEquals(10, shape.getMaxY(), 0);
+    }
+
+    @Test
+    public void createBox_should_compute_unit_normal_of_each_edge() {
+        PPolygonShape shape = PPolygonShape.createBox(30, 20);
+
+        assertEquals(0, shape.getNormalX(0), 1e-9);
+        assertEquals(-1, shape.getNormalY(0), 1e-9);
+        assertEquals(1, shape.getNormalX(1), 1e-9);
+        assertEquals(0, shape.getNormalY(1), 1e-9);
+    }
+
+    @Test
+    public void setShape_should_place_shared_shape_at_each_polygon() {
+        PPolygonShape shape = PPolygonShape.createBox(10, 10);
+
+        PPolygon polygon1 = new PPolygon("");
+        polygon1.setShape(shape);
+        polygon1.move(Vector.of(5, 5));
+
+        PPolygon polygon2 = new PPolygon("");
+        polygon2.setShape(shape);
+        polygon2.move(Vector.of(100, 0));
+        polygon2.rotate(Math.PI / 2);
+
+        assertSame(polygon1.getShape(), polygon2.getShape());
+
+        List<Vector> vertices1 = polygon1.getVertices();
+        assertEquals(Vector.of(0, 0), vertices1.get(0));
+        assertEquals(Vector.of(10, 10), vertices1.get(2));
+        assertEquals(10, polygon1.getBoundingBox().getMaxX(), 1e-9);
+
+        List<Vector> vertices2 = polygon2.getVertices();
+        assertEquals(Vector.of(105, -5), vertices2.get(0));
+        assertEquals(Vector.of(95, 5), vertices2.get(2));
+        assertEquals(1, polygon2.getEdgeNormals().get(0).getX(), 1e-9);
+    }
+
+    @Test
+    public void copy_constructor_should_share_shape_of_existing_polygon() {
+        PPolygon polygon = new PPolygon("");
+        polygon.getVertices().add(Vector.of(0, 0));
+        polygon.getVertices().add(Vector.of(10, 0));
+        polygon.getVertices().add(Vector.of(10, 10));
+        polygon.computeCenterOfMass();
+
+        PPolygon copy = new PPolygon(polygon);
+        polygon.translate(Vector.of(50, 0));
+
+        assertSame(polygon.getShape(), copy.getShape());
+        assertEquals(Vector.of(0, 0), copy.getVertices().get(0));
+        assertEquals(Vector.of(50, 0), polygon.getVertices().get(0));
+    }
+}
@@ -109,6 +109,81 @@ public class PPolygonTest {
         assertEquals(5, polygon.getCenterPt().getY(), 0.00001);
     }
 
+    @Test
+    public void getEdgeNormals_should_return_unit_normal_of_each_edge() {
+        List<Vector> normals = polygon.getEdgeNormals();
+
+        assertEquals(4, normals.size());
+        assertEquals(Vector.of(0, -1), normals.get(0));
+        assertEquals(Vector.of(1, 0), normals.get(1));
+        assertEquals(Vector.of(0, 1), normals.get(2));
+        assertEquals(Vector.of(-1, 0), normals.get(3));
+    }
+
+    @Test
+    public void getEdgeNormals_should_be_updated_when_polygon_rotates_but_not_when_it_translates() {
+        polygon.translate(Vector.of(100, 50));
+        assertEquals(Vector.of(0, -1), polygon.getEdgeNormals().get(0));
+
+        polygon.rotate(Math.PI / 2);
+        assertEquals(1, polygon.getEdgeNormals().get(0).getX(), 0.00001);
+        assertEquals(0, polygon.getEdgeNormals().get(0).getY(), 0.00001);
+    }
+
+    @Test
+    public void getVertexX_and_getNormalX_should_match_vertices_and_normals_after_polygon_moves() {
+        polygon.rotate(Math.PI / 3);
+        polygon.translate(Vector.of(20, -5));
+        polygon.updateTransform();
+
+        List<Vector> vertices = polygon.getVertices();
+        List<Vector> normals = polygon.getEdgeNormals();
+        assertEquals(4, polygon.getVertexCount());
+        for (int i = 0; i < polygon.getVertexCount(); i++) {
+            assertEquals(vertices.get(i).getX(), polygon.getVertexX(i), 0);
+            assertEquals(vertices.get(i).getY(), polygon.getVertexY(i), 0);
+            assertEquals(normals.get(i).getX(), polygon.getNormalX(i), 0);
+            assertEquals(normals.get(i).getY(), polygon.getNormalY(i), 0);
+        }
+    }
+
+    @Test
+    public void rotate_should_not_drift_after_many_small_rotations() {
+        for (int i = 1; i <= 1000; i++) {
+            polygon.rotate(i * 2 * Math.PI / 1000);
+            polygon.getVertices();
+        }
+
+        List<Vector> vertices = polygon.getVertices();
+        assertEquals(0, vertices.get(0).getX(), 1e-9);
+        assertEquals(0, vertices.get(0).getY(), 1e-9);
+        assertEquals(10, vertices.get(2).getX(), 1e-9);
+        assertEquals(10, vertices.get(2).getY(), 1e-9);
+    }
+
+    @Test
+    public void getInertia_should_be_inertia_of_shape_times_mass() {
+        polygon.setMass(3);
+        polygon.rotate(Math.PI / 4);
+        polygon.translate(Vector.of(10, 0));
+
+        // A 10 x 10 box has a moment of inertia of (10^2 + 10^2) / 12 per unit of mass, wherever it is
+        assertEquals(3 * (10 * 10 + 10 * 10) / 12.0, polygon.getInertia(), 0.00001);
+    }
+
+    @Test
+    public void getBoundingBox_should_follow_center_point_and_angle() {
+        polygon.rotate(Math.PI / 4);
+        polygon.translate(Vector.of(10, 0));
+        polygon.move(Vector.of(105, 5));
+
+        PBoundingBox polygonBoundingBox = polygon.getBoundingBox();
+        assertEquals(105 - 5 * Math.sqrt(2), polygonBoundingBox.getMinX(), 0.00001);
+        assertEquals(105 + 5 * Math.sqrt(2), polygonBoundingBox.getMaxX(), 0.00001);
+        assertEquals(5 - 5 * Math.sqrt(2), polygonBoundingBox.getMinY(), 0.00001);
+        assertEquals(5 + 5 * Math.sqrt(2), polygonBoundingBox.getMaxY(), 0.00001);
+    }
+
     @Test
     public void rotate_should_not_incrementally_rotate_polygon() {
         polygon.rotate(0.174533);
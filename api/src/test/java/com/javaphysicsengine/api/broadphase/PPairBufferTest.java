@@ -0,0 +1,63 @@
+package com.javaphysicsengine.api.broadphase;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class PPairBufferTest {
+
+    private PPairBuffer buffer;
+
+    @Before
+    public void setup() {
+        buffer = new PPairBuffer(2);
+    }
+
+    @Test
+    public void add_should_store_the_smaller_body_index_first() {
+        buffer.add(7, 3);
+
+        assertEquals(1, buffer.size());
+        assertEquals(3, buffer.getFirstBody(0));
+        assertEquals(7, buffer.getSecondBody(0));
+    }
+
+    @Test
+    public void add_should_skip_duplicate_pairs() {
+        assertTrue(buffer.add(1, 2));
+        assertFalse(buffer.add(2, 1));
+        assertFalse(buffer.add(1, 2));
+
+        assertEquals(1, buffer.size());
+    }
+
+    @Test
+    public void add_should_grow_the_buffer() {
+        for (int i = 0; i < 100; i++) {
+            buffer.add(i, i + 1);
+        }
+
+        assertEquals(100, buffer.size());
+        for (int i = 0; i < 100; i++) {
+            assertEquals(i, buffer.getFirstBody(i));
+            assertEquals(i + 1, buffer.getSecondBody(i));
+        }
+    }
+
+    @Test
+    public void clear_should_remove_all_pairs() {
+        buffer.add(1, 2);
+        buffer.clear();
+
+        assertEquals(0, buffer.size());
+        assertTrue(buffer.add(1, 2));
+    }
+
+    @Test
+    public void getPairKey_should_not_depend_on_the_order_of_the_bodies() {
+        assertEquals(PPairBuffer.getPairKey(4, 9), PPairBuffer.getPairKey(9, 4));
+    }
+}
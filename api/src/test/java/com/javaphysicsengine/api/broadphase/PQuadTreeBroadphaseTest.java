@@ -0,0 +1,90 @@
+package com.javaphysicsengine.api.broadphase;
+
+import com.javaphysicsengine.api.body.PBody;
+import com.javaphysicsengine.api.collision.PBoxBoxCollision;
+import com.javaphysicsengine.utils.Vector;
+import org.javatuples.Pair;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static com.javaphysicsengine.api.body.PBodyFixtures.createCircle;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class PQuadTreeBroadphaseTest {
+
+    private PQuadTreeBroadphase broadphase;
+    private List<PBody> bodies;
+    private Random random;
+
+    @Before
+    public void setup() {
+        broadphase = new PQuadTreeBroadphase();
+        random = new Random(1234);
+
+        bodies = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            bodies.add(createCircle(random.nextDouble() * 1000, random.nextDouble() * 1000, 5 + random.nextDouble() * 20));
+        }
+    }
+
+    @Test
+    public void findPotentialIntersectingBodies_should_contain_all_overlapping_pairs() {
+        assertContainsAllOverlappingPairs(findPairs(bodies));
+    }
+
+    @Test
+    public void findPotentialIntersectingBodies_should_contain_all_overlapping_pairs_after_bodies_move() {
+        findPairs(bodies);
+
+        for (int step = 0; step < 20; step++) {
+            for (PBody body : bodies) {
+                body.translate(Vector.of(random.nextDouble() * 20 - 10, random.nextDouble() * 20 - 10));
+            }
+            assertContainsAllOverlappingPairs(findPairs(bodies));
+        }
+    }
+
+    @Test
+    public void findPotentialIntersectingBodies_should_only_use_the_current_bodies() {
+        findPairs(bodies);
+
+        // The tree re-uses the nodes of the bigger world, which should not leak into the smaller one
+        bodies = new ArrayList<>(bodies.subList(0, 50));
+        for (Pair<PBody, PBody> pair : findPairs(bodies)) {
+            assertTrue(bodies.contains(pair.getValue0()) && bodies.contains(pair.getValue1()));
+        }
+        assertContainsAllOverlappingPairs(findPairs(bodies));
+    }
+
+    private void assertContainsAllOverlappingPairs(Set<Pair<PBody, PBody>> pairs) {
+        for (int i = 0; i < bodies.size(); i++) {
+            for (int j = i + 1; j < bodies.size(); j++) {
+                if (PBoxBoxCollision.doBodiesCollide(bodies.get(i).getBoundingBox(), bodies.get(j).getBoundingBox())) {
+                    assertTrue(pairs.contains(new Pair<>(bodies.get(i), bodies.get(j))));
+                }
+            }
+        }
+    }
+
+    private Set<Pair<PBody, PBody>> findPairs(List<PBody> bodies) {
+        PPairBuffer buffer = new PPairBuffer();
+        broadphase.findPotentialIntersectingBodies(bodies, buffer);
+
+        Set<Pair<PBody, PBody>> pairs = new HashSet<>();
+        for (int i = 0; i < buffer.size(); i++) {
+            pairs.add(new Pair<>(bodies.get(buffer.getFirstBody(i)), bodies.get(buffer.getSecondBody(i))));
+        }
+
+        // Each pair should only be reported once
+        assertEquals(buffer.size(), pairs.size());
+        return pairs;
+    }
+
+}
@@ -0,0 +1,93 @@
+package com.javaphysicsengine.api.broadphase;
+
+import com.javaphysicsengine.api.body.PBody;
+import com.javaphysicsengine.api.body.PPolygon;
+import com.javaphysicsengine.api.collision.PBoxBoxCollision;
+import com.javaphysicsengine.utils.Vector;
+import org.javatuples.Pair;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static com.javaphysicsengine.api.body.PBodyFixtures.createCircle;
+import static org.junit.Assert.assertEquals;
+
+public class PSpatialHashGridTest {
+
+    private PSpatialHashGrid grid;
+    private List<PBody> bodies;
+    private Random random;
+
+    @Before
+    public void setup() {
+        random = new Random(2468);
+        grid = new PSpatialHashGrid(20);
+
+        bodies = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            bodies.add(createCircle(random.nextDouble() * 600 - 300, random.nextDouble() * 600 - 300, 8 + random.nextDouble() * 4));
+        }
+    }
+
+    @Test
+    public void findPotentialIntersectingBodies_should_return_the_overlapping_pairs() {
+        assertEquals(getOverlappingPairs(), findPairs(bodies));
+    }
+
+    @Test
+    public void findPotentialIntersectingBodies_should_return_the_overlapping_pairs_with_bodies_bigger_than_a_cell() {
+        PPolygon ground = new PPolygon("Ground");
+        ground.getVertices().add(Vector.of(-300, -300));
+        ground.getVertices().add(Vector.of(300, -300));
+        ground.getVertices().add(Vector.of(300, -250));
+        ground.getVertices().add(Vector.of(-300, -250));
+        ground.computeCenterOfMass();
+        bodies.add(ground);
+
+        assertEquals(getOverlappingPairs(), findPairs(bodies));
+    }
+
+    @Test
+    public void findPotentialIntersectingBodies_should_update_the_pairs_when_bodies_move() {
+        findPairs(bodies);
+
+        for (int step = 0; step < 10; step++) {
+            for (PBody body : bodies) {
+                body.translate(Vector.of(random.nextDouble() * 10 - 5, random.nextDouble() * 10 - 5));
+            }
+            assertEquals(getOverlappingPairs(), findPairs(bodies));
+        }
+    }
+
+    private Set<Pair<PBody, PBody>> getOverlappingPairs() {
+        Set<Pair<PBody, PBody>> pairs = new HashSet<>();
+        for (int i = 0; i < bodies.size(); i++) {
+            for (int j = i + 1; j < bodies.size(); j++) {
+                if (PBoxBoxCollision.doBodiesCollide(bodies.get(i).getBoundingBox(), bodies.get(j).getBoundingBox())) {
+                    pairs.add(new Pair<>(bodies.get(i), bodies.get(j)));
+                }
+            }
+        }
+        return pairs;
+    }
+
+    private Set<Pair<PBody, PBody>> findPairs(List<PBody> bodies) {
+        PPairBuffer buffer = new PPairBuffer();
+        grid.findPotentialIntersectingBodies(bodies, buffer);
+
+        Set<Pair<PBody, PBody>> pairs = new HashSet<>();
+        for (int i = 0; i < buffer.size(); i++) {
+            pairs.add(new Pair<>(bodies.get(buffer.getFirstBody(i)), bodies.get(buffer.getSecondBody(i))));
+        }
+
+        // Each pair should only be reported once
+        assertEquals(buffer.size(), pairs.size());
+        return pairs;
+    }
+
+}
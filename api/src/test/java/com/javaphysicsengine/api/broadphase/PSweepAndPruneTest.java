@@ -0,0 +1,112 @@
+package com.javaphysicsengine.api.broadphase;
+
+import com.javaphysicsengine.api.body.PBody;
+import com.javaphysicsengine.api.collision.PBoxBoxCollision;
+import com.javaphysicsengine.utils.Vector;
+import org.javatuples.Pair;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static com.javaphysicsengine.api.body.PBodyFixtures.createCircle;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class PSweepAndPruneTest {
+
+    private PSweepAndPrune sweepAndPrune;
+    private List<PBody> bodies;
+    private Set<Pair<PBody, PBody>> pairsFromEvents;
+    private Random random;
+
+    @Before
+    public void setup() {
+        random = new Random(4321);
+        pairsFromEvents = new HashSet<>();
+
+        sweepAndPrune = new PSweepAndPrune();
+        sweepAndPrune.setListener(new PBroadphaseListener() {
+            @Override
+            public void onPairAdded(PBody body1, PBody body2) {
+                assertTrue(pairsFromEvents.add(new Pair<>(body1, body2)));
+            }
+
+            @Override
+            public void onPairRemoved(PBody body1, PBody body2) {
+                assertTrue(pairsFromEvents.remove(new Pair<>(body1, body2)));
+            }
+        });
+
+        bodies = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            bodies.add(createCircle(random.nextDouble() * 1000, random.nextDouble() * 1000, 5 + random.nextDouble() * 20));
+        }
+    }
+
+    @Test
+    public void findPotentialIntersectingBodies_should_return_the_overlapping_pairs() {
+        Set<Pair<PBody, PBody>> pairs = findPairs(bodies);
+
+        assertEquals(getOverlappingPairs(), pairs);
+        assertEquals(pairs, pairsFromEvents);
+    }
+
+    @Test
+    public void findPotentialIntersectingBodies_should_update_the_pairs_when_bodies_move() {
+        findPairs(bodies);
+
+        for (int step = 0; step < 50; step++) {
+            for (PBody body : bodies) {
+                body.translate(Vector.of(random.nextDouble() * 10 - 5, random.nextDouble() * 10 - 5));
+            }
+
+            Set<Pair<PBody, PBody>> pairs = findPairs(bodies);
+            assertEquals(getOverlappingPairs(), pairs);
+            assertEquals(pairs, pairsFromEvents);
+        }
+    }
+
+    @Test
+    public void findPotentialIntersectingBodies_should_update_the_pairs_when_bodies_are_removed() {
+        findPairs(bodies);
+
+        bodies.remove(50);
+        bodies.remove(20);
+        Set<Pair<PBody, PBody>> pairs = findPairs(bodies);
+
+        assertEquals(getOverlappingPairs(), pairs);
+        assertEquals(pairs, pairsFromEvents);
+    }
+
+    private Set<Pair<PBody, PBody>> getOverlappingPairs() {
+        Set<Pair<PBody, PBody>> pairs = new HashSet<>();
+        for (int i = 0; i < bodies.size(); i++) {
+            for (int j = i + 1; j < bodies.size(); j++) {
+                if (PBoxBoxCollision.doBodiesCollide(bodies.get(i).getBoundingBox(), bodies.get(j).getBoundingBox())) {
+                    pairs.add(new Pair<>(bodies.get(i), bodies.get(j)));
+                }
+            }
+        }
+        return pairs;
+    }
+
+    private Set<Pair<PBody, PBody>> findPairs(List<PBody> bodies) {
+        PPairBuffer buffer = new PPairBuffer();
+        sweepAndPrune.findPotentialIntersectingBodies(bodies, buffer);
+
+        Set<Pair<PBody, PBody>> pairs = new HashSet<>();
+        for (int i = 0; i < buffer.size(); i++) {
+            pairs.add(new Pair<>(bodies.get(buffer.getFirstBody(i)), bodies.get(buffer.getSecondBody(i))));
+        }
+
+        // Each pair should only be reported once
+        assertEquals(buffer.size(), pairs.size());
+        return pairs;
+    }
+
+}
@@ -0,0 +1,83 @@
+package com.javaphysicsengine.api.collision;
+
+import com.javaphysicsengine.api.body.PCircle;
+import com.javaphysicsengine.api.body.PCollidable;
+import com.javaphysicsengine.api.body.PPolygon;
+import com.javaphysicsengine.utils.Vector;
+import org.junit.Test;
+
+import static com.javaphysicsengine.api.body.PBodyFixtures.createBox;
+import static com.javaphysicsengine.api.body.PBodyFixtures.createCircle;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class PCollisionDispatcherTest {
+
+    @Test
+    public void collide_should_mirror_result_when_bodies_are_swapped() {
+        PCircle circle = createCircle(50, 13, 5);
+        PPolygon box = createBox(0, 0, 100, 10);
+        circle.setVelocity(Vector.of(0, -1));
+        box.setVelocity(Vector.of(1, 0));
+
+        PCollisionResult circleFirst = PCollisionDispatcher.getDefault().collide(circle, box);
+        PCollisionResult boxFirst = PCollisionDispatcher.getDefault().collide(box, circle);
+
+        assertTrue(circleFirst.isHasCollided());
+        assertTrue(boxFirst.isHasCollided());
+        assertEquals(circleFirst.getMtv().getX(), -boxFirst.getMtv().getX(), 1e-9);
+        assertEquals(circleFirst.getMtv().getY(), -boxFirst.getMtv().getY(), 1e-9);
+        assertEquals(circleFirst.getBody1Mtv().getY(), boxFirst.getBody2Mtv().getY(), 1e-9);
+        assertEquals(circleFirst.getBody2Mtv().getY(), boxFirst.getBody1Mtv().getY(), 1e-9);
+    }
+
+    @Test
+    public void collide_should_not_collide_separated_bodies() {
+        PCollisionResult result = PCollisionDispatcher.getDefault().collide(createCircle(50, 30, 5), createBox(0, 0, 100, 10));
+        assertFalse(result.isHasCollided());
+    }
+
+    @Test
+    public void collide_should_call_collider_of_custom_shape() {
+        int markerType = PCollisionDispatcher.newShapeType();
+        PCircle marker = new PCircle("") {
+            @Override
+            public int getShapeType() {
+                return markerType;
+            }
+        };
+        PPolygon box = createBox(0, 0, 10, 10);
+
+        PCollidable[] colliderBodies = new PCollidable[2];
+        PCollisionDispatcher dispatcher = new PCollisionDispatcher();
+        dispatcher.register(markerType, PCollisionDispatcher.POLYGON, (body1, body2, cachedAxis, result) -> {
+            colliderBodies[0] = body1;
+            colliderBodies[1] = body2;
+            result.set(true, Vector.of(0, 1), Vector.of(0, 2), Vector.of(1, 0), Vector.of(0, 0));
+        });
+
+        PCollisionResult result = new PCollisionResult(false, null, null, null, null);
+        assertTrue(dispatcher.collide(box, marker, null, result));
+
+        // The collider is always given the bodies in the order it was registered with
+        assertSame(marker, colliderBodies[0]);
+        assertSame(box, colliderBodies[1]);
+        assertEquals(2, result.getBody1Mtv().getY(), 0);
+        assertEquals(1, result.getBody2Mtv().getY(), 0);
+        assertEquals(-1, result.getMtv().getX(), 0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void collide_should_throw_for_shapes_without_collider() {
+        int markerType = PCollisionDispatcher.newShapeType();
+        PCircle marker = new PCircle("") {
+            @Override
+            public int getShapeType() {
+                return markerType;
+            }
+        };
+        new PCollisionDispatcher().collide(marker, createBox(0, 0, 10, 10));
+    }
+}
@@ -0,0 +1,82 @@
+package com.javaphysicsengine.api.collision;
+
+import com.javaphysicsengine.api.body.PCircle;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+public class PContactManifoldCacheTest {
+
+    private PContactManifoldCache cache;
+    private PCircle body1;
+    private PCircle body2;
+
+    @Before
+    public void setup() {
+        cache = new PContactManifoldCache();
+        body1 = new PCircle("Body 1");
+        body2 = new PCircle("Body 2");
+    }
+
+    private PContactManifold createManifold(PCircle body1, PCircle body2, int... featureIds) {
+        PContactManifold manifold = new PContactManifold();
+        manifold.setBodies(body1, body2);
+        manifold.getNormal().setXY(0, 1);
+        for (int featureId : featureIds) {
+            manifold.addPoint(featureId, 0, featureId);
+        }
+        return manifold;
+    }
+
+    @Test
+    public void update_should_keep_impulses_of_points_with_same_feature_id() {
+        cache.beginStep();
+        PContactManifold manifold = cache.update(7, createManifold(body1, body2, 1, 2));
+        manifold.setNormalImpulse(0, 3);
+        manifold.setNormalImpulse(1, 4);
+        manifold.setTangentImpulse(1, 0.5);
+        cache.evictStale();
+
+        // Point 2 persisted (now at index 0), point 1 is gone, and point 5 is new
+        cache.beginStep();
+        manifold = cache.update(7, createManifold(body1, body2, 2, 5));
+        cache.evictStale();
+
+        assertEquals(2, manifold.getPointCount());
+        assertEquals(4, manifold.getNormalImpulse(0), 1e-9);
+        assertEquals(0.5, manifold.getTangentImpulse(0), 1e-9);
+        assertEquals(0, manifold.getNormalImpulse(1), 1e-9);
+    }
+
+    @Test
+    public void update_should_reset_impulses_when_key_refers_to_other_bodies() {
+        cache.beginStep();
+        cache.update(7, createManifold(body1, body2, 1)).setNormalImpulse(0, 3);
+        cache.evictStale();
+
+        cache.beginStep();
+        PContactManifold manifold = cache.update(7, createManifold(body2, body1, 1));
+
+        assertEquals(0, manifold.getNormalImpulse(0), 1e-9);
+    }
+
+    @Test
+    public void evictStale_should_remove_pairs_that_were_not_updated() {
+        cache.beginStep();
+        cache.update(1, createManifold(body1, body2, 0));
+        cache.update(2, createManifold(body1, body2, 0));
+        cache.evictStale();
+        assertEquals(2, cache.size());
+
+        cache.beginStep();
+        cache.update(2, createManifold(body1, body2, 0));
+        cache.evictStale();
+
+        assertEquals(1, cache.size());
+        assertNull(cache.get(1));
+        assertNotNull(cache.get(2));
+    }
+}
@@ -0,0 +1,83 @@
+package com.javaphysicsengine.api.collision;
+
+import com.javaphysicsengine.api.body.PPolygon;
+import com.javaphysicsengine.utils.Vector;
+import org.junit.Test;
+
+import static com.javaphysicsengine.api.body.PBodyFixtures.createBox;
+import static com.javaphysicsengine.api.body.PBodyFixtures.createCircle;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class PGjkCollisionTest {
+
+    private static PPolygon createRegularPolygon(double centerX, double centerY, double radius, int numVertices) {
+        PPolygon polygon = new PPolygon("");
+        for (int i = 0; i < numVertices; i++) {
+            double angle = 2 * Math.PI * i / numVertices;
+            polygon.getVertices().add(Vector.of(centerX + radius * Math.cos(angle), centerY + radius * Math.sin(angle)));
+        }
+        polygon.computeCenterOfMass();
+        polygon.setVelocity(Vector.of(1, 0));
+        return polygon;
+    }
+
+    @Test
+    public void doBodiesCollide_should_not_collide_separated_polygons() {
+        PCollisionResult result = PGjkCollision.doBodiesCollide(createBox(0, 0, 10, 10), createBox(11, 0, 21, 10));
+        assertFalse(result.isHasCollided());
+    }
+
+    @Test
+    public void doBodiesCollide_should_find_mtv_of_overlapping_boxes() {
+        PCollisionResult result = PGjkCollision.doBodiesCollide(createBox(0, 0, 10, 10), createBox(8, 1, 18, 11));
+
+        assertTrue(result.isHasCollided());
+        assertEquals(2, result.getMtv().getX(), 1e-6);
+        assertEquals(0, result.getMtv().getY(), 1e-6);
+    }
+
+    @Test
+    public void doBodiesCollide_should_move_bodies_apart() {
+        PPolygon box1 = createBox(0, 0, 10, 10);
+        PPolygon box2 = createBox(8, 1, 18, 11);
+        PCollisionResult result = PGjkCollision.doBodiesCollide(box1, box2);
+
+        box1.translate(result.getBody1Mtv());
+        box2.translate(result.getBody2Mtv());
+        assertEquals(0, box2.getBoundingBox().getMinX() - box1.getBoundingBox().getMaxX(), 1e-6);
+    }
+
+    @Test
+    public void doBodiesCollide_should_find_penetration_of_circles() {
+        PCollisionResult result = PGjkCollision.doBodiesCollide(createCircle(0, 0, 10), createCircle(12, 5, 5));
+
+        // The distance between the centers is 13, so they overlap by 2
+        assertTrue(result.isHasCollided());
+        assertEquals(2, result.getMtv().norm2(), 1e-3);
+    }
+
+    @Test
+    public void doBodiesCollide_should_detect_circle_inside_polygon() {
+        PCollisionResult result = PGjkCollision.doBodiesCollide(createCircle(50, 7, 2), createBox(0, 0, 100, 10));
+
+        // The circle needs to move up through the top edge
+        assertTrue(result.isHasCollided());
+        assertEquals(5, result.getMtv().norm2(), 1e-3);
+        assertEquals(-5, result.getMtv().getY(), 1e-3);
+    }
+
+    @Test
+    public void doBodiesCollide_should_give_same_depth_as_sat_for_polygons_with_many_vertices() {
+        PPolygon polygon1 = createRegularPolygon(0, 0, 50, 64);
+        PPolygon polygon2 = createRegularPolygon(90, 20, 50, 64);
+
+        PCollisionResult gjkResult = PGjkCollision.doBodiesCollide(polygon1, polygon2);
+        PCollisionResult satResult = PPolyPolyCollision.doBodiesCollide(polygon1, polygon2);
+
+        assertTrue(gjkResult.isHasCollided());
+        assertTrue(satResult.isHasCollided());
+        assertEquals(satResult.getMtv().norm2(), gjkResult.getMtv().norm2(), 1e-3);
+    }
+}
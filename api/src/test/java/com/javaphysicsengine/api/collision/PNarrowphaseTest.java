@@ -0,0 +1,169 @@
+package com.javaphysicsengine.api.collision;
+
+import com.javaphysicsengine.api.PWorld;
+import com.javaphysicsengine.api.body.PBody;
+import com.javaphysicsengine.api.body.PCircle;
+import com.javaphysicsengine.api.body.PPolygon;
+import com.javaphysicsengine.api.broadphase.PPairBuffer;
+import com.javaphysicsengine.utils.Vector;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static com.javaphysicsengine.api.body.PBodyFixtures.createCircle;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+public class PNarrowphaseTest {
+
+    private ForkJoinPool pool;
+    private List<PBody> bodies;
+    private PPairBuffer pairs;
+
+    @Before
+    public void setup() {
+        pool = new ForkJoinPool(4);
+        bodies = createCircles(new Random(2468), 300);
+
+        // Test every pair so that there are plenty of collisions and non-collisions
+        pairs = new PPairBuffer();
+        for (int i = 0; i < bodies.size(); i++) {
+            for (int j = i + 1; j < bodies.size(); j++) {
+                pairs.addDistinct(i, j);
+            }
+        }
+    }
+
+    @After
+    public void teardown() {
+        pool.shutdown();
+    }
+
+    @Test
+    public void findCollisions_should_give_same_results_with_and_without_pool() {
+        PNarrowphase serialNarrowphase = new PNarrowphase();
+        serialNarrowphase.findCollisions(bodies, pairs);
+
+        PNarrowphase parallelNarrowphase = new PNarrowphase();
+        parallelNarrowphase.setPool(pool);
+        parallelNarrowphase.findCollisions(bodies, pairs);
+
+        for (int i = 0; i < pairs.size(); i++) {
+            PCollisionResult serialResult = serialNarrowphase.getResult(i);
+            PCollisionResult parallelResult = parallelNarrowphase.getResult(i);
+
+            if (serialResult == null) {
+                assertNull(parallelResult);
+            } else {
+                assertNotNull(parallelResult);
+                assertEquals(serialResult.getMtv(), parallelResult.getMtv());
+                assertEquals(serialResult.getContactPt(), parallelResult.getContactPt());
+            }
+        }
+    }
+
+    @Test
+    public void findCollisions_should_skip_pairs_of_static_bodies() {
+        PCircle circle1 = createCircle(0, 0, 10);
+        PCircle circle2 = createCircle(5, 0, 10);
+        circle1.setMoveable(false);
+        circle2.setMoveable(false);
+
+        List<PBody> staticBodies = new ArrayList<>();
+        staticBodies.add(circle1);
+        staticBodies.add(circle2);
+        PPairBuffer staticPairs = new PPairBuffer();
+        staticPairs.add(0, 1);
+
+        PNarrowphase narrowphase = new PNarrowphase();
+        narrowphase.findCollisions(staticBodies, staticPairs);
+
+        assertNull(narrowphase.getResult(0));
+    }
+
+    @Test
+    public void simulate_should_give_same_result_with_and_without_pool() {
+        PWorld world = new PWorld();
+        world.getBodies().addAll(createCircles(new Random(1357), 300));
+
+        PWorld parallelWorld = new PWorld();
+        parallelWorld.getBodies().addAll(createCircles(new Random(1357), 300));
+        parallelWorld.setNarrowphasePool(pool);
+
+        for (int step = 0; step < 30; step++) {
+            world.simulate(1 / 60.0);
+            parallelWorld.simulate(1 / 60.0);
+        }
+
+        for (int i = 0; i < world.getBodies().size(); i++) {
+            PBody body = world.getBodies().get(i);
+            PBody parallelBody = parallelWorld.getBodies().get(i);
+
+            assertEquals(body.getCenterPt().getX(), parallelBody.getCenterPt().getX(), 0);
+            assertEquals(body.getCenterPt().getY(), parallelBody.getCenterPt().getY(), 0);
+            assertEquals(body.getVelocity().getX(), parallelBody.getVelocity().getX(), 0);
+            assertEquals(body.getVelocity().getY(), parallelBody.getVelocity().getY(), 0);
+        }
+    }
+
+    @Test
+    public void findCollisions_should_find_same_collisions_with_gjk_as_with_sat() {
+        List<PBody> polygons = new ArrayList<>();
+        Random random = new Random(97531);
+        for (int i = 0; i < 60; i++) {
+            PPolygon box = new PPolygon("Box " + i);
+            double x = random.nextDouble() * 300;
+            double y = random.nextDouble() * 300;
+            box.getVertices().add(Vector.of(x, y));
+            box.getVertices().add(Vector.of(x + 30, y));
+            box.getVertices().add(Vector.of(x + 30, y + 30));
+            box.getVertices().add(Vector.of(x, y + 30));
+            box.computeCenterOfMass();
+            box.setVelocity(Vector.of(random.nextDouble(), random.nextDouble()));
+            polygons.add(box);
+        }
+
+        PPairBuffer polygonPairs = new PPairBuffer();
+        for (int i = 0; i < polygons.size(); i++) {
+            for (int j = i + 1; j < polygons.size(); j++) {
+                polygonPairs.addDistinct(i, j);
+            }
+        }
+
+        PNarrowphase satNarrowphase = new PNarrowphase();
+        satNarrowphase.findCollisions(polygons, polygonPairs);
+
+        PNarrowphase gjkNarrowphase = new PNarrowphase();
+        gjkNarrowphase.setGjkEnabled(true);
+        gjkNarrowphase.findCollisions(polygons, polygonPairs);
+
+        for (int i = 0; i < polygonPairs.size(); i++) {
+            PCollisionResult satResult = satNarrowphase.getResult(i);
+            PCollisionResult gjkResult = gjkNarrowphase.getResult(i);
+
+            if (satResult == null) {
+                assertNull(gjkResult);
+            } else {
+                assertNotNull(gjkResult);
+                assertEquals(satResult.getMtv().norm2(), gjkResult.getMtv().norm2(), 1e-6);
+            }
+        }
+    }
+
+    private static List<PBody> createCircles(Random random, int numCircles) {
+        List<PBody> circles = new ArrayList<>();
+        for (int i = 0; i < numCircles; i++) {
+            PCircle circle = createCircle(random.nextDouble() * 600, random.nextDouble() * 600, 5 + random.nextDouble() * 15);
+            circle.setVelocity(Vector.of(random.nextDouble() * 100 - 50, random.nextDouble() * 100 - 50));
+            circles.add(circle);
+        }
+        return circles;
+    }
+
+}
@@ -11,7 +11,13 @@ import java.util.Arrays;
 import java.util.Collection;
 import java.util.List;
 
+import static com.javaphysicsengine.api.body.PBodyFixtures.createBox;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
 
 @RunWith(Enclosed.class)
 public class PPolyPolyCollisionTest {
@@ -141,4 +147,84 @@ public class PPolyPolyCollisionTest {
             return polygon;
         }
     }
+    public static class GetContactPointsTest {
+
+        @Test
+        public void getContactPoints_should_find_two_points_for_box_resting_on_box() {
+            PPolygon ground = createBox(0, 0, 100, 10);
+            PPolygon box = createBox(20, 8, 40, 28);
+            PContactManifold manifold = new PContactManifold();
+
+            PPolyPolyCollision.getContactPoints(ground, box, Vector.of(0, 1), manifold);
+
+            assertEquals(2, manifold.getPointCount());
+            assertEquals(8, manifold.getPoint(0).getY(), 1e-9);
+            assertEquals(8, manifold.getPoint(1).getY(), 1e-9);
+            assertEquals(60, manifold.getPoint(0).getX() + manifold.getPoint(1).getX(), 1e-9);
+            assertNotEquals(manifold.getFeatureId(0), manifold.getFeatureId(1));
+        }
+
+        @Test
+        public void getContactPoints_should_clip_points_to_reference_edge() {
+            PPolygon box = createBox(0, 10, 20, 30);
+            PPolygon ground = createBox(-50, 0, 10, 12);
+            PContactManifold manifold = new PContactManifold();
+
+            PPolyPolyCollision.getContactPoints(ground, box, Vector.of(0, 1), manifold);
+
+            assertEquals(2, manifold.getPointCount());
+            assertEquals(10, Math.max(manifold.getPoint(0).getX(), manifold.getPoint(1).getX()), 1e-9);
+            assertEquals(0, Math.min(manifold.getPoint(0).getX(), manifold.getPoint(1).getX()), 1e-9);
+        }
+
+        @Test
+        public void getContactPoints_should_keep_feature_ids_when_box_moves_slightly() {
+            PPolygon ground = createBox(0, 0, 100, 10);
+            PContactManifold manifold1 = new PContactManifold();
+            PContactManifold manifold2 = new PContactManifold();
+
+            PPolyPolyCollision.getContactPoints(ground, createBox(20, 8, 40, 28), Vector.of(0, 1), manifold1);
+            PPolyPolyCollision.getContactPoints(ground, createBox(21, 9, 41, 29), Vector.of(0, 1), manifold2);
+
+            assertEquals(manifold1.getFeatureId(0), manifold2.getFeatureId(0));
+            assertEquals(manifold1.getFeatureId(1), manifold2.getFeatureId(1));
+        }
+    }
+    public static class DoBodiesCollideWithCachedAxisTest {
+
+        @Test
+        public void doBodiesCollide_should_cache_the_separating_edge() {
+            PPolygon box1 = createBox(0, 0, 10, 10);
+            PPolygon box2 = createBox(20, 0, 30, 10);
+            PSeparatingAxis axis = new PSeparatingAxis();
+
+            assertFalse(PPolyPolyCollision.doBodiesCollide(box1, box2, axis).isHasCollided());
+
+            // The right edge of box1 separates them
+            assertSame(box1, axis.getPolygon());
+            assertEquals(1, axis.getEdge());
+
+            box2.translate(Vector.of(-5, 0));
+            assertFalse(PPolyPolyCollision.doBodiesCollide(box1, box2, axis).isHasCollided());
+            assertSame(box1, axis.getPolygon());
+            assertEquals(1, axis.getEdge());
+        }
+
+        @Test
+        public void doBodiesCollide_should_give_same_result_as_without_cache_once_polygons_overlap() {
+            PPolygon box1 = createBox(0, 0, 10, 10);
+            PPolygon box2 = createBox(20, 0, 30, 10);
+            box2.setVelocity(Vector.of(-1, 0));
+            PSeparatingAxis axis = new PSeparatingAxis();
+            PPolyPolyCollision.doBodiesCollide(box1, box2, axis);
+
+            box2.translate(Vector.of(-12, 1));
+            PCollisionResult cachedResult = PPolyPolyCollision.doBodiesCollide(box1, box2, axis);
+            PCollisionResult result = PPolyPolyCollision.doBodiesCollide(box1, box2);
+
+            assertTrue(cachedResult.isHasCollided());
+            assertEquals(result.getMtv(), cachedResult.getMtv());
+            assertNull(axis.getPolygon());
+        }
+    }
 }
\ No newline at end of file
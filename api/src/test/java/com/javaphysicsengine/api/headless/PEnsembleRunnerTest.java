@@ -0,0 +1,74 @@
+package com.javaphysicsengine.api.headless;
+
+import com.javaphysicsengine.api.PWorld;
+import com.javaphysicsengine.utils.Vector;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.DoubleSummaryStatistics;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.IntFunction;
+
+import static org.junit.Assert.assertEquals;
+
+public class PEnsembleRunnerTest {
+
+    // Each world has its own gravity, and the boxes fall for 1 second
+    private static final IntFunction<PWorld> WORLD_FACTORY = worldIndex -> {
+        PWorld world = PScenes.createMixed(9);
+        world.setGravity(Vector.of(0, -10 - worldIndex));
+        return world;
+    };
+
+    @Test
+    public void run_should_return_same_results_as_simulating_worlds_one_after_the_other() {
+        PEnsembleRunner ensemble = new PEnsembleRunner(new ForkJoinPool(4));
+        ensemble.setNumSteps(60);
+        List<Double> results = ensemble.run(16, WORLD_FACTORY, PEnsembleRunnerTest::getLastBodyY);
+
+        List<Double> expectedResults = new ArrayList<>();
+        for (int i = 0; i < 16; i++) {
+            PWorld world = WORLD_FACTORY.apply(i);
+            for (int j = 0; j < 60; j++) {
+                world.simulate(1.0 / 60);
+            }
+            expectedResults.add(getLastBodyY(world));
+        }
+
+        assertEquals(expectedResults, results);
+    }
+
+    @Test
+    public void run_should_pass_result_of_every_world_to_listener() {
+        PEnsembleRunner ensemble = new PEnsembleRunner(new ForkJoinPool(4));
+        ensemble.setNumSteps(1);
+
+        boolean[] isWorldDone = new boolean[50];
+        ensemble.run(50, WORLD_FACTORY, world -> world.getGravity().getY(),
+                (gravity, worldIndex) -> {
+                    assertEquals(-10 - worldIndex, gravity, 0);
+                    isWorldDone[worldIndex] = true;
+                });
+
+        for (boolean isDone : isWorldDone) {
+            assertEquals(true, isDone);
+        }
+    }
+
+    @Test
+    public void runAndAggregate_should_combine_measurements_of_all_worlds() {
+        PEnsembleRunner ensemble = new PEnsembleRunner();
+        ensemble.setNumSteps(0);
+        DoubleSummaryStatistics statistics = ensemble.runAndAggregate(10, WORLD_FACTORY, world -> -world.getGravity().getY());
+
+        assertEquals(10, statistics.getCount());
+        assertEquals(10, statistics.getMin(), 0);
+        assertEquals(19, statistics.getMax(), 0);
+        assertEquals(14.5, statistics.getAverage(), 1e-9);
+    }
+
+    private static double getLastBodyY(PWorld world) {
+        return world.getBodies().get(world.getBodies().size() - 1).getCenterPt().getY();
+    }
+}
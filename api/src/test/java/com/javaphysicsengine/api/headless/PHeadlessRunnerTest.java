@@ -0,0 +1,96 @@
+package com.javaphysicsengine.api.headless;
+
+import com.javaphysicsengine.api.PWorld;
+import com.javaphysicsengine.api.broadphase.PSweepAndPrune;
+import com.javaphysicsengine.api.metrics.PStepMetrics;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.StringWriter;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class PHeadlessRunnerTest {
+
+    @Test
+    public void run_should_simulate_steps_and_measure_them() throws IOException {
+        PWorld world = PScenes.createMixed(20);
+        PHeadlessRunner runner = new PHeadlessRunner(world);
+        runner.run(50);
+
+        PStepMetrics metrics = runner.getMetrics();
+        assertEquals(50, runner.getStepCount());
+        assertEquals(50, metrics.getStepCount());
+        assertEquals(50 * world.getBodies().size(), metrics.getBodySteps());
+        assertTrue(metrics.getPhaseNanos(PStepMetrics.NARROWPHASE) > 0);
+        assertTrue(metrics.getStepNanos() <= runner.getWallNanos());
+
+        // The world is not measured after the runner is done with it
+        assertNull(world.getStepMetrics());
+    }
+
+    @Test
+    public void runFor_should_round_simulated_time_up_to_whole_steps() throws IOException {
+        PHeadlessRunner runner = new PHeadlessRunner(PScenes.createBoxes(4));
+        runner.setTimeStep(0.01);
+        runner.runFor(0.5);
+        assertEquals(50, runner.getStepCount());
+
+        runner.runFor(0.005);
+        assertEquals(51, runner.getStepCount());
+    }
+
+    @Test
+    public void run_should_write_state_every_interval_and_after_last_step() throws IOException {
+        PWorld world = PScenes.createCircles(5);
+        StringWriter stateWriter = new StringWriter();
+        PHeadlessRunner runner = new PHeadlessRunner(world);
+        runner.setStateWriter(stateWriter, 4);
+        runner.run(10);
+
+        // The header, then the bodies after steps 4, 8 and 10
+        String[] lines = stateWriter.toString().split("\n");
+        int numBodies = world.getBodies().size();
+        assertEquals(1 + 3 * numBodies, lines.length);
+        assertTrue(lines[0].startsWith("step,time,body,name,x,y"));
+        assertTrue(lines[1].startsWith("4,"));
+        assertTrue(lines[1 + numBodies].startsWith("8,"));
+        assertTrue(lines[lines.length - 1].startsWith("10,"));
+    }
+
+    @Test
+    public void runFromArgs_should_create_scene_and_print_report() throws IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        PHeadlessRunner runner = PHeadlessRunner.runFromArgs(
+                new String[] { "--scene", "circles", "--bodies", "9", "--steps", "20", "--broadphase", "sap" },
+                null, new PrintStream(output));
+
+        assertEquals(20, runner.getStepCount());
+        assertEquals(3 + 9, runner.getWorld().getBodies().size());
+        assertTrue(runner.getWorld().getBroadphase() instanceof PSweepAndPrune);
+
+        String report = output.toString();
+        assertTrue(report.contains("Steps / sec"));
+        assertTrue(report.contains("broadphase"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void runFromArgs_should_throw_exception_given_unknown_option() throws IOException {
+        PHeadlessRunner.runFromArgs(new String[] { "--speed", "2" }, null, new PrintStream(new ByteArrayOutputStream()));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void runFromArgs_should_throw_exception_given_state_every_without_state() throws IOException {
+        PHeadlessRunner.runFromArgs(new String[] { "--steps", "10", "--state-every", "5" }, null,
+                new PrintStream(new ByteArrayOutputStream()));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void create_should_throw_exception_given_unknown_scene() {
+        PScenes.create("pyramid", 10);
+    }
+}
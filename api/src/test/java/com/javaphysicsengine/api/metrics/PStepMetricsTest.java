@@ -0,0 +1,77 @@
+package com.javaphysicsengine.api.metrics;
+
+import com.javaphysicsengine.api.PWorld;
+import com.javaphysicsengine.api.headless.PScenes;
+import org.junit.Test;
+
+import java.io.StringWriter;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class PStepMetricsTest {
+
+    @Test
+    public void simulate_should_record_phase_durations_and_counts() {
+        PWorld world = PScenes.createBoxes(16);
+        PStepMetrics metrics = new PStepMetrics(8);
+        world.setStepMetrics(metrics);
+        for (int i = 0; i < 20; i++) {
+            world.simulate(1 / 60.0);
+        }
+
+        // The histograms only keep the last 8 steps, but the totals count all of them
+        assertEquals(20, metrics.getStepCount());
+        assertEquals(8, metrics.getStepHistogram().size());
+        for (int phase = 0; phase < PStepMetrics.PHASE_COUNT; phase++) {
+            assertEquals(8, metrics.getPhaseHistogram(phase).size());
+        }
+        assertTrue(metrics.getStepHistogram().getMax() >= metrics.getStepHistogram().getPercentile(50));
+
+        assertTrue(metrics.getLastPairCount() >= metrics.getLastContactCount());
+        assertTrue(metrics.getPairCount() >= metrics.getContactCount());
+        assertTrue(metrics.getLastAwakeBodyCount() <= 16);
+    }
+
+    @Test
+    public void endStep_should_export_every_interval() {
+        StringWriter writer = new StringWriter();
+        PMetricsFileExporter exporter = new PMetricsFileExporter(writer);
+        PStepMetrics metrics = new PStepMetrics();
+        metrics.setExporter(exporter, 3);
+
+        for (int i = 0; i < 7; i++) {
+            long startTime = metrics.beginStep(2);
+            startTime = metrics.endPhase(PStepMetrics.FORCES, startTime);
+            metrics.addCounts(5, 2, 1);
+            metrics.endStep(startTime);
+        }
+
+        // The header, then the metrics after steps 3 and 6
+        String[] lines = writer.toString().split("\n");
+        assertEquals(3, lines.length);
+        assertTrue(lines[0].startsWith("step,stepP50,stepP99,stepMax,forcesP50,"));
+        assertTrue(lines[0].endsWith(",pairs,contacts,awakeBodies"));
+        assertTrue(lines[1].startsWith("3,"));
+        assertTrue(lines[2].startsWith("6,"));
+        assertTrue(lines[2].endsWith(",5,2,1"));
+        assertEquals(lines[0].split(",").length, lines[2].split(",").length);
+    }
+
+    @Test
+    public void reset_should_clear_totals_and_histograms() {
+        PStepMetrics metrics = new PStepMetrics();
+        long startTime = metrics.beginStep(3);
+        metrics.endPhase(PStepMetrics.SOLVE, startTime);
+        metrics.addCounts(4, 1, 3);
+        metrics.endStep(startTime);
+        metrics.reset();
+
+        assertEquals(0, metrics.getStepCount());
+        assertEquals(0, metrics.getBodySteps());
+        assertEquals(0, metrics.getPairCount());
+        assertEquals(0, metrics.getLastAwakeBodyCount());
+        assertEquals(0, metrics.getStepHistogram().size());
+        assertEquals(0, metrics.getPhaseHistogram(PStepMetrics.SOLVE).size());
+    }
+}
@@ -0,0 +1,67 @@
+package com.javaphysicsengine.api.metrics.jfr;
+
+import com.javaphysicsengine.api.PWorld;
+import com.javaphysicsengine.api.headless.PScenes;
+import com.javaphysicsengine.api.metrics.PFlightRecorder;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assume.assumeTrue;
+
+public class PJfrStepRecorderTest {
+
+    @Test
+    public void simulate_should_emit_step_and_phase_events() throws IOException {
+        assumeTrue(PFlightRecorder.isAvailable());
+
+        PWorld world = PScenes.createCircles(16);
+        world.setStepRecorder(PFlightRecorder.createStepRecorder(0));
+        assertNotNull(world.getStepRecorder());
+
+        Path file = Files.createTempFile("steps", ".jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable(PStepEvent.class);
+            recording.enable(PBroadphaseEvent.class);
+            recording.enable(PNarrowphaseEvent.class);
+            recording.enable(PSolverEvent.class);
+            recording.enable(PSlowStepEvent.class);
+            recording.start();
+            for (int i = 0; i < 5; i++) {
+                world.simulate(1 / 60.0);
+            }
+            recording.stop();
+            recording.dump(file);
+        }
+
+        // Every step is slower than a threshold of 0, so each of them has all the events
+        List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+        Files.delete(file);
+        Map<String, Integer> eventCounts = new HashMap<>();
+        for (RecordedEvent event : events) {
+            eventCounts.merge(event.getEventType().getName(), 1, Integer::sum);
+
+            if (event.getEventType().getName().equals("com.javaphysicsengine.Step")) {
+                assertEquals(world.getBodies().size(), event.getInt("bodies"));
+                assertTrue(event.getInt("pairs") >= event.getInt("contacts"));
+                assertTrue(event.getLong("stepNumber") >= 1 && event.getLong("stepNumber") <= 5);
+            }
+        }
+        assertEquals(Integer.valueOf(5), eventCounts.get("com.javaphysicsengine.Step"));
+        assertEquals(Integer.valueOf(5), eventCounts.get("com.javaphysicsengine.Broadphase"));
+        assertEquals(Integer.valueOf(5), eventCounts.get("com.javaphysicsengine.Narrowphase"));
+        assertEquals(Integer.valueOf(5), eventCounts.get("com.javaphysicsengine.Solver"));
+        assertEquals(Integer.valueOf(5), eventCounts.get("com.javaphysicsengine.SlowStep"));
+    }
+}
@@ -0,0 +1,55 @@
+package com.javaphysicsengine.api.render;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+public class PContactBufferTest {
+
+    @Test
+    public void snapshot_should_copy_contacts_from_oldest_to_newest() {
+        PContactBuffer buffer = new PContactBuffer(8);
+        buffer.record(1, 2, 0, 1, 0.5, 10);
+        buffer.record(3, 4, 1, 0, 0.25, 11);
+
+        PContactBuffer.Snapshot snapshot = buffer.snapshot(new PContactBuffer.Snapshot());
+
+        assertEquals(2, snapshot.size());
+        assertEquals(1, snapshot.getX(0), 0);
+        assertEquals(2, snapshot.getY(0), 0);
+        assertEquals(1, snapshot.getNormalY(0), 0);
+        assertEquals(0.5, snapshot.getDepth(0), 0);
+        assertEquals(10, snapshot.getStep(0));
+        assertEquals(3, snapshot.getX(1), 0);
+        assertEquals(1, snapshot.getNormalX(1), 0);
+        assertEquals(11, snapshot.getStep(1));
+    }
+
+    @Test
+    public void record_should_replace_oldest_contacts_when_buffer_is_full() {
+        PContactBuffer buffer = new PContactBuffer(4);
+        for (int i = 0; i < 10; i++) {
+            buffer.record(i, 0, 0, 0, 0, i);
+        }
+
+        assertEquals(4, buffer.size());
+        assertEquals(10, buffer.getWriteCount());
+
+        PContactBuffer.Snapshot snapshot = buffer.snapshot(new PContactBuffer.Snapshot());
+        assertEquals(4, snapshot.size());
+        assertEquals(6, snapshot.getX(0), 0);
+        assertEquals(7, snapshot.getX(1), 0);
+        assertEquals(8, snapshot.getX(2), 0);
+        assertEquals(9, snapshot.getX(3), 0);
+    }
+
+    @Test
+    public void clear_should_remove_all_contacts() {
+        PContactBuffer buffer = new PContactBuffer(4);
+        buffer.record(1, 1, 0, 1, 1, 1);
+        buffer.clear();
+
+        assertEquals(0, buffer.size());
+        assertEquals(0, buffer.snapshot(new PContactBuffer.Snapshot()).size());
+    }
+}
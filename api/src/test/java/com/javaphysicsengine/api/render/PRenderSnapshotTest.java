@@ -0,0 +1,108 @@
+package com.javaphysicsengine.api.render;
+
+import com.javaphysicsengine.api.PWorld;
+import com.javaphysicsengine.api.body.PCircle;
+import com.javaphysicsengine.api.body.PPolygon;
+import com.javaphysicsengine.api.body.PPolygonShape;
+import com.javaphysicsengine.api.body.PSpring;
+import com.javaphysicsengine.api.collision.PCollisionDispatcher;
+import com.javaphysicsengine.utils.Vector;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.awt.Color;
+import java.awt.Graphics;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyInt;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+public class PRenderSnapshotTest {
+
+    private PWorld world;
+    private PPolygon box;
+    private PCircle circle;
+
+    @Before
+    public void setup() {
+        world = new PWorld();
+
+        box = new PPolygon("Box");
+        box.setShape(PPolygonShape.createBox(10, 10));
+        box.move(Vector.of(100, 100));
+        box.setFillColor(Color.ORANGE);
+        world.getBodies().add(box);
+
+        circle = new PCircle("Circle");
+        circle.setRadius(5);
+        circle.setCenterPt(Vector.of(200, 100));
+        world.getBodies().add(circle);
+
+        world.getConstraints().add(new PSpring(box, circle));
+    }
+
+    @Test
+    public void capture_should_copy_bodies_into_snapshot() {
+        PRenderSnapshot snapshot = new PRenderSnapshot();
+        snapshot.capture(world);
+
+        assertEquals(2, snapshot.getBodyCount());
+        assertEquals(PCollisionDispatcher.POLYGON, snapshot.getShapeType(0));
+        assertEquals(4, snapshot.getVertexCount(0));
+        assertEquals(95, snapshot.getVertexX(0, 0), 1e-9);
+        assertEquals(95, snapshot.getVertexY(0, 0), 1e-9);
+        assertEquals(105, snapshot.getVertexX(0, 2), 1e-9);
+
+        assertEquals(PCollisionDispatcher.CIRCLE, snapshot.getShapeType(1));
+        assertEquals(200, snapshot.getCenterX(1), 1e-9);
+        assertEquals(0, snapshot.getVertexCount(1));
+        assertEquals(1, snapshot.getConstraintCount());
+    }
+
+    @Test
+    public void capture_should_not_change_when_bodies_move() {
+        PRenderSnapshot snapshot = new PRenderSnapshot();
+        snapshot.capture(world);
+
+        box.translate(Vector.of(50, 0));
+        circle.translate(Vector.of(50, 0));
+
+        assertEquals(100, snapshot.getCenterX(0), 1e-9);
+        assertEquals(95, snapshot.getVertexX(0, 0), 1e-9);
+        assertEquals(200, snapshot.getCenterX(1), 1e-9);
+    }
+
+    @Test
+    public void draw_should_draw_bodies_and_constraints() {
+        PRenderSnapshot snapshot = new PRenderSnapshot();
+        snapshot.capture(world);
+
+        Graphics graphics = mock(Graphics.class);
+        snapshot.draw(graphics, 600, true, true);
+
+        verify(graphics, atLeastOnce()).setColor(Color.ORANGE);
+        verify(graphics).fillPolygon(any(int[].class), any(int[].class), eq(4));
+        verify(graphics).drawOval(eq(195), eq(495), anyInt(), anyInt());
+        verify(graphics).drawLine(100, 500, 200, 500);
+    }
+
+    @Test
+    public void capture_should_find_ends_of_constraints_after_bodies_change() {
+        PRenderSnapshot snapshot = new PRenderSnapshot();
+        snapshot.capture(world);
+
+        // The circle is now only attached to the spring, and the box is at another index
+        world.getBodies().remove(circle);
+        world.getBodies().add(0, new PCircle(circle));
+        circle.setCenterPt(Vector.of(300, 150));
+        snapshot.capture(world);
+
+        Graphics graphics = mock(Graphics.class);
+        snapshot.draw(graphics, 600, false, false);
+        verify(graphics).drawLine(100, 500, 300, 450);
+    }
+}
@@ -0,0 +1,109 @@
+package com.javaphysicsengine.api.solver;
+
+import com.javaphysicsengine.api.body.PCircle;
+import com.javaphysicsengine.api.collision.PContactManifold;
+import com.javaphysicsengine.utils.Vector;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+public class PContactSolverTest {
+
+    private PContactSolver solver;
+    private PCircle ground;
+    private PCircle ball;
+    private PContactManifold manifold;
+
+    @Before
+    public void setup() {
+        solver = new PContactSolver();
+
+        ground = new PCircle("Ground");
+        ground.setRadius(10);
+        ground.setCenterPt(Vector.of(0, 0));
+        ground.setMoveable(false);
+
+        ball = new PCircle("Ball");
+        ball.setRadius(10);
+        ball.setMass(1);
+        ball.setCenterPt(Vector.of(0, 20));
+
+        manifold = new PContactManifold();
+        manifold.setBodies(ground, ball);
+        manifold.getNormal().setXY(0, 1);
+        manifold.addPoint(0, 10, 0);
+    }
+
+    private void solveContact() {
+        solver.beginStep();
+        solver.addManifold(manifold);
+        solver.solve();
+    }
+
+    @Test
+    public void solve_should_stop_slow_bodies_without_bouncing() {
+        ball.setVelocity(Vector.of(0, -0.5));
+        solveContact();
+
+        assertEquals(0, ball.getVelocity().getY(), 1e-9);
+        assertEquals(0.5, solver.getNormalImpulse(0), 1e-9);
+        assertEquals(0.5, manifold.getNormalImpulse(0), 1e-9);
+    }
+
+    @Test
+    public void solve_should_bounce_fast_bodies_with_restitution() {
+        solver.setRestitution(0.5);
+        ball.setVelocity(Vector.of(0, -10));
+        solveContact();
+
+        assertEquals(5, ball.getVelocity().getY(), 1e-9);
+    }
+
+    @Test
+    public void solve_should_not_pull_separating_bodies_together() {
+        ball.setVelocity(Vector.of(0, 3));
+        solveContact();
+
+        assertEquals(3, ball.getVelocity().getY(), 1e-9);
+        assertEquals(0, solver.getNormalImpulse(0), 1e-9);
+    }
+
+    @Test
+    public void solve_should_clamp_friction_to_normal_impulse() {
+        solver.setFriction(0.1);
+        ball.setVelocity(Vector.of(100, -0.5));
+        solveContact();
+
+        assertEquals(0.5, solver.getNormalImpulse(0), 1e-9);
+        assertEquals(0.05, Math.abs(solver.getTangentImpulse(0)), 1e-9);
+    }
+
+    @Test
+    public void solve_should_warm_start_from_last_step() {
+        ball.setVelocity(Vector.of(0, -0.5));
+        solveContact();
+
+        // The impulse of the last step is applied before iterating, so the contact is solved with no iterations
+        ball.setVelocity(Vector.of(0, -0.5));
+        solver.setIterations(0);
+        solveContact();
+
+        assertEquals(0, ball.getVelocity().getY(), 1e-9);
+        assertEquals(0.5, solver.getNormalImpulse(0), 1e-9);
+    }
+
+    @Test
+    public void solve_should_not_warm_start_when_disabled() {
+        solver.setWarmStartingEnabled(false);
+        ball.setVelocity(Vector.of(0, -0.5));
+        solveContact();
+
+        ball.setVelocity(Vector.of(0, -0.5));
+        solver.setIterations(0);
+        solveContact();
+
+        assertEquals(-0.5, ball.getVelocity().getY(), 1e-9);
+        assertEquals(0, solver.getNormalImpulse(0), 1e-9);
+    }
+}
@@ -20,6 +20,8 @@ import com.javaphysicsengine.gui.editor.canvas.PEditorPanel;
 import com.javaphysicsengine.gui.editor.canvas.PEditorRenderer;
 import com.javaphysicsengine.gui.editor.properties.PBodyPropertiesPanel;
 import com.javaphysicsengine.gui.editor.store.PEditorObservableStore;
+import com.javaphysicsengine.gui.io.PBinarySceneReader;
+import com.javaphysicsengine.gui.io.PBinarySceneWriter;
 import com.javaphysicsengine.gui.io.PFileReader;
 import com.javaphysicsengine.gui.io.PFileWriter;
 import com.javaphysicsengine.gui.simulation.PSimulationWindow;
@@ -30,11 +32,13 @@ import java.awt.*;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
 import java.io.FileInputStream;
-import java.io.FileNotFoundException;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.file.Paths;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import static com.javaphysicsengine.gui.editor.canvas.PEditorPanel.EDIT_MODE_CURSOR;
 
@@ -214,11 +218,22 @@ public class PEditorFrame extends JFrame implements ActionListener {
         // Get the file path from user
         String filePath = JOptionPane.showInputDialog("Enter File Path");
         try {
-            InputStream inputStream = new FileInputStream(filePath);
+            List<PBody> bodies;
+            List<PConstraints> constraints;
 
-            PFileReader fileReader = new PFileReader(inputStream);
-            List<PBody> bodies = fileReader.getBodies();
-            List<PConstraints> constraints = fileReader.getConstraints();
+            // Binary scenes are recognized by their first bytes, whatever their extension
+            if (PBinarySceneReader.isBinaryScene(Paths.get(filePath))) {
+                PBinarySceneReader sceneReader = new PBinarySceneReader(Paths.get(filePath));
+                bodies = sceneReader.getBodies();
+                constraints = sceneReader.getConstraints();
+
+            } else {
+                InputStream inputStream = new FileInputStream(filePath);
+
+                PFileReader fileReader = new PFileReader(inputStream);
+                bodies = fileReader.getBodies();
+                constraints = fileReader.getConstraints();
+            }
 
             // Adding the bodies and constraints to the gui
             for (PBody body : bodies) {
@@ -232,7 +247,7 @@ public class PEditorFrame extends JFrame implements ActionListener {
                     store.addConstraint(constraint);
                 }
             }
-        } catch (FileNotFoundException e) {
+        } catch (IOException e) {
             e.printStackTrace();
         }
     }
@@ -240,11 +255,21 @@ public class PEditorFrame extends JFrame implements ActionListener {
     /**
      * It will pop up a dialog window asking the user to enter the file path
      * that will save the bodies to.
-     * Note: the file path must be a full file path.
+     * Note: the file path must be a full file path. A path ending with {@code PBinarySceneWriter#EXTENSION} is saved
+     * as a binary scene.
      */
     private void saveBodiesToFile() {
         String filePath = JOptionPane.showInputDialog("Enter File Path:");
 
+        if (filePath.endsWith(PBinarySceneWriter.EXTENSION)) {
+            try (FileOutputStream outputStream = new FileOutputStream(filePath)) {
+                new PBinarySceneWriter(outputStream).saveScene(store.getCreatedBodies(), store.getCreatedConstraints());
+            } catch (IOException e) {
+                e.printStackTrace();
+            }
+            return;
+        }
+
         try {
             FileOutputStream fileWriter = new FileOutputStream(filePath);
 
@@ -287,6 +312,9 @@ public class PEditorFrame extends JFrame implements ActionListener {
     private void runSimulation() {
         PWorld world = new PWorld();
 
+        // The copies by the name of their body, to attach the copies of the constraints to them
+        Map<String, PBody> copiedBodiesByName = new HashMap<>(store.getCreatedBodies().size() * 2);
+
         for (PBody body : store.getCreatedBodies()) {
             PBody copiedBody;
 
@@ -298,16 +326,12 @@ public class PEditorFrame extends JFrame implements ActionListener {
                 throw new IllegalArgumentException("The class type " + body.getClass() + " is not supported!");
             }
             world.getBodies().add(copiedBody);
+            copiedBodiesByName.putIfAbsent(copiedBody.getName(), copiedBody);
         }
 
         for (PConstraints constraint : store.getCreatedConstraints()) {
-            PBody attachedBody1 = world.getBodies().stream()
-                    .filter(body -> body.getName().equals(constraint.getAttachedBodies()[0].getName()))
-                    .findFirst().orElseThrow(() -> new IllegalArgumentException("Cannot find body in world!"));
-
-            PBody attachedBody2 = world.getBodies().stream()
-                    .filter(body -> body.getName().equals(constraint.getAttachedBodies()[1].getName()))
-                    .findFirst().orElseThrow(() -> new IllegalArgumentException("Cannot find body in world!"));
+            PBody attachedBody1 = getCopiedBody(copiedBodiesByName, constraint.getAttachedBodies()[0]);
+            PBody attachedBody2 = getCopiedBody(copiedBodiesByName, constraint.getAttachedBodies()[1]);
 
             // Making a copy of the constraints
             if (constraint instanceof PSpring) {
@@ -328,6 +352,21 @@ public class PEditorFrame extends JFrame implements ActionListener {
                 .setVisible(true);
     }
 
+    /**
+     * Returns the copy of a body made for the simulation
+     * @param copiedBodiesByName the copies by the name of their body
+     * @param body the body in the editor
+     * @return the copy of the body
+     * @throws IllegalArgumentException thrown if the body was not copied
+     */
+    private static PBody getCopiedBody(Map<String, PBody> copiedBodiesByName, PBody body) {
+        PBody copiedBody = copiedBodiesByName.get(body.getName());
+        if (copiedBody == null) {
+            throw new IllegalArgumentException("Cannot find body in world!");
+        }
+        return copiedBody;
+    }
+
     /**
      * Certain actions called when clicked on a Menu Item in the Menu Bar of the window
      * @param e the event triggered
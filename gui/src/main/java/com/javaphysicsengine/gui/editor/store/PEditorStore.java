@@ -13,6 +13,7 @@ import com.javaphysicsengine.api.body.PConstraints;
 import com.javaphysicsengine.utils.Vector;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 
 public class PEditorStore {
     private ArrayList<Vector> polyVertices = new ArrayList<Vector>();
@@ -25,6 +26,9 @@ public class PEditorStore {
     private ArrayList<PBody> createdBodies = new ArrayList<PBody>();
     private ArrayList<PConstraints> createdConstraints = new ArrayList<PConstraints>();
 
+    // The created bodies by their name, so that bodies can be found and added in constant time
+    private HashMap<String, PBody> createdBodiesByName = new HashMap<String, PBody>();
+
     public ArrayList<Vector> getPolyVertices() {
         return polyVertices;
     }
@@ -46,7 +50,7 @@ public class PEditorStore {
     }
 
     public void setSelectedBody(PBody newSelectedBody) {
-        if (!createdBodies.contains(newSelectedBody)) {
+        if (!isInStore(newSelectedBody)) {
             throw new IllegalArgumentException("The body " + newSelectedBody + " does not exist in store!");
         }
         this.selectedBody = newSelectedBody;
@@ -61,7 +65,7 @@ public class PEditorStore {
     }
 
     public void setAttachedBody1(PBody newAttachedBody) {
-        if (!createdBodies.contains(newAttachedBody)) {
+        if (!isInStore(newAttachedBody)) {
             throw new IllegalArgumentException("The body " + newAttachedBody + " does not exist in store!");
         }
         this.attachedBody1 = newAttachedBody;
@@ -88,12 +92,11 @@ public class PEditorStore {
     }
 
     public void addBody(PBody body) {
-        for (PBody createdBody : createdBodies) {
-            if (createdBody.getName().equals(body.getName())) {
-                throw new IllegalArgumentException("Name " + body.getName() + " already exists!");
-            }
+        if (createdBodiesByName.containsKey(body.getName())) {
+            throw new IllegalArgumentException("Name " + body.getName() + " already exists!");
         }
         createdBodies.add(body);
+        createdBodiesByName.put(body.getName(), body);
     }
 
     /*
@@ -102,7 +105,7 @@ public class PEditorStore {
     */
     public void addConstraint(PConstraints constraint) {
         for (PBody body : constraint.getAttachedBodies()) {
-            if (!createdBodies.contains(body)) {
+            if (!isInStore(body)) {
                 throw new IllegalArgumentException("The body " + body + " is not in store!");
             }
         }
@@ -135,6 +138,7 @@ public class PEditorStore {
 
         // Remove the body from the arraylist of bodies
         createdBodies.remove(body);
+        createdBodiesByName.remove(objectName);
     }
 
     /**
@@ -143,6 +147,7 @@ public class PEditorStore {
     public void clearBodies() {
         createdConstraints.clear();
         createdBodies.clear();
+        createdBodiesByName.clear();
     }
 
     public void clearConstraints() {
@@ -157,21 +162,27 @@ public class PEditorStore {
       @returns Returns true if the name was changed successfully; else false.
     */
     public void changeBodyName(String newName, PBody body) {
-        for (PBody createdBody : createdBodies) {
-            if (createdBody.getName().equals(newName)) {
-                throw new IllegalArgumentException("Name already exists");
-            }
+        if (createdBodiesByName.containsKey(newName)) {
+            throw new IllegalArgumentException("Name already exists");
         }
 
+        if (isInStore(body)) {
+            createdBodiesByName.remove(body.getName());
+            createdBodiesByName.put(newName, body);
+        }
         body.setName(newName);
     }
 
     public PBody getBodyFromName(String bodyName) {
-        for (PBody createdBody : createdBodies) {
-            if (createdBody.getName().equals(bodyName)) {
-                return createdBody;
-            }
-        }
-        return null;
+        return createdBodiesByName.get(bodyName);
+    }
+
+    /**
+     * Determines if a body was added to the store (and not deleted since)
+     * @param body the body
+     * @return {@code true} if the body is in the store; else {@code false}
+     */
+    private boolean isInStore(PBody body) {
+        return body != null && createdBodiesByName.get(body.getName()) == body;
     }
 }
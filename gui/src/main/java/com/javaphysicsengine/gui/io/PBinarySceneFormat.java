@@ -0,0 +1,50 @@
+package com.javaphysicsengine.gui.io;
+
+/**
+ * The layout of a binary scene file (see {@code PBinarySceneWriter} and {@code PBinarySceneReader}).
+ *
+ * All the values are little-endian, and every section has a fixed size per entry, so the offset of any entry can be
+ * computed from the counts in the header:
+ * <pre>
+ *     header        magic, version, bodyCount, shapeCount, vertexCount, constraintCount, nameBytes, 0   (8 ints)
+ *     shape table   firstVertex, vertexCount                                                  (2 ints per shape)
+ *     vertex pool   x, y in the local space of their shape                                (2 doubles per vertex)
+ *     body table    type, flags, shape, nameOffset, nameLength, 0,
+ *                   mass, centerX, centerY, velocityX, velocityY, angle, angularVelocity, radius   (6 ints, 8 doubles)
+ *     constraint    type, body1, body2, 0, length, kValue                            (4 ints, 2 doubles)
+ *     name pool     the names of the bodies in UTF-8, one after the other
+ * </pre>
+ * A polygon points to its shape by its index in the shape table (and a circle has a shape of -1), so polygons that
+ * share a shape also share it in the file. A constraint points to its bodies by their index in the body table.
+ */
+final class PBinarySceneFormat {
+    static final int MAGIC = 0x4E435350;    // "PSCN" in little-endian
+    static final int VERSION = 1;
+
+    static final int HEADER_SIZE = 8 * Integer.BYTES;
+    static final int SHAPE_SIZE = 2 * Integer.BYTES;
+    static final int VERTEX_SIZE = 2 * Double.BYTES;
+    static final int BODY_SIZE = 6 * Integer.BYTES + 8 * Double.BYTES;
+    static final int CONSTRAINT_SIZE = 4 * Integer.BYTES + 2 * Double.BYTES;
+
+    // The types of bodies and constraints
+    static final int POLYGON = 0;
+    static final int CIRCLE = 1;
+    static final int SPRING = 0;
+    static final int STRING = 1;
+
+    // The flags of a body
+    static final int MOVEABLE = 1;
+
+    private PBinarySceneFormat() {
+    }
+
+    /**
+     * Returns the size of a file with a number of each entry
+     * @return the size in bytes
+     */
+    static long getFileSize(int bodyCount, int shapeCount, int vertexCount, int constraintCount, int nameBytes) {
+        return HEADER_SIZE + (long) shapeCount * SHAPE_SIZE + (long) vertexCount * VERTEX_SIZE +
+                (long) bodyCount * BODY_SIZE + (long) constraintCount * CONSTRAINT_SIZE + nameBytes;
+    }
+}
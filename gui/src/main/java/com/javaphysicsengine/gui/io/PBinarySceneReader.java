@@ -0,0 +1,233 @@
+package com.javaphysicsengine.gui.io;
+
+import com.javaphysicsengine.api.body.PBody;
+import com.javaphysicsengine.api.body.PCircle;
+import com.javaphysicsengine.api.body.PConstraints;
+import com.javaphysicsengine.api.body.PPolygon;
+import com.javaphysicsengine.api.body.PPolygonShape;
+import com.javaphysicsengine.api.body.PSpring;
+import com.javaphysicsengine.api.body.PString;
+import com.javaphysicsengine.utils.Vector;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.javaphysicsengine.gui.io.PBinarySceneFormat.*;
+
+/**
+ * Reads in the bodies and constraints of a binary scene (see {@code PBinarySceneWriter}).
+ *
+ * The file is memory-mapped rather than read, and each body is created straight from its entry in the mapped file,
+ * so nothing is parsed or copied on the way. Polygons that shared a shape when they were saved share it again:
+ * <pre>
+ *     PBinarySceneReader reader = new PBinarySceneReader(Paths.get("scene.pscene"));
+ *     world.getBodies().addAll(reader.getBodies());
+ *     world.getConstraints().addAll(reader.getConstraints());
+ * </pre>
+ */
+public class PBinarySceneReader {
+    private final ByteBuffer buffer;
+    private final int bodyCount;
+    private final int shapeCount;
+    private final int vertexCount;
+    private final int constraintCount;
+    private final int nameBytes;
+
+    private List<PBody> bodies = null;
+    private List<PConstraints> constraints = null;
+
+    /**
+     * Maps a binary scene file, and checks its header
+     * @param path the path of the file
+     * @throws IOException thrown when the file cannot be mapped, or is not a binary scene of a supported version
+     */
+    public PBinarySceneReader(Path path) throws IOException {
+        // The mapping stays valid after the channel is closed
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new IOException("The scene is too large to be mapped: " + channel.size() + " bytes");
+            }
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()).order(ByteOrder.LITTLE_ENDIAN);
+        }
+
+        if (buffer.limit() < HEADER_SIZE || buffer.getInt(0) != MAGIC) {
+            throw new IOException("Not a binary scene: " + path);
+        }
+        if (buffer.getInt(4) != VERSION) {
+            throw new IOException("Unsupported binary scene version " + buffer.getInt(4) + ": " + path);
+        }
+
+        bodyCount = buffer.getInt(8);
+        shapeCount = buffer.getInt(12);
+        vertexCount = buffer.getInt(16);
+        constraintCount = buffer.getInt(20);
+        nameBytes = buffer.getInt(24);
+        if (bodyCount < 0 || shapeCount < 0 || vertexCount < 0 || constraintCount < 0 || nameBytes < 0 ||
+                getFileSize(bodyCount, shapeCount, vertexCount, constraintCount, nameBytes) != buffer.limit()) {
+            throw new IOException("Corrupted binary scene: " + path);
+        }
+    }
+
+    /**
+     * Determines if a file is a binary scene, from its first bytes
+     * @param path the path of the file
+     * @return {@code true} if the file starts like a binary scene; else {@code false}
+     * @throws IOException thrown when the file cannot be read
+     */
+    public static boolean isBinaryScene(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            ByteBuffer magic = ByteBuffer.allocate(Integer.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            boolean isEndOfFile = false;
+            while (magic.hasRemaining() && !isEndOfFile) {
+                isEndOfFile = channel.read(magic) < 0;
+            }
+            return !magic.hasRemaining() && magic.getInt(0) == MAGIC;
+        }
+    }
+
+    /**
+     * Gets the bodies from the file
+     * @return a list of bodies, in the order they were saved in
+     * @throws IllegalStateException thrown if the entry of a body is not valid
+     */
+    public List<PBody> getBodies() {
+        if (bodies == null) {
+            loadBodies();
+        }
+        return bodies;
+    }
+
+    /**
+     * Gets the constraints from the file, which are attached to the bodies of {@code PBinarySceneReader#getBodies()}
+     * @return a list of constraints, in the order they were saved in
+     * @throws IllegalStateException thrown if the entry of a constraint is not valid
+     */
+    public List<PConstraints> getConstraints() {
+        if (constraints == null) {
+            loadConstraints();
+        }
+        return constraints;
+    }
+
+    /**
+     * Creates {@code this.bodies} from the shape table, vertex pool, body table and name pool
+     */
+    private void loadBodies() {
+        int shapesOffset = HEADER_SIZE;
+        int verticesOffset = shapesOffset + shapeCount * SHAPE_SIZE;
+        int bodiesOffset = verticesOffset + vertexCount * VERTEX_SIZE;
+        int namesOffset = bodiesOffset + bodyCount * BODY_SIZE + constraintCount * CONSTRAINT_SIZE;
+
+        PPolygonShape[] shapes = new PPolygonShape[shapeCount];
+        for (int i = 0; i < shapeCount; i++) {
+            int firstVertex = buffer.getInt(shapesOffset + i * SHAPE_SIZE);
+            int numVertices = buffer.getInt(shapesOffset + i * SHAPE_SIZE + 4);
+            if (firstVertex < 0 || numVertices < 3 || numVertices > vertexCount - firstVertex) {
+                throw new IllegalStateException("Invalid shape " + i);
+            }
+
+            List<Vector> localVertices = new ArrayList<>(numVertices);
+            for (int j = 0; j < numVertices; j++) {
+                int vertexOffset = verticesOffset + (firstVertex + j) * VERTEX_SIZE;
+                localVertices.add(new Vector(buffer.getDouble(vertexOffset), buffer.getDouble(vertexOffset + 8)));
+            }
+            shapes[i] = new PPolygonShape(localVertices);
+        }
+
+        List<PBody> bodies = new ArrayList<>(bodyCount);
+        ByteBuffer namePool = buffer.duplicate();
+        byte[] nameBuffer = new byte[0];
+        for (int i = 0; i < bodyCount; i++) {
+            int offset = bodiesOffset + i * BODY_SIZE;
+            int type = buffer.getInt(offset);
+            int flags = buffer.getInt(offset + 4);
+            int shapeIndex = buffer.getInt(offset + 8);
+            int nameOffset = buffer.getInt(offset + 12);
+            int nameLength = buffer.getInt(offset + 16);
+            offset += 6 * Integer.BYTES;
+
+            // Read the name without copying the rest of the file (the checks cannot overflow, since both are >= 0)
+            if (nameOffset < 0 || nameLength < 0 || nameLength > nameBytes - nameOffset) {
+                throw new IllegalStateException("Invalid name of body " + i);
+            }
+            if (nameBuffer.length < nameLength) {
+                nameBuffer = new byte[Math.max(nameLength, 2 * nameBuffer.length)];
+            }
+            namePool.position(namesOffset + nameOffset);
+            namePool.get(nameBuffer, 0, nameLength);
+            String name = new String(nameBuffer, 0, nameLength, StandardCharsets.UTF_8);
+
+            PBody body;
+            if (type == POLYGON) {
+                if (shapeIndex < 0 || shapeIndex >= shapeCount) {
+                    throw new IllegalStateException("Invalid shape of body " + i);
+                }
+                body = new PPolygon(name);
+            } else if (type == CIRCLE) {
+                PCircle circle = new PCircle(name);
+                circle.setRadius(buffer.getDouble(offset + 7 * Double.BYTES));
+                body = circle;
+            } else {
+                throw new IllegalStateException("Invalid type of body " + i + ": " + type);
+            }
+
+            body.setMoveable((flags & MOVEABLE) != 0);
+            body.setMass(buffer.getDouble(offset));
+            body.getCenterPt().setXY(buffer.getDouble(offset + 8), buffer.getDouble(offset + 16));
+            body.getVelocity().setXY(buffer.getDouble(offset + 24), buffer.getDouble(offset + 32));
+            body.rotate(buffer.getDouble(offset + 40));
+            body.setAngularVelocity(buffer.getDouble(offset + 48));
+
+            // The shape is placed at the center point and angle that were just set
+            if (type == POLYGON) {
+                ((PPolygon) body).setShape(shapes[shapeIndex]);
+            }
+            bodies.add(body);
+        }
+
+        this.bodies = bodies;
+    }
+
+    /**
+     * Creates {@code this.constraints} from the constraint table, attached to the bodies
+     */
+    private void loadConstraints() {
+        List<PBody> bodies = getBodies();
+        int constraintsOffset = HEADER_SIZE + shapeCount * SHAPE_SIZE + vertexCount * VERTEX_SIZE + bodyCount * BODY_SIZE;
+
+        List<PConstraints> constraints = new ArrayList<>(constraintCount);
+        for (int i = 0; i < constraintCount; i++) {
+            int offset = constraintsOffset + i * CONSTRAINT_SIZE;
+            int type = buffer.getInt(offset);
+            int body1 = buffer.getInt(offset + 4);
+            int body2 = buffer.getInt(offset + 8);
+            double length = buffer.getDouble(offset + 16);
+            double kValue = buffer.getDouble(offset + 24);
+            if (body1 < 0 || body1 >= bodyCount || body2 < 0 || body2 >= bodyCount) {
+                throw new IllegalStateException("Invalid bodies of constraint " + i);
+            }
+
+            PConstraints constraint;
+            if (type == SPRING) {
+                PSpring spring = new PSpring(bodies.get(body1), bodies.get(body2));
+                spring.setKValue(kValue);
+                constraint = spring;
+            } else if (type == STRING) {
+                constraint = new PString(bodies.get(body1), bodies.get(body2));
+            } else {
+                throw new IllegalStateException("Invalid type of constraint " + i + ": " + type);
+            }
+            constraint.setLength(length);
+            constraints.add(constraint);
+        }
+
+        this.constraints = constraints;
+    }
+}
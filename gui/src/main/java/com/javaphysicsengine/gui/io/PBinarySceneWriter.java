@@ -0,0 +1,179 @@
+package com.javaphysicsengine.gui.io;
+
+import com.javaphysicsengine.api.body.PBody;
+import com.javaphysicsengine.api.body.PCircle;
+import com.javaphysicsengine.api.body.PConstraints;
+import com.javaphysicsengine.api.body.PPolygon;
+import com.javaphysicsengine.api.body.PPolygonShape;
+import com.javaphysicsengine.api.body.PSpring;
+import com.javaphysicsengine.api.body.PString;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static com.javaphysicsengine.gui.io.PBinarySceneFormat.*;
+
+/**
+ * Saves bodies and constraints as a binary scene (see {@code PBinarySceneFormat}), which loads much faster than the
+ * text format of {@code PFileWriter} for large scenes (see {@code PBinarySceneReader}):
+ * <pre>
+ *     try (OutputStream outputStream = new FileOutputStream("scene.pscene")) {
+ *         new PBinarySceneWriter(outputStream).saveScene(bodies, constraints);
+ *     }
+ * </pre>
+ */
+public class PBinarySceneWriter {
+    // The extension of binary scene files
+    public static final String EXTENSION = ".pscene";
+
+    private final OutputStream outputStream;
+
+    /**
+     * Constructs the PBinarySceneWriter
+     * @param outputStream the output stream, which is not closed by the writer
+     */
+    public PBinarySceneWriter(OutputStream outputStream) {
+        this.outputStream = outputStream;
+    }
+
+    /**
+     * Saves the bodies and the constraints between them to the output stream
+     * Pre-condition: every body attached to a constraint must be in "bodies"
+     * @param bodies a list of bodies
+     * @param constraints a list of constraints
+     * @throws IOException thrown when it cannot save the scene
+     * @throws IllegalArgumentException thrown if a body or constraint is of an unknown type, or a constraint is
+     *                                  attached to a body that is not saved
+     */
+    public void saveScene(List<PBody> bodies, List<PConstraints> constraints) throws IOException {
+        // Give each body its index, and each distinct shape its index and vertices
+        Map<PBody, Integer> bodyIndices = new IdentityHashMap<>(bodies.size() * 2);
+        Map<PPolygonShape, Integer> shapeIndices = new IdentityHashMap<>();
+        List<PPolygonShape> shapes = new ArrayList<>();
+        PPolygonShape[] bodyShapes = new PPolygonShape[bodies.size()];
+        PBody[] savedBodies = new PBody[bodies.size()];
+        byte[][] names = new byte[bodies.size()][];
+        int vertexCount = 0;
+        int nameBytes = 0;
+
+        for (int i = 0; i < bodies.size(); i++) {
+            PBody body = bodies.get(i);
+            bodyIndices.put(body, i);
+
+            // A polygon whose vertices were edited directly is saved with the shape it would have once it is simulated
+            if (body instanceof PPolygon) {
+                PPolygon polygon = (PPolygon) body;
+                if (!polygon.isShapeUpToDate()) {
+                    polygon = new PPolygon(polygon);
+                }
+                PPolygonShape shape = polygon.getShape();
+                if (!shapeIndices.containsKey(shape)) {
+                    shapeIndices.put(shape, shapes.size());
+                    shapes.add(shape);
+                    vertexCount += shape.getVertexCount();
+                }
+                bodyShapes[i] = shape;
+                body = polygon;
+
+            } else if (!(body instanceof PCircle)) {
+                throw new IllegalArgumentException("The class type " + body.getClass() + " is not supported!");
+            }
+
+            savedBodies[i] = body;
+            names[i] = body.getName().getBytes(StandardCharsets.UTF_8);
+            nameBytes += names[i].length;
+        }
+
+        long fileSize = getFileSize(bodies.size(), shapes.size(), vertexCount, constraints.size(), nameBytes);
+        if (fileSize > Integer.MAX_VALUE) {
+            throw new IOException("The scene is too large to be saved: " + fileSize + " bytes");
+        }
+        ByteBuffer buffer = ByteBuffer.allocate((int) fileSize).order(ByteOrder.LITTLE_ENDIAN);
+
+        buffer.putInt(MAGIC).putInt(VERSION)
+                .putInt(bodies.size()).putInt(shapes.size()).putInt(vertexCount).putInt(constraints.size())
+                .putInt(nameBytes).putInt(0);
+
+        int firstVertex = 0;
+        for (PPolygonShape shape : shapes) {
+            buffer.putInt(firstVertex).putInt(shape.getVertexCount());
+            firstVertex += shape.getVertexCount();
+        }
+        for (PPolygonShape shape : shapes) {
+            for (int i = 0; i < shape.getVertexCount(); i++) {
+                buffer.putDouble(shape.getVertexX(i)).putDouble(shape.getVertexY(i));
+            }
+        }
+
+        int nameOffset = 0;
+        for (int i = 0; i < savedBodies.length; i++) {
+            PBody body = savedBodies[i];
+            boolean isCircle = body instanceof PCircle;
+            buffer.putInt(isCircle ? CIRCLE : POLYGON)
+                    .putInt(body.isMoving() ? MOVEABLE : 0)
+                    .putInt(isCircle ? -1 : shapeIndices.get(bodyShapes[i]))
+                    .putInt(nameOffset)
+                    .putInt(names[i].length)
+                    .putInt(0);
+            buffer.putDouble(body.getMass())
+                    .putDouble(body.getCenterPt().getX())
+                    .putDouble(body.getCenterPt().getY())
+                    .putDouble(body.getVelocity().getX())
+                    .putDouble(body.getVelocity().getY())
+                    .putDouble(body.getAngle())
+                    .putDouble(body.getAngularVelocity())
+                    .putDouble(isCircle ? ((PCircle) body).getRadius() : 0);
+            nameOffset += names[i].length;
+        }
+
+        for (PConstraints constraint : constraints) {
+            int type;
+            double kValue = 0;
+            if (constraint instanceof PSpring) {
+                type = SPRING;
+                kValue = ((PSpring) constraint).getKValue();
+            } else if (constraint instanceof PString) {
+                type = STRING;
+            } else {
+                throw new IllegalArgumentException("The class type " + constraint.getClass() + " is not supported!");
+            }
+
+            PBody[] attachedBodies = constraint.getAttachedBodies();
+            buffer.putInt(type)
+                    .putInt(getBodyIndex(bodyIndices, attachedBodies[0]))
+                    .putInt(getBodyIndex(bodyIndices, attachedBodies[1]))
+                    .putInt(0)
+                    .putDouble(constraint.getLength())
+                    .putDouble(kValue);
+        }
+
+        for (byte[] name : names) {
+            buffer.put(name);
+        }
+
+        buffer.flip();
+        WritableByteChannel channel = Channels.newChannel(outputStream);
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        outputStream.flush();
+    }
+
+    private static int getBodyIndex(Map<PBody, Integer> bodyIndices, PBody body) {
+        Integer index = bodyIndices.get(body);
+        if (index == null) {
+            throw new IllegalArgumentException("A constraint is attached to a body that is not saved: " +
+                    (body == null ? null : body.getName()));
+        }
+        return index;
+    }
+}
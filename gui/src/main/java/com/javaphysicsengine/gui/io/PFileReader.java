@@ -18,7 +18,9 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.StringTokenizer;
 
@@ -66,6 +68,10 @@ public class PFileReader {
         List<PBody> bodies = new ArrayList<>();
         List<PConstraints> constraints = new ArrayList<>();
 
+        // The types and properties of the constraints, which are created once all the bodies are loaded
+        List<String> constraintTypes = new ArrayList<>();
+        List<String> constraintProperties = new ArrayList<>();
+
         try (BufferedReader bufferedReader = new BufferedReader(new InputStreamReader(this.inputStream))) {
 
             String line;
@@ -85,12 +91,9 @@ public class PFileReader {
                         bodies.add(createCircleBody(propertiesTokenizer));
                         break;
                     case "PSpring":
-                        System.out.println("Loading Spring");
-                        constraints.add(createSpringConstraint(propertiesTokenizer, bodies));
-                        break;
                     case "PString":
-                        System.out.println("Loading String");
-                        constraints.add(createStringConstraint(propertiesTokenizer, bodies));
+                        constraintTypes.add(bodyType);
+                        constraintProperties.add(bodyProperties);
                         break;
                 }
             }
@@ -99,18 +102,34 @@ public class PFileReader {
             System.out.println("Exception while reading input " + ioe);
         }
 
+        // Find the bodies by their names in one pass, rather than searching all the bodies for each constraint
+        Map<String, PBody> bodiesByName = new HashMap<>(bodies.size() * 2);
+        for (PBody body : bodies) {
+            bodiesByName.put(body.getName(), body);
+        }
+        for (int i = 0; i < constraintTypes.size(); i++) {
+            StringTokenizer propertiesTokenizer = new StringTokenizer(constraintProperties.get(i), ";");
+            if (constraintTypes.get(i).equals("PSpring")) {
+                System.out.println("Loading Spring");
+                constraints.add(createSpringConstraint(propertiesTokenizer, bodiesByName));
+            } else {
+                System.out.println("Loading String");
+                constraints.add(createStringConstraint(propertiesTokenizer, bodiesByName));
+            }
+        }
+
         this.bodies = Optional.of(bodies);
         this.constraints = Optional.of(constraints);
     }
 
     /**
      * Creates a PSpring object based on the properties listed in the StringTokenizer
-     * Note: "properitesTokenizer" and "bodies" must not be null
-     * @param bodies A list of bodies already created
+     * Note: "properitesTokenizer" and "bodiesByName" must not be null
+     * @param bodiesByName All the bodies loaded, by their names (the last body with a name if several have it)
      * @param propertiesTokenizer The StringTokenizer containing the properties of the PPolygon
      * @return PSpring The generated PSpring
      */
-    private PSpring createSpringConstraint(StringTokenizer propertiesTokenizer, List<PBody> bodies) {
+    private PSpring createSpringConstraint(StringTokenizer propertiesTokenizer, Map<String, PBody> bodiesByName) {
         PSpring createdSpring = new PSpring(null, null);
         while (propertiesTokenizer.hasMoreTokens()) {
             // Grab the properties and its values
@@ -130,13 +149,8 @@ public class PFileReader {
                     StringTokenizer bodiesTokenizer = new StringTokenizer(propertyValue, "[]");
                     PBody[] bodiesAttached = new PBody[2];
                     int curBodyAttached = 0;
-                    while (bodiesTokenizer.hasMoreTokens()) {
-                        // Search for the body that has that name (note! bodies[] is not in order!)
-                        String targetName = bodiesTokenizer.nextToken();
-                        for (PBody body : bodies)
-                            if (body.getName().equals(targetName))
-                                bodiesAttached[curBodyAttached] = body;
-
+                    while (bodiesTokenizer.hasMoreTokens() && curBodyAttached < bodiesAttached.length) {
+                        bodiesAttached[curBodyAttached] = bodiesByName.get(bodiesTokenizer.nextToken());
                         curBodyAttached++;
                     }
 
@@ -151,13 +165,15 @@ public class PFileReader {
 
     /**
      * Creates a PString object based on the properties listed in the StringTokenizer
-     * Note: "properitesTokenizer" and "bodies" must not be null
-     * @param bodies A list of bodies already created
+     * Note: "properitesTokenizer" and "bodiesByName" must not be null
+     * @param bodiesByName All the bodies loaded, by their names (the last body with a name if several have it)
      * @param propertiesTokenizer The StringTokenizer containing the properties of the PPolygon
-     * @return PString The generated PString
+     * @return PString The generated PString, or null if one of its bodies does not exist
      */
-    private PString createStringConstraint(StringTokenizer propertiesTokenizer, List<PBody> bodies) {
-        PString createdString = new PString(null, null);
+    private PString createStringConstraint(StringTokenizer propertiesTokenizer, Map<String, PBody> bodiesByName) {
+        // A string measures the distance between its bodies when it is created, so it needs both of them
+        PString createdString = null;
+        double length = -1;
         while (propertiesTokenizer.hasMoreTokens()) {
             // Grab the properties and its values
             StringTokenizer propertyTokenizer = new StringTokenizer(propertiesTokenizer.nextToken(), ":");
@@ -167,28 +183,28 @@ public class PFileReader {
             // Set the appropriate properties
             switch (propertyType) {
                 case "Length":
-                    createdString.setLength(Double.parseDouble(propertyValue));
+                    length = Double.parseDouble(propertyValue);
                     break;
                 case "BodiesAttached":
                     StringTokenizer bodiesTokenizer = new StringTokenizer(propertyValue, "[]");
                     PBody[] bodiesAttached = new PBody[2];
                     int curBodyAttached = 0;
-                    while (bodiesTokenizer.hasMoreTokens()) {
-                        // Search for the body that has that name (note! bodies[] is not in order!)
-                        String targetName = bodiesTokenizer.nextToken();
-                        for (PBody body : bodies)
-                            if (body.getName().equals(targetName))
-                                bodiesAttached[curBodyAttached] = body;
-
+                    while (bodiesTokenizer.hasMoreTokens() && curBodyAttached < bodiesAttached.length) {
+                        bodiesAttached[curBodyAttached] = bodiesByName.get(bodiesTokenizer.nextToken());
                         curBodyAttached++;
                     }
 
-                    // Add the bodies to the spring
-                    createdString = new PString(bodiesAttached[0], bodiesAttached[1]);
+                    // Add the bodies to the string
+                    if (bodiesAttached[0] != null && bodiesAttached[1] != null) {
+                        createdString = new PString(bodiesAttached[0], bodiesAttached[1]);
+                    }
                     break;
             }
         }
 
+        if (createdString != null && length >= 0) {
+            createdString.setLength(length);
+        }
         return createdString;
     }
 
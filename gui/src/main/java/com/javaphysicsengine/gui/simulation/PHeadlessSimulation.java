@@ -0,0 +1,92 @@
+package com.javaphysicsengine.gui.simulation;
+
+import com.javaphysicsengine.api.PWorld;
+import com.javaphysicsengine.api.body.PBody;
+import com.javaphysicsengine.api.body.PConstraints;
+import com.javaphysicsengine.api.headless.PHeadlessRunner;
+import com.javaphysicsengine.gui.io.PBinarySceneReader;
+import com.javaphysicsengine.gui.io.PFileReader;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+
+/**
+ * Simulates a scene saved by the editor without opening a window (ex: on a server without a display), and
+ * prints how fast it was simulated:
+ * <pre>
+ *     java -cp gui.jar com.javaphysicsengine.gui.simulation.PHeadlessSimulation "Rope.txt" --time 60 --state rope.csv
+ * </pre>
+ * The scene file can be a text or a binary scene, and the arguments after it are the same as the ones of
+ * {@code PHeadlessRunner}.
+ */
+public class PHeadlessSimulation {
+
+    /**
+     * Loads the bodies and constraints of a scene file into a new world
+     * @param inputStream the contents of the scene file
+     * @return the world
+     */
+    public static PWorld loadWorld(InputStream inputStream) {
+        PFileReader fileReader = new PFileReader(inputStream);
+
+        PWorld world = new PWorld();
+        for (PBody body : fileReader.getBodies()) {
+            if (body != null) {
+                world.getBodies().add(body);
+            }
+        }
+        for (PConstraints constraint : fileReader.getConstraints()) {
+            if (constraint != null) {
+                world.getConstraints().add(constraint);
+            }
+        }
+        return world;
+    }
+
+    /**
+     * Loads the bodies and constraints of a scene file into a new world, whether it is a binary scene
+     * (see {@code PBinarySceneReader}) or a text one
+     * @param path the path of the scene file
+     * @return the world
+     * @throws IOException if the file could not be read
+     */
+    public static PWorld loadWorld(Path path) throws IOException {
+        if (!PBinarySceneReader.isBinaryScene(path)) {
+            try (InputStream inputStream = Files.newInputStream(path)) {
+                return loadWorld(inputStream);
+            }
+        }
+
+        PBinarySceneReader sceneReader = new PBinarySceneReader(path);
+        PWorld world = new PWorld();
+        world.getBodies().addAll(sceneReader.getBodies());
+        world.getConstraints().addAll(sceneReader.getConstraints());
+        return world;
+    }
+
+    /**
+     * Simulates a scene file from the command line
+     * @param args the path of the scene file, followed by the options of {@code PHeadlessRunner}
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length == 0) {
+            System.err.println("Usage: PHeadlessSimulation <scene file> [options]");
+            System.err.println(PHeadlessRunner.USAGE);
+            System.exit(1);
+        }
+
+        PWorld world = loadWorld(Paths.get(args[0]));
+
+        try {
+            PHeadlessRunner.runFromArgs(Arrays.copyOfRange(args, 1, args.length), world, System.out);
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.err.println(PHeadlessRunner.USAGE);
+            System.exit(1);
+        }
+    }
+}
@@ -6,24 +6,22 @@
  */
 package com.javaphysicsengine.gui.simulation;
 
+import com.javaphysicsengine.api.PSimulationThread;
 import com.javaphysicsengine.api.PWorld;
-import com.javaphysicsengine.api.body.PBody;
-import com.javaphysicsengine.api.body.PConstraints;
-import com.javaphysicsengine.utils.Vector;
+import com.javaphysicsengine.api.metrics.PFlightRecorder;
 
 import javax.swing.JPanel;
-import javax.swing.Timer;
 import java.awt.*;
-import java.awt.event.ActionEvent;
-import java.awt.event.ActionListener;
 
-public class PSimulationPanel extends JPanel implements ActionListener {
+public class PSimulationPanel extends JPanel {
     private PWorld world;
     private double frameRate;
     private boolean isShapeFillVisible = true;
     private boolean isShapeOutlineVisible = true;
     private boolean isAntiAliasingToggled = false;
-    private Timer gameTimer;
+
+    // Steps the world off the event dispatch thread, and publishes the snapshots that are painted
+    private PSimulationThread simulationThread;
 
     /**
      * Pre-condition: "world" must not be null. Frame rate must be greater than 0
@@ -42,20 +40,26 @@ public class PSimulationPanel extends JPanel implements ActionListener {
         this.isShapeOutlineVisible = isShapeOutlineVisible;
         this.isAntiAliasingToggled = isAntiAliasingToggled;
 
-        // Initialise the game loop
-        gameTimer = new Timer((int) (1000 / frameRate), this);
-        gameTimer.start();
+        // The physics runs at the frame rate on its own thread, and the panel is repainted after each step
+        world.setFixedTimeStep(1 / frameRate);
+        world.setContactRecordingEnabled(true);
+
+        // The steps show up in JDK Flight Recorder recordings, with the steps longer than a frame as slow steps
+        world.setStepRecorder(PFlightRecorder.createStepRecorder((long) (1e9 / frameRate)));
+        simulationThread = new PSimulationThread(world);
+        simulationThread.setStepListener(this::repaint);
+        simulationThread.start();
     }
 
     /**
      * Post-condition: Turns off the physics simulation
      */
     public void turnOffTimer() {
-        this.gameTimer.stop();
+        simulationThread.stop();
     }
 
     /**
-     * Draws the objects on the screen
+     * Draws the objects on the screen from the latest snapshot of the world
      * @param g The graphics object
      */
     @Override
@@ -69,37 +73,7 @@ public class PSimulationPanel extends JPanel implements ActionListener {
             g2.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
         }
 
-        // Draw the bodies
-        for (PBody body : world.getBodies()) {
-            if (isShapeFillVisible)
-                body.drawFill(g, this.getHeight());
-            if (isShapeOutlineVisible)
-                body.drawOutline(g, this.getHeight());
-        }
-
-        // Draw the springs
-        for (PConstraints constraint : world.getConstraints()) {
-            constraint.drawConstraints(g, this.getHeight());
-        }
-
-        // Draw all of the points
-        for (Vector pt : world.pointsToDraw) {
-            int topLeftX = (int) (pt.getX() - 1);
-            int topLeftY = this.getHeight() - (int) (pt.getY() + 1);
-            g.setColor(Color.GREEN);
-            g.fillOval(topLeftX, topLeftY, 2, 2);
-        }
-    }
-
-    /**
-     * Simulates the bodies in the world and renders the objects
-     * @param e The ActionEvent object that called this method
-     */
-    public void actionPerformed(ActionEvent e) {
-        if (e.getSource() instanceof Timer) {
-            // Simulate the objects and draw them
-            world.simulate(1000 / frameRate / 1000.0);
-            repaint();
-        }
+        // Draw the bodies, the springs and the latest contact points
+        simulationThread.getSnapshot().draw(g, this.getHeight(), isShapeFillVisible, isShapeOutlineVisible);
     }
 }
@@ -277,6 +277,17 @@ public class PEditorStoreTest {
         assertEquals("Sam", circle.getName());
     }
 
+    @Test
+    public void changeBodyName_should_find_body_by_new_name_only() {
+        PCircle circle = new PCircle("Bob");
+        store.addBody(circle);
+        store.changeBodyName("Sam", circle);
+
+        assertSame(circle, store.getBodyFromName("Sam"));
+        assertNull(store.getBodyFromName("Bob"));
+        store.addBody(new PCircle("Bob"));
+    }
+
     @Test(expected = IllegalArgumentException.class)
     public void changeBodyName_should_throw_exception_when_new_name_already_exists_in_store() {
         PCircle circle1 = new PCircle("Bob");
@@ -0,0 +1,166 @@
+package com.javaphysicsengine.gui.io;
+
+import com.javaphysicsengine.api.body.PBody;
+import com.javaphysicsengine.api.body.PCircle;
+import com.javaphysicsengine.api.body.PConstraints;
+import com.javaphysicsengine.api.body.PPolygon;
+import com.javaphysicsengine.api.body.PPolygonShape;
+import com.javaphysicsengine.api.body.PSpring;
+import com.javaphysicsengine.api.body.PString;
+import com.javaphysicsengine.utils.Vector;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class PBinarySceneReaderTest {
+
+    private Path file;
+
+    @Before
+    public void setup() throws IOException {
+        file = Files.createTempFile("scene", PBinarySceneWriter.EXTENSION);
+    }
+
+    @After
+    public void teardown() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    @Test
+    public void getBodies_should_read_back_saved_bodies_and_constraints() throws IOException {
+        PPolygonShape boxShape = PPolygonShape.createBox(20, 10);
+        PPolygon box1 = new PPolygon("Box 1");
+        box1.setShape(boxShape);
+        box1.move(Vector.of(50, 60));
+        box1.rotate(0.5);
+        box1.setMass(3);
+        box1.setAngularVelocity(2);
+
+        PPolygon box2 = new PPolygon("B\u00f4x 2");
+        box2.setShape(boxShape);
+        box2.move(Vector.of(-10, 5));
+        box2.setMoveable(false);
+
+        // A polygon made of vertices, like the ones made in the editor
+        PPolygon triangle = new PPolygon("Triangle");
+        triangle.getVertices().addAll(Arrays.asList(Vector.of(0, 0), Vector.of(40, 0), Vector.of(0, 30)));
+        triangle.computeCenterOfMass();
+
+        PCircle circle = new PCircle("Circle");
+        circle.setRadius(7);
+        circle.setCenterPt(Vector.of(100, 200));
+        circle.setVelocity(Vector.of(1, -2));
+
+        PSpring spring = new PSpring(box1, circle);
+        spring.setLength(80);
+        spring.setKValue(25);
+        PString string = new PString(circle, triangle);
+        string.setLength(40);
+
+        List<PBody> bodies = Arrays.asList(box1, box2, triangle, circle);
+        save(bodies, Arrays.asList(spring, string));
+        PBinarySceneReader reader = new PBinarySceneReader(file);
+        List<PBody> loadedBodies = reader.getBodies();
+        List<PConstraints> loadedConstraints = reader.getConstraints();
+
+        assertEquals(4, loadedBodies.size());
+        for (int i = 0; i < bodies.size(); i++) {
+            PBody body = bodies.get(i);
+            PBody loadedBody = loadedBodies.get(i);
+            assertEquals(body.getClass(), loadedBody.getClass());
+            assertEquals(body.getName(), loadedBody.getName());
+            assertEquals(body.getMass(), loadedBody.getMass(), 0);
+            assertEquals(body.getAngle(), loadedBody.getAngle(), 0);
+            assertEquals(body.getAngularVelocity(), loadedBody.getAngularVelocity(), 0);
+            assertEquals(body.isMoving(), loadedBody.isMoving());
+            assertEquals(body.getCenterPt(), loadedBody.getCenterPt());
+            assertEquals(body.getVelocity(), loadedBody.getVelocity());
+        }
+
+        // The polygons are placed where they were, and the boxes still share their shape
+        for (int i = 0; i < 3; i++) {
+            List<Vector> vertices = ((PPolygon) bodies.get(i)).getVertices();
+            List<Vector> loadedVertices = ((PPolygon) loadedBodies.get(i)).getVertices();
+            assertEquals(vertices.size(), loadedVertices.size());
+            for (int j = 0; j < vertices.size(); j++) {
+                assertEquals(vertices.get(j).getX(), loadedVertices.get(j).getX(), 1e-9);
+                assertEquals(vertices.get(j).getY(), loadedVertices.get(j).getY(), 1e-9);
+            }
+        }
+        assertSame(((PPolygon) loadedBodies.get(0)).getShape(), ((PPolygon) loadedBodies.get(1)).getShape());
+        assertEquals(7, ((PCircle) loadedBodies.get(3)).getRadius(), 0);
+
+        assertEquals(2, loadedConstraints.size());
+        PSpring loadedSpring = (PSpring) loadedConstraints.get(0);
+        assertSame(loadedBodies.get(0), loadedSpring.getAttachedBodies()[0]);
+        assertSame(loadedBodies.get(3), loadedSpring.getAttachedBodies()[1]);
+        assertEquals(80, loadedSpring.getLength(), 0);
+        assertEquals(25, loadedSpring.getKValue(), 0);
+        PString loadedString = (PString) loadedConstraints.get(1);
+        assertSame(loadedBodies.get(3), loadedString.getAttachedBodies()[0]);
+        assertSame(loadedBodies.get(2), loadedString.getAttachedBodies()[1]);
+        assertEquals(40, loadedString.getLength(), 0);
+    }
+
+    @Test
+    public void isBinaryScene_should_only_accept_binary_scenes() throws IOException {
+        save(Collections.singletonList(new PCircle("Circle")), Collections.emptyList());
+        assertTrue(PBinarySceneReader.isBinaryScene(file));
+
+        Files.write(file, "PCircle{Name:Circle;}".getBytes("UTF-8"));
+        assertFalse(PBinarySceneReader.isBinaryScene(file));
+    }
+
+    @Test(expected = IOException.class)
+    public void constructor_should_reject_truncated_file() throws IOException {
+        List<PBody> bodies = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            bodies.add(new PCircle("Circle " + i));
+        }
+        save(bodies, Collections.emptyList());
+
+        byte[] contents = Files.readAllBytes(file);
+        Files.write(file, Arrays.copyOf(contents, contents.length - 1));
+        new PBinarySceneReader(file);
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void getBodies_should_reject_name_past_end_of_name_pool() throws IOException {
+        save(Collections.singletonList(new PCircle("Circle")), Collections.emptyList());
+
+        // A name offset this large overflows when added to the name length
+        ByteBuffer contents = ByteBuffer.wrap(Files.readAllBytes(file)).order(ByteOrder.LITTLE_ENDIAN);
+        contents.putInt(PBinarySceneFormat.HEADER_SIZE + 12, Integer.MAX_VALUE);
+        Files.write(file, contents.array());
+        new PBinarySceneReader(file).getBodies();
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void saveScene_should_reject_constraint_to_unsaved_body() throws IOException {
+        PCircle circle = new PCircle("Circle");
+        PString string = new PString(circle, new PCircle("Unsaved"));
+        save(Collections.singletonList(circle), Collections.singletonList(string));
+    }
+
+    private void save(List<PBody> bodies, List<PConstraints> constraints) throws IOException {
+        try (OutputStream outputStream = Files.newOutputStream(file)) {
+            new PBinarySceneWriter(outputStream).saveScene(bodies, constraints);
+        }
+    }
+}
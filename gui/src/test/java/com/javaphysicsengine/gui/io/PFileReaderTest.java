@@ -0,0 +1,48 @@
+package com.javaphysicsengine.gui.io;
+
+import com.javaphysicsengine.api.body.PBody;
+import com.javaphysicsengine.api.body.PConstraints;
+import com.javaphysicsengine.api.body.PSpring;
+import com.javaphysicsengine.api.body.PString;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+public class PFileReaderTest {
+
+    @Test
+    public void getConstraints_should_attach_constraints_to_bodies_by_name() {
+        String scene = String.join("\n",
+                "PCircle{Name:Ball;Mass:1.0;CenterPoint:10.0 20.0;Velocity:0.0 0.0;Angle:0.0;Is Moveable:true;Radius:5.0;}",
+                "PSpring{BodiesAttached:[Ball][Box];Length:30.0;KValue:12.0}",
+                "PPolygon{Name:Box;Mass:1.0;Velocity:0.0 0.0;Angle:0.0;Is Moveable:false;Vertices:0.0 0.0,10.0 0.0,10.0 10.0,0.0 10.0}",
+                "PString{BodiesAttached:[Box][Ball];Length:15.0;}",
+                "PString{BodiesAttached:[Box][Missing];Length:15.0;}");
+        PFileReader fileReader = new PFileReader(new ByteArrayInputStream(scene.getBytes(StandardCharsets.UTF_8)));
+        List<PBody> bodies = fileReader.getBodies();
+        List<PConstraints> constraints = fileReader.getConstraints();
+
+        // The bodies are linked after the whole file is read, so a constraint can come before its bodies
+        assertEquals(2, bodies.size());
+        assertEquals(3, constraints.size());
+        PSpring spring = (PSpring) constraints.get(0);
+        assertSame(bodies.get(0), spring.getAttachedBodies()[0]);
+        assertSame(bodies.get(1), spring.getAttachedBodies()[1]);
+        assertEquals(30, spring.getLength(), 0);
+        assertEquals(12, spring.getKValue(), 0);
+
+        PString string = (PString) constraints.get(1);
+        assertSame(bodies.get(1), string.getAttachedBodies()[0]);
+        assertSame(bodies.get(0), string.getAttachedBodies()[1]);
+        assertEquals(15, string.getLength(), 0);
+
+        // A string cannot be created without both of its bodies
+        assertNull(constraints.get(2));
+    }
+}
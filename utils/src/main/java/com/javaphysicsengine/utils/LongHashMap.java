@@ -0,0 +1,311 @@
+package com.javaphysicsengine.utils;
+
+import java.util.Arrays;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+ * A map from primitive longs to objects, stored in an open-addressing hash table with linear probing.
+ * Unlike {@code HashMap<Long, V>}, putting, removing and clearing entries does not allocate any objects
+ * (except when the table needs to grow).
+ *
+ * The entries can be iterated without allocating an iterator:
+ * <pre>
+ *     for (int slot = 0; slot < map.getCapacity(); slot++) {
+ *         if (map.isSlotUsed(slot)) {
+ *             long key = map.getKeyAt(slot);
+ *             V value = map.getValueAt(slot);
+ *         }
+ *     }
+ * </pre>
+ *
+ * @param <V> the type of the values
+ */
+public class LongHashMap<V> {
+    private static final long EMPTY = 0;
+    private static final double MAX_LOAD_FACTOR = 0.5;
+
+    private long[] keys;
+    private Object[] values;
+    private int mask;
+    private int size;
+
+    // Since 0 is used to mark empty slots, the value of the zero key is stored separately
+    private boolean hasZeroKey;
+    private V zeroKeyValue;
+
+    /**
+     * Creates an empty map
+     */
+    public LongHashMap() {
+        this(16);
+    }
+
+    /**
+     * Creates an empty map that can hold a certain number of entries before it needs to grow
+     * @param expectedSize the number of entries
+     */
+    public LongHashMap(int expectedSize) {
+        int capacity = Integer.highestOneBit(Math.max((int) (expectedSize / MAX_LOAD_FACTOR), 2) - 1) << 1;
+        keys = new long[capacity];
+        values = new Object[capacity];
+        mask = capacity - 1;
+    }
+
+    /**
+     * Returns the value of a key
+     * @param key the key
+     * @return the value, or {@code null} if the key is not in the map
+     */
+    @SuppressWarnings("unchecked")
+    public V get(long key) {
+        if (key == EMPTY) {
+            return zeroKeyValue;
+        }
+
+        int slot = hash(key) & mask;
+        while (keys[slot] != EMPTY) {
+            if (keys[slot] == key) {
+                return (V) values[slot];
+            }
+            slot = (slot + 1) & mask;
+        }
+        return null;
+    }
+
+    /**
+     * Determines if a key is in the map
+     * @param key the key
+     * @return {@code true} if the key is in the map; else {@code false}
+     */
+    public boolean containsKey(long key) {
+        if (key == EMPTY) {
+            return hasZeroKey;
+        }
+
+        int slot = hash(key) & mask;
+        while (keys[slot] != EMPTY) {
+            if (keys[slot] == key) {
+                return true;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return false;
+    }
+
+    /**
+     * Sets the value of a key
+     * Pre-condition: "value" must not be null
+     * @param key the key
+     * @param value the value
+     * @return the previous value of the key, or {@code null} if the key was not in the map
+     */
+    @SuppressWarnings("unchecked")
+    public V put(long key, V value) {
+        if (key == EMPTY) {
+            V oldValue = zeroKeyValue;
+            if (!hasZeroKey) {
+                hasZeroKey = true;
+                size++;
+            }
+            zeroKeyValue = value;
+            return oldValue;
+        }
+
+        int slot = hash(key) & mask;
+        while (keys[slot] != EMPTY) {
+            if (keys[slot] == key) {
+                V oldValue = (V) values[slot];
+                values[slot] = value;
+                return oldValue;
+            }
+            slot = (slot + 1) & mask;
+        }
+
+        keys[slot] = key;
+        values[slot] = value;
+        size++;
+        if (size > keys.length * MAX_LOAD_FACTOR) {
+            rehash(keys.length * 2);
+        }
+        return null;
+    }
+
+    /**
+     * Removes a key from the map
+     * @param key the key
+     * @return the value of the key, or {@code null} if the key was not in the map
+     */
+    @SuppressWarnings("unchecked")
+    public V remove(long key) {
+        if (key == EMPTY) {
+            V oldValue = zeroKeyValue;
+            if (hasZeroKey) {
+                hasZeroKey = false;
+                zeroKeyValue = null;
+                size--;
+            }
+            return oldValue;
+        }
+
+        int slot = hash(key) & mask;
+        while (keys[slot] != EMPTY) {
+            if (keys[slot] == key) {
+                V oldValue = (V) values[slot];
+                removeAt(slot);
+                size--;
+                return oldValue;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return null;
+    }
+
+    /**
+     * Removes the entries whose values match a filter, such as the entries that were not used in the last step.
+     * To avoid allocating on every call, the filter and the consumer should be kept in fields rather than
+     * being lambdas that capture local variables.
+     * Note that the filter may be called more than once for the same value, so it should not have side effects
+     *
+     * @param filter returns {@code true} for the values to remove
+     * @param removedValues is given each value that was removed (ex: to return it to a pool)
+     * @return the number of entries removed
+     */
+    @SuppressWarnings("unchecked")
+    public int removeIf(Predicate<? super V> filter, Consumer<? super V> removedValues) {
+        int numRemoved = 0;
+        if (hasZeroKey && filter.test(zeroKeyValue)) {
+            removedValues.accept(remove(EMPTY));
+            numRemoved++;
+        }
+
+        int slot = 0;
+        while (slot < keys.length) {
+            if (keys[slot] != EMPTY && filter.test((V) values[slot])) {
+                V value = (V) values[slot];
+                removeAt(slot);
+                size--;
+                removedValues.accept(value);
+                numRemoved++;
+
+                // Removing an entry can shift a later entry into this slot, so the slot is checked again
+                continue;
+            }
+            slot++;
+        }
+        return numRemoved;
+    }
+
+    /**
+     * Removes all the entries from the map
+     */
+    public void clear() {
+        if (size > 0) {
+            Arrays.fill(keys, EMPTY);
+            Arrays.fill(values, null);
+            hasZeroKey = false;
+            zeroKeyValue = null;
+            size = 0;
+        }
+    }
+
+    /**
+     * Returns the number of entries in the map
+     * @return the number of entries in the map
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns the number of slots in the table, used to iterate through the entries.
+     * Note that the zero key is stored in the extra slot at index {@code getCapacity() - 1}
+     * @return the number of slots
+     */
+    public int getCapacity() {
+        return keys.length + 1;
+    }
+
+    /**
+     * Determines if there is an entry in a slot
+     * @param slot the slot, from 0 to {@code getCapacity() - 1}
+     * @return {@code true} if there is an entry in the slot; else {@code false}
+     */
+    public boolean isSlotUsed(int slot) {
+        return slot == keys.length ? hasZeroKey : keys[slot] != EMPTY;
+    }
+
+    /**
+     * Returns the key in a slot
+     * Pre-condition: {@code isSlotUsed(slot)} must be {@code true}
+     * @param slot the slot, from 0 to {@code getCapacity() - 1}
+     * @return the key in the slot
+     */
+    public long getKeyAt(int slot) {
+        return slot == keys.length ? EMPTY : keys[slot];
+    }
+
+    /**
+     * Returns the value in a slot
+     * Pre-condition: {@code isSlotUsed(slot)} must be {@code true}
+     * @param slot the slot, from 0 to {@code getCapacity() - 1}
+     * @return the value in the slot
+     */
+    @SuppressWarnings("unchecked")
+    public V getValueAt(int slot) {
+        return slot == keys.length ? zeroKeyValue : (V) values[slot];
+    }
+
+    /**
+     * Removes the entry at a slot, and shifts back the entries after it that would no longer be reachable
+     * @param slot the slot of the entry to remove
+     */
+    private void removeAt(int slot) {
+        int gap = slot;
+        int next = (gap + 1) & mask;
+
+        while (keys[next] != EMPTY) {
+            int idealSlot = hash(keys[next]) & mask;
+
+            // Move the entry into the gap if the gap lies between its ideal slot and where it is now
+            boolean canMove = ((next - idealSlot) & mask) >= ((next - gap) & mask);
+            if (canMove) {
+                keys[gap] = keys[next];
+                values[gap] = values[next];
+                gap = next;
+            }
+            next = (next + 1) & mask;
+        }
+        keys[gap] = EMPTY;
+        values[gap] = null;
+    }
+
+    private void rehash(int newCapacity) {
+        long[] oldKeys = keys;
+        Object[] oldValues = values;
+        keys = new long[newCapacity];
+        values = new Object[newCapacity];
+        mask = newCapacity - 1;
+
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != EMPTY) {
+                int slot = hash(oldKeys[i]) & mask;
+                while (keys[slot] != EMPTY) {
+                    slot = (slot + 1) & mask;
+                }
+                keys[slot] = oldKeys[i];
+                values[slot] = oldValues[i];
+            }
+        }
+    }
+
+    /**
+     * Mixes the bits of a key so that keys that only differ in their upper or lower bits spread across the table
+     * @param key the key
+     * @return the hash of the key
+     */
+    private static int hash(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+}
@@ -0,0 +1,219 @@
+package com.javaphysicsengine.utils;
+
+import java.util.Arrays;
+
+/**
+ * A set of primitive longs, stored in an open-addressing hash table with linear probing.
+ * Unlike {@code HashSet<Long>}, adding, removing and clearing keys does not allocate any objects
+ * (except when the table needs to grow).
+ *
+ * The keys can be iterated without allocating an iterator:
+ * <pre>
+ *     for (int slot = 0; slot < set.getCapacity(); slot++) {
+ *         if (set.isSlotUsed(slot)) {
+ *             long key = set.getKeyAt(slot);
+ *         }
+ *     }
+ * </pre>
+ */
+public class LongHashSet {
+    private static final long EMPTY = 0;
+    private static final double MAX_LOAD_FACTOR = 0.5;
+
+    private long[] keys;
+    private int mask;
+    private int size;
+
+    // Since 0 is used to mark empty slots, it is stored separately
+    private boolean hasZeroKey;
+
+    /**
+     * Creates an empty set
+     */
+    public LongHashSet() {
+        this(16);
+    }
+
+    /**
+     * Creates an empty set that can hold a certain number of keys before it needs to grow
+     * @param expectedSize the number of keys
+     */
+    public LongHashSet(int expectedSize) {
+        int capacity = Integer.highestOneBit(Math.max((int) (expectedSize / MAX_LOAD_FACTOR), 2) - 1) << 1;
+        keys = new long[capacity];
+        mask = capacity - 1;
+    }
+
+    /**
+     * Adds a key to the set
+     * @param key the key
+     * @return {@code true} if the key was not in the set; else {@code false}
+     */
+    public boolean add(long key) {
+        if (key == EMPTY) {
+            if (hasZeroKey) {
+                return false;
+            }
+            hasZeroKey = true;
+            size++;
+            return true;
+        }
+
+        int slot = hash(key) & mask;
+        while (keys[slot] != EMPTY) {
+            if (keys[slot] == key) {
+                return false;
+            }
+            slot = (slot + 1) & mask;
+        }
+
+        keys[slot] = key;
+        size++;
+        if (size > keys.length * MAX_LOAD_FACTOR) {
+            rehash(keys.length * 2);
+        }
+        return true;
+    }
+
+    /**
+     * Determines if a key is in the set
+     * @param key the key
+     * @return {@code true} if the key is in the set; else {@code false}
+     */
+    public boolean contains(long key) {
+        if (key == EMPTY) {
+            return hasZeroKey;
+        }
+
+        int slot = hash(key) & mask;
+        while (keys[slot] != EMPTY) {
+            if (keys[slot] == key) {
+                return true;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return false;
+    }
+
+    /**
+     * Removes a key from the set
+     * @param key the key
+     * @return {@code true} if the key was in the set; else {@code false}
+     */
+    public boolean remove(long key) {
+        if (key == EMPTY) {
+            if (!hasZeroKey) {
+                return false;
+            }
+            hasZeroKey = false;
+            size--;
+            return true;
+        }
+
+        int slot = hash(key) & mask;
+        while (keys[slot] != EMPTY) {
+            if (keys[slot] == key) {
+                removeAt(slot);
+                size--;
+                return true;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return false;
+    }
+
+    /**
+     * Removes all the keys from the set
+     */
+    public void clear() {
+        if (size > 0) {
+            Arrays.fill(keys, EMPTY);
+            hasZeroKey = false;
+            size = 0;
+        }
+    }
+
+    /**
+     * Returns the number of keys in the set
+     * @return the number of keys in the set
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns the number of slots in the table, used to iterate through the keys.
+     * Note that the zero key is stored in the extra slot at index {@code getCapacity() - 1}
+     * @return the number of slots
+     */
+    public int getCapacity() {
+        return keys.length + 1;
+    }
+
+    /**
+     * Determines if there is a key in a slot
+     * @param slot the slot, from 0 to {@code getCapacity() - 1}
+     * @return {@code true} if there is a key in the slot; else {@code false}
+     */
+    public boolean isSlotUsed(int slot) {
+        return slot == keys.length ? hasZeroKey : keys[slot] != EMPTY;
+    }
+
+    /**
+     * Returns the key in a slot
+     * Pre-condition: {@code isSlotUsed(slot)} must be {@code true}
+     * @param slot the slot, from 0 to {@code getCapacity() - 1}
+     * @return the key in the slot
+     */
+    public long getKeyAt(int slot) {
+        return slot == keys.length ? EMPTY : keys[slot];
+    }
+
+    /**
+     * Removes the key at a slot, and shifts back the keys after it that would no longer be reachable
+     * @param slot the slot of the key to remove
+     */
+    private void removeAt(int slot) {
+        int gap = slot;
+        int next = (gap + 1) & mask;
+
+        while (keys[next] != EMPTY) {
+            int idealSlot = hash(keys[next]) & mask;
+
+            // Move the key into the gap if the gap lies between its ideal slot and where it is now
+            boolean canMove = ((next - idealSlot) & mask) >= ((next - gap) & mask);
+            if (canMove) {
+                keys[gap] = keys[next];
+                gap = next;
+            }
+            next = (next + 1) & mask;
+        }
+        keys[gap] = EMPTY;
+    }
+
+    private void rehash(int newCapacity) {
+        long[] oldKeys = keys;
+        keys = new long[newCapacity];
+        mask = newCapacity - 1;
+
+        for (long key : oldKeys) {
+            if (key != EMPTY) {
+                int slot = hash(key) & mask;
+                while (keys[slot] != EMPTY) {
+                    slot = (slot + 1) & mask;
+                }
+                keys[slot] = key;
+            }
+        }
+    }
+
+    /**
+     * Mixes the bits of a key so that keys that only differ in their upper or lower bits spread across the table
+     * @param key the key
+     * @return the hash of the key
+     */
+    private static int hash(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+}
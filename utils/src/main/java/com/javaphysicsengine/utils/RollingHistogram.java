@@ -0,0 +1,120 @@
+package com.javaphysicsengine.utils;
+
+import java.util.Arrays;
+
+/**
+ * Keeps the last few values that were recorded (ex: the durations of the last 1000 steps), to find their percentiles.
+ *
+ * Recording a value only stores it in a ring buffer (without allocating anything), and the values are only sorted
+ * when a percentile is asked for, so it is cheap to record a value every step and read the percentiles now and then:
+ * <pre>
+ *     histogram.record(durationNanos);
+ *     ...
+ *     long p99 = histogram.getPercentile(99);
+ * </pre>
+ */
+public class RollingHistogram {
+    private final long[] values;
+    private int size = 0;
+    private int nextIndex = 0;
+
+    // The values sorted, which is kept until the next value is recorded
+    private final long[] sortedValues;
+    private boolean isSorted = true;
+
+    /**
+     * Creates an empty histogram
+     * Pre-condition: "windowSize" must be greater than 0
+     * @param windowSize the number of most recent values that are kept
+     */
+    public RollingHistogram(int windowSize) {
+        values = new long[windowSize];
+        sortedValues = new long[windowSize];
+    }
+
+    /**
+     * Adds a value, replacing the oldest value if the window is full
+     * @param value the value
+     */
+    public void record(long value) {
+        values[nextIndex] = value;
+        nextIndex = nextIndex + 1 < values.length ? nextIndex + 1 : 0;
+        if (size < values.length) {
+            size++;
+        }
+        isSorted = false;
+    }
+
+    /**
+     * Returns the number of values in the window
+     * @return the number of values
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns the most values that are kept
+     * @return the window size
+     */
+    public int getWindowSize() {
+        return values.length;
+    }
+
+    /**
+     * Returns the smallest value in the window that is greater than or equal to a percentage of the values
+     * Pre-condition: 0 <= "percentile" <= 100
+     * @param percentile the percentage (ex: 99 for the 99th percentile)
+     * @return the value, or 0 if there are no values
+     */
+    public long getPercentile(double percentile) {
+        if (size == 0) {
+            return 0;
+        }
+        sort();
+
+        int rank = (int) Math.ceil(percentile / 100 * size);
+        return sortedValues[Math.min(Math.max(rank - 1, 0), size - 1)];
+    }
+
+    /**
+     * Returns the largest value in the window
+     * @return the max value, or 0 if there are no values
+     */
+    public long getMax() {
+        return getPercentile(100);
+    }
+
+    /**
+     * Returns the average of the values in the window
+     * @return the mean, or 0 if there are no values
+     */
+    public double getMean() {
+        if (size == 0) {
+            return 0;
+        }
+
+        double sum = 0;
+        for (int i = 0; i < size; i++) {
+            sum += values[i];
+        }
+        return sum / size;
+    }
+
+    /**
+     * Removes all the values
+     */
+    public void clear() {
+        size = 0;
+        nextIndex = 0;
+        isSorted = true;
+    }
+
+    private void sort() {
+        if (!isSorted) {
+            System.arraycopy(values, 0, sortedValues, 0, size);
+            Arrays.sort(sortedValues, 0, size);
+            isSorted = true;
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.javaphysicsengine.utils;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Passes the latest version of an object from one writer thread to one reader thread without locks.
+ *
+ * There are three buffers: one that the writer fills, one that the reader reads, and one in between that holds the
+ * latest published buffer. Publishing and reading swap a buffer with the one in between, so the writer never waits
+ * for the reader (and the reader never waits for the writer), and neither ever sees a buffer the other is using:
+ * <pre>
+ *     // Writer thread
+ *     buffer.getWriteBuffer().copyFrom(state);
+ *     buffer.publish();
+ *
+ *     // Reader thread
+ *     draw(buffer.read());
+ * </pre>
+ * @param <T> the type of the buffers
+ */
+public final class TripleBuffer<T> {
+    private static final int INDEX_MASK = 3;
+
+    // Set on the index of the buffer in between when it was published but not read yet
+    private static final int NEW_BIT = 4;
+
+    private final T[] buffers;
+    private int writeIndex = 0;
+    private int readIndex = 1;
+    private final AtomicInteger middleIndex = new AtomicInteger(2);
+
+    /**
+     * Creates the three buffers
+     * Pre-condition: "factory" must not be null, and must create a new object each time
+     * @param factory creates each buffer
+     */
+    @SuppressWarnings("unchecked")
+    public TripleBuffer(Supplier<T> factory) {
+        buffers = (T[]) new Object[] { factory.get(), factory.get(), factory.get() };
+    }
+
+    /**
+     * Returns the buffer that the writer fills. It must only be called by the writer thread
+     * @return the buffer to write to
+     */
+    public T getWriteBuffer() {
+        return buffers[writeIndex];
+    }
+
+    /**
+     * Makes the buffer that was written to the latest buffer, and gives the writer another buffer to write to.
+     * It must only be called by the writer thread
+     */
+    public void publish() {
+        writeIndex = middleIndex.getAndSet(writeIndex | NEW_BIT) & INDEX_MASK;
+    }
+
+    /**
+     * Returns the latest published buffer, which stays the same until the next call.
+     * It must only be called by the reader thread
+     * @return the latest buffer (or the initial read buffer if nothing was published)
+     */
+    public T read() {
+        if ((middleIndex.get() & NEW_BIT) != 0) {
+            readIndex = middleIndex.getAndSet(readIndex) & INDEX_MASK;
+        }
+        return buffers[readIndex];
+    }
+
+    /**
+     * Determines if a buffer was published since the last call to {@code TripleBuffer#read()}
+     * @return {@code true} if there is a new buffer; else {@code false}
+     */
+    public boolean hasNewBuffer() {
+        return (middleIndex.get() & NEW_BIT) != 0;
+    }
+}
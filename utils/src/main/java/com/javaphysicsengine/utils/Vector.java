@@ -69,6 +69,103 @@ public class Vector {
         return Vector.add(this, v2);
     }
 
+    /**
+     * Stores v2 - v1 in "result" without allocating a new vector
+     * Pre-condition: "v2", "v1", "result" must not be null. "result" can be the same object as "v2" or "v1"
+     * @param v2 the vector to subtract from
+     * @param v1 the vector to subtract
+     * @param result the vector to store the result in
+     * @return "result"
+     */
+    public static Vector minusInto(Vector v2, Vector v1, Vector result) {
+        return result.setXY(v2.x - v1.x, v2.y - v1.y);
+    }
+
+    /**
+     * Stores v1 + v2 in "result" without allocating a new vector
+     * Pre-condition: "v1", "v2", "result" must not be null. "result" can be the same object as "v1" or "v2"
+     * @param v1 the first vector
+     * @param v2 the second vector
+     * @param result the vector to store the result in
+     * @return "result"
+     */
+    public static Vector addInto(Vector v1, Vector v2, Vector result) {
+        return result.setXY(v1.x + v2.x, v1.y + v2.y);
+    }
+
+    /**
+     * Stores v * amount in "result" without allocating a new vector
+     * Pre-condition: "v", "result" must not be null. "result" can be the same object as "v"
+     * @param v the vector
+     * @param amount the amount to scale by
+     * @param result the vector to store the result in
+     * @return "result"
+     */
+    public static Vector scaleInto(Vector v, double amount, Vector result) {
+        return result.setXY(v.x * amount, v.y * amount);
+    }
+
+    /**
+     * Stores the unit vector of "v" in "result" without allocating a new vector.
+     * Like {@code Vector#normalize()}, a zero vector stays a zero vector
+     * Pre-condition: "v", "result" must not be null. "result" can be the same object as "v"
+     * @param v the vector
+     * @param result the vector to store the result in
+     * @return "result"
+     */
+    public static Vector normalizeInto(Vector v, Vector result) {
+        double length = v.norm2();
+        if (length == 0) {
+            return result.setXY(0, 0);
+        }
+        return result.setXY(v.x / length, v.y / length);
+    }
+
+    /**
+     * Adds a vector to this vector
+     * @param v2 the vector to add
+     * @return this vector
+     */
+    public Vector addInPlace(Vector v2) {
+        return addInto(this, v2, this);
+    }
+
+    /**
+     * Adds a scaled vector to this vector (this += v2 * amount)
+     * @param v2 the vector to add
+     * @param amount the amount to scale "v2" by
+     * @return this vector
+     */
+    public Vector addScaledInPlace(Vector v2, double amount) {
+        return setXY(x + v2.x * amount, y + v2.y * amount);
+    }
+
+    /**
+     * Subtracts a vector from this vector
+     * @param v1 the vector to subtract
+     * @return this vector
+     */
+    public Vector minusInPlace(Vector v1) {
+        return minusInto(this, v1, this);
+    }
+
+    /**
+     * Scales this vector
+     * @param amount the amount to scale by
+     * @return this vector
+     */
+    public Vector scaleInPlace(double amount) {
+        return scaleInto(this, amount, this);
+    }
+
+    /**
+     * Makes this vector a unit vector, or leaves it as a zero vector if its length is 0
+     * @return this vector
+     */
+    public Vector normalizeInPlace() {
+        return normalizeInto(this, this);
+    }
+
     public static double cross(Vector v1, Vector v2) {
         return v1.x * v2.y - v1.y * v2.x;
     }
@@ -121,14 +218,25 @@ public class Vector {
         this.y = newY;
     }
 
-    public void setXY(double newX, double newY) {
+    /**
+     * Sets the x and y values of this vector
+     * @param newX the new x value
+     * @param newY the new y value
+     * @return this vector
+     */
+    public Vector setXY(double newX, double newY) {
         this.x = newX;
         this.y = newY;
+        return this;
     }
 
-    public void setXY(Vector v) {
-        this.x = v.x;
-        this.y = v.y;
+    /**
+     * Copies the x and y values of another vector into this vector
+     * @param v the vector to copy from
+     * @return this vector
+     */
+    public Vector setXY(Vector v) {
+        return setXY(v.x, v.y);
     }
 
     /**
@@ -0,0 +1,85 @@
+package com.javaphysicsengine.utils;
+
+import java.util.Arrays;
+
+/**
+ * A per-thread stack of scratch vectors, used for temporaries in hot loops instead of allocating new vectors.
+ *
+ * The vectors are borrowed and returned in a stack-like fashion:
+ * <pre>
+ *     VectorPool pool = VectorPool.get();
+ *     int mark = pool.mark();
+ *     try {
+ *         Vector normal = pool.obtain(x, y);
+ *         ...
+ *     } finally {
+ *         pool.release(mark);
+ *     }
+ * </pre>
+ * A scratch vector must not be stored anywhere, or be used after it is released.
+ */
+public final class VectorPool {
+    private static final ThreadLocal<VectorPool> POOLS = ThreadLocal.withInitial(VectorPool::new);
+
+    private Vector[] vectors = new Vector[32];
+    private int size = 0;
+
+    private VectorPool() {
+        for (int i = 0; i < vectors.length; i++) {
+            vectors[i] = new Vector(0, 0);
+        }
+    }
+
+    /**
+     * Returns the pool of the current thread
+     * @return the pool of the current thread
+     */
+    public static VectorPool get() {
+        return POOLS.get();
+    }
+
+    /**
+     * Returns the current position of the stack, to be passed to {@code VectorPool#release(int)}
+     * @return the current position of the stack
+     */
+    public int mark() {
+        return size;
+    }
+
+    /**
+     * Borrows a scratch vector. Its x and y values are undefined
+     * @return the scratch vector
+     */
+    public Vector obtain() {
+        if (size == vectors.length) {
+            int oldLength = vectors.length;
+            vectors = Arrays.copyOf(vectors, oldLength * 2);
+            for (int i = oldLength; i < vectors.length; i++) {
+                vectors[i] = new Vector(0, 0);
+            }
+        }
+        return vectors[size++];
+    }
+
+    /**
+     * Borrows a scratch vector with a certain x and y value
+     * @param x the x value
+     * @param y the y value
+     * @return the scratch vector
+     */
+    public Vector obtain(double x, double y) {
+        return obtain().setXY(x, y);
+    }
+
+    /**
+     * Returns all the vectors borrowed since {@code VectorPool#mark()} returned "mark"
+     * Pre-condition: "mark" must be a value returned by {@code VectorPool#mark()} that was not released yet
+     * @param mark the position of the stack to return to
+     */
+    public void release(int mark) {
+        if (mark < 0 || mark > size) {
+            throw new IllegalArgumentException("Mark " + mark + " is not in the pool!");
+        }
+        size = mark;
+    }
+}
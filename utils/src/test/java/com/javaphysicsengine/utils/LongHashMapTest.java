@@ -0,0 +1,115 @@
+package com.javaphysicsengine.utils;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class LongHashMapTest {
+
+    @Test
+    public void put_should_return_previous_value() {
+        LongHashMap<String> map = new LongHashMap<>();
+        assertNull(map.put(42, "a"));
+        assertEquals("a", map.put(42, "b"));
+        assertEquals("b", map.get(42));
+        assertEquals(1, map.size());
+    }
+
+    @Test
+    public void map_should_support_the_zero_key() {
+        LongHashMap<String> map = new LongHashMap<>();
+        assertNull(map.put(0, "zero"));
+        assertTrue(map.containsKey(0));
+        assertEquals("zero", map.get(0));
+        assertEquals("zero", map.remove(0));
+        assertFalse(map.containsKey(0));
+        assertNull(map.get(0));
+    }
+
+    @Test
+    public void map_should_behave_like_a_hash_map_with_random_operations() {
+        LongHashMap<Integer> map = new LongHashMap<>(4);
+        Map<Long, Integer> expectedMap = new HashMap<>();
+        Random random = new Random(99);
+
+        for (int i = 0; i < 20000; i++) {
+            long key = random.nextInt(500) - 250;
+            if (random.nextBoolean()) {
+                assertEquals(expectedMap.put(key, i), map.put(key, i));
+            } else {
+                assertEquals(expectedMap.remove(key), map.remove(key));
+            }
+            assertEquals(expectedMap.size(), map.size());
+        }
+
+        for (long key = -250; key < 250; key++) {
+            assertEquals(expectedMap.get(key), map.get(key));
+        }
+    }
+
+    @Test
+    public void slots_should_iterate_through_all_entries() {
+        LongHashMap<Long> map = new LongHashMap<>();
+        Map<Long, Long> expectedMap = new HashMap<>();
+        for (long key = 0; key < 100; key++) {
+            map.put(key << 32 | (key * 7), key);
+            expectedMap.put(key << 32 | (key * 7), key);
+        }
+
+        Map<Long, Long> iteratedEntries = new HashMap<>();
+        for (int slot = 0; slot < map.getCapacity(); slot++) {
+            if (map.isSlotUsed(slot)) {
+                iteratedEntries.put(map.getKeyAt(slot), map.getValueAt(slot));
+            }
+        }
+        assertEquals(expectedMap, iteratedEntries);
+    }
+
+    @Test
+    public void removeIf_should_only_remove_matching_entries() {
+        LongHashMap<Long> map = new LongHashMap<>(4);
+        Map<Long, Long> expectedMap = new HashMap<>();
+        Random random = new Random(1234);
+        for (int i = 0; i < 1000; i++) {
+            long key = random.nextInt(5000);
+            map.put(key, key);
+            expectedMap.put(key, key);
+        }
+        map.put(0, 0L);
+        expectedMap.put(0L, 0L);
+
+        List<Long> removedValues = new ArrayList<>();
+        int numRemoved = map.removeIf(value -> value % 3 == 0, removedValues::add);
+        expectedMap.values().removeIf(value -> value % 3 == 0);
+
+        assertEquals(removedValues.size(), numRemoved);
+        assertEquals(new HashSet<>(removedValues).size(), numRemoved);
+        assertEquals(expectedMap.size(), map.size());
+        for (Map.Entry<Long, Long> entry : expectedMap.entrySet()) {
+            assertEquals(entry.getValue(), map.get(entry.getKey()));
+        }
+        for (Long value : removedValues) {
+            assertEquals(0, value % 3);
+            assertNull(map.get(value));
+        }
+    }
+
+    @Test
+    public void clear_should_remove_all_entries() {
+        LongHashMap<String> map = new LongHashMap<>();
+        map.put(1, "a");
+        map.put(0, "b");
+        map.clear();
+
+        assertEquals(0, map.size());
+        assertNull(map.get(1));
+        assertFalse(map.containsKey(0));
+    }
+}
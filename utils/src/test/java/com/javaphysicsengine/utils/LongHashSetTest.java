@@ -0,0 +1,80 @@
+package com.javaphysicsengine.utils;
+
+import org.junit.Test;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.Assert.*;
+
+public class LongHashSetTest {
+
+    @Test
+    public void add_should_return_false_when_key_is_already_in_set() {
+        LongHashSet set = new LongHashSet();
+        assertTrue(set.add(42));
+        assertFalse(set.add(42));
+        assertEquals(1, set.size());
+    }
+
+    @Test
+    public void add_should_support_the_zero_key() {
+        LongHashSet set = new LongHashSet();
+        assertTrue(set.add(0));
+        assertTrue(set.contains(0));
+        assertTrue(set.remove(0));
+        assertFalse(set.contains(0));
+    }
+
+    @Test
+    public void set_should_behave_like_a_hash_set_with_random_operations() {
+        LongHashSet set = new LongHashSet(4);
+        Set<Long> expectedSet = new HashSet<>();
+        Random random = new Random(99);
+
+        for (int i = 0; i < 20000; i++) {
+            long key = random.nextInt(500) - 250;
+            if (random.nextBoolean()) {
+                assertEquals(expectedSet.add(key), set.add(key));
+            } else {
+                assertEquals(expectedSet.remove(key), set.remove(key));
+            }
+            assertEquals(expectedSet.size(), set.size());
+        }
+
+        for (long key = -250; key < 250; key++) {
+            assertEquals(expectedSet.contains(key), set.contains(key));
+        }
+    }
+
+    @Test
+    public void slots_should_iterate_through_all_keys() {
+        LongHashSet set = new LongHashSet();
+        Set<Long> expectedSet = new HashSet<>();
+        for (long key = 0; key < 100; key++) {
+            set.add(key << 32 | (key * 7));
+            expectedSet.add(key << 32 | (key * 7));
+        }
+
+        Set<Long> iteratedKeys = new HashSet<>();
+        for (int slot = 0; slot < set.getCapacity(); slot++) {
+            if (set.isSlotUsed(slot)) {
+                iteratedKeys.add(set.getKeyAt(slot));
+            }
+        }
+        assertEquals(expectedSet, iteratedKeys);
+    }
+
+    @Test
+    public void clear_should_remove_all_keys() {
+        LongHashSet set = new LongHashSet();
+        set.add(1);
+        set.add(0);
+        set.clear();
+
+        assertEquals(0, set.size());
+        assertFalse(set.contains(1));
+        assertFalse(set.contains(0));
+    }
+}
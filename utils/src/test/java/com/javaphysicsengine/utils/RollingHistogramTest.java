@@ -0,0 +1,45 @@
+package com.javaphysicsengine.utils;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+public class RollingHistogramTest {
+
+    @Test
+    public void getPercentile_should_return_nearest_rank_of_values() {
+        RollingHistogram histogram = new RollingHistogram(100);
+        for (int i = 100; i >= 1; i--) {
+            histogram.record(i);
+        }
+
+        assertEquals(50, histogram.getPercentile(50));
+        assertEquals(99, histogram.getPercentile(99));
+        assertEquals(1, histogram.getPercentile(0));
+        assertEquals(100, histogram.getMax());
+        assertEquals(50.5, histogram.getMean(), 1e-9);
+    }
+
+    @Test
+    public void record_should_replace_oldest_values_when_window_is_full() {
+        RollingHistogram histogram = new RollingHistogram(4);
+        histogram.record(1000);
+        for (int i = 1; i <= 4; i++) {
+            histogram.record(i);
+        }
+
+        assertEquals(4, histogram.size());
+        assertEquals(4, histogram.getMax());
+    }
+
+    @Test
+    public void getPercentile_should_return_0_given_histogram_is_empty() {
+        RollingHistogram histogram = new RollingHistogram(4);
+        histogram.record(5);
+        histogram.clear();
+
+        assertEquals(0, histogram.size());
+        assertEquals(0, histogram.getPercentile(50));
+        assertEquals(0, histogram.getMax());
+    }
+}
@@ -0,0 +1,86 @@
+package com.javaphysicsengine.utils;
+
+import org.junit.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class TripleBufferTest {
+
+    private static TripleBuffer<int[]> createBuffer() {
+        return new TripleBuffer<>(() -> new int[1]);
+    }
+
+    @Test
+    public void read_should_return_last_published_buffer() {
+        TripleBuffer<int[]> buffer = createBuffer();
+
+        buffer.getWriteBuffer()[0] = 1;
+        buffer.publish();
+        buffer.getWriteBuffer()[0] = 2;
+        buffer.publish();
+
+        assertTrue(buffer.hasNewBuffer());
+        assertTrue(buffer.read()[0] == 2);
+        assertFalse(buffer.hasNewBuffer());
+    }
+
+    @Test
+    public void read_should_return_same_buffer_until_next_publish() {
+        TripleBuffer<int[]> buffer = createBuffer();
+        buffer.publish();
+
+        int[] readBuffer = buffer.read();
+        assertSame(readBuffer, buffer.read());
+        assertNotSame(readBuffer, buffer.getWriteBuffer());
+
+        buffer.publish();
+        assertNotSame(readBuffer, buffer.read());
+    }
+
+    @Test
+    public void getWriteBuffer_should_never_be_buffer_being_read() {
+        TripleBuffer<int[]> buffer = createBuffer();
+
+        for (int i = 0; i < 10; i++) {
+            buffer.publish();
+            int[] readBuffer = buffer.read();
+            assertNotSame(readBuffer, buffer.getWriteBuffer());
+            buffer.publish();
+            assertNotSame(readBuffer, buffer.getWriteBuffer());
+        }
+    }
+
+    @Test
+    public void read_should_see_whole_buffer_written_by_other_thread() throws InterruptedException {
+        TripleBuffer<int[]> buffer = new TripleBuffer<>(() -> new int[64]);
+        AtomicInteger numTornReads = new AtomicInteger(0);
+
+        Thread writer = new Thread(() -> {
+            for (int version = 1; version <= 100000; version++) {
+                int[] writeBuffer = buffer.getWriteBuffer();
+                for (int i = 0; i < writeBuffer.length; i++) {
+                    writeBuffer[i] = version;
+                }
+                buffer.publish();
+            }
+        });
+        writer.start();
+
+        while (writer.isAlive()) {
+            int[] readBuffer = buffer.read();
+            for (int value : readBuffer) {
+                if (value != readBuffer[0]) {
+                    numTornReads.incrementAndGet();
+                }
+            }
+        }
+        writer.join();
+
+        assertTrue(numTornReads.get() == 0);
+    }
+}
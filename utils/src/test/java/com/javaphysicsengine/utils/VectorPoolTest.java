@@ -0,0 +1,70 @@
+package com.javaphysicsengine.utils;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+public class VectorPoolTest {
+
+    @Test
+    public void obtain_should_return_distinct_vectors_until_released() {
+        VectorPool pool = VectorPool.get();
+        int mark = pool.mark();
+
+        Vector vector1 = pool.obtain(1, 2);
+        Vector vector2 = pool.obtain(3, 4);
+
+        assertNotSame(vector1, vector2);
+        assertEquals(Vector.of(1, 2), vector1);
+        assertEquals(Vector.of(3, 4), vector2);
+
+        pool.release(mark);
+        assertEquals(mark, pool.mark());
+    }
+
+    @Test
+    public void obtain_should_reuse_vectors_after_release() {
+        VectorPool pool = VectorPool.get();
+        int mark = pool.mark();
+
+        Vector vector = pool.obtain();
+        pool.release(mark);
+
+        assertSame(vector, pool.obtain());
+        pool.release(mark);
+    }
+
+    @Test
+    public void obtain_should_grow_the_pool() {
+        VectorPool pool = VectorPool.get();
+        int mark = pool.mark();
+
+        for (int i = 0; i < 1000; i++) {
+            pool.obtain(i, i);
+        }
+        assertEquals(mark + 1000, pool.mark());
+
+        pool.release(mark);
+    }
+
+    @Test
+    public void get_should_return_a_pool_per_thread() throws InterruptedException {
+        VectorPool pool = VectorPool.get();
+        VectorPool[] otherPool = new VectorPool[1];
+
+        Thread thread = new Thread(() -> otherPool[0] = VectorPool.get());
+        thread.start();
+        thread.join();
+
+        assertSame(pool, VectorPool.get());
+        assertNotSame(pool, otherPool[0]);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void release_should_reject_marks_past_the_top_of_the_stack() {
+        VectorPool pool = VectorPool.get();
+        pool.release(pool.mark() + 1);
+    }
+}
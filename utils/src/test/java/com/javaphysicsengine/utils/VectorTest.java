@@ -179,4 +179,57 @@ public class VectorTest {
         Vector vector = new Vector(10, 12);
         assertNotNull(vector.toString());
     }
-}
\ No newline at end of file
+
+    @Test
+    public void addInto_should_store_sum_in_result() {
+        Vector vector1 = Vector.of(10, 100);
+        Vector vector2 = Vector.of(1, -20);
+        Vector result = Vector.of(0, 0);
+
+        assertSame(result, Vector.addInto(vector1, vector2, result));
+        assertEquals(Vector.of(11, 80), result);
+        assertEquals(Vector.of(10, 100), vector1);
+    }
+
+    @Test
+    public void minusInto_should_work_when_result_is_an_operand() {
+        Vector vector1 = Vector.of(10, 100);
+        Vector vector2 = Vector.of(1, -20);
+
+        Vector.minusInto(vector1, vector2, vector1);
+        assertEquals(Vector.of(9, 120), vector1);
+    }
+
+    @Test
+    public void scaleInPlace_should_scale_the_same_vector() {
+        Vector vector = Vector.of(10, 100);
+
+        assertSame(vector, vector.scaleInPlace(-10));
+        assertEquals(Vector.of(-100, -1000), vector);
+    }
+
+    @Test
+    public void addScaledInPlace_should_add_scaled_vector() {
+        Vector vector = Vector.of(10, 100);
+        vector.addScaledInPlace(Vector.of(1, -20), 2);
+
+        assertEquals(Vector.of(12, 60), vector);
+    }
+
+    @Test
+    public void normalizeInPlace_should_match_normalize() {
+        Vector vector = Vector.of(3, -4);
+        Vector expected = vector.normalize();
+
+        assertEquals(expected, vector.normalizeInPlace());
+        assertEquals(Vector.of(0, 0), Vector.of(0, 0).normalizeInPlace());
+    }
+
+    @Test
+    public void setXY_should_copy_vector_and_return_it() {
+        Vector vector = Vector.of(0, 0);
+
+        assertSame(vector, vector.setXY(Vector.of(-3, 7)));
+        assertEquals(Vector.of(-3, 7), vector);
+    }
+}